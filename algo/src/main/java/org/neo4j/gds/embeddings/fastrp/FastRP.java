@@ -22,42 +22,57 @@ package org.neo4j.gds.embeddings.fastrp;
 import org.jetbrains.annotations.TestOnly;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
-import org.neo4j.graphalgo.utils.CloseableThreadLocal;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.stream.Collectors;
 
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 public class FastRP extends Algorithm<FastRP, FastRP> {
 
     private static final int SPARSITY = 3;
+    private static final int MIN_BATCH_SIZE = 10_000;
+
     private final Graph graph;
     private final int concurrency;
     private final float normalizationStrength;
-    private final HugeObjectArray<float[]> embeddings;
-    private final HugeObjectArray<float[]> embeddingA;
-    private final HugeObjectArray<float[]> embeddingB;
-    private final EmbeddingCombiner embeddingCombiner;
+    private final HugeFloatMatrix embeddings;
+    private final HugeFloatMatrix embeddingA;
+    private final HugeFloatMatrix embeddingB;
+    private final List<NodeProperties> nodeProperties;
+    private final float[][] propertyVectors;
 
     private final int embeddingDimension;
+    private final int baseEmbeddingDimension;
     private final int iterations;
     private final List<Double> iterationWeights;
 
     static MemoryEstimation memoryEstimation(FastRPBaseConfig config) {
+        int embeddingDimension = config.embeddingDimension();
+        int propertyCount = config.nodePropertyNames().size();
         return MemoryEstimations
             .builder(FastRP.class)
-            .add("embeddings", HugeObjectArray.memoryEstimation(MemoryUsage.sizeOfFloatArray(config.embeddingDimension())))
-            .add("embeddingA", HugeObjectArray.memoryEstimation(MemoryUsage.sizeOfFloatArray(config.embeddingDimension())))
-            .add("embeddingB", HugeObjectArray.memoryEstimation(MemoryUsage.sizeOfFloatArray(config.embeddingDimension())))
+            .perNode("embeddings", nodeCount -> HugeFloatMatrix.memoryEstimation(nodeCount, embeddingDimension))
+            .perNode("embeddingA", nodeCount -> HugeFloatMatrix.memoryEstimation(nodeCount, embeddingDimension))
+            .perNode("embeddingB", nodeCount -> HugeFloatMatrix.memoryEstimation(nodeCount, embeddingDimension))
+            .fixed(
+                "propertyVectors",
+                MemoryUsage.sizeOfObjectArray(propertyCount) +
+                propertyCount * MemoryUsage.sizeOfFloatArray(config.propertyDimension())
+            )
             .build();
     }
 
@@ -70,19 +85,23 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
         this.graph = graph;
         this.progressLogger = progressLogger;
 
-        this.embeddings = HugeObjectArray.newArray(float[].class, graph.nodeCount(), tracker);
-        this.embeddingA = HugeObjectArray.newArray(float[].class, graph.nodeCount(), tracker);
-        this.embeddingB = HugeObjectArray.newArray(float[].class, graph.nodeCount(), tracker);
-
         this.embeddingDimension = config.embeddingDimension();
+        this.baseEmbeddingDimension = embeddingDimension - config.propertyDimension();
         this.iterations = config.iterations();
         this.iterationWeights = config.iterationWeights();
         this.normalizationStrength = config.normalizationStrength();
         this.concurrency = config.concurrency();
-        this.embeddingCombiner = graph.hasRelationshipProperty()
-            ? this::addArrayValuesWeighted
-            : (lhs, rhs, ignoreWeight) -> addArrayValues(lhs, rhs);
-        this.embeddings.setAll((i) -> new float[embeddingDimension]);
+
+        this.embeddings = HugeFloatMatrix.newMatrix(graph.nodeCount(), embeddingDimension, tracker);
+        this.embeddingA = HugeFloatMatrix.newMatrix(graph.nodeCount(), embeddingDimension, tracker);
+        this.embeddingB = HugeFloatMatrix.newMatrix(graph.nodeCount(), embeddingDimension, tracker);
+
+        this.nodeProperties = config
+            .nodePropertyNames()
+            .stream()
+            .map(graph::nodeProperties)
+            .collect(Collectors.toList());
+        this.propertyVectors = new float[nodeProperties.size()][];
     }
 
     @Override
@@ -94,12 +113,12 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
         return me();
     }
 
-    public HugeObjectArray<float[]> embeddings() {
+    public HugeFloatMatrix embeddings() {
         return this.embeddings;
     }
 
     @TestOnly
-    HugeObjectArray<float[]> currentEmbedding(int iteration) {
+    HugeFloatMatrix currentEmbedding(int iteration) {
         return iteration % 2 == 0
             ? this.embeddingA
             : this.embeddingB;
@@ -119,26 +138,48 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
     void initRandomVectors() {
         double probability = 1.0f / (2.0f * SPARSITY);
         float sqrtSparsity = (float) Math.sqrt(SPARSITY);
-        float sqrtEmbeddingDimension = (float) Math.sqrt(embeddingDimension);
-        ThreadLocal<Random> random = ThreadLocal.withInitial(HighQualityRandom::new);
+        float sqrtEmbeddingDimension = (float) Math.sqrt(baseEmbeddingDimension);
 
         progressLogger.logMessage("Initialising Random Vectors :: Start");
-        ParallelUtil.parallelForEachNode(graph, concurrency, nodeId -> {
-            int degree = graph.degree(nodeId);
-            float scaling = degree == 0
-                ? 1.0f
-                : (float) Math.pow(degree, normalizationStrength);
-
-            float entryValue = scaling * sqrtSparsity / sqrtEmbeddingDimension;
-            float[] randomVector = computeRandomVector(random.get(), probability, entryValue);
-            embeddingB.set(nodeId, randomVector);
-            embeddingA.set(nodeId, new float[this.embeddingDimension]);
-            progressLogger.logProgress();
-        });
+        initPropertyVectors(probability, sqrtSparsity);
+
+        var tasks = PartitionUtils
+            .rangePartition(concurrency, graph.nodeCount())
+            .stream()
+            .map(partition -> (Runnable) () -> {
+                var random = new HighQualityRandom();
+                long endNode = partition.startNode() + partition.nodeCount();
+                for (long nodeId = partition.startNode(); nodeId < endNode; nodeId++) {
+                    int degree = graph.degree(nodeId);
+                    float scaling = degree == 0
+                        ? 1.0f
+                        : (float) Math.pow(degree, normalizationStrength);
+
+                    float entryValue = scaling * sqrtSparsity / sqrtEmbeddingDimension;
+                    var page = embeddingB.page(nodeId);
+                    int offset = embeddingB.offset(nodeId);
+                    for (int i = 0; i < baseEmbeddingDimension; i++) {
+                        page[offset + i] = computeRandomEntry(random, probability, entryValue);
+                    }
+                    projectNodeProperties(nodeId, page, offset + baseEmbeddingDimension);
+                    progressLogger.logProgress();
+                }
+            })
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+
         progressLogger.logMessage("Initialising Random Vectors :: Finished");
     }
 
     void propagateEmbeddings() {
+        long batchSize = ParallelUtil.adjustedBatchSize(
+            graph.relationshipCount(),
+            concurrency,
+            MIN_BATCH_SIZE,
+            Integer.MAX_VALUE
+        );
+        List<Partition> partitions = PartitionUtils.degreePartition(graph, batchSize);
+
         for (int i = 0; i < iterations; i++) {
             progressLogger.reset(graph.relationshipCount());
             progressLogger.logMessage(formatWithLocale("Iteration %s :: Start", i + 1));
@@ -147,42 +188,51 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
             var localPrevious = i % 2 == 0 ? embeddingB : embeddingA;
             double iterationWeight = iterationWeights.get(i);
 
-            try (var concurrentGraphCopy = CloseableThreadLocal.withInitial(graph::concurrentCopy)) {
-                ParallelUtil.parallelForEachNode(graph, concurrency, nodeId -> {
-                    float[] embedding = embeddings.get(nodeId);
-                    float[] currentEmbedding = localCurrent.get(nodeId);
-                    Arrays.fill(currentEmbedding, 0.0f);
-
-                    // Collect and combine the neighbour embeddings
-                    concurrentGraphCopy.get().forEachRelationship(nodeId, 1.0, (source, target, weight) -> {
-                        embeddingCombiner.combine(currentEmbedding, localPrevious.get(target), weight);
-                        return true;
-                    });
-
-                    // Normalize neighbour embeddings
-                    var degree = graph.degree(nodeId);
-                    int adjustedDegree = degree == 0 ? 1 : degree;
-                    double degreeScale = 1.0f / adjustedDegree;
-                    multiplyArrayValues(currentEmbedding, degreeScale);
-                    l2Normalize(currentEmbedding);
-
-                    // Update the result embedding
-                    updateEmbeddings(iterationWeight, embedding, currentEmbedding);
-
-                    progressLogger.logProgress(degree);
-                });
-            }
+            var tasks = partitions
+                .stream()
+                .map(partition -> new PropagationTask(
+                    graph.concurrentCopy(),
+                    partition,
+                    localCurrent,
+                    localPrevious,
+                    iterationWeight
+                ))
+                .collect(Collectors.toList());
+            ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
 
             progressLogger.logMessage(formatWithLocale("Iteration %s :: Finished", i + 1));
         }
     }
 
-    private float[] computeRandomVector(Random random, double probability, float entryValue) {
-        float[] randomVector = new float[embeddingDimension];
-        for (int i = 0; i < embeddingDimension; i++) {
-            randomVector[i] = computeRandomEntry(random, probability, entryValue);
+    /**
+     * Node property features are projected into the last {@code propertyDimension} entries of the
+     * initial vectors, using one very sparse random vector per property.
+     * Nodes without a value for a property, i.e. with a {@code NaN} value, do not get a contribution from it.
+     */
+    private void initPropertyVectors(double probability, float sqrtSparsity) {
+        int propertyDimension = embeddingDimension - baseEmbeddingDimension;
+        float entryValue = sqrtSparsity / (float) Math.sqrt(propertyDimension);
+        var random = new HighQualityRandom();
+        for (int i = 0; i < propertyVectors.length; i++) {
+            float[] propertyVector = new float[propertyDimension];
+            for (int j = 0; j < propertyDimension; j++) {
+                propertyVector[j] = computeRandomEntry(random, probability, entryValue);
+            }
+            propertyVectors[i] = propertyVector;
+        }
+    }
+
+    private void projectNodeProperties(long nodeId, float[] page, int offset) {
+        for (int i = 0; i < propertyVectors.length; i++) {
+            double value = nodeProperties.get(i).doubleValue(nodeId);
+            if (Double.isNaN(value)) {
+                value = 0.0;
+            }
+            float[] propertyVector = propertyVectors[i];
+            for (int j = 0; j < propertyVector.length; j++) {
+                page[offset + j] += value * propertyVector[j];
+            }
         }
-        return randomVector;
     }
 
     private float computeRandomEntry(Random random, double probability, float entryValue) {
@@ -197,42 +247,83 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
         }
     }
 
-    private void updateEmbeddings(double weight, float[] embedding, float[] newEmbedding) {
-        for (int i = 0; i < embedding.length; i++) {
-            embedding[i] += weight * newEmbedding[i];
-        }
-    }
-
-    private void addArrayValues(float[] lhs, float[] rhs) {
-        for (int i = 0; i < lhs.length; i++) {
-            lhs[i] += rhs[i];
-        }
-    }
-
-    private void addArrayValuesWeighted(float[] lhs, float[] rhs, double weight) {
-        for (int i = 0; i < lhs.length; i++) {
-            lhs[i] = (float) Math.fma(rhs[i], weight, lhs[i]);
-        }
-    }
-
-    private void multiplyArrayValues(float[] lhs, double scalar) {
-        for (int i = 0; i < lhs.length; i++) {
-            lhs[i] *= scalar;
-        }
+    static void l2Normalize(float[] array) {
+        l2Normalize(array, 0, array.length);
     }
 
-    static void l2Normalize(float[] array) {
+    private static void l2Normalize(float[] array, int offset, int length) {
         double sum = 0.0f;
-        for (double value : array) {
+        for (int i = offset; i < offset + length; i++) {
+            double value = array[i];
             sum += value * value;
         }
         double sqrtSum = sum == 0 ? 1 : Math.sqrt(sum);
         double scaling = 1 / sqrtSum;
-        for (int i = 0; i < array.length; i++) {
+        for (int i = offset; i < offset + length; i++) {
             array[i] *= scaling;
         }
     }
 
+    private final class PropagationTask implements Runnable {
+        private final Graph graph;
+        private final Partition partition;
+        private final HugeFloatMatrix current;
+        private final HugeFloatMatrix previous;
+        private final double iterationWeight;
+
+        PropagationTask(
+            Graph graph,
+            Partition partition,
+            HugeFloatMatrix current,
+            HugeFloatMatrix previous,
+            double iterationWeight
+        ) {
+            this.graph = graph;
+            this.partition = partition;
+            this.current = current;
+            this.previous = previous;
+            this.iterationWeight = iterationWeight;
+        }
+
+        @Override
+        public void run() {
+            long endNode = partition.startNode() + partition.nodeCount();
+            for (long nodeId = partition.startNode(); nodeId < endNode; nodeId++) {
+                float[] currentPage = current.page(nodeId);
+                int currentOffset = current.offset(nodeId);
+                Arrays.fill(currentPage, currentOffset, currentOffset + embeddingDimension, 0.0f);
+
+                // Collect and combine the neighbour embeddings
+                graph.forEachRelationship(nodeId, 1.0, (source, target, weight) -> {
+                    float[] previousPage = previous.page(target);
+                    int previousOffset = previous.offset(target);
+                    for (int i = 0; i < embeddingDimension; i++) {
+                        currentPage[currentOffset + i] += weight * previousPage[previousOffset + i];
+                    }
+                    return true;
+                });
+
+                // Normalize neighbour embeddings
+                var degree = graph.degree(nodeId);
+                int adjustedDegree = degree == 0 ? 1 : degree;
+                double degreeScale = 1.0f / adjustedDegree;
+                for (int i = 0; i < embeddingDimension; i++) {
+                    currentPage[currentOffset + i] *= degreeScale;
+                }
+                l2Normalize(currentPage, currentOffset, embeddingDimension);
+
+                // Update the result embedding
+                float[] embeddingPage = embeddings.page(nodeId);
+                int embeddingOffset = embeddings.offset(nodeId);
+                for (int i = 0; i < embeddingDimension; i++) {
+                    embeddingPage[embeddingOffset + i] += iterationWeight * currentPage[currentOffset + i];
+                }
+
+                progressLogger.logProgress(degree);
+            }
+        }
+    }
+
     private static class HighQualityRandom extends Random {
         private long u;
         private long v = 4101842887655102017L;
@@ -268,8 +359,4 @@ public class FastRP extends Algorithm<FastRP, FastRP> {
             return (int) (nextLong() >>> (64-bits));
         }
     }
-
-    private interface EmbeddingCombiner {
-        void combine(float[] into, float[] add, double weight);
-    }
 }
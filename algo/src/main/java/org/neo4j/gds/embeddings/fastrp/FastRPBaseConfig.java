@@ -24,6 +24,7 @@ import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.config.EmbeddingDimensionConfig;
+import org.neo4j.graphalgo.config.NodePropertiesConfig;
 import org.neo4j.graphalgo.config.RelationshipWeightConfig;
 
 import java.util.List;
@@ -31,9 +32,10 @@ import java.util.List;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 @ValueClass
-public interface FastRPBaseConfig extends AlgoBaseConfig, EmbeddingDimensionConfig, RelationshipWeightConfig {
+public interface FastRPBaseConfig extends AlgoBaseConfig, EmbeddingDimensionConfig, RelationshipWeightConfig, NodePropertiesConfig {
 
     String ITERATION_WEIGHTS_KEY = "iterationWeights";
+    String PROPERTY_DIMENSION_KEY = "propertyDimension";
 
     List<Double> DEFAULT_ITERATION_WEIGHTS = List.of(0.0D, 1.0D, 1.0D);
 
@@ -54,6 +56,13 @@ public interface FastRPBaseConfig extends AlgoBaseConfig, EmbeddingDimensionConf
         return 0.0f;
     }
 
+    @Configuration.Key(PROPERTY_DIMENSION_KEY)
+    @Configuration.IntegerRange(min = 0)
+    @Value.Default
+    default int propertyDimension() {
+        return 0;
+    }
+
     @Value.Check
     default void validate() {
         if (iterationWeights().isEmpty()) {
@@ -62,6 +71,20 @@ public interface FastRPBaseConfig extends AlgoBaseConfig, EmbeddingDimensionConf
                 ITERATION_WEIGHTS_KEY
             ));
         }
+        if (propertyDimension() > embeddingDimension()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The value of `%s` must not exceed `embeddingDimension`, but got %d > %d.",
+                PROPERTY_DIMENSION_KEY,
+                propertyDimension(),
+                embeddingDimension()
+            ));
+        }
+        if (!nodePropertyNames().isEmpty() && propertyDimension() == 0) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The value of `%s` must be positive when `nodePropertyNames` are given.",
+                PROPERTY_DIMENSION_KEY
+            ));
+        }
     }
 
     @Configuration.Ignore
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.knn;
+
+import org.neo4j.graphalgo.core.utils.BiLongConsumer;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+
+import java.util.SplittableRandom;
+
+/**
+ * Initial step in KNN calculation, seeding the neighbors from an approximate search in an {@link HnswIndex}.
+ */
+final class GenerateHnswNeighbors implements BiLongConsumer {
+    private final HnswIndex index;
+    private final SplittableRandom random;
+    private final SimilarityComputer computer;
+    private final HugeObjectArray<NeighborList> neighbors;
+    private final long n;
+    private final int k;
+    private final int k2;
+
+    GenerateHnswNeighbors(
+        HnswIndex index,
+        SplittableRandom random,
+        SimilarityComputer computer,
+        HugeObjectArray<NeighborList> neighbors,
+        long n,
+        int k,
+        int k2
+    ) {
+        this.index = index;
+        this.random = random;
+        this.computer = computer;
+        this.neighbors = neighbors;
+        this.n = n;
+        this.k = k;
+        this.k2 = k2;
+    }
+
+    @Override
+    public void apply(long start, long end) {
+        var rng = random.split();
+        var searcher = index.newSearcher();
+        var n = this.n;
+        var k = this.k;
+
+        for (long nodeId = start; nodeId < end; nodeId++) {
+            var neighbors = new NeighborList(k);
+            searcher.search(nodeId, k2, (neighbor, similarity) -> neighbors.add(neighbor, similarity, rng));
+
+            // the search can miss nodes in a poorly connected part of the index,
+            // but later iterations rely on every node having at least one neighbor
+            if (neighbors.size() == 0) {
+                var randomNode = rng.nextLong(n - 1);
+                if (randomNode >= nodeId) {
+                    ++randomNode;
+                }
+                neighbors.add(randomNode, computer.similarity(nodeId, randomNode), rng);
+            }
+
+            assert neighbors.size() > 0;
+            assert neighbors.size() <= k;
+
+            this.neighbors.set(nodeId, neighbors);
+        }
+    }
+}
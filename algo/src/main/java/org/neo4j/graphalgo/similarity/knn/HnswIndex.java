@@ -0,0 +1,497 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.knn;
+
+import com.carrotsearch.hppc.LongHashSet;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+
+/**
+ * A hierarchical navigable small world graph (Malkov and Yashunin, 2016) over all nodes,
+ * using a {@link SimilarityComputer} as the measure of closeness.
+ * <p>
+ * Every node is assigned a random level and is part of the proximity graphs of all levels up to its own.
+ * The number of nodes per level shrinks exponentially, so a search can greedily walk the sparse upper levels
+ * towards the query before it runs a best-first search on level 0, which contains all nodes.
+ * <p>
+ * Level 0 is stored in flat arrays with room for {@code 2 * maxConnections} neighbors per node.
+ * The few nodes on upper levels keep their neighbors in small arrays, where the first element holds the degree.
+ * Nodes are inserted in parallel, concurrent updates of the same neighbor list are guarded by striped locks.
+ */
+final class HnswIndex {
+
+    private static final int MAX_LEVEL = 16;
+    private static final int LOCK_STRIPES = 1 << 10;
+
+    private final SimilarityComputer computer;
+    private final long nodeCount;
+    private final int maxConnections;
+    private final int maxConnectionsLevel0;
+    private final int efConstruction;
+    private final HugeLongArray level0Neighbors;
+    private final HugeIntArray level0Degrees;
+    private final HugeObjectArray<long[][]> upperNeighbors;
+    private final Object[] locks;
+
+    // guarded by this
+    private long entryPoint;
+    private int topLevel;
+
+    static MemoryEstimation memoryEstimation(long nodeCount, int maxConnections) {
+        // on average, 1 / maxConnections of the nodes are part of the upper levels
+        long upperNodes = nodeCount / maxConnections;
+        return MemoryEstimations
+            .builder(HnswIndex.class)
+            .fixed("level 0 neighbors", HugeLongArray.memoryEstimation(nodeCount * 2 * maxConnections))
+            .fixed("level 0 degrees", HugeIntArray.memoryEstimation(nodeCount))
+            .add("upper level neighbors", HugeObjectArray.memoryEstimation(0))
+            .fixed(
+                "upper level neighbor lists",
+                upperNodes * (sizeOfObjectArray(1) + sizeOfLongArray(maxConnections + 1))
+            )
+            .fixed("locks", sizeOfObjectArray(LOCK_STRIPES) + LOCK_STRIPES * sizeOfInstance(Object.class))
+            .build();
+    }
+
+    static HnswIndex build(
+        SimilarityComputer computer,
+        long nodeCount,
+        int maxConnections,
+        int efConstruction,
+        SplittableRandom random,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        var index = new HnswIndex(computer, nodeCount, maxConnections, efConstruction, tracker);
+
+        double levelMultiplier = 1.0 / Math.log(maxConnections);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            int level = (int) Math.min(MAX_LEVEL, -Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+            if (level > 0) {
+                index.upperNeighbors.set(nodeId, new long[level][maxConnections + 1]);
+            }
+        }
+
+        index.entryPoint = 0;
+        index.topLevel = index.levelOf(0);
+
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            var searcher = index.newSearcher();
+            for (long nodeId = Math.max(1, start); nodeId < end; nodeId++) {
+                searcher.insert(nodeId);
+            }
+        });
+
+        return index;
+    }
+
+    private HnswIndex(
+        SimilarityComputer computer,
+        long nodeCount,
+        int maxConnections,
+        int efConstruction,
+        AllocationTracker tracker
+    ) {
+        this.computer = computer;
+        this.nodeCount = nodeCount;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsLevel0 = 2 * maxConnections;
+        this.efConstruction = efConstruction;
+        this.level0Neighbors = HugeLongArray.newArray(nodeCount * maxConnectionsLevel0, tracker);
+        this.level0Degrees = HugeIntArray.newArray(nodeCount, tracker);
+        this.upperNeighbors = HugeObjectArray.newArray(long[][].class, nodeCount, tracker);
+        this.locks = new Object[LOCK_STRIPES];
+        Arrays.setAll(this.locks, i -> new Object());
+    }
+
+    long nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Releases the neighbor lists and returns the number of bytes that were freed.
+     */
+    long release() {
+        return level0Neighbors.release() + level0Degrees.release() + upperNeighbors.release();
+    }
+
+    /**
+     * Creates a new searcher, which holds the state for searches and insertions of a single thread.
+     */
+    Searcher newSearcher() {
+        return new Searcher();
+    }
+
+    private int levelOf(long nodeId) {
+        var levels = upperNeighbors.get(nodeId);
+        return levels == null ? 0 : levels.length;
+    }
+
+    private Object lock(long nodeId) {
+        return locks[(int) (nodeId & (LOCK_STRIPES - 1))];
+    }
+
+    private int capacity(int level) {
+        return level == 0 ? maxConnectionsLevel0 : maxConnections;
+    }
+
+    /**
+     * Copies the neighbors of the node on the given level into the buffer and returns their number.
+     */
+    private int neighbors(long nodeId, int level, long[] buffer) {
+        synchronized (lock(nodeId)) {
+            if (level == 0) {
+                int degree = level0Degrees.get(nodeId);
+                long offset = nodeId * maxConnectionsLevel0;
+                for (int i = 0; i < degree; i++) {
+                    buffer[i] = level0Neighbors.get(offset + i);
+                }
+                return degree;
+            }
+            var neighbors = upperNeighbors.get(nodeId)[level - 1];
+            int degree = (int) neighbors[0];
+            System.arraycopy(neighbors, 1, buffer, 0, degree);
+            return degree;
+        }
+    }
+
+    private void setNeighbors(long nodeId, int level, long[] neighbors, int degree) {
+        synchronized (lock(nodeId)) {
+            for (int i = 0; i < degree; i++) {
+                setNeighbor(nodeId, level, i, neighbors[i]);
+            }
+            setDegree(nodeId, level, degree);
+        }
+    }
+
+    /**
+     * Adds a connection from {@code nodeId} to {@code neighbor}.
+     * If the neighbor list is full, the least similar neighbor is replaced, unless it is more similar than the new one.
+     */
+    private void connect(long nodeId, long neighbor, int level) {
+        synchronized (lock(nodeId)) {
+            int degree = degree(nodeId, level);
+            if (degree < capacity(level)) {
+                setNeighbor(nodeId, level, degree, neighbor);
+                setDegree(nodeId, level, degree + 1);
+                return;
+            }
+
+            int weakestIndex = -1;
+            double weakestSimilarity = computer.similarity(nodeId, neighbor);
+            for (int i = 0; i < degree; i++) {
+                double similarity = computer.similarity(nodeId, neighbor(nodeId, level, i));
+                if (similarity < weakestSimilarity) {
+                    weakestSimilarity = similarity;
+                    weakestIndex = i;
+                }
+            }
+            if (weakestIndex != -1) {
+                setNeighbor(nodeId, level, weakestIndex, neighbor);
+            }
+        }
+    }
+
+    private int degree(long nodeId, int level) {
+        return level == 0
+            ? level0Degrees.get(nodeId)
+            : (int) upperNeighbors.get(nodeId)[level - 1][0];
+    }
+
+    private void setDegree(long nodeId, int level, int degree) {
+        if (level == 0) {
+            level0Degrees.set(nodeId, degree);
+        } else {
+            upperNeighbors.get(nodeId)[level - 1][0] = degree;
+        }
+    }
+
+    private long neighbor(long nodeId, int level, int index) {
+        return level == 0
+            ? level0Neighbors.get(nodeId * maxConnectionsLevel0 + index)
+            : upperNeighbors.get(nodeId)[level - 1][index + 1];
+    }
+
+    private void setNeighbor(long nodeId, int level, int index, long neighbor) {
+        if (level == 0) {
+            level0Neighbors.set(nodeId * maxConnectionsLevel0 + index, neighbor);
+        } else {
+            upperNeighbors.get(nodeId)[level - 1][index + 1] = neighbor;
+        }
+    }
+
+    @FunctionalInterface
+    interface NeighborConsumer {
+        void accept(long neighbor, double similarity);
+    }
+
+    /**
+     * Per-thread state for searching and inserting nodes.
+     */
+    final class Searcher {
+        private final LongHashSet visited;
+        private final CandidateHeap candidates;
+        private final CandidateHeap results;
+        private final long[] buffer;
+        private long[] resultNodes;
+        private double[] resultSimilarities;
+        private long closest;
+        private double closestSimilarity;
+
+        private Searcher() {
+            this.visited = new LongHashSet();
+            this.candidates = new CandidateHeap();
+            this.results = new CandidateHeap();
+            this.buffer = new long[maxConnectionsLevel0];
+            this.resultNodes = new long[efConstruction + 1];
+            this.resultSimilarities = new double[efConstruction + 1];
+        }
+
+        /**
+         * Finds up to {@code k} nodes that are the most similar to the given node, excluding the node itself.
+         * The neighbors are passed to the consumer in descending order of similarity.
+         */
+        void search(long nodeId, int k, NeighborConsumer consumer) {
+            long entry;
+            int top;
+            synchronized (HnswIndex.this) {
+                entry = entryPoint;
+                top = topLevel;
+            }
+
+            closest = entry;
+            closestSimilarity = computer.similarity(nodeId, entry);
+            for (int level = top; level > 0; level--) {
+                greedySearch(nodeId, level);
+            }
+
+            // the node itself is part of the index and will be found, hence one additional result
+            int count = searchLevel(nodeId, Math.max(efConstruction, k + 1), 0, false);
+            for (int i = 0, found = 0; i < count && found < k; i++) {
+                if (resultNodes[i] != nodeId) {
+                    consumer.accept(resultNodes[i], resultSimilarities[i]);
+                    found++;
+                }
+            }
+        }
+
+        void insert(long nodeId) {
+            int nodeLevel = levelOf(nodeId);
+            long entry;
+            int top;
+            synchronized (HnswIndex.this) {
+                entry = entryPoint;
+                top = topLevel;
+            }
+
+            closest = entry;
+            closestSimilarity = computer.similarity(nodeId, entry);
+            for (int level = top; level > nodeLevel; level--) {
+                greedySearch(nodeId, level);
+            }
+
+            for (int level = Math.min(nodeLevel, top); level >= 0; level--) {
+                int count = searchLevel(nodeId, efConstruction, level, true);
+                int degree = Math.min(count, maxConnections);
+                setNeighbors(nodeId, level, resultNodes, degree);
+                for (int i = 0; i < degree; i++) {
+                    connect(resultNodes[i], nodeId, level);
+                }
+                closest = resultNodes[0];
+                closestSimilarity = resultSimilarities[0];
+            }
+
+            if (nodeLevel > top) {
+                synchronized (HnswIndex.this) {
+                    if (nodeLevel > topLevel) {
+                        topLevel = nodeLevel;
+                        entryPoint = nodeId;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Moves {@link #closest} along the neighbors on the given level, as long as that improves the similarity.
+         */
+        private void greedySearch(long nodeId, int level) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                int degree = neighbors(closest, level, buffer);
+                for (int i = 0; i < degree; i++) {
+                    long candidate = buffer[i];
+                    double similarity = computer.similarity(nodeId, candidate);
+                    if (similarity > closestSimilarity) {
+                        closest = candidate;
+                        closestSimilarity = similarity;
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Best-first search on a single level, starting from {@link #closest}.
+         * Writes up to {@code ef} results in descending order of similarity
+         * to {@link #resultNodes} and {@link #resultSimilarities} and returns their number.
+         */
+        private int searchLevel(long nodeId, int ef, int level, boolean excludeNode) {
+            visited.clear();
+            candidates.clear();
+            results.clear();
+
+            if (excludeNode) {
+                visited.add(nodeId);
+            }
+            visited.add(closest);
+            candidates.push(closest, closestSimilarity);
+            results.push(closest, -closestSimilarity);
+
+            while (!candidates.isEmpty()) {
+                double similarity = candidates.topPriority();
+                long candidate = candidates.pop();
+                // the results are a min-heap by similarity, the top is the least similar result
+                if (results.size() >= ef && similarity < -results.topPriority()) {
+                    break;
+                }
+
+                int degree = neighbors(candidate, level, buffer);
+                for (int i = 0; i < degree; i++) {
+                    long neighbor = buffer[i];
+                    if (!visited.add(neighbor)) {
+                        continue;
+                    }
+                    double neighborSimilarity = computer.similarity(nodeId, neighbor);
+                    if (results.size() < ef || neighborSimilarity > -results.topPriority()) {
+                        candidates.push(neighbor, neighborSimilarity);
+                        results.push(neighbor, -neighborSimilarity);
+                        if (results.size() > ef) {
+                            results.pop();
+                        }
+                    }
+                }
+            }
+
+            int count = results.size();
+            if (resultNodes.length < count) {
+                resultNodes = new long[count];
+                resultSimilarities = new double[count];
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                resultSimilarities[i] = -results.topPriority();
+                resultNodes[i] = results.pop();
+            }
+            return count;
+        }
+    }
+
+    /**
+     * A binary max-heap of nodes, ordered by a priority.
+     */
+    static final class CandidateHeap {
+        private long[] nodes;
+        private double[] priorities;
+        private int size;
+
+        CandidateHeap() {
+            this.nodes = new long[64];
+            this.priorities = new double[64];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        double topPriority() {
+            return priorities[0];
+        }
+
+        void push(long node, double priority) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                priorities = Arrays.copyOf(priorities, size * 2);
+            }
+            int index = size++;
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (priorities[parent] >= priority) {
+                    break;
+                }
+                nodes[index] = nodes[parent];
+                priorities[index] = priorities[parent];
+                index = parent;
+            }
+            nodes[index] = node;
+            priorities[index] = priority;
+        }
+
+        /**
+         * Removes the node with the highest priority and returns it.
+         */
+        long pop() {
+            long top = nodes[0];
+            int last = --size;
+            long node = nodes[last];
+            double priority = priorities[last];
+            int index = 0;
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= last) {
+                    break;
+                }
+                if (child + 1 < last && priorities[child + 1] > priorities[child]) {
+                    child++;
+                }
+                if (priorities[child] <= priority) {
+                    break;
+                }
+                nodes[index] = nodes[child];
+                priorities[index] = priorities[child];
+                index = child;
+            }
+            nodes[index] = node;
+            priorities[index] = priority;
+            return top;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.BiLongConsumer;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.graphalgo.similarity.SimilarityResult;
@@ -51,6 +52,7 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
     private final KnnContext context;
     private final SplittableRandom random;
     private final SimilarityComputer computer;
+    private final boolean ownsComputer;
 
     public Knn(Graph graph, KnnBaseConfig config, KnnContext context) {
         this(
@@ -62,8 +64,15 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
                         graph.nodeProperties(property),
                         () -> formatWithLocale("The property `%s` has not been loaded", property)
                     );
-                    return SimilarityComputer.ofProperty(nodeProperties, property);
+                    return SimilarityComputer.ofProperty(
+                        nodeProperties,
+                        property,
+                        config.concurrency(),
+                        context.executor(),
+                        context.tracker()
+                    );
                 }).orElse(SimilarityComputer.DEFAULT_SIMILARITY_COMPUTER),
+            true,
             context
         );
     }
@@ -73,11 +82,22 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
         KnnBaseConfig config,
         SimilarityComputer similarityComputer,
         KnnContext context
+    ) {
+        this(nodeCount, config, similarityComputer, false, context);
+    }
+
+    private Knn(
+        long nodeCount,
+        KnnBaseConfig config,
+        SimilarityComputer similarityComputer,
+        boolean ownsComputer,
+        KnnContext context
     ) {
         this.nodeCount = nodeCount;
         this.config = config;
         this.context = context;
         this.computer = similarityComputer;
+        this.ownsComputer = ownsComputer;
         this.random = this.config.randomSeed() == -1L
             ? new SplittableRandom()
             : new SplittableRandom(this.config.randomSeed());
@@ -105,6 +125,7 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
                 neighbors = this.initializeRandomNeighbors();
             }
             if (neighbors == null) {
+                releaseComputer();
                 return new EmptyResult();
             }
 
@@ -112,6 +133,8 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
             var maxUpdates = (long) Math.ceil(config.sampleRate() * config.topK() * nodeCount);
             var updateThreshold = (long) Math.floor(this.config.deltaThreshold() * maxUpdates);
 
+            var buffers = new IterationBuffers(nodeCount, config.concurrency(), context);
+
             long updateCount;
             int iteration = 0;
             boolean didConverge = false;
@@ -119,7 +142,7 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
                 int currentIteration = iteration;
                 try (var ignored3 = ProgressTimer.start(took -> logIterationTime(currentIteration, took))) {
                     progressLogger.logMessage("KNN-Graph starting iteration " + iteration + "/" + maxIterations);
-                    updateCount = this.iteration(neighbors);
+                    updateCount = this.iteration(neighbors, buffers);
                     progressLogger.logMessage("KNN-Graph ending iteration " + iteration + ": updated " + updateCount + "/" + maxUpdates + " nodes");
                 }
                 if (updateCount <= updateThreshold) {
@@ -129,10 +152,20 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
                 }
             }
 
+            buffers.release();
+            releaseComputer();
+
             return ImmutableResult.of(neighbors, iteration, didConverge);
         }
     }
 
+    private void releaseComputer() {
+        // a computer that was passed in belongs to the caller, e.g. a KNN index
+        if (this.ownsComputer) {
+            this.context.tracker().remove(this.computer.release());
+        }
+    }
+
     private @Nullable HugeObjectArray<NeighborList> initializeRandomNeighbors() {
         var nodeCount = this.nodeCount;
         var k = this.config.topK();
@@ -147,6 +180,26 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
 
         var neighbors = HugeObjectArray.newArray(NeighborList.class, nodeCount, this.context.tracker());
 
+        if (this.config.initialSampler() == KnnSampler.HNSW) {
+            var index = buildHnswIndex();
+            ParallelUtil.readParallel(
+                this.config.concurrency(),
+                nodeCount,
+                this.context.executor(),
+                new GenerateHnswNeighbors(
+                    index,
+                    random,
+                    this.computer,
+                    neighbors,
+                    nodeCount,
+                    k,
+                    boundedK
+                )
+            );
+            this.context.tracker().remove(index.release());
+            return neighbors;
+        }
+
         ParallelUtil.readParallel(
             this.config.concurrency(),
             nodeCount,
@@ -164,7 +217,22 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
         return neighbors;
     }
 
-    private long iteration(HugeObjectArray<NeighborList> neighbors) {
+    private HnswIndex buildHnswIndex() {
+        try (var ignored = ProgressTimer.start(this::logIndexTime)) {
+            return HnswIndex.build(
+                this.computer,
+                this.nodeCount,
+                this.config.hnswMaxConnections(),
+                this.config.hnswEfConstruction(),
+                random.split(),
+                this.config.concurrency(),
+                this.context.executor(),
+                this.context.tracker()
+            );
+        }
+    }
+
+    private long iteration(HugeObjectArray<NeighborList> neighbors, IterationBuffers buffers) {
         // this is a sanity check
         // we check for this before any iteration and return
         // and just make sure that this invariant holds on every iteration
@@ -173,15 +241,13 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
             return NeighborList.NOT_INSERTED;
         }
 
-        var tracker = this.context.tracker();
         var concurrency = this.config.concurrency();
         var executor = this.context.executor();
 
         var sampledK = this.config.sampledK(n);
 
-        // TODO: init in ctor and reuse - benchmark against new allocations
-        var allOldNeighbors = HugeObjectArray.newArray(LongArrayList.class, n, tracker);
-        var allNewNeighbors = HugeObjectArray.newArray(LongArrayList.class, n, tracker);
+        var allOldNeighbors = buffers.allOldNeighbors;
+        var allNewNeighbors = buffers.allNewNeighbors;
 
         ParallelUtil.readParallel(concurrency, n, executor, new SplitOldAndNewNeighbors(
             this.random,
@@ -191,11 +257,8 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
             sampledK
         ));
 
-        // TODO: init in ctor and reuse - benchmark against new allocations
-        var reverseOldNeighbors = HugeObjectArray.newArray(LongArrayList.class, n, tracker);
-        var reverseNewNeighbors = HugeObjectArray.newArray(LongArrayList.class, n, tracker);
-
-        reverseOldAndNewNeighbors(n, allOldNeighbors, allNewNeighbors, reverseOldNeighbors, reverseNewNeighbors);
+        buffers.reverseOldNeighbors.build(allOldNeighbors);
+        buffers.reverseNewNeighbors.build(allNewNeighbors);
 
         var neighborsJoiner = new JoinNeighbors(
             this.random,
@@ -203,8 +266,8 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
             neighbors,
             allOldNeighbors,
             allNewNeighbors,
-            reverseOldNeighbors,
-            reverseNewNeighbors,
+            buffers.reverseOldNeighbors,
+            buffers.reverseNewNeighbors,
             n,
             this.config.topK(),
             sampledK,
@@ -216,36 +279,30 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
         return neighborsJoiner.updateCount.sum();
     }
 
-    private static void reverseOldAndNewNeighbors(
-        long nodeCount,
-        HugeObjectArray<LongArrayList> allOldNeighbors,
-        HugeObjectArray<LongArrayList> allNewNeighbors,
-        HugeObjectArray<LongArrayList> reverseOldNeighbors,
-        HugeObjectArray<LongArrayList> reverseNewNeighbors
-    ) {
-        // TODO: cursors
-        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
-            reverseNeighbors(nodeId, allOldNeighbors, reverseOldNeighbors);
-            reverseNeighbors(nodeId, allNewNeighbors, reverseNewNeighbors);
+    /**
+     * Buffers that are allocated once and reused by every iteration.
+     */
+    private static final class IterationBuffers {
+        private final HugeObjectArray<LongArrayList> allOldNeighbors;
+        private final HugeObjectArray<LongArrayList> allNewNeighbors;
+        private final ReverseNeighbors reverseOldNeighbors;
+        private final ReverseNeighbors reverseNewNeighbors;
+        private final AllocationTracker tracker;
+
+        private IterationBuffers(long nodeCount, int concurrency, KnnContext context) {
+            var tracker = context.tracker();
+            this.tracker = tracker;
+            this.allOldNeighbors = HugeObjectArray.newArray(LongArrayList.class, nodeCount, tracker);
+            this.allNewNeighbors = HugeObjectArray.newArray(LongArrayList.class, nodeCount, tracker);
+            this.reverseOldNeighbors = new ReverseNeighbors(nodeCount, concurrency, context.executor(), tracker);
+            this.reverseNewNeighbors = new ReverseNeighbors(nodeCount, concurrency, context.executor(), tracker);
         }
-    }
 
-    static void reverseNeighbors(
-        long nodeId,
-        HugeObjectArray<LongArrayList> allNeighbors,
-        HugeObjectArray<LongArrayList> reverseNeighbors
-    ) {
-        var neighbors = allNeighbors.get(nodeId);
-        if (neighbors != null) {
-            for (var neighbor : neighbors) {
-                assert neighbor.value != nodeId;
-                var oldReverse = reverseNeighbors.get(neighbor.value);
-                if (oldReverse == null) {
-                    oldReverse = new LongArrayList();
-                    reverseNeighbors.set(neighbor.value, oldReverse);
-                }
-                oldReverse.add(nodeId);
-            }
+        private void release() {
+            tracker.remove(this.allOldNeighbors.release());
+            tracker.remove(this.allNewNeighbors.release());
+            this.reverseOldNeighbors.release();
+            this.reverseNewNeighbors.release();
         }
     }
 
@@ -255,8 +312,8 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
         private final HugeObjectArray<NeighborList> neighbors;
         private final HugeObjectArray<LongArrayList> allOldNeighbors;
         private final HugeObjectArray<LongArrayList> allNewNeighbors;
-        private final HugeObjectArray<LongArrayList> allReverseOldNeighbors;
-        private final HugeObjectArray<LongArrayList> allReverseNewNeighbors;
+        private final ReverseNeighbors allReverseOldNeighbors;
+        private final ReverseNeighbors allReverseNewNeighbors;
         private final long n;
         private final int k;
         private final int sampledK;
@@ -269,8 +326,8 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
             HugeObjectArray<NeighborList> neighbors,
             HugeObjectArray<LongArrayList> allOldNeighbors,
             HugeObjectArray<LongArrayList> allNewNeighbors,
-            HugeObjectArray<LongArrayList> allReverseOldNeighbors,
-            HugeObjectArray<LongArrayList> allReverseNewNeighbors,
+            ReverseNeighbors allReverseOldNeighbors,
+            ReverseNeighbors allReverseNewNeighbors,
             long n,
             int k,
             int sampledK,
@@ -308,14 +365,13 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
                 // old[v] ∪ Sample(old′[v], ρK)
                 var oldNeighbors = allOldNeighbors.get(nodeId);
                 if (oldNeighbors != null) {
-                    var reverseOldNeighbors = allReverseOldNeighbors.get(nodeId);
-                    if (reverseOldNeighbors != null) {
-                        var numberOfReverseOldNeighbors = reverseOldNeighbors.size();
-                        for (var elem : reverseOldNeighbors) {
-                            if (rng.nextInt(numberOfReverseOldNeighbors) < sampledK) {
-                                // TODO: this could add nodes twice, maybe? should this be a set?
-                                oldNeighbors.add(elem.value);
-                            }
+                    var reverseOldStart = allReverseOldNeighbors.start(nodeId);
+                    var reverseOldEnd = allReverseOldNeighbors.end(nodeId);
+                    var numberOfReverseOldNeighbors = Math.toIntExact(reverseOldEnd - reverseOldStart);
+                    for (long index = reverseOldStart; index < reverseOldEnd; index++) {
+                        if (rng.nextInt(numberOfReverseOldNeighbors) < sampledK) {
+                            // TODO: this could add nodes twice, maybe? should this be a set?
+                            oldNeighbors.add(allReverseOldNeighbors.target(index));
                         }
                     }
                 }
@@ -324,14 +380,13 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
                 // new[v] ∪ Sample(new′[v], ρK)
                 var newNeighbors = allNewNeighbors.get(nodeId);
                 if (newNeighbors != null) {
-                    var reverseNewNeighbors = allReverseNewNeighbors.get(nodeId);
-                    if (reverseNewNeighbors != null) {
-                        var numberOfReverseNewNeighbors = reverseNewNeighbors.size();
-                        for (var elem : reverseNewNeighbors) {
-                            if (rng.nextInt(numberOfReverseNewNeighbors) < sampledK) {
-                                // TODO: this could add nodes twice, maybe? should this be a set?
-                                newNeighbors.add(elem.value);
-                            }
+                    var reverseNewStart = allReverseNewNeighbors.start(nodeId);
+                    var reverseNewEnd = allReverseNewNeighbors.end(nodeId);
+                    var numberOfReverseNewNeighbors = Math.toIntExact(reverseNewEnd - reverseNewStart);
+                    for (long index = reverseNewStart; index < reverseNewEnd; index++) {
+                        if (rng.nextInt(numberOfReverseNewNeighbors) < sampledK) {
+                            // TODO: this could add nodes twice, maybe? should this be a set?
+                            newNeighbors.add(allReverseNewNeighbors.target(index));
                         }
                     }
 
@@ -465,6 +520,10 @@ public class Knn extends Algorithm<Knn, Knn.Result> {
         progressLogger.logMessage(() -> formatWithLocale("KNN-G Graph init took %d ms", ms));
     }
 
+    private void logIndexTime(long ms) {
+        progressLogger.logMessage(() -> formatWithLocale("KNN-G Graph HNSW index build took %d ms", ms));
+    }
+
     private void logIterationTime(int iteration, long ms) {
         progressLogger.logMessage(() -> formatWithLocale("KNN-G Graph iteration %d took %d ms", iteration, ms));
     }
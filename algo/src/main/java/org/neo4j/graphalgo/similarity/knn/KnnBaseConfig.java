@@ -73,6 +73,24 @@ public interface KnnBaseConfig extends AlgoBaseConfig, IterationsConfig, NodeWei
         return -1;
     }
 
+    @Value.Default
+    @Configuration.ConvertWith("org.neo4j.graphalgo.similarity.knn.KnnSampler#parse")
+    default KnnSampler initialSampler() {
+        return KnnSampler.RANDOM;
+    }
+
+    @Value.Default
+    @Configuration.IntegerRange(min = 2)
+    default int hnswMaxConnections() {
+        return 16;
+    }
+
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int hnswEfConstruction() {
+        return 100;
+    }
+
     @Configuration.Ignore
     default int sampledK(long nodeCount) {
         // (int) is safe because value is at most `topK`, which is an int
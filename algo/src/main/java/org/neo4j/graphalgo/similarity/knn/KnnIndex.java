@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.knn;
+
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongHashSet;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.huge.FilteredNodeProperties;
+import org.neo4j.graphalgo.core.huge.NodeFilteredGraph;
+import org.neo4j.graphalgo.core.loading.GraphIndex;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+import org.neo4j.graphalgo.similarity.SimilarityResult;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * The result of a KNN computation, kept in the graph catalog to answer top-k queries without recomputing the
+ * whole neighbor graph.
+ * <p>
+ * When the indexed node property is replaced, only the nodes with changed values and the nodes that
+ * referenced them are repaired. If a large part of the nodes changed, the neighbor graph is recomputed.
+ * <p>
+ * Replacing a property in the graph store means removing it first. From the removal until the property
+ * is written again the index cannot be queried, but it keeps the old values to find the changed nodes.
+ */
+public final class KnnIndex implements GraphIndex {
+
+    // if more nodes than this fraction changed, a full recomputation is cheaper than the repair
+    private static final double REBUILD_THRESHOLD = 0.1;
+
+    private final Graph graph;
+    private final KnnBaseConfig config;
+    private final KnnContext context;
+    private final String propertyKey;
+    private final SplittableRandom random;
+
+    // guarded by this
+    private NodeProperties properties;
+    private SimilarityComputer computer;
+    private HugeObjectArray<NeighborList> neighbors;
+    private boolean propertyRemoved;
+
+    public static KnnIndex of(Graph graph, KnnBaseConfig config, KnnContext context, Knn.Result result) {
+        var propertyKey = config.nodeWeightProperty();
+        if (propertyKey == null) {
+            throw new IllegalArgumentException("A KNN index requires the `nodeWeightProperty` to be set.");
+        }
+        return new KnnIndex(graph, config, context, propertyKey, graph.nodeProperties(propertyKey), result.neighborList());
+    }
+
+    private KnnIndex(
+        Graph graph,
+        KnnBaseConfig config,
+        KnnContext context,
+        String propertyKey,
+        NodeProperties properties,
+        HugeObjectArray<NeighborList> neighbors
+    ) {
+        this.graph = graph;
+        this.config = config;
+        this.context = context;
+        this.propertyKey = propertyKey;
+        this.random = config.randomSeed() == -1L
+            ? new SplittableRandom()
+            : new SplittableRandom(config.randomSeed());
+        this.properties = properties;
+        this.computer = SimilarityComputer.ofProperty(
+            properties,
+            propertyKey,
+            config.concurrency(),
+            context.executor(),
+            context.tracker()
+        );
+        this.neighbors = neighbors;
+    }
+
+    public Graph graph() {
+        return graph;
+    }
+
+    public String propertyKey() {
+        return propertyKey;
+    }
+
+    public int topK() {
+        return config.topK();
+    }
+
+    /**
+     * Returns up to {@code k} of the indexed neighbors of the given node, in descending order of similarity.
+     */
+    public synchronized Stream<SimilarityResult> query(long nodeId, int k) {
+        if (propertyRemoved) {
+            throw new IllegalStateException(formatWithLocale(
+                "The node property `%s` of the KNN index has been removed. Write the property again to update the index.",
+                propertyKey
+            ));
+        }
+        if (nodeId < 0 || nodeId >= neighbors.size()) {
+            return Stream.empty();
+        }
+        // the neighbor list might be replaced by an update, so we materialize the results
+        return neighbors
+            .get(nodeId)
+            .similarityStream(nodeId)
+            .limit(k)
+            .collect(Collectors.toList())
+            .stream();
+    }
+
+    @Override
+    public Set<String> nodePropertyKeys() {
+        return Set.of(propertyKey);
+    }
+
+    @Override
+    public synchronized void onNodePropertyUpdated(String propertyKey, NodeProperties properties) {
+        var newProperties = graph instanceof NodeFilteredGraph
+            ? new FilteredNodeProperties(properties, (NodeFilteredGraph) graph)
+            : properties;
+
+        var nodeCount = graph.nodeCount();
+        var oldProperties = this.properties;
+        var changed = HugeAtomicBitSet.create(nodeCount, context.tracker());
+        ParallelUtil.readParallel(config.concurrency(), nodeCount, context.executor(), (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                if (!Objects.equals(oldProperties.value(nodeId), newProperties.value(nodeId))) {
+                    changed.set(nodeId);
+                }
+            }
+        });
+
+        this.properties = newProperties;
+        this.propertyRemoved = false;
+        context.tracker().remove(computer.release());
+        this.computer = SimilarityComputer.ofProperty(
+            newProperties,
+            propertyKey,
+            config.concurrency(),
+            context.executor(),
+            context.tracker()
+        );
+
+        var changedCount = changed.cardinality();
+        if (changedCount > 0 && neighbors.size() > 0) {
+            if (changedCount > REBUILD_THRESHOLD * nodeCount) {
+                var result = new Knn(nodeCount, config, computer, context).compute();
+                context.tracker().remove(neighbors.release());
+                neighbors = result.neighborList();
+            } else {
+                repair(changed);
+            }
+        }
+        context.tracker().remove(changed.release());
+    }
+
+    @Override
+    public synchronized void onNodePropertyRemoved(String propertyKey) {
+        // the old values stay around until the property is written again, so that only changed nodes are repaired
+        this.propertyRemoved = true;
+    }
+
+    @Override
+    public AllocationTracker tracker() {
+        return context.tracker();
+    }
+
+    @Override
+    public synchronized long release() {
+        return neighbors.release() + computer.release();
+    }
+
+    private void repair(HugeAtomicBitSet changed) {
+        var nodeCount = graph.nodeCount();
+        var computer = this.computer;
+        var neighbors = this.neighbors;
+
+        // similarities to changed nodes are stale, so we recompute all lists that contain one of them
+        runPartitioned(nodeCount, (start, end, rng) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                var neighborList = neighbors.get(nodeId);
+                boolean stale = false;
+                for (int i = 0; i < neighborList.size() && !stale; i++) {
+                    stale = changed.get(NeighborList.clearCheckedFlag(neighborList.elementAt(i)));
+                }
+                if (stale) {
+                    var updated = new NeighborList(config.topK());
+                    for (int i = 0; i < neighborList.size(); i++) {
+                        var neighbor = NeighborList.clearCheckedFlag(neighborList.elementAt(i));
+                        updated.add(neighbor, computer.similarity(nodeId, neighbor), rng);
+                    }
+                    neighbors.set(nodeId, updated);
+                }
+            }
+        });
+
+        var changedNodes = new LongArrayList();
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            if (changed.get(nodeId)) {
+                changedNodes.add(nodeId);
+            }
+        }
+
+        // changed nodes search for new neighbors among their old neighborhood and some random nodes,
+        // the new lists are only published once all searches are done, so every search sees the old neighborhoods
+        var changedCount = changedNodes.size();
+        var updatedLists = new NeighborList[changedCount];
+        var candidateIds = new long[changedCount][];
+        var candidateSimilarities = new double[changedCount][];
+        var sampledK = config.boundedK(nodeCount);
+        runPartitioned(changedCount, (start, end, rng) -> {
+            var candidates = new LongHashSet();
+            for (int index = (int) start; index < end; index++) {
+                var nodeId = changedNodes.get(index);
+                candidates.clear();
+
+                var neighborList = neighbors.get(nodeId);
+                for (int i = 0; i < neighborList.size(); i++) {
+                    var neighbor = NeighborList.clearCheckedFlag(neighborList.elementAt(i));
+                    candidates.add(neighbor);
+                    var neighborsOfNeighbor = neighbors.get(neighbor);
+                    for (int j = 0; j < neighborsOfNeighbor.size(); j++) {
+                        candidates.add(NeighborList.clearCheckedFlag(neighborsOfNeighbor.elementAt(j)));
+                    }
+                }
+                for (int i = 0; i < sampledK + config.randomJoins(); i++) {
+                    candidates.add(rng.nextLong(nodeCount));
+                }
+                candidates.remove(nodeId);
+
+                var ids = candidates.toArray();
+                var similarities = new double[ids.length];
+                var updated = new NeighborList(config.topK());
+                for (int i = 0; i < ids.length; i++) {
+                    similarities[i] = computer.similarity(nodeId, ids[i]);
+                    updated.add(ids[i], similarities[i], rng);
+                }
+                updatedLists[index] = updated;
+                candidateIds[index] = ids;
+                candidateSimilarities[index] = similarities;
+            }
+        });
+
+        for (int index = 0; index < changedCount; index++) {
+            neighbors.set(changedNodes.get(index), updatedLists[index]);
+        }
+
+        // every candidate that was compared with a changed node also considers it as a new neighbor
+        runPartitioned(changedCount, (start, end, rng) -> {
+            for (int index = (int) start; index < end; index++) {
+                var nodeId = changedNodes.get(index);
+                var ids = candidateIds[index];
+                var similarities = candidateSimilarities[index];
+                for (int i = 0; i < ids.length; i++) {
+                    var candidateList = neighbors.get(ids[i]);
+                    synchronized (candidateList) {
+                        candidateList.add(nodeId, similarities[i], rng);
+                    }
+                }
+            }
+        });
+    }
+
+    private void runPartitioned(long size, RangeTask task) {
+        // the random generators are split on the calling thread, as SplittableRandom is not thread-safe
+        var tasks = PartitionUtils
+            .rangePartition(config.concurrency(), size)
+            .stream()
+            .map(partition -> {
+                var rng = random.split();
+                var start = partition.startNode();
+                var end = start + partition.nodeCount();
+                return (Runnable) () -> task.run(start, end, rng);
+            })
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(config.concurrency(), tasks, context.executor());
+    }
+
+    @FunctionalInterface
+    private interface RangeTask {
+        void run(long start, long end, SplittableRandom random);
+    }
+}
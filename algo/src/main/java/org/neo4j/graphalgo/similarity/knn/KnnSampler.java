@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.knn;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Defines how the neighbor lists are initialized before NN-Descent refines them.
+ */
+public enum KnnSampler {
+    /**
+     * Start every node with randomly chosen neighbors.
+     */
+    RANDOM,
+    /**
+     * Start every node with the approximate nearest neighbors found in a {@link HnswIndex}.
+     * Building the index is more expensive than random sampling,
+     * but NN-Descent needs far fewer iterations to converge.
+     */
+    HNSW;
+
+    public static KnnSampler of(String value) {
+        try {
+            return KnnSampler.valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            String availableSamplers = Arrays
+                .stream(KnnSampler.values())
+                .map(KnnSampler::name)
+                .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(formatWithLocale(
+                "Initial sampler `%s` is not supported. Must be one of: %s.",
+                value,
+                availableSamplers
+            ));
+        }
+    }
+
+    public static KnnSampler parse(Object object) {
+        if (object == null) {
+            return null;
+        }
+        if (object instanceof String) {
+            return of((String) object);
+        }
+        if (object instanceof KnnSampler) {
+            return (KnnSampler) object;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.knn;
+
+import com.carrotsearch.hppc.LongArrayList;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The reverse of a neighbor relation in a compressed sparse row layout.
+ * If {@code v} is a neighbor of {@code u}, then {@code u} is a reverse neighbor of {@code v}.
+ * <p>
+ * The reverse neighbors are built in parallel in two passes.
+ * The first pass counts the reverse neighbors of every node, which are then turned into offsets by a prefix sum.
+ * The second pass claims a slot for every reverse neighbor by incrementing the offset of the target node.
+ * After the second pass, the offset of a node points to the end of its reverse neighbors,
+ * which is also the start of the reverse neighbors of the following node.
+ * <p>
+ * The buffers are kept between calls to {@link #build(HugeObjectArray)} and only grow when necessary.
+ */
+final class ReverseNeighbors {
+
+    private final long nodeCount;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+    private final HugeAtomicLongArray offsets;
+    private HugeLongArray targets;
+
+    ReverseNeighbors(long nodeCount, int concurrency, ExecutorService executor, AllocationTracker tracker) {
+        this.nodeCount = nodeCount;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+        this.offsets = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        this.targets = HugeLongArray.newArray(0, tracker);
+    }
+
+    /**
+     * Replaces the current content with the reverse of the given neighbors.
+     */
+    void build(HugeObjectArray<LongArrayList> allNeighbors) {
+        var offsets = this.offsets;
+
+        forEachBatch((batch, start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                offsets.set(nodeId, 0L);
+            }
+        });
+
+        forEachBatch((batch, start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                var neighbors = allNeighbors.get(nodeId);
+                if (neighbors != null) {
+                    for (var neighbor : neighbors) {
+                        assert neighbor.value != nodeId;
+                        offsets.getAndAdd(neighbor.value, 1L);
+                    }
+                }
+            }
+        });
+
+        var batchOffsets = new long[numberOfBatches()];
+        forEachBatch((batch, start, end) -> {
+            long sum = 0L;
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                sum += offsets.get(nodeId);
+            }
+            batchOffsets[batch] = sum;
+        });
+
+        long total = 0L;
+        for (int batch = 0; batch < batchOffsets.length; batch++) {
+            long count = batchOffsets[batch];
+            batchOffsets[batch] = total;
+            total += count;
+        }
+
+        forEachBatch((batch, start, end) -> {
+            long offset = batchOffsets[batch];
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                long count = offsets.get(nodeId);
+                offsets.set(nodeId, offset);
+                offset += count;
+            }
+        });
+
+        if (targets.size() < total) {
+            tracker.remove(targets.release());
+            targets = HugeLongArray.newArray(total, tracker);
+        }
+        var targets = this.targets;
+
+        forEachBatch((batch, start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                var neighbors = allNeighbors.get(nodeId);
+                if (neighbors != null) {
+                    for (var neighbor : neighbors) {
+                        targets.set(offsets.getAndAdd(neighbor.value, 1L), nodeId);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Index of the first reverse neighbor of the given node, to be used with {@link #target(long)}.
+     */
+    long start(long nodeId) {
+        return nodeId == 0 ? 0L : offsets.get(nodeId - 1);
+    }
+
+    /**
+     * Index after the last reverse neighbor of the given node.
+     */
+    long end(long nodeId) {
+        return offsets.get(nodeId);
+    }
+
+    long target(long index) {
+        return targets.get(index);
+    }
+
+    void release() {
+        tracker.remove(offsets.release());
+        tracker.remove(targets.release());
+    }
+
+    private int numberOfBatches() {
+        return Math.toIntExact(ParallelUtil.threadCount(batchSize(), nodeCount));
+    }
+
+    private long batchSize() {
+        return Math.max(1L, ParallelUtil.threadCount(concurrency, nodeCount));
+    }
+
+    private void forEachBatch(BatchTask task) {
+        var batchSize = batchSize();
+        var tasks = new ArrayList<Runnable>(numberOfBatches());
+        int batch = 0;
+        for (long start = 0L; start < nodeCount; start += batchSize, batch++) {
+            long end = Math.min(nodeCount, start + batchSize);
+            int batchIndex = batch;
+            long batchStart = start;
+            tasks.add(() -> task.apply(batchIndex, batchStart, end));
+        }
+        ParallelUtil.run(tasks, executor);
+    }
+
+    @FunctionalInterface
+    private interface BatchTask {
+        void apply(int batch, long start, long end);
+    }
+}
@@ -21,27 +21,54 @@ package org.neo4j.graphalgo.similarity.knn;
 
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.nodeproperties.DenseDoubleArrayNodeProperties;
+import org.neo4j.graphalgo.core.loading.nodeproperties.DenseFloatArrayNodeProperties;
 import org.neo4j.graphalgo.core.utils.Intersections;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.function.LongToDoubleFunction;
 
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 public interface SimilarityComputer {
     double similarity(long firstNodeId, long secondNodeId);
 
+    /**
+     * Release internal data structures and return an estimate how many bytes were freed.
+     *
+     * Note that the computer is not usable afterwards.
+     */
+    default long release() {
+        return 0L;
+    }
+
     SimilarityComputer DEFAULT_SIMILARITY_COMPUTER = new IdSimilarityComputer();
 
     static SimilarityComputer ofProperty(NodeProperties nodeProperties, String propertyName) {
+        return ofProperty(nodeProperties, propertyName, 1, Pools.DEFAULT, AllocationTracker.empty());
+    }
+
+    static SimilarityComputer ofProperty(
+        NodeProperties nodeProperties,
+        String propertyName,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
         switch (nodeProperties.valueType()) {
             case LONG:
                 return ofLongProperty(nodeProperties);
             case DOUBLE:
                 return ofDoubleProperty(nodeProperties);
             case DOUBLE_ARRAY:
-                return ofDoubleArrayProperty(nodeProperties);
+                return ofDoubleArrayProperty(nodeProperties, concurrency, executor, tracker);
             case FLOAT_ARRAY:
-                return ofFloatArrayProperty(nodeProperties);
+                return ofFloatArrayProperty(nodeProperties, concurrency, executor, tracker);
             case LONG_ARRAY:
                 return ofLongArrayProperty(nodeProperties);
             default:
@@ -62,11 +89,79 @@ public interface SimilarityComputer {
     }
 
     static SimilarityComputer ofFloatArrayProperty(NodeProperties nodeProperties) {
-        return new FloatArrayPropertySimilarityComputer(nodeProperties);
+        return ofFloatArrayProperty(nodeProperties, 1, Pools.DEFAULT, AllocationTracker.empty());
+    }
+
+    static SimilarityComputer ofFloatArrayProperty(
+        NodeProperties nodeProperties,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        if (nodeProperties instanceof DenseFloatArrayNodeProperties) {
+            var denseProperties = (DenseFloatArrayNodeProperties) nodeProperties;
+            var matrix = denseProperties.matrix();
+            var squaredNorms = SquaredNorms.compute(
+                denseProperties.size(),
+                nodeId -> denseProperties.hasValue(nodeId) ? matrix.dot(nodeId, nodeId) : 0D,
+                concurrency,
+                executor,
+                tracker
+            );
+            return new DenseFloatArrayPropertySimilarityComputer(denseProperties, squaredNorms);
+        }
+        if (nodeProperties.valueType() != ValueType.FLOAT_ARRAY) {
+            throw new IllegalArgumentException("The property is not of type FLOAT_ARRAY");
+        }
+        var squaredNorms = SquaredNorms.compute(
+            nodeProperties.size(),
+            nodeId -> {
+                var values = nodeProperties.floatArrayValue(nodeId);
+                return values == null ? 0D : Intersections.dot(values, 0, values, 0, values.length);
+            },
+            concurrency,
+            executor,
+            tracker
+        );
+        return new FloatArrayPropertySimilarityComputer(nodeProperties, squaredNorms);
     }
 
     static SimilarityComputer ofDoubleArrayProperty(NodeProperties nodeProperties) {
-        return new DoubleArrayPropertySimilarityComputer(nodeProperties);
+        return ofDoubleArrayProperty(nodeProperties, 1, Pools.DEFAULT, AllocationTracker.empty());
+    }
+
+    static SimilarityComputer ofDoubleArrayProperty(
+        NodeProperties nodeProperties,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        if (nodeProperties instanceof DenseDoubleArrayNodeProperties) {
+            var denseProperties = (DenseDoubleArrayNodeProperties) nodeProperties;
+            var matrix = denseProperties.matrix();
+            var squaredNorms = SquaredNorms.compute(
+                denseProperties.size(),
+                nodeId -> denseProperties.hasValue(nodeId) ? matrix.dot(nodeId, nodeId) : 0D,
+                concurrency,
+                executor,
+                tracker
+            );
+            return new DenseDoubleArrayPropertySimilarityComputer(denseProperties, squaredNorms);
+        }
+        if (nodeProperties.valueType() != ValueType.DOUBLE_ARRAY) {
+            throw new IllegalArgumentException("The property is not of type DOUBLE_ARRAY");
+        }
+        var squaredNorms = SquaredNorms.compute(
+            nodeProperties.size(),
+            nodeId -> {
+                var values = nodeProperties.doubleArrayValue(nodeId);
+                return values == null ? 0D : Intersections.dot(values, 0, values, 0, values.length);
+            },
+            concurrency,
+            executor,
+            tracker
+        );
+        return new DoubleArrayPropertySimilarityComputer(nodeProperties, squaredNorms);
     }
 
     static SimilarityComputer ofLongArrayProperty(NodeProperties nodeProperties) {
@@ -123,42 +218,166 @@ final class LongPropertySimilarityComputer implements SimilarityComputer {
     }
 }
 
+/**
+ * Cosine similarity over float arrays.
+ * The squared L2 norm of every node is computed once up front,
+ * so that a pair of nodes of equal length only needs a single dot product.
+ */
 final class FloatArrayPropertySimilarityComputer implements SimilarityComputer {
     private final NodeProperties nodeProperties;
+    private final HugeDoubleArray squaredNorms;
 
-    FloatArrayPropertySimilarityComputer(NodeProperties nodeProperties) {
-        if (nodeProperties.valueType() != ValueType.FLOAT_ARRAY) {
-            throw new IllegalArgumentException("The property is not of type FLOAT_ARRAY");
+    FloatArrayPropertySimilarityComputer(NodeProperties nodeProperties, HugeDoubleArray squaredNorms) {
+        this.nodeProperties = nodeProperties;
+        this.squaredNorms = squaredNorms;
+    }
+
+    @Override
+    public double similarity(long firstNodeId, long secondNodeId) {
+        var left = nodeProperties.floatArrayValue(firstNodeId);
+        var right = nodeProperties.floatArrayValue(secondNodeId);
+        var size = squaredNorms.size();
+        if (left.length != right.length || firstNodeId >= size || secondNodeId >= size) {
+            int len = Math.min(left.length, right.length);
+            return Intersections.cosine(left, right, len);
         }
+        var dotProduct = Intersections.dot(left, 0, right, 0, left.length);
+        return dotProduct / Math.sqrt(squaredNorms.get(firstNodeId) * squaredNorms.get(secondNodeId));
+    }
+
+    @Override
+    public long release() {
+        return squaredNorms.release();
+    }
+}
+
+/**
+ * Cosine similarity over float arrays of equal length that are stored in a matrix.
+ * Rows are read in place, nodes without a value fall back to the default value.
+ */
+final class DenseFloatArrayPropertySimilarityComputer implements SimilarityComputer {
+    private final DenseFloatArrayNodeProperties nodeProperties;
+    private final HugeDoubleArray squaredNorms;
+
+    DenseFloatArrayPropertySimilarityComputer(
+        DenseFloatArrayNodeProperties nodeProperties,
+        HugeDoubleArray squaredNorms
+    ) {
         this.nodeProperties = nodeProperties;
+        this.squaredNorms = squaredNorms;
     }
 
     @Override
     public double similarity(long firstNodeId, long secondNodeId) {
+        var size = squaredNorms.size();
+        if (firstNodeId < size && secondNodeId < size &&
+            nodeProperties.hasValue(firstNodeId) && nodeProperties.hasValue(secondNodeId)) {
+            var dotProduct = nodeProperties.matrix().dot(firstNodeId, secondNodeId);
+            return dotProduct / Math.sqrt(squaredNorms.get(firstNodeId) * squaredNorms.get(secondNodeId));
+        }
         var left = nodeProperties.floatArrayValue(firstNodeId);
         var right = nodeProperties.floatArrayValue(secondNodeId);
         int len = Math.min(left.length, right.length);
         return Intersections.cosine(left, right, len);
     }
+
+    @Override
+    public long release() {
+        return squaredNorms.release();
+    }
 }
 
+/**
+ * Cosine similarity over double arrays.
+ * The squared L2 norm of every node is computed once up front,
+ * so that a pair of nodes of equal length only needs a single dot product.
+ */
 final class DoubleArrayPropertySimilarityComputer implements SimilarityComputer {
     private final NodeProperties nodeProperties;
+    private final HugeDoubleArray squaredNorms;
 
-    DoubleArrayPropertySimilarityComputer(NodeProperties nodeProperties) {
-        if (nodeProperties.valueType() != ValueType.DOUBLE_ARRAY) {
-            throw new IllegalArgumentException("The property is not of type DOUBLE_ARRAY");
+    DoubleArrayPropertySimilarityComputer(NodeProperties nodeProperties, HugeDoubleArray squaredNorms) {
+        this.nodeProperties = nodeProperties;
+        this.squaredNorms = squaredNorms;
+    }
+
+    @Override
+    public double similarity(long firstNodeId, long secondNodeId) {
+        var left = nodeProperties.doubleArrayValue(firstNodeId);
+        var right = nodeProperties.doubleArrayValue(secondNodeId);
+        var size = squaredNorms.size();
+        if (left.length != right.length || firstNodeId >= size || secondNodeId >= size) {
+            int len = Math.min(left.length, right.length);
+            return Intersections.cosine(left, right, len);
         }
+        var dotProduct = Intersections.dot(left, 0, right, 0, left.length);
+        return dotProduct / Math.sqrt(squaredNorms.get(firstNodeId) * squaredNorms.get(secondNodeId));
+    }
+
+    @Override
+    public long release() {
+        return squaredNorms.release();
+    }
+}
+
+/**
+ * Cosine similarity over double arrays of equal length that are stored in a matrix.
+ * Rows are read in place, nodes without a value fall back to the default value.
+ */
+final class DenseDoubleArrayPropertySimilarityComputer implements SimilarityComputer {
+    private final DenseDoubleArrayNodeProperties nodeProperties;
+    private final HugeDoubleArray squaredNorms;
+
+    DenseDoubleArrayPropertySimilarityComputer(
+        DenseDoubleArrayNodeProperties nodeProperties,
+        HugeDoubleArray squaredNorms
+    ) {
         this.nodeProperties = nodeProperties;
+        this.squaredNorms = squaredNorms;
     }
 
     @Override
     public double similarity(long firstNodeId, long secondNodeId) {
+        var size = squaredNorms.size();
+        if (firstNodeId < size && secondNodeId < size &&
+            nodeProperties.hasValue(firstNodeId) && nodeProperties.hasValue(secondNodeId)) {
+            var dotProduct = nodeProperties.matrix().dot(firstNodeId, secondNodeId);
+            return dotProduct / Math.sqrt(squaredNorms.get(firstNodeId) * squaredNorms.get(secondNodeId));
+        }
         var left = nodeProperties.doubleArrayValue(firstNodeId);
         var right = nodeProperties.doubleArrayValue(secondNodeId);
         int len = Math.min(left.length, right.length);
         return Intersections.cosine(left, right, len);
     }
+
+    @Override
+    public long release() {
+        return squaredNorms.release();
+    }
+}
+
+/**
+ * Computes the squared L2 norm of every node in parallel, each task fills a disjoint range of nodes.
+ */
+final class SquaredNorms {
+
+    private SquaredNorms() {}
+
+    static HugeDoubleArray compute(
+        long nodeCount,
+        LongToDoubleFunction squaredNorm,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        var squaredNorms = HugeDoubleArray.newArray(nodeCount, tracker);
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                squaredNorms.set(nodeId, squaredNorm.applyAsDouble(nodeId));
+            }
+        });
+        return squaredNorms;
+    }
 }
 
 final class LongArrayPropertySimilarityComputer implements SimilarityComputer {
@@ -177,7 +396,7 @@ final class LongArrayPropertySimilarityComputer implements SimilarityComputer {
         var right = nodeProperties.longArrayValue(secondNodeId).clone();
         Arrays.sort(left);
         Arrays.sort(right);
-        long sameElements = Intersections.intersection3(left, right);
+        long sameElements = Intersections.intersectionSorted(left, right);
         long differentElements = left.length - sameElements;
         return 1.0 / (1.0 + differentElements);
     }
@@ -79,7 +79,6 @@ final class SplitOldAndNewNeighbors implements BiLongConsumer {
                 if (NeighborList.isChecked(neighborElement)) {
                     if (oldNeighbors == null) {
                         oldNeighbors = new LongArrayList();
-                        allOldNeighbors.set(nodeId, oldNeighbors);
                     }
                     // unset the checked bit
                     var neighborNode = NeighborList.clearCheckedFlag(neighborElement);
@@ -99,7 +98,11 @@ final class SplitOldAndNewNeighbors implements BiLongConsumer {
                 }
             }
 
+            // the arrays are reused between iterations, overwrite entries from the previous iteration
+            allOldNeighbors.set(nodeId, oldNeighbors);
+
             if (sampled.isEmpty()) {
+                allNewNeighbors.set(nodeId, null);
                 continue;
             }
 
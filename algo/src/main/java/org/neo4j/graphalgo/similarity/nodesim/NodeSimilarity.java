@@ -328,7 +328,7 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
     }
 
     private double jaccard(long[] vector1, long[] vector2) {
-        long intersection = Intersections.intersection3(vector1, vector2);
+        long intersection = Intersections.intersectionSorted(vector1, vector2);
         double union = vector1.length + vector2.length - intersection;
         double similarity = union == 0 ? 0 : intersection / union;
         getProgressLogger().logProgress();
@@ -34,8 +34,10 @@ import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
 import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
@@ -48,6 +50,12 @@ import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
  */
 public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
+    // number of neighbors per node that are linked before the largest component is determined
+    static final int NEIGHBOR_ROUNDS = 2;
+    // number of nodes that are sampled to find the largest intermediate component
+    private static final int SAMPLING_SIZE = 1024;
+    private static final long NO_COMPONENT = -1L;
+
     private final WccBaseConfig config;
     private final NodeProperties initialComponents;
     private final ExecutorService executor;
@@ -112,11 +120,22 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
             ? new HugeAtomicDisjointSetStruct(nodeCount, initialComponents, tracker, config.concurrency())
             : new HugeAtomicDisjointSetStruct(nodeCount, tracker, config.concurrency());
 
+        int skipNeighbors = 0;
+        long skipComponent = NO_COMPONENT;
+        if (config.sampling() && nodeCount > 0) {
+            sampleNeighbors(dss);
+            skipNeighbors = NEIGHBOR_ROUNDS;
+            // skipping a component is only correct if every relationship is also visited from its other end
+            if (graph.isUndirected()) {
+                skipComponent = largestComponent(dss);
+            }
+        }
+
         final Collection<Runnable> tasks = new ArrayList<>(threadSize);
         for (long i = 0L; i < this.nodeCount; i += batchSize) {
-            WCCTask wccTask = Double.isNaN(threshold()) || threshold() == 0
-                ? new WCCTask(dss, i)
-                : new WCCWithThresholdTask(threshold(), dss, i);
+            WCCTask wccTask = isUnweighted()
+                ? new WCCTask(dss, i, skipNeighbors, skipComponent)
+                : new WCCWithThresholdTask(threshold(), dss, i, skipNeighbors, skipComponent);
             tasks.add(wccTask);
         }
         ParallelUtil.run(tasks, executor);
@@ -125,6 +144,52 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         return dss;
     }
 
+    /**
+     * Links every node with its first {@link #NEIGHBOR_ROUNDS} neighbors, one neighbor per round.
+     * On graphs with a giant component, this already connects most of its nodes.
+     *
+     * @see <a href="https://arxiv.org/abs/1910.08546">Afforest: A Fast Concurrent Connected Components Algorithm</a>
+     */
+    private void sampleNeighbors(DisjointSetStruct dss) {
+        for (int round = 0; round < NEIGHBOR_ROUNDS; round++) {
+            final Collection<Runnable> tasks = new ArrayList<>(threadSize);
+            for (long i = 0L; i < this.nodeCount; i += batchSize) {
+                tasks.add(new SampleNeighborTask(dss, i, round));
+            }
+            ParallelUtil.run(tasks, executor);
+        }
+    }
+
+    /**
+     * Approximates the largest component by the most frequent component of a random sample of nodes.
+     */
+    private long largestComponent(DisjointSetStruct dss) {
+        var random = ThreadLocalRandom.current();
+        var sample = new long[(int) Math.min(SAMPLING_SIZE, nodeCount)];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = dss.setIdOf(random.nextLong(nodeCount));
+        }
+        Arrays.sort(sample);
+
+        long largestComponent = sample[0];
+        int largestCount = 0;
+        for (int start = 0, end; start < sample.length; start = end) {
+            end = start + 1;
+            while (end < sample.length && sample[end] == sample[start]) {
+                end++;
+            }
+            if (end - start > largestCount) {
+                largestCount = end - start;
+                largestComponent = sample[start];
+            }
+        }
+        return largestComponent;
+    }
+
+    private boolean isUnweighted() {
+        return Double.isNaN(threshold()) || threshold() == 0;
+    }
+
     @Override
     public Wcc me() {
         return this;
@@ -143,18 +208,69 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         return threshold + 1;
     }
 
+    private class SampleNeighborTask implements Runnable, RelationshipWithPropertyConsumer {
+
+        private final DisjointSetStruct struct;
+        private final RelationshipIterator rels;
+        private final long offset;
+        private final long end;
+        private final int round;
+        private final boolean unweighted;
+        private final double threshold;
+        private int neighborIndex;
+
+        SampleNeighborTask(DisjointSetStruct struct, long offset, int round) {
+            this.struct = struct;
+            this.rels = graph.concurrentCopy();
+            this.offset = offset;
+            this.end = Math.min(offset + batchSize, nodeCount);
+            this.round = round;
+            this.unweighted = isUnweighted();
+            this.threshold = threshold();
+        }
+
+        @Override
+        public void run() {
+            for (long node = offset; node < end; node++) {
+                neighborIndex = 0;
+                rels.forEachRelationship(node, Wcc.defaultWeight(threshold), this);
+                if (node % RUN_CHECK_NODE_COUNT == 0) {
+                    assertRunning();
+                }
+            }
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+            if (neighborIndex++ < round) {
+                return true;
+            }
+            if (unweighted || property > threshold) {
+                struct.union(sourceNodeId, targetNodeId);
+            }
+            return false;
+        }
+    }
+
     private class WCCTask implements Runnable, RelationshipConsumer {
 
         final DisjointSetStruct struct;
         final RelationshipIterator rels;
         private final long offset;
         private final long end;
+        // the first neighbors of each node were already linked during sampling
+        private final int skipNeighbors;
+        // nodes of this component are not visited, their relationships are visited from the other nodes
+        private final long skipComponent;
+        int neighborIndex;
 
-        WCCTask(DisjointSetStruct struct, long offset) {
+        WCCTask(DisjointSetStruct struct, long offset, int skipNeighbors, long skipComponent) {
             this.struct = struct;
             this.rels = graph.concurrentCopy();
             this.offset = offset;
             this.end = Math.min(offset + batchSize, nodeCount);
+            this.skipNeighbors = skipNeighbors;
+            this.skipComponent = skipComponent;
         }
 
         @Override
@@ -170,12 +286,26 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         }
 
         void compute(final long node) {
+            if (skipComponent != NO_COMPONENT && struct.setIdOf(node) == skipComponent) {
+                return;
+            }
+            neighborIndex = 0;
+            forEachRelationship(node);
+        }
+
+        void forEachRelationship(final long node) {
             rels.forEachRelationship(node, this);
         }
 
+        boolean isSampled() {
+            return neighborIndex++ < skipNeighbors;
+        }
+
         @Override
         public boolean accept(final long sourceNodeId, final long targetNodeId) {
-            struct.union(sourceNodeId, targetNodeId);
+            if (!isSampled()) {
+                struct.union(sourceNodeId, targetNodeId);
+            }
             return true;
         }
     }
@@ -184,19 +314,25 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
         private final double threshold;
 
-        WCCWithThresholdTask(double threshold, DisjointSetStruct struct, long offset) {
-            super(struct, offset);
+        WCCWithThresholdTask(
+            double threshold,
+            DisjointSetStruct struct,
+            long offset,
+            int skipNeighbors,
+            long skipComponent
+        ) {
+            super(struct, offset, skipNeighbors, skipComponent);
             this.threshold = threshold;
         }
 
         @Override
-        void compute(final long node) {
+        void forEachRelationship(final long node) {
             rels.forEachRelationship(node, Wcc.defaultWeight(threshold), this);
         }
 
         @Override
         public boolean accept(final long sourceNodeId, final long targetNodeId, final double property) {
-            if (property > threshold) {
+            if (!isSampled() && property > threshold) {
                 struct.union(sourceNodeId, targetNodeId);
             }
             return true;
@@ -32,6 +32,11 @@ public interface WccBaseConfig extends AlgoBaseConfig, SeedConfig, ConsecutiveId
         return 0D;
     }
 
+    @Value.Default
+    default boolean sampling() {
+        return false;
+    }
+
     @Value.Check
     default void validate() {
         if (threshold() > 0 && relationshipWeightProperty() == null) {
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.wcc;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.loading.GraphIndex;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
+import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
+
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the disjoint set struct of a WCC computation alive in the graph catalog,
+ * so that new relationships can be added without recomputing the components of the whole graph.
+ * <p>
+ * Every added relationship is a single union operation, which takes amortized near-constant time.
+ * The struct is safe for concurrent unions, so batches of relationships are applied in parallel.
+ */
+public final class WccIndex implements GraphIndex {
+
+    private final Graph graph;
+    private final DisjointSetStruct dss;
+    private final WccBaseConfig config;
+    private final double threshold;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+
+    public static WccIndex of(
+        Graph graph,
+        DisjointSetStruct dss,
+        WccBaseConfig config,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        return new WccIndex(graph, dss, config, executor, tracker);
+    }
+
+    private WccIndex(
+        Graph graph,
+        DisjointSetStruct dss,
+        WccBaseConfig config,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.dss = dss;
+        this.config = config;
+        this.threshold = config.threshold();
+        this.concurrency = config.concurrency();
+        this.executor = executor;
+        this.tracker = tracker;
+    }
+
+    public Graph graph() {
+        return graph;
+    }
+
+    /**
+     * The configuration the index was created with, which determines its node labels and threshold weight.
+     */
+    public WccBaseConfig config() {
+        return config;
+    }
+
+    public long componentId(long nodeId) {
+        return dss.setIdOf(nodeId);
+    }
+
+    /**
+     * Unions the components of the given pairs of nodes.
+     * The batch API is unweighted, so the {@code threshold} does not apply.
+     *
+     * @return the number of relationships that were added
+     */
+    public long addRelationships(long[] sourceNodeIds, long[] targetNodeIds) {
+        if (sourceNodeIds.length != targetNodeIds.length) {
+            throw new IllegalArgumentException("The number of source and target nodes must be equal.");
+        }
+        ParallelUtil.readParallel(concurrency, sourceNodeIds.length, executor, (start, end) -> {
+            for (int i = (int) start; i < end; i++) {
+                dss.union(sourceNodeIds[i], targetNodeIds[i]);
+            }
+        });
+        return sourceNodeIds.length;
+    }
+
+    /**
+     * Unions the components of all relationships of the given graph, which must share the node id space of the index,
+     * i.e. it must be filtered by the same node labels.
+     * If the index was created with a {@code threshold}, relationships with a weight at or below it are skipped.
+     *
+     * @return the number of relationships that were added
+     */
+    public long addRelationships(Graph relationships) {
+        validateNodes(relationships);
+        var added = new LongAdder();
+        boolean weighted = threshold > 0 && relationships.hasRelationshipProperty();
+        ParallelUtil.readParallel(concurrency, relationships.nodeCount(), executor, (start, end) -> {
+            var iterator = relationships.concurrentCopy();
+            long count = 0;
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                if (weighted) {
+                    iterator.forEachRelationship(nodeId, threshold + 1, (source, target, weight) -> {
+                        if (weight > threshold) {
+                            dss.union(source, target);
+                        }
+                        return true;
+                    });
+                } else {
+                    iterator.forEachRelationship(nodeId, (source, target) -> {
+                        dss.union(source, target);
+                        return true;
+                    });
+                }
+                count += iterator.degree(nodeId);
+            }
+            added.add(count);
+        });
+        return added.sum();
+    }
+
+    private void validateNodes(Graph relationships) {
+        // graphs filtered by different labels can have the same node count, so we compare the nodes themselves
+        boolean sameNodes = relationships.nodeCount() == graph.nodeCount();
+        for (long nodeId = 0; sameNodes && nodeId < graph.nodeCount(); nodeId++) {
+            sameNodes = relationships.toOriginalNodeId(nodeId) == graph.toOriginalNodeId(nodeId);
+        }
+        if (!sameNodes) {
+            throw new IllegalArgumentException("The relationships must have the same nodes as the indexed graph.");
+        }
+    }
+
+    @Override
+    public Set<String> nodePropertyKeys() {
+        return Set.of();
+    }
+
+    @Override
+    public void onNodePropertyUpdated(String propertyKey, NodeProperties properties) {
+        // components only depend on relationships
+    }
+
+    @Override
+    public void onNodePropertyRemoved(String propertyKey) {
+        // components only depend on relationships
+    }
+
+    @Override
+    public AllocationTracker tracker() {
+        return tracker;
+    }
+
+    @Override
+    public long release() {
+        return dss instanceof HugeAtomicDisjointSetStruct
+            ? ((HugeAtomicDisjointSetStruct) dss).release()
+            : 0;
+    }
+}
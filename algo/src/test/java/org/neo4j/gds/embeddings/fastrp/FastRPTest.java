@@ -33,12 +33,14 @@ import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
+import org.neo4j.graphalgo.gdl.GdlFactory;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.gds.embeddings.fastrp.FastRP.l2Normalize;
 
@@ -86,14 +88,13 @@ class FastRPTest extends AlgoTestBase {
         );
 
         fastRP.initRandomVectors();
-        HugeObjectArray<float[]> randomVectors = HugeObjectArray.newArray(float[].class, 2, AllocationTracker.empty());
-        fastRP.currentEmbedding(-1).copyTo(randomVectors, 2);
+        float[][] randomVectors = copyRows(fastRP.currentEmbedding(-1), 2);
         fastRP.propagateEmbeddings();
-        HugeObjectArray<float[]> embeddings = fastRP.embeddings();
+        HugeFloatMatrix embeddings = fastRP.embeddings();
 
-        float[] expected = randomVectors.get(1);
+        float[] expected = randomVectors[1];
         l2Normalize(expected);
-        assertArrayEquals(expected, embeddings.get(0));
+        assertArrayEquals(expected, embeddings.copyRow(0));
     }
 
     @Test
@@ -114,17 +115,16 @@ class FastRPTest extends AlgoTestBase {
         );
 
         fastRP.initRandomVectors();
-        HugeObjectArray<float[]> randomVectors = HugeObjectArray.newArray(float[].class, 3, AllocationTracker.empty());
-        fastRP.currentEmbedding(-1).copyTo(randomVectors, 3);
+        float[][] randomVectors = copyRows(fastRP.currentEmbedding(-1), 3);
         fastRP.propagateEmbeddings();
-        HugeObjectArray<float[]> embeddings = fastRP.embeddings();
+        HugeFloatMatrix embeddings = fastRP.embeddings();
 
         float[] expected = new float[DEFAULT_EMBEDDING_DIMENSION];
         for (int i = 0; i < DEFAULT_EMBEDDING_DIMENSION; i++) {
-            expected[i] = (randomVectors.get(1)[i] + randomVectors.get(2)[i]) / 2.0f;
+            expected[i] = (randomVectors[1][i] + randomVectors[2][i]) / 2.0f;
         }
         l2Normalize(expected);
-        assertArrayEquals(expected, embeddings.get(0));
+        assertArrayEquals(expected, embeddings.copyRow(0));
     }
 
     @Test
@@ -153,18 +153,17 @@ class FastRPTest extends AlgoTestBase {
         );
 
         fastRP.initRandomVectors();
-        HugeObjectArray<float[]> randomVectors = HugeObjectArray.newArray(float[].class, 3, AllocationTracker.empty());
-        fastRP.currentEmbedding(-1).copyTo(randomVectors, 3);
+        float[][] randomVectors = copyRows(fastRP.currentEmbedding(-1), 3);
         fastRP.propagateEmbeddings();
-        HugeObjectArray<float[]> embeddings = fastRP.embeddings();
+        HugeFloatMatrix embeddings = fastRP.embeddings();
 
         float[] expected = new float[DEFAULT_EMBEDDING_DIMENSION];
         for (int i = 0; i < DEFAULT_EMBEDDING_DIMENSION; i++) {
-            expected[i] = (2.0f * randomVectors.get(1)[i] + 1.0f * randomVectors.get(2)[i]) / 2.0f;
+            expected[i] = (2.0f * randomVectors[1][i] + 1.0f * randomVectors[2][i]) / 2.0f;
         }
         l2Normalize(expected);
 
-        assertArrayEquals(expected, embeddings.get(0));
+        assertArrayEquals(expected, embeddings.copyRow(0));
     }
 
     @Test
@@ -191,9 +190,9 @@ class FastRPTest extends AlgoTestBase {
         double p = 1D / 6D;
         int maxNumPositive = (int) ((p + 5D * Math.sqrt((p * (1 - p)) / 512D)) * 512D); // 1:30.000.000 chance of failing :P
         int minNumPositive = (int) ((p - 5D * Math.sqrt((p * (1 - p)) / 512D)) * 512D);
-        HugeObjectArray<float[]> randomVectors = fastRP.currentEmbedding(-1);
+        HugeFloatMatrix randomVectors = fastRP.currentEmbedding(-1);
         for (int i = 0; i < graph.nodeCount(); i++) {
-            float[] embedding = randomVectors.get(i);
+            float[] embedding = randomVectors.copyRow(i);
             int numZeros = 0;
             int numPositive = 0;
             for (int j = 0; j < 512; j++) {
@@ -231,9 +230,9 @@ class FastRPTest extends AlgoTestBase {
         );
 
         FastRP computeResult = fastRP.compute();
-        HugeObjectArray<float[]> embeddings = computeResult.embeddings();
-        for (int i = 0; i < embeddings.size(); i++) {
-            float[] embedding = embeddings.get(i);
+        HugeFloatMatrix embeddings = computeResult.embeddings();
+        for (int i = 0; i < embeddings.rows(); i++) {
+            float[] embedding = embeddings.copyRow(i);
             for (double embeddingValue : embedding) {
                 assertEquals(0.0f, embeddingValue);
             }
@@ -252,7 +251,7 @@ class FastRPTest extends AlgoTestBase {
 
         var estimate = FastRP.memoryEstimation(config).estimate(dimensions, 1).memoryUsage();
         assertEquals(estimate.min, estimate.max);
-        assertEquals(159_784, estimate.min);
+        assertEquals(153_976, estimate.min);
     }
 
     @Test
@@ -267,7 +266,7 @@ class FastRPTest extends AlgoTestBase {
 
         var estimate = FastRP.memoryEstimation(config).estimate(dimensions, 1).memoryUsage();
         assertEquals(estimate.min, estimate.max);
-        assertEquals(159_784, estimate.min);
+        assertEquals(153_976, estimate.min);
     }
 
     @Test
@@ -307,4 +306,51 @@ class FastRPTest extends AlgoTestBase {
             logger.getMessages(TestProgressLogger.INFO).stream().filter(message -> message.contains("100%")).count()
         );
     }
+
+    @Test
+    void shouldProjectNodeProperties() {
+        var graph = GdlFactory
+            .of("(a { f1: 1.0, f2: 0.5 }), (b { f1: 2.0, f2: 1.0 }), (c { f1: 0.0, f2: 0.0 }), (a)-->(b)")
+            .build()
+            .graphStore()
+            .getUnion();
+
+        var config = ImmutableFastRPBaseConfig
+            .builder()
+            .embeddingDimension(64)
+            .propertyDimension(32)
+            .nodePropertyNames(List.of("f1", "f2"))
+            .addIterationWeight(1.0D)
+            .build();
+
+        FastRP fastRP = new FastRP(graph, config, progressLogger, AllocationTracker.empty());
+        fastRP.initRandomVectors();
+
+        float[][] initialVectors = copyRows(fastRP.currentEmbedding(-1), 3);
+        for (int i = 32; i < 64; i++) {
+            assertEquals(2.0f * initialVectors[0][i], initialVectors[1][i], 1e-6);
+            assertEquals(0.0f, initialVectors[2][i]);
+        }
+    }
+
+    @Test
+    void shouldRejectPropertyDimensionLargerThanEmbeddingDimension() {
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> ImmutableFastRPBaseConfig
+                .builder()
+                .embeddingDimension(16)
+                .propertyDimension(32)
+                .build()
+        );
+        assertTrue(exception.getMessage().contains("must not exceed `embeddingDimension`"));
+    }
+
+    private static float[][] copyRows(HugeFloatMatrix matrix, int rows) {
+        float[][] copy = new float[rows][];
+        for (int i = 0; i < rows; i++) {
+            copy[i] = matrix.copyRow(i);
+        }
+        return copy;
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.knn;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HnswIndexTest {
+
+    private static final int NODE_COUNT = 1000;
+    private static final int DIMENSION = 8;
+    private static final int K = 10;
+
+    @Test
+    void shouldFindMostOfTheExactNeighbors() {
+        var random = new SplittableRandom(42);
+        var vectors = new double[NODE_COUNT][DIMENSION];
+        for (double[] vector : vectors) {
+            for (int i = 0; i < DIMENSION; i++) {
+                vector[i] = random.nextDouble();
+            }
+        }
+        SimilarityComputer computer = (first, second) -> {
+            double distance = 0;
+            for (int i = 0; i < DIMENSION; i++) {
+                double delta = vectors[(int) first][i] - vectors[(int) second][i];
+                distance += delta * delta;
+            }
+            return 1.0 / (1.0 + Math.sqrt(distance));
+        };
+
+        var index = HnswIndex.build(
+            computer,
+            NODE_COUNT,
+            8,
+            50,
+            random.split(),
+            4,
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+        var searcher = index.newSearcher();
+
+        long hits = 0;
+        for (long nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            long queryNode = nodeId;
+            var expected = LongStream.range(0, NODE_COUNT)
+                .filter(other -> other != queryNode)
+                .boxed()
+                .sorted(Comparator.comparingDouble(other -> -computer.similarity(queryNode, other)))
+                .limit(K)
+                .collect(Collectors.toSet());
+
+            List<Long> actual = new ArrayList<>();
+            List<Double> similarities = new ArrayList<>();
+            searcher.search(nodeId, K, (neighbor, similarity) -> {
+                actual.add(neighbor);
+                similarities.add(similarity);
+            });
+
+            assertThat(actual).hasSize(K).doesNotContain(queryNode).doesNotHaveDuplicates();
+            assertThat(similarities).isSortedAccordingTo(Comparator.reverseOrder());
+
+            Set<Long> found = new HashSet<>(actual);
+            found.retainAll(expected);
+            hits += found.size();
+        }
+
+        double recall = (double) hits / (NODE_COUNT * K);
+        assertThat(recall).isGreaterThan(0.9);
+    }
+
+    @Test
+    void shouldOrderCandidatesByPriority() {
+        var heap = new HnswIndex.CandidateHeap();
+        var random = new SplittableRandom(1337);
+        for (long node = 0; node < 200; node++) {
+            heap.push(node, random.nextDouble());
+        }
+
+        double previous = Double.POSITIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            double priority = heap.topPriority();
+            heap.pop();
+            assertThat(priority).isLessThanOrEqualTo(previous);
+            previous = priority;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.knn;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleNodeProperties;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.gdl.GdlFactory;
+import org.neo4j.graphalgo.similarity.SimilarityResult;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KnnIndexTest {
+
+    private static final int NODE_COUNT = 20;
+
+    @Test
+    void shouldQueryNeighbors() {
+        var graph = graph(NODE_COUNT);
+        var index = index(graph, 2);
+
+        assertThat(index.query(0, 2).map(result -> result.node2)).containsExactly(1L, 2L);
+        assertThat(index.query(0, 1).map(result -> result.node2)).containsExactly(1L);
+        assertThat(index.query(NODE_COUNT, 1)).isEmpty();
+    }
+
+    @Test
+    void shouldRecomputeSimilaritiesOfChangedNodes() {
+        var graph = graph(NODE_COUNT);
+        var index = index(graph, 3);
+
+        // a single changed node is below the rebuild threshold
+        DoubleNodeProperties updated = nodeId -> nodeId == NODE_COUNT - 1 ? 1.0 : 10.0 * nodeId;
+        index.onNodePropertyUpdated("knn", updated);
+
+        for (long nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            var results = index.query(nodeId, 3).collect(Collectors.toList());
+            assertThat(results).isNotEmpty();
+            for (SimilarityResult result : results) {
+                double expected = 1.0 / (1.0 + Math.abs(
+                    updated.doubleValue(result.node1) - updated.doubleValue(result.node2)
+                ));
+                assertThat(result.similarity).isEqualTo(expected);
+                assertThat(result.node2).isNotEqualTo(nodeId);
+            }
+        }
+    }
+
+    @Test
+    void shouldRebuildWhenManyNodesChanged() {
+        var graph = graph(NODE_COUNT);
+        var index = index(graph, 1);
+
+        // reverse the order of all values
+        DoubleNodeProperties updated = nodeId -> 10.0 * (NODE_COUNT - nodeId);
+        index.onNodePropertyUpdated("knn", updated);
+
+        assertThat(index.query(0, 1).map(result -> result.node2)).containsExactly(1L);
+        assertThat(index.query(NODE_COUNT - 1, 1).map(result -> result.node2)).containsExactly(NODE_COUNT - 2L);
+    }
+
+    @Test
+    void shouldRejectQueriesWhileThePropertyIsRemoved() {
+        var graph = graph(NODE_COUNT);
+        var index = index(graph, 2);
+
+        index.onNodePropertyRemoved("knn");
+        assertThatThrownBy(() -> index.query(0, 2))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("`knn`");
+
+        // the index keeps the old values, so writing them again changes nothing
+        index.onNodePropertyUpdated("knn", graph.nodeProperties("knn"));
+        assertThat(index.query(0, 2).map(result -> result.node2)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldReleaseReplacedMemoryOnUpdate() {
+        var graph = GdlFactory
+            .of("(a { knn: [1.0, 2.0] }), (b { knn: [1.0, 2.5] }), (c { knn: [4.0, 0.5] })")
+            .build()
+            .graphStore()
+            .getUnion();
+        var updated = GdlFactory
+            .of("(a { knn: [1.0, 2.0] }), (b { knn: [1.0, 2.5] }), (c { knn: [1.0, 2.1] })")
+            .build()
+            .graphStore()
+            .getUnion()
+            .nodeProperties("knn");
+        var tracker = AllocationTracker.create();
+        var index = index(graph, 1, ImmutableKnnContext.builder().tracker(tracker).build());
+        var trackedBytes = tracker.trackedBytes();
+
+        index.onNodePropertyUpdated("knn", updated);
+
+        // the squared norms are replaced by norms of the same size, the bit set of changed nodes is released
+        assertThat(tracker.trackedBytes()).isEqualTo(trackedBytes);
+        assertThat(index.query(2, 1).map(result -> result.node2)).containsExactly(0L);
+    }
+
+    private static Graph graph(int nodeCount) {
+        var gdl = IntStream
+            .range(0, nodeCount)
+            .mapToObj(i -> "(n" + i + " { knn: " + (10.0 * i) + " })")
+            .collect(Collectors.joining(", "));
+        return GdlFactory.of(gdl).build().graphStore().getUnion();
+    }
+
+    private static KnnIndex index(Graph graph, int topK) {
+        return index(graph, topK, KnnContext.empty());
+    }
+
+    private static KnnIndex index(Graph graph, int topK, KnnContext context) {
+        var config = ImmutableKnnBaseConfig.builder()
+            .nodeWeightProperty("knn")
+            .topK(topK)
+            .randomSeed(42)
+            .concurrency(1)
+            .build();
+        var result = new Knn(graph, config, context).compute();
+        return KnnIndex.of(graph, config, context, result);
+    }
+}
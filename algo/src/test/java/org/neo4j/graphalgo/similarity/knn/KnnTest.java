@@ -23,12 +23,14 @@ import com.carrotsearch.hppc.LongArrayList;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.IdFunction;
 import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.gdl.GdlFactory;
 
 import java.util.Comparator;
 import java.util.stream.LongStream;
@@ -77,6 +79,69 @@ class KnnTest {
         assertCorrectNeighborList(result, nodeCId, nodeAId);
     }
 
+    @Test
+    void shouldRunWithHnswSampler() {
+        var knnConfig = ImmutableKnnBaseConfig.builder()
+            .nodeWeightProperty("knn")
+            .topK(1)
+            .initialSampler(KnnSampler.HNSW)
+            .hnswMaxConnections(2)
+            .build();
+        var knnContext = ImmutableKnnContext.builder().build();
+
+        var knn = new Knn(graph, knnConfig, knnContext);
+        var result = knn.compute();
+
+        assertThat(result).isNotNull();
+        assertThat(result.size()).isEqualTo(3);
+
+        long nodeAId = idFunction.of("a");
+        long nodeBId = idFunction.of("b");
+        long nodeCId = idFunction.of("c");
+
+        assertCorrectNeighborList(result, nodeAId, nodeBId);
+        assertCorrectNeighborList(result, nodeBId, nodeAId);
+        assertCorrectNeighborList(result, nodeCId, nodeAId);
+    }
+
+    @Test
+    void shouldReleaseTheSquaredNormsOfArrayProperties() {
+        var arrayGraph = GdlFactory
+            .of("(a { knn: [1.0, 2.0] }), (b { knn: [1.0, 2.5] }), (c { knn: [42.0, 0.5] })")
+            .build()
+            .graphStore()
+            .getUnion();
+        var knnConfig = ImmutableKnnBaseConfig.builder()
+            .nodeWeightProperty("knn")
+            .topK(1)
+            .randomSeed(42L)
+            .concurrency(1)
+            .build();
+
+        var tracker = AllocationTracker.create();
+        new Knn(arrayGraph, knnConfig, ImmutableKnnContext.builder().tracker(tracker).build()).compute();
+
+        // the same run with a computer that belongs to the caller and is tracked elsewhere
+        var computerTracker = AllocationTracker.create();
+        var computer = SimilarityComputer.ofProperty(
+            arrayGraph.nodeProperties("knn"),
+            "knn",
+            1,
+            Pools.DEFAULT,
+            computerTracker
+        );
+        var callerTracker = AllocationTracker.create();
+        new Knn(
+            arrayGraph.nodeCount(),
+            knnConfig,
+            computer,
+            ImmutableKnnContext.builder().tracker(callerTracker).build()
+        ).compute();
+
+        assertTrue(computerTracker.trackedBytes() > 0);
+        assertEquals(callerTracker.trackedBytes(), tracker.trackedBytes());
+    }
+
     @Test
     void shouldHaveEachNodeConnected() {
         var knnConfig = ImmutableKnnBaseConfig.builder()
@@ -119,14 +184,13 @@ class KnnTest {
         var nodeCount = 42;
 
         var neighbors = HugeObjectArray.newArray(LongArrayList.class, nodeCount, AllocationTracker.empty());
-        var reverseNeighbors = HugeObjectArray.newArray(LongArrayList.class, nodeCount, AllocationTracker.empty());
+        var reverseNeighbors = new ReverseNeighbors(nodeCount, 4, Pools.DEFAULT, AllocationTracker.empty());
 
         // no old elements, don't add something to the reverse neighbors
-        Knn.reverseNeighbors(0, neighbors, reverseNeighbors);
-        assertThat(reverseNeighbors.get(0)).isNull();
-
-        var neighborsFrom0 = LongArrayList.from(LongStream.range(1, nodeCount).toArray());
-        neighbors.set(0, neighborsFrom0);
+        reverseNeighbors.build(neighbors);
+        for (int i = 0; i < nodeCount; i++) {
+            assertThat(reverseNeighborsOf(reverseNeighbors, i)).isEmpty();
+        }
     }
 
     @Test
@@ -134,26 +198,19 @@ class KnnTest {
         var nodeCount = 42;
 
         var neighbors = HugeObjectArray.newArray(LongArrayList.class, nodeCount, AllocationTracker.empty());
-        var reverseNeighbors = HugeObjectArray.newArray(LongArrayList.class, nodeCount, AllocationTracker.empty());
+        var reverseNeighbors = new ReverseNeighbors(nodeCount, 4, Pools.DEFAULT, AllocationTracker.empty());
 
         // 0 is neighboring every other node
         var neighborsFrom0 = LongArrayList.from(LongStream.range(1, nodeCount).toArray());
         neighbors.set(0, neighborsFrom0);
 
-        Knn.reverseNeighbors(0, neighbors, reverseNeighbors);
+        reverseNeighbors.build(neighbors);
         // 0 has no reverse neighbors
-        assertThat(reverseNeighbors.get(0)).isNull();
+        assertThat(reverseNeighborsOf(reverseNeighbors, 0)).isEmpty();
         // every other node points to 0
         for (int i = 1; i < nodeCount; i++) {
-            var reversed = reverseNeighbors.get(i);
-            assertThat(reversed)
-                .isNotNull()
-                .singleElement()
-                // list returns hppc cursor, access value field
-                .extracting("value")
-                .isEqualTo(0L);
+            assertThat(reverseNeighborsOf(reverseNeighbors, i)).containsExactly(0L);
         }
-
     }
 
     @Test
@@ -161,27 +218,52 @@ class KnnTest {
         var nodeCount = 42;
 
         var neighbors = HugeObjectArray.newArray(LongArrayList.class, nodeCount, AllocationTracker.empty());
-        var reverseNeighbors = HugeObjectArray.newArray(LongArrayList.class, nodeCount, AllocationTracker.empty());
+        var reverseNeighbors = new ReverseNeighbors(nodeCount, 4, Pools.DEFAULT, AllocationTracker.empty());
 
         // every node other than 0 has 0 as neighbor
         neighbors.setAll(nodeId -> nodeId == 0 ? null : LongArrayList.from(0));
 
-        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
-            Knn.reverseNeighbors(nodeId, neighbors, reverseNeighbors);
-        }
+        reverseNeighbors.build(neighbors);
 
         // all nodes point to 0
-        assertThat(reverseNeighbors.get(0))
-            .isNotNull()
-            .extracting(c -> c.value)
-            .containsExactly(LongStream.range(1, nodeCount).boxed().toArray(Long[]::new));
+        assertThat(reverseNeighborsOf(reverseNeighbors, 0))
+            .containsExactlyInAnyOrder(LongStream.range(1, nodeCount).toArray());
 
         // all other nodes have no reverse neighbors
         for (int i = 1; i < nodeCount; i++) {
-            assertThat(reverseNeighbors.get(i)).isNull();
+            assertThat(reverseNeighborsOf(reverseNeighbors, i)).isEmpty();
+        }
+    }
+
+    @Test
+    void testReverseNeighborsAreReplacedOnRebuild() {
+        var nodeCount = 42;
+
+        var neighbors = HugeObjectArray.newArray(LongArrayList.class, nodeCount, AllocationTracker.empty());
+        var reverseNeighbors = new ReverseNeighbors(nodeCount, 4, Pools.DEFAULT, AllocationTracker.empty());
+
+        neighbors.setAll(nodeId -> nodeId == 0 ? null : LongArrayList.from(0));
+        reverseNeighbors.build(neighbors);
+
+        // every node other than 1 has 1 as neighbor
+        neighbors.setAll(nodeId -> nodeId == 1 ? null : LongArrayList.from(1));
+        reverseNeighbors.build(neighbors);
+
+        assertThat(reverseNeighborsOf(reverseNeighbors, 0)).isEmpty();
+        assertThat(reverseNeighborsOf(reverseNeighbors, 1))
+            .containsExactlyInAnyOrder(LongStream.range(0, nodeCount).filter(nodeId -> nodeId != 1).toArray());
+        for (int i = 2; i < nodeCount; i++) {
+            assertThat(reverseNeighborsOf(reverseNeighbors, i)).isEmpty();
         }
     }
 
+    private static long[] reverseNeighborsOf(ReverseNeighbors reverseNeighbors, long nodeId) {
+        return LongStream
+            .range(reverseNeighbors.start(nodeId), reverseNeighbors.end(nodeId))
+            .map(reverseNeighbors::target)
+            .toArray();
+    }
+
     @Nested
     class IterationsLimitTest {
 
@@ -26,6 +26,7 @@ import net.jqwik.api.ForAll;
 import net.jqwik.api.From;
 import net.jqwik.api.Property;
 import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.IntRange;
 import net.jqwik.api.constraints.Positive;
 import org.eclipse.collections.api.tuple.primitive.LongLongPair;
 import org.eclipse.collections.impl.tuple.primitive.PrimitiveTuples;
@@ -35,6 +36,7 @@ import org.neo4j.graphalgo.api.nodeproperties.DoubleNodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.FloatArrayNodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.LongArrayNodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.LongNodeProperties;
+import org.neo4j.graphalgo.core.utils.Intersections;
 
 import java.util.Random;
 
@@ -159,6 +161,30 @@ class SimilarityComputerTest {
         assertThat(sim.similarity(0, 1)).isCloseTo(1.0D, within(0.05));
     }
 
+    @Property
+    void doubleArrayPropertySimilarityWithPrecomputedNormsMatchesCosine(
+        @ForAll @IntRange(min = 0, max = 99) int first,
+        @ForAll @IntRange(min = 0, max = 99) int second
+    ) {
+        var props = new DoubleArrayNodeProperties() {
+            @Override
+            public double[] doubleArrayValue(long nodeId) {
+                return new Random(nodeId).doubles(nodeId == 42 ? 13 : 42, 0.0, 1.0).toArray();
+            }
+
+            @Override
+            public long size() {
+                return 100;
+            }
+        };
+        var sim = SimilarityComputer.ofDoubleArrayProperty(props);
+
+        var left = props.doubleArrayValue(first);
+        var right = props.doubleArrayValue(second);
+        var expected = Intersections.cosine(left, right, Math.min(left.length, right.length));
+        assertThat(sim.similarity(first, second)).isCloseTo(expected, within(1e-9));
+    }
+
     @Provide("differentValues")
     final Arbitrary<LongLongPair> differentValues() {
         return Arbitraries.longs().between(0L, Long.MAX_VALUE).flatMap(n1 ->
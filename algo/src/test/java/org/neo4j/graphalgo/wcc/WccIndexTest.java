@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.wcc;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.gdl.GdlFactory;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@GdlExtension
+class WccIndexTest {
+
+    @GdlGraph
+    private static final String DB =
+        "CREATE" +
+        "  (a)" +
+        ", (b)" +
+        ", (c)" +
+        ", (d)" +
+        ", (e)" +
+        ", (a)-[:TYPE {cost: 10.0}]->(b)" +
+        ", (c)-[:TYPE {cost: 10.0}]->(d)" +
+        ", (b)-[:NEW {cost: 10.0}]->(c)" +
+        ", (d)-[:NEW {cost: 1.0}]->(e)";
+
+    @Inject
+    private GraphStore graphStore;
+
+    @Inject
+    private IdFunction idFunction;
+
+    @Test
+    void shouldAddRelationshipsFromBatch() {
+        var index = index(ImmutableWccStreamConfig.builder().build());
+
+        assertEquals(componentId(index, "a"), componentId(index, "b"));
+        assertNotEquals(componentId(index, "a"), componentId(index, "e"));
+
+        long added = index.addRelationships(
+            new long[]{idFunction.of("a")},
+            new long[]{idFunction.of("e")}
+        );
+
+        assertEquals(1, added);
+        assertEquals(componentId(index, "a"), componentId(index, "e"));
+        assertNotEquals(componentId(index, "a"), componentId(index, "c"));
+    }
+
+    @Test
+    void shouldAddRelationshipsOfNewType() {
+        var index = index(ImmutableWccStreamConfig.builder().build());
+
+        long added = index.addRelationships(graphStore.getGraph(RelationshipType.of("NEW")));
+
+        assertEquals(2, added);
+        for (String node : new String[]{"b", "c", "d", "e"}) {
+            assertEquals(componentId(index, "a"), componentId(index, node));
+        }
+    }
+
+    @Test
+    void shouldApplyThresholdToNewRelationships() {
+        var index = index(ImmutableWccStreamConfig.builder()
+            .threshold(5.0)
+            .relationshipWeightProperty("cost")
+            .build());
+
+        index.addRelationships(graphStore.getGraph(RelationshipType.of("NEW"), Optional.of("cost")));
+
+        assertEquals(componentId(index, "a"), componentId(index, "d"));
+        assertNotEquals(componentId(index, "a"), componentId(index, "e"));
+    }
+
+    @Test
+    void shouldFailOnUnequalBatchSizes() {
+        var index = index(ImmutableWccStreamConfig.builder().build());
+
+        assertThrows(IllegalArgumentException.class, () -> index.addRelationships(new long[]{0}, new long[0]));
+    }
+
+    @Test
+    void shouldFailOnRelationshipsOfOtherNodes() {
+        var labelledGraphStore = GdlFactory
+            .of("(a:A), (b:A), (c:B), (d:B), (a)-[:TYPE]->(b), (c)-[:TYPE]->(d)")
+            .build()
+            .graphStore();
+        var config = ImmutableWccStreamConfig.builder().build();
+        var graph = labelledGraphStore.getGraph(NodeLabel.of("A"), RelationshipType.of("TYPE"), Optional.empty());
+        var dss = new Wcc(graph, Pools.DEFAULT, 1, config, ProgressLogger.NULL_LOGGER, AllocationTracker.empty())
+            .compute();
+        var index = WccIndex.of(graph, dss, config, Pools.DEFAULT, AllocationTracker.empty());
+
+        // both label filtered graphs have two nodes
+        var otherNodes = labelledGraphStore.getGraph(NodeLabel.of("B"), RelationshipType.of("TYPE"), Optional.empty());
+        assertThrows(IllegalArgumentException.class, () -> index.addRelationships(otherNodes));
+    }
+
+    private WccIndex index(WccBaseConfig config) {
+        Graph graph = graphStore.getGraph(
+            RelationshipType.of("TYPE"),
+            Optional.ofNullable(config.relationshipWeightProperty())
+        );
+        var dss = new Wcc(
+            graph,
+            Pools.DEFAULT,
+            1,
+            config,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).compute();
+        return WccIndex.of(graph, dss, config, Pools.DEFAULT, AllocationTracker.empty());
+    }
+
+    private long componentId(WccIndex index, String variable) {
+        return index.componentId(idFunction.of(variable));
+    }
+}
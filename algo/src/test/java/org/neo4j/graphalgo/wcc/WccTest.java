@@ -72,8 +72,33 @@ class WccTest {
     void shouldComputeComponents(Orientation orientation) {
         var graph = createTestGraph(orientation);
 
-        DisjointSetStruct result = run(graph);
+        assertComponents(graph, run(graph));
+    }
+
+    @ParameterizedTest(name = "orientation = {0}")
+    @EnumSource(Orientation.class)
+    void shouldComputeComponentsWithSampling(Orientation orientation) {
+        var graph = createTestGraph(orientation);
+
+        assertComponents(graph, run(graph, ImmutableWccStreamConfig.builder().sampling(true).build()));
+    }
+
+    @Test
+    void shouldComputeGiantComponentWithSampling() {
+        var gdl = createLine(500) + ", " + createLine(3) + ", " + createLine(2) + ", ()";
+        var graph = fromGdl(gdl, Orientation.UNDIRECTED);
+
+        var result = run(graph, ImmutableWccStreamConfig.builder().sampling(true).concurrency(4).build());
+
+        assertEquals(4, getSetCount(result));
+        for (long nodeId = 1; nodeId < 500; nodeId++) {
+            assertEquals(result.setIdOf(0), result.setIdOf(nodeId));
+        }
+        assertEquals(result.setIdOf(500), result.setIdOf(502));
+        assertEquals(result.setIdOf(503), result.setIdOf(504));
+    }
 
+    private static void assertComponents(Graph graph, DisjointSetStruct result) {
         assertEquals(SETS_COUNT, getSetCount(result));
         long[] setRegions = new long[SETS_COUNT];
         Arrays.fill(setRegions, -1);
@@ -70,10 +70,11 @@ class WccThresholdTest {
 
     @ParameterizedTest
     @MethodSource("org.neo4j.graphalgo.wcc.WccThresholdTest#thresholdParams")
-    void testThreshold(double threshold, String[][] expectedComponents) {
+    void testThreshold(double threshold, boolean sampling, String[][] expectedComponents) {
         WccStreamConfig wccConfig = ImmutableWccStreamConfig
             .builder()
             .threshold(threshold)
+            .sampling(sampling)
             .relationshipWeightProperty("cost")
             .build();
 
@@ -96,9 +97,10 @@ class WccThresholdTest {
     }
 
     static Stream<Arguments> thresholdParams() {
-        return Stream.of(
+        return Stream.of(false, true).flatMap(sampling -> Stream.of(
             arguments(
                 5.0,
+                sampling,
                 new String[][]{
                     new String[]{"a", "b", "c", "d"},
                     new String[]{"e", "f", "g"},
@@ -108,12 +110,13 @@ class WccThresholdTest {
             ),
             arguments(
                 3.14,
+                sampling,
                 new String[][]{
                     new String[]{"a", "b", "c", "d", "e", "f", "g"},
                     new String[]{"h", "i"},
                     new String[]{"j"}
                 }
             )
-        );
+        ));
     }
 }
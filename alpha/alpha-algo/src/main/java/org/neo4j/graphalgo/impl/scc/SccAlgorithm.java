@@ -19,72 +19,103 @@
  */
 package org.neo4j.graphalgo.impl.scc;
 
-import com.carrotsearch.hppc.BitSet;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
-import org.neo4j.graphalgo.core.utils.paged.PagedLongStack;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
- * huge iterative (non recursive) sequential strongly connected components algorithm.
+ * Parallel strongly connected components algorithm based on trimming and coloring.
+ *
+ * The computation first trims all nodes that have no incoming or no outgoing
+ * relationships within the remaining graph, since each of them forms a component on its own.
+ * The incoming relationships between the remaining nodes are then collected into a reverse adjacency list.
+ * Afterwards it repeats two phases until every node is assigned to a component:
+ *
+ * 1. Coloring: every remaining node starts with its own id as color and the
+ *    maximum color is propagated along outgoing relationships.
+ *    Each node whose color equals its id is the root of a color region.
+ * 2. Collecting: a node belongs to the component of its root if it can reach
+ *    the root without leaving the color region. This is found by a backward
+ *    breadth-first search from all roots along the reverse adjacency list.
  *
- * specified in:  http://code.activestate.com/recipes/578507-strongly-connected-components-of-a-directed-graph/
+ * Both phases only visit the nodes of the current frontier in each round.
+ *
+ * specified in: Orzan, "On Distributed Verification and Verified Distribution" (2004)
+ * and Hong et al., "On Fast Parallel Detection of Strongly Connected Components (SCC) in Small-World Graphs" (2013)
  */
 public class SccAlgorithm extends Algorithm<SccAlgorithm, HugeLongArray> {
 
-    private enum Action {
-        VISIT(0L),
-        VISITEDGE(1L),
-        POSTVISIT(2L);
-
-        public final long code;
+    private static final long UNASSIGNED = -1L;
 
-        Action(long code) {
-            this.code = code;
-        }
-
-    }
+    // trimming stops once a round removes less than 1 / TRIM_RATIO of the remaining nodes
+    private static final long TRIM_RATIO = 100L;
 
     private Graph graph;
+    private final ExecutorService executor;
+    private final int concurrency;
+    private final AllocationTracker tracker;
 
     private final long nodeCount;
-    private HugeLongArray index;
-    private BitSet visited;
-    private HugeLongArray connectedComponents;
-    private PagedLongStack stack;
-    private PagedLongStack boundaries;
-    private PagedLongStack todo; // stores pairs of (node-Id, TODO-Id)
-    private int setCount;
-
-    private int minSetSize;
-    private int maxSetSize;
-
-    public SccAlgorithm(Graph graph, AllocationTracker tracker) {
+    private HugeAtomicLongArray components;
+    private HugeAtomicLongArray colors;
+    private Frontier frontier;
+    private Frontier nextFrontier;
+    private HugeAtomicBitSet inNextFrontier;
+
+    // incoming relationships of node n are stored in [reverseOffsets[n], reverseOffsets[n + 1])
+    private HugeLongArray reverseOffsets;
+    private HugeLongArray reverseTargets;
+
+    private long remaining;
+    private long setCount;
+    private long minSetSize;
+    private long maxSetSize;
+
+    public SccAlgorithm(Graph graph, ExecutorService executor, int concurrency, AllocationTracker tracker) {
         this.graph = graph;
-        nodeCount = graph.nodeCount();
-        index = HugeLongArray.newArray(nodeCount, tracker);
-        stack = new PagedLongStack(nodeCount, tracker);
-        boundaries = new PagedLongStack(nodeCount, tracker);
-        connectedComponents = HugeLongArray.newArray(nodeCount, tracker);
-        visited = new BitSet(nodeCount);
-        todo = new PagedLongStack(nodeCount, tracker);
+        this.executor = executor;
+        this.concurrency = concurrency;
+        this.tracker = tracker;
+        this.nodeCount = graph.nodeCount();
+        this.components = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        this.colors = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        this.frontier = new Frontier(nodeCount, tracker);
+        this.nextFrontier = new Frontier(nodeCount, tracker);
+        this.inNextFrontier = HugeAtomicBitSet.create(nodeCount, tracker);
     }
 
     /**
      * compute scc
      */
+    @Override
     public HugeLongArray compute() {
+        components.setAll(UNASSIGNED);
+        remaining = nodeCount;
         setCount = 0;
-        minSetSize = Integer.MAX_VALUE;
-        maxSetSize = 0;
-        index.fill(-1);
-        connectedComponents.fill(-1);
-        todo.clear();
-        boundaries.clear();
-        stack.clear();
-        graph.forEachNode(this::compute);
-        return connectedComponents;
+
+        trim();
+        if (remaining > 0) {
+            buildReverseAdjacency();
+        }
+        while (remaining > 0) {
+            assertRunning();
+            propagateColors();
+            collectComponents();
+        }
+        releaseReverseAdjacency();
+
+        return result();
     }
 
     @Override
@@ -97,13 +128,13 @@ public class SccAlgorithm extends Algorithm<SccAlgorithm, HugeLongArray> {
      */
     @Override
     public void release() {
+        releaseReverseAdjacency();
         graph = null;
-        index = null;
-        visited = null;
-        connectedComponents = null;
-        stack = null;
-        boundaries = null;
-        todo = null;
+        components = null;
+        colors = null;
+        frontier = null;
+        nextFrontier = null;
+        inNextFrontier = null;
     }
 
     /**
@@ -127,78 +158,349 @@ public class SccAlgorithm extends Algorithm<SccAlgorithm, HugeLongArray> {
         return maxSetSize;
     }
 
-    private boolean compute(long nodeId) {
-        if (!running()) {
-            return false;
+    private boolean isAssigned(long nodeId) {
+        return components.get(nodeId) != UNASSIGNED;
+    }
+
+    /**
+     * Repeatedly assigns nodes without incoming or outgoing relationships
+     * to their own component. The in-degrees are counted into the colors array.
+     */
+    private void trim() {
+        while (remaining > 0) {
+            assertRunning();
+            colors.setAll(0L);
+            ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+                var relationships = graph.concurrentCopy();
+                for (long nodeId = start; nodeId < end; nodeId++) {
+                    if (!isAssigned(nodeId)) {
+                        relationships.forEachRelationship(nodeId, (source, target) -> {
+                            if (source != target && !isAssigned(target)) {
+                                colors.getAndAdd(target, 1L);
+                            }
+                            return true;
+                        });
+                    }
+                }
+            });
+
+            var trimmed = new LongAdder();
+            ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+                var relationships = graph.concurrentCopy();
+                var hasOutgoing = new boolean[1];
+                for (long nodeId = start; nodeId < end; nodeId++) {
+                    if (isAssigned(nodeId)) {
+                        continue;
+                    }
+                    hasOutgoing[0] = false;
+                    if (colors.get(nodeId) > 0) {
+                        relationships.forEachRelationship(nodeId, (source, target) -> {
+                            hasOutgoing[0] = source != target && !isAssigned(target);
+                            return !hasOutgoing[0];
+                        });
+                    }
+                    if (!hasOutgoing[0]) {
+                        components.set(nodeId, nodeId);
+                        trimmed.increment();
+                    }
+                }
+            });
+
+            long trimmedCount = trimmed.sum();
+            setCount += trimmedCount;
+            remaining -= trimmedCount;
+            logProgress();
+
+            if (trimmedCount == 0 || trimmedCount < remaining / TRIM_RATIO) {
+                break;
+            }
         }
-        if (index.get(nodeId) != -1) {
-            return true;
+    }
+
+    /**
+     * Collects the incoming relationships between all unassigned nodes, ignoring self loops.
+     * The in-degrees are counted into the colors array, which is afterwards used as insert position per node.
+     */
+    private void buildReverseAdjacency() {
+        colors.setAll(0L);
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            var relationships = graph.concurrentCopy();
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                if (!isAssigned(nodeId)) {
+                    relationships.forEachRelationship(nodeId, (source, target) -> {
+                        if (source != target && !isAssigned(target)) {
+                            colors.getAndAdd(target, 1L);
+                        }
+                        return true;
+                    });
+                }
+            }
+        });
+
+        // exclusive prefix sum of the in-degrees, computed per partition and then shifted by the preceding partitions
+        reverseOffsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        var partitions = PartitionUtils.rangePartition(concurrency, nodeCount);
+        var partitionSums = new long[partitions.size() + 1];
+        var sumTasks = IntStream.range(0, partitions.size()).mapToObj(i -> (Runnable) () -> {
+            var partition = partitions.get(i);
+            long sum = 0L;
+            long end = partition.startNode() + partition.nodeCount();
+            for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+                sum += colors.get(nodeId);
+            }
+            partitionSums[i + 1] = sum;
+        }).collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, sumTasks, executor);
+        for (int i = 1; i < partitionSums.length; i++) {
+            partitionSums[i] += partitionSums[i - 1];
         }
-        push(Action.VISIT, nodeId);
-        while (!todo.isEmpty()) {
-            final long action = todo.pop();
-            final long node = todo.pop();
-            if (action == Action.VISIT.code) {
-                visit(node);
-            } else if (action == Action.VISITEDGE.code) {
-                visitEdge(node);
-            } else {
-                postVisit(node);
+        var offsetTasks = IntStream.range(0, partitions.size()).mapToObj(i -> (Runnable) () -> {
+            var partition = partitions.get(i);
+            long offset = partitionSums[i];
+            long end = partition.startNode() + partition.nodeCount();
+            for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+                long degree = colors.get(nodeId);
+                reverseOffsets.set(nodeId, offset);
+                colors.set(nodeId, offset);
+                offset += degree;
             }
+        }).collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, offsetTasks, executor);
+        long relationshipCount = partitionSums[partitions.size()];
+        reverseOffsets.set(nodeCount, relationshipCount);
+
+        reverseTargets = HugeLongArray.newArray(relationshipCount, tracker);
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            var relationships = graph.concurrentCopy();
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                if (!isAssigned(nodeId)) {
+                    relationships.forEachRelationship(nodeId, (source, target) -> {
+                        if (source != target && !isAssigned(target)) {
+                            reverseTargets.set(colors.getAndAdd(target, 1L), source);
+                        }
+                        return true;
+                    });
+                }
+            }
+        });
+    }
+
+    private void releaseReverseAdjacency() {
+        if (reverseOffsets != null) {
+            tracker.remove(reverseOffsets.release());
+            tracker.remove(reverseTargets.release());
+            reverseOffsets = null;
+            reverseTargets = null;
         }
-        getProgressLogger().logProgress((double) nodeId / (nodeCount - 1));
-        return true;
     }
 
-    private void visitEdge(long nodeId) {
-        if (index.get(nodeId) == -1) {
-            push(Action.VISIT, nodeId);
-        } else if (!visited.get(nodeId)) {
-            while (index.get(nodeId) < boundaries.peek()) {
-                boundaries.pop();
+    /**
+     * Propagates the maximum node id along the outgoing relationships of all unassigned nodes.
+     * Only nodes whose color changed in the previous round are visited again.
+     */
+    private void propagateColors() {
+        frontier.reset();
+        var initialFrontier = frontier;
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            var writer = initialFrontier.writer();
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                if (!isAssigned(nodeId)) {
+                    colors.set(nodeId, nodeId);
+                    writer.add(nodeId);
+                }
             }
+            writer.flush();
+        });
+
+        while (frontier.size() > 0) {
+            assertRunning();
+            var currentFrontier = frontier;
+            var next = nextFrontier;
+            next.reset();
+            ParallelUtil.readParallel(concurrency, currentFrontier.size(), executor, (start, end) -> {
+                var relationships = graph.concurrentCopy();
+                var writer = next.writer();
+                for (long index = start; index < end; index++) {
+                    long nodeId = currentFrontier.get(index);
+                    long color = colors.get(nodeId);
+                    relationships.forEachRelationship(nodeId, (source, target) -> {
+                        if (source != target
+                            && !isAssigned(target)
+                            && raiseColor(target, color)
+                            && !inNextFrontier.getAndSet(target)) {
+                            writer.add(target);
+                        }
+                        return true;
+                    });
+                }
+                writer.flush();
+            });
+            ParallelUtil.readParallel(concurrency, next.size(), executor, (start, end) -> {
+                for (long index = start; index < end; index++) {
+                    inNextFrontier.clear(next.get(index));
+                }
+            });
+            frontier = next;
+            nextFrontier = currentFrontier;
         }
     }
 
-    private void postVisit(long nodeId) {
-        if (boundaries.peek() == index.get(nodeId)) {
-            boundaries.pop();
-            int elementCount = 0;
-            long element;
-            do {
-                element = stack.pop();
-                connectedComponents.set(element, nodeId);
-                visited.set(element);
-                elementCount++;
-            } while (element != nodeId);
-            minSetSize = Math.min(minSetSize, elementCount);
-            maxSetSize = Math.max(maxSetSize, elementCount);
-            setCount++;
+    private boolean raiseColor(long nodeId, long color) {
+        long current = colors.get(nodeId);
+        while (current < color) {
+            long witness = colors.compareAndExchange(nodeId, current, color);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
         }
+        return false;
+    }
+
+    /**
+     * Assigns every unassigned node to the component of its color root,
+     * if it can reach the root without leaving its color region.
+     * The search runs backwards from all roots at once, one frontier per round.
+     */
+    private void collectComponents() {
+        frontier.reset();
+        var rootFrontier = frontier;
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            var writer = rootFrontier.writer();
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                if (!isAssigned(nodeId) && colors.get(nodeId) == nodeId) {
+                    components.set(nodeId, nodeId);
+                    writer.add(nodeId);
+                }
+            }
+            writer.flush();
+        });
+        long rootCount = frontier.size();
+        long assigned = rootCount;
 
+        while (frontier.size() > 0) {
+            assertRunning();
+            var currentFrontier = frontier;
+            var next = nextFrontier;
+            next.reset();
+            ParallelUtil.readParallel(concurrency, currentFrontier.size(), executor, (start, end) -> {
+                var writer = next.writer();
+                for (long index = start; index < end; index++) {
+                    long nodeId = currentFrontier.get(index);
+                    long color = colors.get(nodeId);
+                    long relationshipEnd = reverseOffsets.get(nodeId + 1);
+                    for (long offset = reverseOffsets.get(nodeId); offset < relationshipEnd; offset++) {
+                        long source = reverseTargets.get(offset);
+                        // the exchange fails for assigned nodes, whose colors might be stale
+                        if (colors.get(source) == color
+                            && components.compareAndExchange(source, UNASSIGNED, color) == UNASSIGNED) {
+                            writer.add(source);
+                        }
+                    }
+                }
+                writer.flush();
+            });
+            assigned += next.size();
+            frontier = next;
+            nextFrontier = currentFrontier;
+        }
+
+        setCount += rootCount;
+        remaining -= assigned;
+        logProgress();
+    }
+
+    private void logProgress() {
+        getProgressLogger().logProgress(nodeCount - remaining, nodeCount);
     }
 
-    private void visit(long nodeId) {
-        final long stackSize = stack.size();
-        index.set(nodeId, stackSize);
-        stack.push(nodeId);
-        boundaries.push(stackSize);
-        push(Action.POSTVISIT, nodeId);
-        graph.forEachRelationship(nodeId, (s, t) -> {
-            push(Action.VISITEDGE, t);
-            return true;
+    /**
+     * Copies the component ids into the result array and computes the component size statistics.
+     * The colors array is reused to count the component sizes.
+     */
+    private HugeLongArray result() {
+        var result = HugeLongArray.newArray(nodeCount, tracker);
+        colors.setAll(0L);
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                long componentId = components.get(nodeId);
+                result.set(nodeId, componentId);
+                colors.getAndAdd(componentId, 1L);
+            }
+        });
+
+        var min = new AtomicLong(Long.MAX_VALUE);
+        var max = new AtomicLong(0L);
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            long localMin = Long.MAX_VALUE;
+            long localMax = 0L;
+            for (long componentId = start; componentId < end; componentId++) {
+                long size = colors.get(componentId);
+                if (size > 0) {
+                    localMin = Math.min(localMin, size);
+                    localMax = Math.max(localMax, size);
+                }
+            }
+            min.accumulateAndGet(localMin, Math::min);
+            max.accumulateAndGet(localMax, Math::max);
         });
+        minSetSize = nodeCount == 0 ? 0L : min.get();
+        maxSetSize = max.get();
+
+        return result;
     }
 
     /**
-     * pushes an action and a nodeId on the stack
-     *
-     * @param action
-     * @param value
+     * The nodes that are visited in the next round of a traversal.
+     * Tasks append their nodes through a {@link Writer}, which reserves space in batches to reduce contention.
      */
-    private void push(Action action, long value) {
-        todo.push(value);
-        todo.push(action.code);
+    private static final class Frontier {
+
+        private static final int BATCH_SIZE = 1024;
+
+        private final HugeLongArray nodes;
+        private final AtomicLong size;
+
+        Frontier(long capacity, AllocationTracker tracker) {
+            this.nodes = HugeLongArray.newArray(capacity, tracker);
+            this.size = new AtomicLong();
+        }
+
+        long size() {
+            return size.get();
+        }
+
+        long get(long index) {
+            return nodes.get(index);
+        }
+
+        void reset() {
+            size.set(0L);
+        }
+
+        Writer writer() {
+            return new Writer();
+        }
+
+        final class Writer {
+            private final long[] buffer = new long[BATCH_SIZE];
+            private int length;
+
+            void add(long nodeId) {
+                if (length == buffer.length) {
+                    flush();
+                }
+                buffer[length++] = nodeId;
+            }
+
+            void flush() {
+                long offset = size.getAndAdd(length);
+                for (int i = 0; i < length; i++) {
+                    nodes.set(offset + i, buffer[i]);
+                }
+                length = 0;
+            }
+        }
     }
 
     /**
@@ -20,16 +20,23 @@
 package org.neo4j.graphalgo.impl.scc;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.IdFunction;
 import org.neo4j.graphalgo.extension.Inject;
+import org.neo4j.graphalgo.gdl.GdlFactory;
 
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -72,7 +79,7 @@ class SccTest {
 
     @Test
     void testDirect() {
-        SccAlgorithm scc = new SccAlgorithm(graph, AllocationTracker.empty());
+        SccAlgorithm scc = new SccAlgorithm(graph, Pools.DEFAULT, 1, AllocationTracker.empty());
         HugeLongArray components = scc.compute();
 
         assertCC(components);
@@ -82,10 +89,93 @@ class SccTest {
     }
 
     @Test
-    void testHugeIterativeScc() {
-        SccAlgorithm algo = new SccAlgorithm(graph, AllocationTracker.empty());
+    void testParallel() {
+        SccAlgorithm algo = new SccAlgorithm(graph, Pools.DEFAULT, 4, AllocationTracker.empty());
         HugeLongArray components = algo.compute();
         assertCC(components);
+        assertEquals(3, algo.getSetCount());
+    }
+
+    @Test
+    void shouldTrimNodesWithoutCycles() {
+        var gdlFactory = GdlFactory.of(
+            "  (a)-->(b)" +
+            ", (b)-->(c)" +
+            ", (c)-->(c)" +
+            ", (c)-->(d)" +
+            ", (d)-->(c)"
+        );
+        Graph chain = gdlFactory.build().graphStore().getUnion();
+
+        SccAlgorithm algo = new SccAlgorithm(chain, Pools.DEFAULT, 4, AllocationTracker.empty());
+        HugeLongArray components = algo.compute();
+
+        long a = components.get(chain.toMappedNodeId(gdlFactory.nodeId("a")));
+        long b = components.get(chain.toMappedNodeId(gdlFactory.nodeId("b")));
+        long c = components.get(chain.toMappedNodeId(gdlFactory.nodeId("c")));
+        long d = components.get(chain.toMappedNodeId(gdlFactory.nodeId("d")));
+        assertEquals(c, d);
+        assertNotEquals(a, b);
+        assertNotEquals(b, c);
+        assertEquals(3, algo.getSetCount());
+        assertEquals(1, algo.getMinSetSize());
+        assertEquals(2, algo.getMaxSetSize());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldMatchMutualReachability(int concurrency) {
+        int nodeCount = 100;
+        Random random = new Random(42L);
+        StringBuilder gdl = new StringBuilder();
+        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+            gdl.append(nodeId == 0 ? "" : ", ").append("(n").append(nodeId).append(")");
+        }
+        int[][] adjacency = new int[nodeCount][];
+        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+            adjacency[nodeId] = random.ints(random.nextInt(3), 0, nodeCount).toArray();
+            for (int target : adjacency[nodeId]) {
+                gdl.append(", (n").append(nodeId).append(")-->(n").append(target).append(")");
+            }
+        }
+        var gdlFactory = GdlFactory.of(gdl.toString());
+        Graph randomGraph = gdlFactory.build().graphStore().getUnion();
+
+        SccAlgorithm algo = new SccAlgorithm(randomGraph, Pools.DEFAULT, concurrency, AllocationTracker.empty());
+        HugeLongArray components = algo.compute();
+
+        BitSet[] reachable = new BitSet[nodeCount];
+        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+            reachable[nodeId] = reachableFrom(nodeId, adjacency);
+        }
+        for (int source = 0; source < nodeCount; source++) {
+            long sourceId = randomGraph.toMappedNodeId(gdlFactory.nodeId("n" + source));
+            for (int target = 0; target < nodeCount; target++) {
+                long targetId = randomGraph.toMappedNodeId(gdlFactory.nodeId("n" + target));
+                boolean stronglyConnected = reachable[source].get(target) && reachable[target].get(source);
+                assertEquals(
+                    stronglyConnected,
+                    components.get(sourceId) == components.get(targetId),
+                    "n" + source + " and n" + target
+                );
+            }
+        }
+    }
+
+    private static BitSet reachableFrom(int nodeId, int[][] adjacency) {
+        BitSet visited = new BitSet(adjacency.length);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        visited.set(nodeId);
+        queue.add(nodeId);
+        while (!queue.isEmpty()) {
+            for (int target : adjacency[queue.poll()]) {
+                if (!visited.get(target)) {
+                    visited.set(target);
+                    queue.add(target);
+                }
+            }
+        }
+        return visited;
     }
 
     private void assertCC(HugeLongArray connectedComponents) {
@@ -36,6 +36,11 @@ public enum ActivationFunction {
             return Sigmoid::new;
         }
 
+        @Override
+        public double apply(double value) {
+            return Sigmoid.sigmoid(value);
+        }
+
         @Override
         public double weightInitBound(int rows, int cols) {
             return Math.sqrt(2d / (rows + cols));
@@ -47,6 +52,11 @@ public enum ActivationFunction {
             return Relu::new;
         }
 
+        @Override
+        public double apply(double value) {
+            return Relu.relu(value);
+        }
+
         @Override
         public double weightInitBound(int rows, int cols) {
             return Math.sqrt(2d / cols);
@@ -55,6 +65,11 @@ public enum ActivationFunction {
 
     public abstract Function<Variable<Matrix>, Variable<Matrix>> activationFunction();
 
+    /**
+     * Applies the activation to a single value, for code paths that do not build a computation graph.
+     */
+    public abstract double apply(double value);
+
     public abstract double weightInitBound(int rows, int cols);
 
     public static ActivationFunction of(String activationFunction) {
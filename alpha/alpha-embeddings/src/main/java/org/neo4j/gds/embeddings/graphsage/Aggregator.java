@@ -32,6 +32,22 @@ import static org.neo4j.graphalgo.utils.StringFormatting.toUpperCaseWithLocale;
 public interface Aggregator {
     Variable<Matrix> aggregate(Variable<Matrix> previousLayerRepresentations, int[][] adjacencyMatrix, int[] selfAdjacencyMatrix);
 
+    /**
+     * Inference-only variant of {@link #aggregate} that does not build a computation graph.
+     * Reads the row-major {@code previousLayerRepresentations} with {@code previousLayerRows} rows and
+     * writes one row of {@link #outputDimension()} values per entry of {@code adjacencyMatrix} into {@code result}.
+     */
+    void aggregateInPlace(
+        double[] previousLayerRepresentations,
+        int previousLayerRows,
+        int[][] adjacencyMatrix,
+        int[] selfAdjacencyMatrix,
+        double[] result,
+        InferenceArena arena
+    );
+
+    int outputDimension();
+
     // TODO: maybe turn this generic?
     List<Weights<? extends Tensor<?>>> weights();
 
@@ -19,21 +19,29 @@
  */
 package org.neo4j.gds.embeddings.graphsage;
 
-import org.neo4j.gds.embeddings.graphsage.ddl4j.ComputationContext;
-import org.neo4j.gds.embeddings.graphsage.ddl4j.Variable;
-import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
+import org.neo4j.gds.embeddings.graphsage.subgraph.SubGraph;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
-import static org.neo4j.gds.embeddings.graphsage.GraphSageHelper.embeddings;
-import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.parallelStreamConsume;
-
+/**
+ * Computes embeddings for all nodes with already trained layers.
+ * Unlike training, inference does not build a computation graph per batch:
+ * each thread owns an {@link InferenceArena} and the aggregators write their output directly into its buffers.
+ */
 public class GraphSageEmbeddingsGenerator {
     private final Layer[] layers;
-    private final BatchProvider batchProvider;
+    private final int batchSize;
     private final int concurrency;
     private final AllocationTracker tracker;
 
@@ -44,7 +52,7 @@ public class GraphSageEmbeddingsGenerator {
         AllocationTracker tracker
     ) {
         this.layers = layers;
-        this.batchProvider = new BatchProvider(batchSize);
+        this.batchSize = batchSize;
         this.concurrency = concurrency;
         this.tracker = tracker;
     }
@@ -56,26 +64,106 @@ public class GraphSageEmbeddingsGenerator {
             tracker
         );
 
-        parallelStreamConsume(
-            batchProvider.stream(graph),
+        long batchCount = BitUtil.ceilDiv(graph.nodeCount(), batchSize);
+        var nextBatch = new AtomicLong();
+        var tasks = ParallelUtil.tasks(
             concurrency,
-            batches -> batches.forEach(batch -> {
-                ComputationContext ctx = new ComputationContext();
-                Variable<Matrix> embeddingVariable = embeddings(graph, batch, features, layers);
-                int cols = embeddingVariable.dimension(1);
-                double[] embeddings = ctx.forward(embeddingVariable).data();
-
-                for (int nodeIndex = 0; nodeIndex < batch.length; nodeIndex++) {
-                    double[] nodeEmbedding = Arrays.copyOfRange(
-                        embeddings,
-                        nodeIndex * cols,
-                        (nodeIndex + 1) * cols
-                    );
-                    result.set(batch[nodeIndex], nodeEmbedding);
-                }
-            })
+            () -> new InferenceTask(graph.concurrentCopy(), features, result, nextBatch, batchCount)
         );
+        ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
 
         return result;
     }
+
+    private final class InferenceTask implements Runnable {
+        private final Graph graph;
+        private final HugeObjectArray<double[]> features;
+        private final HugeObjectArray<double[]> result;
+        private final AtomicLong nextBatch;
+        private final long batchCount;
+        private final List<NeighborhoodFunction> neighborhoodFunctions;
+        private final Aggregator[] aggregators;
+        private final InferenceArena arena;
+
+        InferenceTask(
+            Graph graph,
+            HugeObjectArray<double[]> features,
+            HugeObjectArray<double[]> result,
+            AtomicLong nextBatch,
+            long batchCount
+        ) {
+            this.graph = graph;
+            this.features = features;
+            this.result = result;
+            this.nextBatch = nextBatch;
+            this.batchCount = batchCount;
+            this.neighborhoodFunctions = Arrays
+                .stream(layers)
+                .map(layer -> (NeighborhoodFunction) layer::neighborhoodFunction)
+                .collect(Collectors.toList());
+            Collections.reverse(this.neighborhoodFunctions);
+            this.aggregators = Arrays.stream(layers).map(Layer::aggregator).toArray(Aggregator[]::new);
+            this.arena = new InferenceArena();
+        }
+
+        @Override
+        public void run() {
+            long batch;
+            while ((batch = nextBatch.getAndIncrement()) < batchCount) {
+                long start = batch * batchSize;
+                long end = Math.min(graph.nodeCount(), start + batchSize);
+                embedBatch(LongStream.range(start, end).toArray());
+            }
+        }
+
+        private void embedBatch(long[] nodeIds) {
+            List<SubGraph> subGraphs = SubGraph.buildSubGraphs(nodeIds, neighborhoodFunctions, graph);
+
+            long[] inputNodes = subGraphs.get(subGraphs.size() - 1).nextNodes;
+            int dimension = features.get(0).length;
+            double[] input = arena.buffer(InferenceArena.LAYER_INPUT, inputNodes.length * dimension);
+            for (int nodeOffset = 0; nodeOffset < inputNodes.length; nodeOffset++) {
+                System.arraycopy(features.get(inputNodes[nodeOffset]), 0, input, nodeOffset * dimension, dimension);
+            }
+
+            int inputRows = inputNodes.length;
+            for (int layerNr = layers.length - 1; layerNr >= 0; layerNr--) {
+                Aggregator aggregator = aggregators[layers.length - layerNr - 1];
+                SubGraph subGraph = subGraphs.get(layerNr);
+                dimension = aggregator.outputDimension();
+                int outputRows = subGraph.adjacency.length;
+                double[] output = arena.buffer(InferenceArena.LAYER_OUTPUT, outputRows * dimension);
+
+                aggregator.aggregateInPlace(
+                    arena.buffer(InferenceArena.LAYER_INPUT, 0),
+                    inputRows,
+                    subGraph.adjacency,
+                    subGraph.selfAdjacency,
+                    output,
+                    arena
+                );
+
+                arena.swapLayerBuffers();
+                inputRows = outputRows;
+            }
+
+            double[] embeddings = arena.buffer(InferenceArena.LAYER_INPUT, 0);
+            for (int nodeIndex = 0; nodeIndex < nodeIds.length; nodeIndex++) {
+                result.set(nodeIds[nodeIndex], normalizedRow(embeddings, nodeIndex * dimension, dimension));
+            }
+        }
+
+        private double[] normalizedRow(double[] data, int offset, int dimension) {
+            double sum = 0;
+            for (int col = 0; col < dimension; col++) {
+                sum += Math.pow(data[offset + col], 2);
+            }
+            double l2 = Math.sqrt(sum);
+            double[] row = new double[dimension];
+            for (int col = 0; col < dimension; col++) {
+                row[col] = data[offset + col] / l2;
+            }
+            return row;
+        }
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.graphsage;
+
+/**
+ * Scratch buffers owned by a single inference thread.
+ * Buffers grow to the largest size requested so far and are reused across batches and layers.
+ * Their content is not cleared between requests.
+ */
+public final class InferenceArena {
+
+    static final int LAYER_INPUT = 0;
+    static final int LAYER_OUTPUT = 1;
+    static final int AGGREGATION = 2;
+    static final int ROW = 3;
+
+    private static final int SLOT_COUNT = 4;
+
+    private final double[][] buffers = new double[SLOT_COUNT][];
+
+    double[] buffer(int slot, int minLength) {
+        double[] buffer = buffers[slot];
+        if (buffer == null || buffer.length < minLength) {
+            buffer = new double[minLength];
+            buffers[slot] = buffer;
+        }
+        return buffer;
+    }
+
+    void swapLayerBuffers() {
+        double[] input = buffers[LAYER_INPUT];
+        buffers[LAYER_INPUT] = buffers[LAYER_OUTPUT];
+        buffers[LAYER_OUTPUT] = input;
+    }
+}
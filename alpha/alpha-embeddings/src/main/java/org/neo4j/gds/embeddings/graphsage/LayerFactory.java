@@ -43,7 +43,7 @@ public final class LayerFactory {
         );
 
         if (layerConfig.aggregatorType() == Aggregator.AggregatorType.MEAN) {
-            return new MeanAggregatingLayer(weights, layerConfig.sampleSize(), activationFunction.activationFunction());
+            return new MeanAggregatingLayer(weights, layerConfig.sampleSize(), activationFunction);
         }
 
         if (layerConfig.aggregatorType() == Aggregator.AggregatorType.POOL) {
@@ -69,7 +69,7 @@ public final class LayerFactory {
                 selfWeights,
                 neighborsWeights,
                 bias,
-                activationFunction.activationFunction()
+                activationFunction
             );
         }
 
@@ -19,13 +19,11 @@
  */
 package org.neo4j.gds.embeddings.graphsage;
 
-import org.neo4j.gds.embeddings.graphsage.ddl4j.Variable;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Weights;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Vector;
 
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.function.Function;
 
 public class MaxPoolAggregatingLayer implements Layer {
 
@@ -36,7 +34,7 @@ public class MaxPoolAggregatingLayer implements Layer {
     private final Weights<Matrix> neighborsWeights;
     private final Weights<Vector> bias;
     private long randomState;
-    private final Function<Variable<Matrix>, Variable<Matrix>> activationFunction;
+    private final ActivationFunction activationFunction;
 
     MaxPoolAggregatingLayer(
         long sampleSize,
@@ -44,7 +42,7 @@ public class MaxPoolAggregatingLayer implements Layer {
         Weights<Matrix> selfWeights,
         Weights<Matrix> neighborsWeights,
         Weights<Vector> bias,
-        Function<Variable<Matrix>, Variable<Matrix>> activationFunction
+        ActivationFunction activationFunction
     ) {
         this.poolWeights = poolWeights;
         this.selfWeights = selfWeights;
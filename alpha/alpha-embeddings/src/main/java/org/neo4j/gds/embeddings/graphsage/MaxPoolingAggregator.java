@@ -30,8 +30,11 @@ import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Weights;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Tensor;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Vector;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.function.Function;
+
+import static org.neo4j.gds.embeddings.graphsage.ddl4j.Dimensions.COLUMNS_INDEX;
+import static org.neo4j.gds.embeddings.graphsage.ddl4j.Dimensions.ROWS_INDEX;
 
 public class MaxPoolingAggregator implements Aggregator {
 
@@ -39,14 +42,14 @@ public class MaxPoolingAggregator implements Aggregator {
     private final Weights<Matrix> selfWeights;
     private final Weights<Matrix> neighborsWeights;
     private final Weights<Vector> bias;
-    private final Function<Variable<Matrix>, Variable<Matrix>> activationFunction;
+    private final ActivationFunction activationFunction;
 
     MaxPoolingAggregator(
         Weights<Matrix> poolWeights,
         Weights<Matrix> selfWeights,
         Weights<Matrix> neighborsWeights,
         Weights<Vector> bias,
-        Function<Variable<Matrix>, Variable<Matrix>> activationFunction
+        ActivationFunction activationFunction
     ) {
 
         this.poolWeights = poolWeights;
@@ -68,7 +71,7 @@ public class MaxPoolingAggregator implements Aggregator {
             poolWeights
         );
         Variable<Matrix> biasedWeightedPreviousLayer = new MatrixVectorSum(weightedPreviousLayer, bias);
-        Variable<Matrix> neighborhoodActivations = activationFunction.apply(biasedWeightedPreviousLayer);
+        Variable<Matrix> neighborhoodActivations = activationFunction.activationFunction().apply(biasedWeightedPreviousLayer);
         Variable<Matrix> elementwiseMax = new ElementwiseMax(neighborhoodActivations, adjacencyMatrix);
 
         Variable<Matrix> selfPreviousLayer =  new Slice(previousLayerRepresentations, selfAdjacencyMatrix);
@@ -76,7 +79,71 @@ public class MaxPoolingAggregator implements Aggregator {
         Variable<Matrix> neighbors = MatrixMultiplyWithTransposedSecondOperand.of(elementwiseMax, neighborsWeights);
         Variable<Matrix> sum = new MatrixSum(List.of(self, neighbors));
 
-        return activationFunction.apply(sum);
+        return activationFunction.activationFunction().apply(sum);
+    }
+
+    @Override
+    public void aggregateInPlace(
+        double[] previousLayerRepresentations,
+        int previousLayerRows,
+        int[][] adjacencyMatrix,
+        int[] selfAdjacencyMatrix,
+        double[] result,
+        InferenceArena arena
+    ) {
+        double[] poolWeightData = poolWeights.data().data();
+        double[] selfWeightData = selfWeights.data().data();
+        double[] neighborsWeightData = neighborsWeights.data().data();
+        double[] biasData = bias.data().data();
+        int outputDimension = outputDimension();
+        int inputDimension = poolWeights.dimension(COLUMNS_INDEX);
+
+        // Every row of the previous layer may be pooled by several nodes, so the activations are computed once up front
+        double[] activations = arena.buffer(InferenceArena.AGGREGATION, previousLayerRows * outputDimension);
+        for (int row = 0; row < previousLayerRows; row++) {
+            int rowOffset = row * inputDimension;
+            for (int out = 0; out < outputDimension; out++) {
+                double sum = dot(previousLayerRepresentations, rowOffset, poolWeightData, out * inputDimension, inputDimension);
+                activations[row * outputDimension + out] = activationFunction.apply(sum + biasData[out]);
+            }
+        }
+
+        double[] max = arena.buffer(InferenceArena.ROW, outputDimension);
+        for (int row = 0; row < adjacencyMatrix.length; row++) {
+            int[] neighbors = adjacencyMatrix[row];
+            if (neighbors.length > 0) {
+                Arrays.fill(max, 0, outputDimension, Double.NEGATIVE_INFINITY);
+                for (int neighbor : neighbors) {
+                    int neighborOffset = neighbor * outputDimension;
+                    for (int col = 0; col < outputDimension; col++) {
+                        max[col] = Math.max(activations[neighborOffset + col], max[col]);
+                    }
+                }
+            } else {
+                Arrays.fill(max, 0, outputDimension, 0D);
+            }
+
+            int selfOffset = selfAdjacencyMatrix[row] * inputDimension;
+            int resultOffset = row * outputDimension;
+            for (int out = 0; out < outputDimension; out++) {
+                double self = dot(previousLayerRepresentations, selfOffset, selfWeightData, out * inputDimension, inputDimension);
+                double neighborhood = dot(max, 0, neighborsWeightData, out * outputDimension, outputDimension);
+                result[resultOffset + out] = activationFunction.apply(self + neighborhood);
+            }
+        }
+    }
+
+    @Override
+    public int outputDimension() {
+        return poolWeights.dimension(ROWS_INDEX);
+    }
+
+    private static double dot(double[] left, int leftOffset, double[] right, int rightOffset, int length) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += left[leftOffset + i] * right[rightOffset + i];
+        }
+        return sum;
     }
 
     @Override
@@ -19,12 +19,10 @@
  */
 package org.neo4j.gds.embeddings.graphsage;
 
-import org.neo4j.gds.embeddings.graphsage.ddl4j.Variable;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.functions.Weights;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
 
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.function.Function;
 
 public class MeanAggregatingLayer implements Layer {
 
@@ -32,9 +30,9 @@ public class MeanAggregatingLayer implements Layer {
     private final long sampleSize;
     private final Weights<Matrix> weights;
     private long randomState;
-    private final Function<Variable<Matrix>, Variable<Matrix>> activationFunction;
+    private final ActivationFunction activationFunction;
 
-    public MeanAggregatingLayer(Weights<Matrix> weights, long sampleSize, Function<Variable<Matrix>, Variable<Matrix>> activationFunction) {
+    public MeanAggregatingLayer(Weights<Matrix> weights, long sampleSize, ActivationFunction activationFunction) {
         this.sampleSize = sampleSize;
         this.weights = weights;
         this.activationFunction = activationFunction;
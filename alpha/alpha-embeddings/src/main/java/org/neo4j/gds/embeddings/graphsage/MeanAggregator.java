@@ -27,7 +27,9 @@ import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Matrix;
 import org.neo4j.gds.embeddings.graphsage.ddl4j.tensor.Tensor;
 
 import java.util.List;
-import java.util.function.Function;
+
+import static org.neo4j.gds.embeddings.graphsage.ddl4j.Dimensions.COLUMNS_INDEX;
+import static org.neo4j.gds.embeddings.graphsage.ddl4j.Dimensions.ROWS_INDEX;
 
 /*
     hkv ← σ(W · MEAN({h(k−1)v } ∪ {h(k−1)u, ∀u ∈ N (v)}
@@ -36,9 +38,9 @@ import java.util.function.Function;
 public class MeanAggregator implements Aggregator {
 
     private final Weights<Matrix> weights;
-    private final Function<Variable<Matrix>, Variable<Matrix>> activationFunction;
+    private final ActivationFunction activationFunction;
 
-    MeanAggregator(Weights<Matrix> weights, Function<Variable<Matrix>, Variable<Matrix>> activationFunction) {
+    MeanAggregator(Weights<Matrix> weights, ActivationFunction activationFunction) {
         this.weights = weights;
         this.activationFunction = activationFunction;
     }
@@ -47,7 +49,53 @@ public class MeanAggregator implements Aggregator {
     public Variable<Matrix> aggregate(Variable<Matrix> previousLayerRepresentations, int[][] adjacencyMatrix, int[] selfAdjacency) {
         Variable<Matrix> means = new MultiMean(previousLayerRepresentations, adjacencyMatrix, selfAdjacency);
         Variable<Matrix> product = MatrixMultiplyWithTransposedSecondOperand.of(means, weights);
-        return activationFunction.apply(product);
+        return activationFunction.activationFunction().apply(product);
+    }
+
+    @Override
+    public void aggregateInPlace(
+        double[] previousLayerRepresentations,
+        int previousLayerRows,
+        int[][] adjacencyMatrix,
+        int[] selfAdjacency,
+        double[] result,
+        InferenceArena arena
+    ) {
+        double[] weightData = weights.data().data();
+        int outputDimension = outputDimension();
+        int inputDimension = weights.dimension(COLUMNS_INDEX);
+        double[] mean = arena.buffer(InferenceArena.ROW, inputDimension);
+
+        for (int row = 0; row < adjacencyMatrix.length; row++) {
+            int[] neighbors = adjacencyMatrix[row];
+            int numberOfNeighbors = neighbors.length;
+
+            int selfOffset = selfAdjacency[row] * inputDimension;
+            for (int col = 0; col < inputDimension; col++) {
+                mean[col] = previousLayerRepresentations[selfOffset + col] / (numberOfNeighbors + 1);
+            }
+            for (int neighbor : neighbors) {
+                int neighborOffset = neighbor * inputDimension;
+                for (int col = 0; col < inputDimension; col++) {
+                    mean[col] += previousLayerRepresentations[neighborOffset + col] / (numberOfNeighbors + 1);
+                }
+            }
+
+            int resultOffset = row * outputDimension;
+            for (int out = 0; out < outputDimension; out++) {
+                int weightOffset = out * inputDimension;
+                double sum = 0;
+                for (int col = 0; col < inputDimension; col++) {
+                    sum += mean[col] * weightData[weightOffset + col];
+                }
+                result[resultOffset + out] = activationFunction.apply(sum);
+            }
+        }
+    }
+
+    @Override
+    public int outputDimension() {
+        return weights.dimension(ROWS_INDEX);
     }
 
     @Override
@@ -23,15 +23,14 @@ import org.neo4j.graphalgo.api.Graph;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class UniformNeighborhoodSampler {
-    private final Random random;
-
-    public UniformNeighborhoodSampler() {
-        this.random = new Random();
-    }
+    // constants of the linear congruential generator in java.util.Random
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
 
     public List<Long> sample(Graph graph, long nodeId, long numberOfSamples, long randomState) {
         AtomicLong remainingToSample = new AtomicLong(numberOfSamples);
@@ -54,8 +53,16 @@ public class UniformNeighborhoodSampler {
         return neighbors;
     }
 
-    private double randomDouble(long randomState, long source, long target, long nodeCount) {
-        random.setSeed(randomState + source + nodeCount * target);
-        return random.nextDouble();
+    /**
+     * Returns the same value as {@code new Random(randomState + source + nodeCount * target).nextDouble()}
+     * without sharing a {@link java.util.Random} instance between sampling threads.
+     */
+    private static double randomDouble(long randomState, long source, long target, long nodeCount) {
+        long seed = ((randomState + source + nodeCount * target) ^ MULTIPLIER) & MASK;
+        seed = (seed * MULTIPLIER + ADDEND) & MASK;
+        long high = seed >>> (48 - 26);
+        seed = (seed * MULTIPLIER + ADDEND) & MASK;
+        long low = seed >>> (48 - 27);
+        return ((high << 27) + low) * DOUBLE_UNIT;
     }
 }
@@ -33,11 +33,15 @@ public class Relu<T extends Tensor<T>> extends SingleParentVariable<T> {
 
     @Override
     public T apply(ComputationContext ctx) {
-        return (T) ctx.data(parent()).map(value -> value > 0 ? value : ALPHA * value);
+        return (T) ctx.data(parent()).map(Relu::relu);
     }
 
     @Override
     public T gradient(Variable<?> contextParent, ComputationContext ctx) {
         return (T) ctx.data(contextParent).map(value -> value > 0 ? 1 : ALPHA);
     }
+
+    public static double relu(double x) {
+        return x > 0 ? x : ALPHA * x;
+    }
 }
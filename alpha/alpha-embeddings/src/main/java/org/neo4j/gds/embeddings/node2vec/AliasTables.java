@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Alias tables for sampling a relationship of a node proportionally to its weight in constant time.
+ * The tables of all nodes are stored consecutively, the offset of a node points to the first entry of its table.
+ * Tables are only built for nodes whose degree is at least the given minimum degree,
+ * the relationships of all other nodes have to be scanned for sampling.
+ *
+ * specified in: Vose, "A Linear Algorithm for Generating Random Numbers with a Given Distribution" (1991)
+ */
+public final class AliasTables {
+
+    private static final long NO_TABLE = -1L;
+
+    private final AllocationTracker tracker;
+
+    private HugeLongArray offsets;
+    private HugeDoubleArray probabilities;
+    private HugeIntArray aliases;
+
+    public static AliasTables build(
+        Graph graph,
+        int minDegree,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+        int tableMinDegree = Math.max(1, minDegree);
+
+        var offsets = HugeLongArray.newArray(nodeCount, tracker);
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            var degrees = graph.concurrentCopy();
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                int degree = degrees.degree(nodeId);
+                offsets.set(nodeId, degree >= tableMinDegree ? degree : 0);
+            }
+        });
+
+        // exclusive prefix sum of the table sizes, computed per partition and then shifted by the preceding partitions
+        var partitions = PartitionUtils.rangePartition(concurrency, nodeCount);
+        var partitionSums = new long[partitions.size() + 1];
+        var sumTasks = IntStream.range(0, partitions.size()).mapToObj(i -> (Runnable) () -> {
+            var partition = partitions.get(i);
+            long sum = 0L;
+            long end = partition.startNode() + partition.nodeCount();
+            for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+                sum += offsets.get(nodeId);
+            }
+            partitionSums[i + 1] = sum;
+        }).collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, sumTasks, executor);
+        for (int i = 1; i < partitionSums.length; i++) {
+            partitionSums[i] += partitionSums[i - 1];
+        }
+        var offsetTasks = IntStream.range(0, partitions.size()).mapToObj(i -> (Runnable) () -> {
+            var partition = partitions.get(i);
+            long offset = partitionSums[i];
+            long end = partition.startNode() + partition.nodeCount();
+            for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+                long tableSize = offsets.get(nodeId);
+                offsets.set(nodeId, tableSize > 0 ? offset : NO_TABLE);
+                offset += tableSize;
+            }
+        }).collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, offsetTasks, executor);
+        long tableEntries = partitionSums[partitions.size()];
+
+        var probabilities = HugeDoubleArray.newArray(tableEntries, tracker);
+        var aliases = HugeIntArray.newArray(tableEntries, tracker);
+        ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+            var tableBuilder = new TableBuilder(graph.concurrentCopy(), probabilities, aliases);
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                long offset = offsets.get(nodeId);
+                if (offset != NO_TABLE) {
+                    tableBuilder.build(nodeId, offset);
+                }
+            }
+        });
+
+        return new AliasTables(offsets, probabilities, aliases, tracker);
+    }
+
+    private AliasTables(
+        HugeLongArray offsets,
+        HugeDoubleArray probabilities,
+        HugeIntArray aliases,
+        AllocationTracker tracker
+    ) {
+        this.offsets = offsets;
+        this.probabilities = probabilities;
+        this.aliases = aliases;
+        this.tracker = tracker;
+    }
+
+    /**
+     * Releases the tables and removes their memory from the tracker.
+     * The tables must not be used for sampling afterwards.
+     */
+    public void release() {
+        if (offsets == null) {
+            return;
+        }
+        tracker.remove(offsets.release());
+        tracker.remove(probabilities.release());
+        tracker.remove(aliases.release());
+        offsets = null;
+        probabilities = null;
+        aliases = null;
+    }
+
+    public boolean hasTable(long nodeId) {
+        return offsets.get(nodeId) != NO_TABLE;
+    }
+
+    /**
+     * Samples the index of a relationship of a node that has a table.
+     */
+    public int sample(long nodeId, int degree, Random random) {
+        long offset = offsets.get(nodeId);
+        int index = random.nextInt(degree);
+        return random.nextDouble() < probabilities.get(offset + index)
+            ? index
+            : aliases.get(offset + index);
+    }
+
+    private static final class TableBuilder implements RelationshipWithPropertyConsumer {
+
+        private final Graph graph;
+        private final HugeDoubleArray probabilities;
+        private final HugeIntArray aliases;
+
+        private double[] weights;
+        private int[] small;
+        private int[] large;
+        private int degree;
+        private double weightSum;
+
+        TableBuilder(Graph graph, HugeDoubleArray probabilities, HugeIntArray aliases) {
+            this.graph = graph;
+            this.probabilities = probabilities;
+            this.aliases = aliases;
+            this.weights = new double[0];
+            this.small = new int[0];
+            this.large = new int[0];
+        }
+
+        void build(long nodeId, long offset) {
+            int capacity = graph.degree(nodeId);
+            if (weights.length < capacity) {
+                weights = new double[capacity];
+                small = new int[capacity];
+                large = new int[capacity];
+            }
+            degree = 0;
+            weightSum = 0D;
+            graph.forEachRelationship(nodeId, 1.0, this);
+
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < degree; i++) {
+                // scale the weights so that their average is 1
+                weights[i] = weightSum > 0 ? weights[i] * degree / weightSum : 1D;
+                if (weights[i] < 1D) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+
+            while (smallCount > 0 && largeCount > 0) {
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+                probabilities.set(offset + less, weights[less]);
+                aliases.set(offset + less, more);
+
+                weights[more] = (weights[more] + weights[less]) - 1D;
+                if (weights[more] < 1D) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+            // the remaining entries are only left over due to rounding errors
+            while (largeCount > 0) {
+                probabilities.set(offset + large[--largeCount], 1D);
+            }
+            while (smallCount > 0) {
+                probabilities.set(offset + small[--smallCount], 1D);
+            }
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+            weights[degree++] = property;
+            weightSum += property;
+            return true;
+        }
+    }
+}
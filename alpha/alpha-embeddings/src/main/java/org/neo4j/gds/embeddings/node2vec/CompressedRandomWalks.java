@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.lang.Math.multiplyExact;
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodeVLongs;
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.zigZag;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfByteArray;
+
+/**
+ * Stores walks as variable-length encoded, zig-zag encoded deltas of consecutive node ids.
+ * Every walking thread fills its own {@link Writer}, which buffers a number of walks
+ * and adds them as a single page once the buffer is full.
+ * A walk is addressed by the index of its page in the upper and the offset within the page in the lower 32 bits.
+ */
+public final class CompressedRandomWalks implements RandomWalks {
+
+    // a variable-length encoded long takes at most 9 bytes
+    private static final int MAX_ENCODED_LONG_SIZE = 9;
+
+    private final long walkCount;
+    private final int maxWalkLength;
+    private final int walksPerPage;
+    private final HugeLongArray walkAddresses;
+    private final List<byte[]> pages;
+    private final AllocationTracker tracker;
+
+    public static CompressedRandomWalks of(long[]... walks) {
+        int maxWalkLength = 0;
+        for (long[] walk : walks) {
+            maxWalkLength = Math.max(maxWalkLength, walk.length);
+        }
+        var randomWalks = new CompressedRandomWalks(walks.length, maxWalkLength, walks.length, AllocationTracker.empty());
+        var writer = randomWalks.newWriter();
+        for (int walkIndex = 0; walkIndex < walks.length; walkIndex++) {
+            writer.accept(walkIndex, walks[walkIndex], walks[walkIndex].length);
+        }
+        writer.flush();
+        return randomWalks;
+    }
+
+    public CompressedRandomWalks(long walkCount, int maxWalkLength, int walksPerPage, AllocationTracker tracker) {
+        this.walkCount = walkCount;
+        this.maxWalkLength = maxWalkLength;
+        this.walksPerPage = Math.max(1, walksPerPage);
+        this.walkAddresses = HugeLongArray.newArray(walkCount, tracker);
+        this.pages = new ArrayList<>();
+        this.tracker = tracker;
+    }
+
+    /**
+     * Creates a new writer that is meant to be used by a single thread.
+     * Walks are only visible once the writer has been flushed.
+     */
+    public Writer newWriter() {
+        return new Writer();
+    }
+
+    @Override
+    public long size() {
+        return walkCount;
+    }
+
+    @Override
+    public int maxWalkLength() {
+        return maxWalkLength;
+    }
+
+    @Override
+    public long release() {
+        long released = walkAddresses.release();
+        synchronized (pages) {
+            for (byte[] page : pages) {
+                released += sizeOfByteArray(page.length);
+            }
+            pages.clear();
+        }
+        return released;
+    }
+
+    @Override
+    public WalkIterator iterator(long startWalk, long endWalk) {
+        long end = Math.min(endWalk, walkCount);
+        return new WalkIterator() {
+            long walkIndex = startWalk;
+
+            @Override
+            public int next(long[] buffer) {
+                if (walkIndex >= end) {
+                    return -1;
+                }
+                long address = walkAddresses.get(walkIndex++);
+                return decode(pages.get((int) (address >>> 32)), (int) address, buffer);
+            }
+        };
+    }
+
+    private long addPage(byte[] page) {
+        synchronized (pages) {
+            pages.add(page);
+            tracker.add(sizeOfByteArray(page.length));
+            return pages.size() - 1;
+        }
+    }
+
+    /**
+     * Decodes the walk length, followed by the node ids of the walk.
+     */
+    private static int decode(byte[] page, int offset, long[] out) {
+        long input, value = 0L, nodeId = 0L;
+        int length = -1, into = 0, shift = 0;
+        while (length == -1 || into < length) {
+            input = page[offset++];
+            value += (input & 127L) << shift;
+            if ((input & 128L) == 128L) {
+                if (length == -1) {
+                    length = (int) value;
+                } else {
+                    nodeId += ((value >>> 1L) ^ -(value & 1L));
+                    out[into++] = nodeId;
+                }
+                value = 0L;
+                shift = 0;
+            } else {
+                shift += 7;
+            }
+        }
+        return length;
+    }
+
+    public final class Writer implements RandomWalk.WalkConsumer {
+
+        private final byte[] buffer;
+        private final long[] values;
+        private final long[] walkIndices;
+        private final int[] walkOffsets;
+        private int bufferedWalks;
+        private int position;
+
+        private Writer() {
+            this.buffer = new byte[multiplyExact(multiplyExact(walksPerPage, maxWalkLength + 1), MAX_ENCODED_LONG_SIZE)];
+            this.values = new long[maxWalkLength + 1];
+            this.walkIndices = new long[walksPerPage];
+            this.walkOffsets = new int[walksPerPage];
+        }
+
+        @Override
+        public void accept(long walkIndex, long[] walk, int length) {
+            if (bufferedWalks == walksPerPage) {
+                flush();
+            }
+
+            values[0] = length;
+            long previousNodeId = 0L;
+            for (int i = 0; i < length; i++) {
+                values[i + 1] = zigZag(walk[i] - previousNodeId);
+                previousNodeId = walk[i];
+            }
+
+            walkIndices[bufferedWalks] = walkIndex;
+            walkOffsets[bufferedWalks] = position;
+            bufferedWalks++;
+            position = encodeVLongs(values, length + 1, buffer, position);
+        }
+
+        @Override
+        public void flush() {
+            if (bufferedWalks == 0) {
+                return;
+            }
+            long pageIndex = addPage(Arrays.copyOf(buffer, position));
+            for (int i = 0; i < bufferedWalks; i++) {
+                walkAddresses.set(walkIndices[i], (pageIndex << 32) | walkOffsets[i]);
+            }
+            bufferedWalks = 0;
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import static java.lang.Math.multiplyExact;
+
+/**
+ * Stores all walks in a single paged array where every walk occupies {@link #maxWalkLength()} slots.
+ * Walks that are shorter than the maximum length are terminated by {@code -1}.
+ */
+public final class FlatRandomWalks implements RandomWalks {
+
+    private static final long END_OF_WALK = -1L;
+
+    private final long walkCount;
+    private final int maxWalkLength;
+    private final HugeLongArray nodes;
+
+    public static FlatRandomWalks of(long[]... walks) {
+        int maxWalkLength = 0;
+        for (long[] walk : walks) {
+            maxWalkLength = Math.max(maxWalkLength, walk.length);
+        }
+        var randomWalks = new FlatRandomWalks(walks.length, maxWalkLength, AllocationTracker.empty());
+        for (int walkIndex = 0; walkIndex < walks.length; walkIndex++) {
+            randomWalks.set(walkIndex, walks[walkIndex], walks[walkIndex].length);
+        }
+        return randomWalks;
+    }
+
+    public FlatRandomWalks(long walkCount, int maxWalkLength, AllocationTracker tracker) {
+        this.walkCount = walkCount;
+        this.maxWalkLength = maxWalkLength;
+        this.nodes = HugeLongArray.newArray(multiplyExact(walkCount, maxWalkLength), tracker);
+    }
+
+    /**
+     * Stores a walk at the given index.
+     * Different walks can be stored concurrently.
+     */
+    public void set(long walkIndex, long[] walk, int length) {
+        long offset = walkIndex * maxWalkLength;
+        for (int i = 0; i < length; i++) {
+            nodes.set(offset + i, walk[i]);
+        }
+        if (length < maxWalkLength) {
+            nodes.set(offset + length, END_OF_WALK);
+        }
+    }
+
+    @Override
+    public long size() {
+        return walkCount;
+    }
+
+    @Override
+    public int maxWalkLength() {
+        return maxWalkLength;
+    }
+
+    @Override
+    public long release() {
+        return nodes.release();
+    }
+
+    @Override
+    public WalkIterator iterator(long startWalk, long endWalk) {
+        long end = Math.min(endWalk, walkCount);
+        return new WalkIterator() {
+            long walkIndex = startWalk;
+
+            @Override
+            public int next(long[] buffer) {
+                if (walkIndex >= end) {
+                    return -1;
+                }
+                long offset = walkIndex++ * maxWalkLength;
+                int length = 0;
+                while (length < maxWalkLength) {
+                    long nodeId = nodes.get(offset + length);
+                    if (nodeId == END_OF_WALK) {
+                        break;
+                    }
+                    buffer[length++] = nodeId;
+                }
+                return length;
+            }
+        };
+    }
+}
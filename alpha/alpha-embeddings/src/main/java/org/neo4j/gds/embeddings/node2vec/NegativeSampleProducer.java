@@ -36,7 +36,21 @@ public class NegativeSampleProducer {
     }
 
     public long nextSample() {
-        long index = contextNodeDistribution.binarySearch(ThreadLocalRandom.current().nextLong(cumulativeProbability));
+        return sample(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Fills {@code samples} from {@code offset} to the end of the array with negative samples.
+     */
+    public void nextSamples(long[] samples, int offset) {
+        var random = ThreadLocalRandom.current();
+        for (int i = offset; i < samples.length; i++) {
+            samples[i] = sample(random);
+        }
+    }
+
+    private long sample(ThreadLocalRandom random) {
+        long index = contextNodeDistribution.binarySearch(random.nextLong(cumulativeProbability));
 
         if (index < contextNodeDistribution.size() - 1) {
             index++;
@@ -19,13 +19,15 @@
  */
 package org.neo4j.gds.embeddings.node2vec;
 
-import org.apache.commons.lang3.mutable.MutableLong;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
 public class Node2Vec extends Algorithm<Node2Vec, HugeObjectArray<Vector>> {
 
     private final Graph graph;
@@ -41,27 +43,24 @@ public class Node2Vec extends Algorithm<Node2Vec, HugeObjectArray<Vector>> {
 
     @Override
     public HugeObjectArray<Vector> compute() {
+        AliasTables aliasTables = graph.hasRelationshipProperty()
+            ? AliasTables.build(graph, config.aliasTableMinDegree(), config.concurrency(), Pools.DEFAULT, tracker)
+            : null;
+
         RandomWalk randomWalk = new RandomWalk(
             graph,
             config.walkLength(),
-            new RandomWalk.NextNodeStrategy(graph, config.returnFactor(), config.inOutFactor()),
+            new RandomWalk.NextNodeStrategy(graph, config.returnFactor(), config.inOutFactor(), aliasTables),
             config.concurrency(),
             config.walksPerNode(),
             config.walkBufferSize()
         );
 
-        HugeObjectArray<long[]> walks = HugeObjectArray.newArray(
-            long[].class,
-            graph.nodeCount() * config.walksPerNode(),
-            tracker
-        );
-        MutableLong counter = new MutableLong(0);
-        randomWalk
-            .compute()
-            .forEach(walk -> {
-                walks.set(counter.longValue(), walk);
-                counter.increment();
-            });
+        RandomWalks walks = walks(randomWalk);
+        // materialized walks no longer need the tables, fused walks sample during training
+        if (aliasTables != null && config.walkStorage() != WalkStorage.FUSED) {
+            aliasTables.release();
+        }
 
         var probabilityComputer = new ProbabilityComputer(
             walks,
@@ -82,10 +81,40 @@ public class Node2Vec extends Algorithm<Node2Vec, HugeObjectArray<Vector>> {
         );
 
         node2VecModel.train();
+        tracker.remove(walks.release());
+        if (aliasTables != null) {
+            aliasTables.release();
+        }
 
         return node2VecModel.getEmbeddings();
     }
 
+    private RandomWalks walks(RandomWalk randomWalk) {
+        long walkCount = graph.nodeCount() * config.walksPerNode();
+        switch (config.walkStorage()) {
+            case FLAT:
+                var flatWalks = new FlatRandomWalks(walkCount, randomWalk.maxWalkLength(), tracker);
+                randomWalk.walkAll(() -> flatWalks::set);
+                return flatWalks;
+            case COMPRESSED:
+                var compressedWalks = new CompressedRandomWalks(
+                    walkCount,
+                    randomWalk.maxWalkLength(),
+                    config.walkBufferSize(),
+                    tracker
+                );
+                randomWalk.walkAll(compressedWalks::newWriter);
+                return compressedWalks;
+            case FUSED:
+                return new StreamingRandomWalks(randomWalk, graph.nodeCount(), config.walksPerNode());
+            default:
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Walk storage `%s` is not supported.",
+                    config.walkStorage()
+                ));
+        }
+    }
+
     @Override
     public Node2Vec me() {
         return this;
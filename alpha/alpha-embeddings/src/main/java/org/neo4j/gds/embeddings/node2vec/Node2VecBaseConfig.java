@@ -23,8 +23,9 @@ import org.immutables.value.Value;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.config.EmbeddingDimensionConfig;
+import org.neo4j.graphalgo.config.RelationshipWeightConfig;
 
-public interface Node2VecBaseConfig extends AlgoBaseConfig, EmbeddingDimensionConfig {
+public interface Node2VecBaseConfig extends AlgoBaseConfig, EmbeddingDimensionConfig, RelationshipWeightConfig {
 
     @Value.Default
     @Configuration.IntegerRange(min = 1)
@@ -50,6 +51,12 @@ public interface Node2VecBaseConfig extends AlgoBaseConfig, EmbeddingDimensionCo
         return 1000;
     }
 
+    @Value.Default
+    @Configuration.ConvertWith("org.neo4j.gds.embeddings.node2vec.WalkStorage#parse")
+    default WalkStorage walkStorage() {
+        return WalkStorage.FLAT;
+    }
+
     @Value.Default
     @Configuration.DoubleRange(min = 0.0)
     default double inOutFactor() {
@@ -62,6 +69,12 @@ public interface Node2VecBaseConfig extends AlgoBaseConfig, EmbeddingDimensionCo
         return 1.0;
     }
 
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int aliasTableMinDegree() {
+        return 1;
+    }
+
     @Value.Default
     @Configuration.IntegerRange(min = 1)
     default int negativeSamplingRate() {
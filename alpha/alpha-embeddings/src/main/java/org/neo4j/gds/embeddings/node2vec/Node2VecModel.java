@@ -23,21 +23,30 @@ import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
+import static org.neo4j.graphalgo.core.utils.Intersections.dot;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
+/**
+ * Skip-gram with negative sampling over the random walks.
+ * The center and context embeddings are stored as two dense float matrices which are updated
+ * by all training tasks without any synchronization (Hogwild). Concurrent updates to the same row
+ * may overwrite each other, which is tolerated since gradients are sparse.
+ */
 public class Node2VecModel {
 
     private final NegativeSampleProducer negativeSamples;
 
-    private final HugeObjectArray<Vector> centerEmbeddings;
-    private final HugeObjectArray<Vector> contextEmbeddings;
+    private HugeFloatMatrix centerEmbeddings;
+    private HugeFloatMatrix contextEmbeddings;
     private final Node2VecBaseConfig config;
-    private final HugeObjectArray<long[]> walks;
+    private final RandomWalks walks;
     private final ProbabilityComputer probabilityComputer;
     private final ProgressLogger progressLogger;
     private final AllocationTracker tracker;
@@ -46,7 +55,7 @@ public class Node2VecModel {
     Node2VecModel(
         long nodeCount,
         Node2VecBaseConfig config,
-        HugeObjectArray<long[]> walks,
+        RandomWalks walks,
         ProbabilityComputer probabilityComputer,
         ProgressLogger progressLogger,
         AllocationTracker tracker
@@ -82,31 +91,51 @@ public class Node2VecModel {
             progressLogger.logMessage(formatWithLocale(":: Iteration %d :: Finished", iteration + 1));
         }
         progressLogger.logMessage(":: Training :: Finished");
+        // only the center embeddings are part of the result
+        tracker.remove(contextEmbeddings.release());
+        contextEmbeddings = null;
     }
 
+    /**
+     * Copies the trained center embeddings into one {@link Vector} per node and releases the matrix.
+     * Can only be called once, after {@link #train()}.
+     */
     public HugeObjectArray<Vector> getEmbeddings() {
-        return centerEmbeddings;
-    }
-
-    private HugeObjectArray<Vector> initializeEmbeddings(long nodeCount, int embeddingDimensions) {
         HugeObjectArray<Vector> embeddings = HugeObjectArray.newArray(
             Vector.class,
-            nodeCount,
+            centerEmbeddings.rows(),
             tracker
         );
-        for (var i = 0L; i < nodeCount; i++) {
-            var data = new Random()
-                .doubles(embeddingDimensions, -1, 1)
-                .collect(() -> new FloatConsumer(embeddingDimensions), FloatConsumer::add, FloatConsumer::addAll).values;
-            embeddings.set(i, new Vector(data));
-        }
+        ParallelUtil.readParallel(config.concurrency(), centerEmbeddings.rows(), Pools.DEFAULT, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                embeddings.set(nodeId, new Vector(centerEmbeddings.copyRow(nodeId)));
+            }
+        });
+        tracker.remove(centerEmbeddings.release());
+        centerEmbeddings = null;
+        return embeddings;
+    }
+
+    private HugeFloatMatrix initializeEmbeddings(long nodeCount, int embeddingDimensions) {
+        var embeddings = HugeFloatMatrix.newMatrix(nodeCount, embeddingDimensions, tracker);
+        ParallelUtil.readParallel(config.concurrency(), nodeCount, Pools.DEFAULT, (start, end) -> {
+            var random = ThreadLocalRandom.current();
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                var page = embeddings.page(nodeId);
+                var offset = embeddings.offset(nodeId);
+                for (int i = 0; i < embeddingDimensions; i++) {
+                    page[offset + i] = (float) random.nextDouble(-1, 1);
+                }
+            }
+        });
         return embeddings;
     }
 
     private class TrainingTask implements Runnable {
         private final PositiveSampleProducer positiveSamples;
-        private final Vector centerGradientBuffer;
-        private final Vector contextGradientBuffer;
+        private final float[] centerGradientBuffer;
+        private final long[] targets;
+        private final int dimension;
         private final float initialLearningRate;
         private final float learningRateModifier;
         private final long startIndex;
@@ -123,8 +152,10 @@ public class Node2VecModel {
                 config.windowSize(),
                 progressLogger
             );
-            this.centerGradientBuffer = new Vector(config.embeddingDimension());
-            this.contextGradientBuffer = new Vector(config.embeddingDimension());
+            this.dimension = config.embeddingDimension();
+            this.centerGradientBuffer = new float[dimension];
+            // the positive context followed by the negative samples
+            this.targets = new long[1 + config.negativeSamplingRate()];
 
             this.initialLearningRate = (float) config.initialLearningRate();
             this.learningRateModifier = (float) ((initialLearningRate - config.minLearningRate()) / (endIndex - startIndex));
@@ -136,52 +167,46 @@ public class Node2VecModel {
             var buffer = new long[2];
             while (positiveSamples.hasNext()) {
                 positiveSamples.next(buffer);
-                trainSample(buffer[0], buffer[1], true);
-
-                for (var i = 0; i < config.negativeSamplingRate(); i++) {
-                    trainSample(buffer[0], negativeSamples.nextSample(), false);
-                }
+                targets[0] = buffer[1];
+                negativeSamples.nextSamples(targets, 1);
+                trainSample(buffer[0]);
 
                 learningRate = initialLearningRate - (learningRateModifier * (positiveSamples.currentWalkIndex() - startIndex));
             }
         }
 
-        private void trainSample(long center, long context, boolean positive) {
-            var centerEmbedding = centerEmbeddings.get(center);
-            var contextEmbedding = contextEmbeddings.get(context);
-
-            float affinity = positive
-                ? centerEmbedding.innerProduct(contextEmbedding)
-                : -centerEmbedding.innerProduct(contextEmbedding);
-
-
-            float scalar = (float) (positive
-                            ? 1 / (Math.exp(affinity) + 1)
-                            : -1 / (Math.exp(affinity) + 1));
-
-            centerGradientBuffer.scalarMultiply(contextEmbedding, scalar * learningRate);
-            contextGradientBuffer.scalarMultiply(centerEmbedding, scalar * learningRate);
-
-            centerEmbedding.addMutable(centerGradientBuffer);
-            contextEmbedding.addMutable(contextGradientBuffer);
-        }
-    }
+        /**
+         * Updates the context embeddings of all targets and accumulates the gradient of the center
+         * embedding, which is applied once after all targets have been visited.
+         */
+        private void trainSample(long center) {
+            var centerPage = centerEmbeddings.page(center);
+            var centerOffset = centerEmbeddings.offset(center);
+            Arrays.fill(centerGradientBuffer, 0F);
+
+            for (int t = 0; t < targets.length; t++) {
+                long target = targets[t];
+                boolean positive = t == 0;
+                if (!positive && target == targets[0]) {
+                    continue;
+                }
 
-    static class FloatConsumer {
-        float[] values;
-        int index;
+                var contextPage = contextEmbeddings.page(target);
+                var contextOffset = contextEmbeddings.offset(target);
 
-        FloatConsumer(int length) {
-            this.values = new float[length];
-        }
+                float affinity = dot(centerPage, centerOffset, contextPage, contextOffset, dimension);
+                float label = positive ? 1F : 0F;
+                float scalar = (label - SigmoidTable.sigmoid(affinity)) * learningRate;
 
-        void add(double value) {
-            values[index++] = (float) value;
-        }
+                for (int i = 0; i < dimension; i++) {
+                    centerGradientBuffer[i] += scalar * contextPage[contextOffset + i];
+                    contextPage[contextOffset + i] += scalar * centerPage[centerOffset + i];
+                }
+            }
 
-        void addAll(FloatConsumer other) {
-            System.arraycopy(other.values, 0, values, index, other.index);
-            index += other.index;
+            for (int i = 0; i < dimension; i++) {
+                centerPage[centerOffset + i] += centerGradientBuffer[i];
+            }
         }
     }
 }
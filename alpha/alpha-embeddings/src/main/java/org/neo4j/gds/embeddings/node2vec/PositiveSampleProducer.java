@@ -21,37 +21,36 @@ package org.neo4j.gds.embeddings.node2vec;
 
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
-import java.util.Arrays;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
 
 public class PositiveSampleProducer {
 
-    private final HugeObjectArray<long[]> walks;
+    private final RandomWalks.WalkIterator walks;
     private final HugeDoubleArray centerNodeProbabilities;
-    private final long batchEnd;
     private final int prefixWindowSize;
     private final int postfixWindowSize;
-    private long[] currentWalk;
+    private final long[] currentWalk;
+    private int currentWalkLength;
     private long currentCenterWord;
     private long walkIndex;
+    private boolean hasNext;
     private final ProgressLogger progressLogger;
     private int centerWordIndex;
     private int contextWordIndex;
 
     public PositiveSampleProducer(
-        HugeObjectArray<long[]> walks,
+        RandomWalks walks,
         HugeDoubleArray centerNodeProbabilities,
         long batchStart,
         long batchEnd,
         int windowSize,
         ProgressLogger progressLogger
     ) {
-        this.walks = walks;
-        this.batchEnd = batchEnd;
+        this.walks = walks.iterator(batchStart, batchEnd + 1);
+        this.currentWalk = new long[walks.maxWalkLength()];
         this.progressLogger = progressLogger;
         this.centerNodeProbabilities = centerNodeProbabilities;
 
@@ -65,7 +64,7 @@ public class PositiveSampleProducer {
     }
 
     public boolean hasNext() {
-        return walkIndex <= batchEnd;
+        return hasNext;
     }
 
     public void next(long[] buffer) {
@@ -80,33 +79,28 @@ public class PositiveSampleProducer {
     }
 
     private void nextWalk() {
-        walkIndex++;
-
-        if (walkIndex >= walks.size()) {
-            return;
-        }
-        long[] walk = filter(walks.get(walkIndex));
-
-        while (walkIndex <= batchEnd && walk.length < 2) {
+        int length;
+        do {
             walkIndex++;
-            if (walkIndex < walks.size()) {
-                walk = filter(walks.get(walkIndex));
+            length = walks.next(currentWalk);
+            if (length == -1) {
+                hasNext = false;
+                return;
             }
             progressLogger.logProgress();
-        }
+            length = filter(currentWalk, length);
+        } while (length < 2);
 
-        if (hasNext()) {
-            progressLogger.logProgress();
-            this.currentWalk = walk;
-            centerWordIndex = -1;
-            nextCenterWord();
-        }
+        hasNext = true;
+        currentWalkLength = length;
+        centerWordIndex = -1;
+        nextCenterWord();
     }
 
     private void nextCenterWord() {
         centerWordIndex++;
 
-        if (centerWordIndex < currentWalk.length) {
+        if (centerWordIndex < currentWalkLength) {
             currentCenterWord = currentWalk[centerWordIndex];
             contextWordIndex = Math.max(0, centerWordIndex - prefixWindowSize) - 1;
             nextContextWord();
@@ -121,13 +115,24 @@ public class PositiveSampleProducer {
             contextWordIndex++;
         }
 
-        if (contextWordIndex >= Math.min(centerWordIndex + postfixWindowSize + 1, currentWalk.length)) {
+        if (contextWordIndex >= Math.min(centerWordIndex + postfixWindowSize + 1, currentWalkLength)) {
             nextCenterWord();
         }
     }
 
-    private long[] filter(long[] walk) {
-        return Arrays.stream(walk).filter(this::shouldPickNode).toArray();
+    /**
+     * Removes the nodes that are not picked as center words in place.
+     *
+     * @return the number of remaining nodes
+     */
+    private int filter(long[] walk, int length) {
+        int filteredLength = 0;
+        for (int i = 0; i < length; i++) {
+            if (shouldPickNode(walk[i])) {
+                walk[filteredLength++] = walk[i];
+            }
+        }
+        return filteredLength;
     }
 
     private boolean shouldPickNode(long nodeId) {
@@ -20,11 +20,11 @@
 package org.neo4j.gds.embeddings.node2vec;
 
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.stream.LongStream;
 
@@ -32,7 +32,7 @@ import static java.lang.Math.addExact;
 
 public class ProbabilityComputer {
 
-    private final HugeObjectArray<long[]> walks;
+    private final RandomWalks walks;
     private final long nodeCount;
     private final int concurrency;
     private final AllocationTracker tracker;
@@ -44,7 +44,7 @@ public class ProbabilityComputer {
     private HugeLongArray contextDistribution;
 
     public ProbabilityComputer(
-        HugeObjectArray<long[]> walks,
+        RandomWalks walks,
         long nodeCount,
         double centerSamplingFactor,
         double contextSamplingExponent,
@@ -73,16 +73,16 @@ public class ProbabilityComputer {
 
     private void computeFrequencies() {
         nodeFrequencies = HugeAtomicLongArray.newArray(nodeCount, tracker);
-        ParallelUtil.parallelStreamConsume(
-            LongStream.range(0, walks.size()),
-            concurrency,
-            walkIdStream -> walkIdStream.forEach(walkId -> {
-                var walk = walks.get(walkId);
-                for (long node : walk) {
-                    nodeFrequencies.update(node, count -> addExact(count, 1));
+        ParallelUtil.readParallel(concurrency, walks.size(), Pools.DEFAULT, (start, end) -> {
+            var iterator = walks.iterator(start, end);
+            var walk = new long[walks.maxWalkLength()];
+            int length;
+            while ((length = iterator.next(walk)) != -1) {
+                for (int i = 0; i < length; i++) {
+                    nodeFrequencies.update(walk[i], count -> addExact(count, 1));
                 }
-            })
-        );
+            }
+        });
     }
 
     private void computeCenterProbabilities() {
@@ -21,17 +21,19 @@ package org.neo4j.gds.embeddings.node2vec;
 
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.queue.QueueBasedSpliterator;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.IntStream;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -62,30 +64,51 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
 
     @Override
     public Stream<long[]> compute() {
-        int minBatchSize = 100;
         int timeout = 100;
         BlockingQueue<long[]> walks = new ArrayBlockingQueue<>(queueSize);
         long[] TOMB = new long[0];
 
+        var tasks = walkTasks(() -> (walkIndex, walk, length) -> put(walks, Arrays.copyOf(walk, length)));
+        new Thread(() -> {
+            ParallelUtil.runWithConcurrency(concurrency, tasks, terminationFlag, Pools.DEFAULT);
+            put(walks, TOMB);
+        }).start();
+        QueueBasedSpliterator<long[]> spliterator = new QueueBasedSpliterator<>(walks, TOMB, terminationFlag, timeout);
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Computes all walks in parallel and hands them to the consumers without going through a queue.
+     * Every task creates its own consumer, which is flushed once all walks of the task are computed.
+     * The walks of node {@code n} have the indices {@code n * walksPerNode} to {@code (n + 1) * walksPerNode - 1}.
+     */
+    public void walkAll(Supplier<WalkConsumer> consumers) {
+        ParallelUtil.runWithConcurrency(concurrency, walkTasks(consumers), terminationFlag, Pools.DEFAULT);
+    }
+
+    private List<Runnable> walkTasks(Supplier<WalkConsumer> consumers) {
+        int minBatchSize = 100;
         long batchSize = ParallelUtil.adjustedBatchSize(graph.nodeCount(), concurrency, minBatchSize);
-        ArrayList<Runnable> tasks = new ArrayList<>();
-        for (var i = 0; i < graph.nodeCount(); i += batchSize) {
+        List<Runnable> tasks = new ArrayList<>();
+        for (long i = 0; i < graph.nodeCount(); i += batchSize) {
             var start = i;
             var stop = Math.min(start + batchSize, graph.nodeCount());
             tasks.add(
                 () -> {
-                    for (var j = start; j < stop; j++) {
-                        doWalk(j).forEach(walk -> put(walks, walk));
+                    var consumer = consumers.get();
+                    var walker = walker();
+                    var buffer = new long[maxWalkLength()];
+                    for (var nodeId = start; nodeId < stop; nodeId++) {
+                        for (int walk = 0; walk < walksPerNode; walk++) {
+                            int length = walker.walk(nodeId, buffer);
+                            consumer.accept(nodeId * walksPerNode + walk, buffer, length);
+                        }
                     }
+                    consumer.flush();
                 }
             );
         }
-        new Thread(() -> {
-            ParallelUtil.runWithConcurrency(concurrency, tasks, terminationFlag, Pools.DEFAULT);
-            put(walks, TOMB);
-        }).start();
-        QueueBasedSpliterator<long[]> spliterator = new QueueBasedSpliterator<>(walks, TOMB, terminationFlag, timeout);
-        return StreamSupport.stream(spliterator, false);
+        return tasks;
     }
 
     @Override
@@ -96,25 +119,48 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
     @Override
     public void release() { }
 
-    private Stream<long[]> doWalk(long startNodeId) {
-        return IntStream.range(0, walksPerNode).mapToObj(ignored -> {
-            long[] nodeIds = new long[steps + 1];
+    /**
+     * Number of nodes in a complete walk, including the start node.
+     */
+    int maxWalkLength() {
+        return steps + 1;
+    }
+
+    /**
+     * Creates a walker for a single thread. Walkers must not be shared between threads.
+     */
+    Walker walker() {
+        return new Walker(strategy.newSampler());
+    }
+
+    final class Walker {
+        private final NextNodeStrategy.Sampler sampler;
+
+        private Walker(NextNodeStrategy.Sampler sampler) {
+            this.sampler = sampler;
+        }
+
+        /**
+         * Computes a single walk from the given start node and writes it into the buffer.
+         *
+         * @return the number of nodes in the walk, which is less than {@link #maxWalkLength()} if the walk reached a dead end
+         */
+        int walk(long startNodeId, long[] buffer) {
             long currentNodeId = startNodeId;
             long previousNodeId = currentNodeId;
-            nodeIds[0] = currentNodeId;
+            buffer[0] = currentNodeId;
             for (int i = 1; i <= steps; i++) {
-                long nextNodeId = strategy.getNextNode(currentNodeId, previousNodeId);
+                long nextNodeId = sampler.getNextNode(currentNodeId, previousNodeId);
                 previousNodeId = currentNodeId;
                 currentNodeId = nextNodeId;
 
                 if (currentNodeId == -1 || !terminationFlag.running()) {
-                    return Arrays.copyOf(nodeIds, i);
+                    return i;
                 }
-                nodeIds[i] = currentNodeId;
+                buffer[i] = currentNodeId;
             }
-
-            return nodeIds;
-        });
+            return steps + 1;
+        }
     }
 
     private long toOriginalNodeId(long currentNodeId) {
@@ -127,129 +173,176 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
         } catch (InterruptedException e) {}
     }
 
-    public static class NextNodeStrategy {
-        private final Graph graph;
-        private final double returnParam;
-        private final double inOutParam;
+    public interface WalkConsumer {
 
+        void accept(long walkIndex, long[] walk, int length);
 
-        public NextNodeStrategy(Graph graph, double returnParam, double inOutParam) {
-            this.graph = graph;
-            this.returnParam = returnParam;
-            this.inOutParam = inOutParam;
-        }
+        default void flush() {}
+    }
 
-        public long getNextNode(long currentNode, long previousNode) {
-            Graph threadLocalGraph = graph.concurrentCopy();
+    /**
+     * Samples the next node of a second order random walk.
+     *
+     * A candidate is drawn from the first order transition probabilities, which are uniform for unweighted graphs
+     * and proportional to the relationship weights otherwise. The candidate is accepted with a probability
+     * proportional to the return or in-out factor, depending on its distance to the previous node.
+     * Sampling a candidate takes constant time for unweighted graphs and for nodes that have an {@link AliasTables alias table},
+     * so a step only needs an expected constant number of candidates instead of scanning all neighbours.
+     * If too many candidates are rejected, the exact distribution is computed instead, which keeps the sampling unbiased.
+     *
+     * specified in: Yang et al., "KnightKing: A Fast Distributed Graph Random Walk Engine" (2019)
+     */
+    public static class NextNodeStrategy {
 
-            int degree = threadLocalGraph.degree(currentNode);
-            if (degree == 0) {
-                return -1;
-            }
+        private static final int MAX_REJECTIONS = 32;
 
-            double[] distribution = buildProbabilityDistribution(
-                threadLocalGraph,
-                currentNode,
-                previousNode,
-                returnParam,
-                inOutParam,
-                degree
-            );
-            int neighbourIndex = pickIndexFromDistribution(distribution, ThreadLocalRandom.current().nextDouble());
+        private final Graph graph;
+        private final double returnProbability;
+        private final double inOutProbability;
+        private final double maxProbability;
+        private final boolean weighted;
+        // null if no alias tables have been built
+        private final AliasTables aliasTables;
 
-            return threadLocalGraph.getTarget(currentNode, neighbourIndex);
+        public NextNodeStrategy(Graph graph, double returnParam, double inOutParam) {
+            this(graph, returnParam, inOutParam, null);
         }
 
-        private double[] buildProbabilityDistribution(
-            Graph threadLocalGraph,
-            long currentNodeId,
-            long previousNodeId,
+        public NextNodeStrategy(
+            Graph graph,
             double returnParam,
             double inOutParam,
-            int degree
+            AliasTables aliasTables
         ) {
-            ProbabilityDistributionComputer consumer = new ProbabilityDistributionComputer(
-                threadLocalGraph.concurrentCopy(),
-                degree,
-                currentNodeId,
-                previousNodeId,
-                returnParam,
-                inOutParam
-            );
-            threadLocalGraph.forEachRelationship(currentNodeId, consumer);
-            return consumer.probabilities();
+            this.graph = graph;
+            this.returnProbability = 1D / returnParam;
+            this.inOutProbability = 1D / inOutParam;
+            this.maxProbability = Math.max(1D, Math.max(returnProbability, inOutProbability));
+            this.weighted = graph.hasRelationshipProperty();
+            this.aliasTables = aliasTables;
         }
 
-        private static double[] normalizeDistribution(double[] array, double sum) {
-            for (int i = 0; i < array.length; i++) {
-                array[i] /= sum;
-            }
-            return array;
+        /**
+         * Creates a sampler with its own copy of the graph and its own buffers, to be used by a single thread.
+         */
+        public Sampler newSampler() {
+            return new Sampler(graph.concurrentCopy());
         }
 
-        private static int pickIndexFromDistribution(double[] normalizedDistribution, double randomThreshold) {
-            double cumulativeProbability = 0.0;
-            for (int i = 0; i < normalizedDistribution.length; i++) {
-                cumulativeProbability += normalizedDistribution[i];
-                if (randomThreshold <= cumulativeProbability) {
-                    return i;
+        public final class Sampler {
+            private final Graph graph;
+            private final ProbabilityDistributionComputer distribution;
+
+            private Sampler(Graph graph) {
+                this.graph = graph;
+                this.distribution = new ProbabilityDistributionComputer(graph);
+            }
+
+            public long getNextNode(long currentNode, long previousNode) {
+                int degree = graph.degree(currentNode);
+                if (degree == 0) {
+                    return -1;
+                }
+
+                var random = ThreadLocalRandom.current();
+                // the first step of a walk only depends on the first order transition probabilities
+                if (currentNode == previousNode) {
+                    return graph.getTarget(currentNode, sampleIndex(currentNode, degree, random));
+                }
+
+                for (int i = 0; i < MAX_REJECTIONS; i++) {
+                    long candidate = graph.getTarget(currentNode, sampleIndex(currentNode, degree, random));
+                    if (random.nextDouble() * maxProbability < probability(graph, previousNode, candidate)) {
+                        return candidate;
+                    }
                 }
+
+                distribution.reset(degree, previousNode);
+                graph.forEachRelationship(currentNode, 1.0, distribution);
+                return distribution.sample(random.nextDouble());
+            }
+
+            private int sampleIndex(long nodeId, int degree, Random random) {
+                if (!weighted) {
+                    return random.nextInt(degree);
+                }
+                if (aliasTables != null && aliasTables.hasTable(nodeId)) {
+                    return aliasTables.sample(nodeId, degree, random);
+                }
+                distribution.reset(degree, -1L);
+                graph.forEachRelationship(nodeId, 1.0, distribution);
+                return distribution.sampleIndex(random.nextDouble());
+            }
+        }
+
+        private double probability(Graph graph, long previousNode, long candidate) {
+            if (candidate == previousNode) {
+                return returnProbability;
+            } else if (graph.exists(previousNode, candidate)) {
+                // node is also adjacent to previous node --> distance to previous node is 1
+                return 1D;
+            } else {
+                // node is not adjacent to previous node --> distance to previous node is 2
+                return inOutProbability;
             }
-            return normalizedDistribution.length - 1;
         }
 
-        private class ProbabilityDistributionComputer implements RelationshipConsumer {
-            private final Graph threadLocalGraph;
-            final double[] probabilities;
-            private final long currentNodeId;
-            private final long previousNodeId;
-            private final double returnParam;
-            private final double inOutParam;
-            double probSum;
-            int index;
-
-            public ProbabilityDistributionComputer(
-                Graph threadLocalGraph,
-                int degree,
-                long currentNodeId,
-                long previousNodeId,
-                double returnParam,
-                double inOutParam
-            ) {
-                this.threadLocalGraph = threadLocalGraph;
-                this.currentNodeId = currentNodeId;
+        /**
+         * Collects the unnormalized transition probabilities of all neighbours.
+         * If no previous node is given, only the relationship weights are taken into account.
+         * The buffers grow with the largest degree seen and are reused for every step of the owning sampler.
+         */
+        private final class ProbabilityDistributionComputer implements RelationshipWithPropertyConsumer {
+            private final Graph graph;
+            private long previousNodeId;
+            private long[] targets;
+            private double[] probabilities;
+            private double probabilitySum;
+            private int index;
+
+            ProbabilityDistributionComputer(Graph graph) {
+                this.graph = graph;
+                this.targets = new long[0];
+                this.probabilities = new double[0];
+            }
+
+            void reset(int degree, long previousNodeId) {
+                if (targets.length < degree) {
+                    targets = new long[degree];
+                    probabilities = new double[degree];
+                }
                 this.previousNodeId = previousNodeId;
-                this.returnParam = returnParam;
-                this.inOutParam = inOutParam;
-                probabilities = new double[degree];
-                probSum = 0;
-                index = 0;
+                this.probabilitySum = 0D;
+                this.index = 0;
             }
 
             @Override
-            public boolean accept(long start, long end) {
-                long neighbourId = start == currentNodeId ? end : start;
-
-                double probability;
-
-                if (neighbourId == previousNodeId) {
-                    // node is previous node
-                    probability = 1D / returnParam;
-                } else if (threadLocalGraph.exists(previousNodeId, neighbourId)) {
-                    // node is also adjacent to previous node --> distance to previous node is 1
-                    probability = 1D;
-                } else {
-                    // node is not adjacent to previous node --> distance to previous node is 2
-                    probability = 1D / inOutParam;
+            public boolean accept(long source, long target, double weight) {
+                double probability = weighted ? weight : 1D;
+                if (previousNodeId != -1L) {
+                    probability *= probability(graph, previousNodeId, target);
                 }
+                targets[index] = target;
                 probabilities[index] = probability;
-                probSum += probability;
+                probabilitySum += probability;
                 index++;
                 return true;
             }
 
-            private double[] probabilities() {
-                return normalizeDistribution(probabilities, probSum);
+            int sampleIndex(double random) {
+                double threshold = random * probabilitySum;
+                double cumulativeProbability = 0.0;
+                for (int i = 0; i < index; i++) {
+                    cumulativeProbability += probabilities[i];
+                    if (threshold < cumulativeProbability) {
+                        return i;
+                    }
+                }
+                return index - 1;
+            }
+
+            long sample(double random) {
+                return targets[sampleIndex(random)];
             }
         }
     }
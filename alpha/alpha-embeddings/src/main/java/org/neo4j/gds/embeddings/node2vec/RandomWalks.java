@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+/**
+ * The random walks that Node2Vec is trained on, identified by their index.
+ */
+public interface RandomWalks {
+
+    /**
+     * Number of walks.
+     */
+    long size();
+
+    /**
+     * Upper bound for the number of nodes in a single walk.
+     */
+    int maxWalkLength();
+
+    /**
+     * Returns an iterator over the walks from {@code startWalk} (inclusive) to {@code endWalk} (exclusive).
+     * Iterators are not thread-safe, but multiple iterators can be used concurrently.
+     */
+    WalkIterator iterator(long startWalk, long endWalk);
+
+    /**
+     * Releases the stored walks and returns the number of bytes that were freed.
+     * The walks are not usable afterwards.
+     */
+    long release();
+
+    interface WalkIterator {
+
+        /**
+         * Writes the next walk into the buffer, which has to hold at least {@link #maxWalkLength()} elements.
+         *
+         * @return the number of nodes in the walk or -1 if there are no more walks
+         */
+        int next(long[] buffer);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+/**
+ * Precomputed logistic function, as used by the reference word2vec implementation.
+ * Arguments outside of {@code [-MAX_EXP, MAX_EXP]} are clamped to {@code 0} or {@code 1}.
+ */
+final class SigmoidTable {
+
+    static final float MAX_EXP = 6F;
+    private static final int TABLE_SIZE = 1000;
+    private static final float SCALE = TABLE_SIZE / (2 * MAX_EXP);
+
+    private static final float[] TABLE = new float[TABLE_SIZE + 1];
+
+    static {
+        for (int i = 0; i <= TABLE_SIZE; i++) {
+            double x = (i / SCALE) - MAX_EXP;
+            TABLE[i] = (float) (1.0 / (1.0 + Math.exp(-x)));
+        }
+    }
+
+    private SigmoidTable() {}
+
+    static float sigmoid(float x) {
+        if (x >= MAX_EXP) {
+            return 1F;
+        }
+        if (x <= -MAX_EXP) {
+            return 0F;
+        }
+        return TABLE[(int) ((x + MAX_EXP) * SCALE)];
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+/**
+ * Random walks that are not stored, but computed whenever they are iterated.
+ * Iterating the same range twice yields different walks with the same start nodes.
+ */
+public final class StreamingRandomWalks implements RandomWalks {
+
+    private final RandomWalk randomWalk;
+    private final long nodeCount;
+    private final int walksPerNode;
+
+    public StreamingRandomWalks(RandomWalk randomWalk, long nodeCount, int walksPerNode) {
+        this.randomWalk = randomWalk;
+        this.nodeCount = nodeCount;
+        this.walksPerNode = walksPerNode;
+    }
+
+    @Override
+    public long size() {
+        return nodeCount * walksPerNode;
+    }
+
+    @Override
+    public int maxWalkLength() {
+        return randomWalk.maxWalkLength();
+    }
+
+    @Override
+    public long release() {
+        // walks are generated while they are iterated and not stored
+        return 0L;
+    }
+
+    @Override
+    public WalkIterator iterator(long startWalk, long endWalk) {
+        long end = Math.min(endWalk, size());
+        var walker = randomWalk.walker();
+        return new WalkIterator() {
+            long walkIndex = startWalk;
+
+            @Override
+            public int next(long[] buffer) {
+                if (walkIndex >= end) {
+                    return -1;
+                }
+                return walker.walk(walkIndex++ / walksPerNode, buffer);
+            }
+        };
+    }
+}
@@ -33,24 +33,4 @@ public class Vector {
     public float[] data() {
         return data;
     }
-
-    void addMutable(Vector other) {
-        for (int pos = 0; pos < data.length; pos++) {
-            data[pos] += other.data[pos];
-        }
-    }
-
-    void scalarMultiply(Vector other, float scalar) {
-        for (int pos = 0; pos < data.length; pos++) {
-            data[pos] = other.data[pos] * scalar;
-        }
-    }
-
-    float innerProduct(Vector other) {
-        float result = 0;
-        for (int i = 0; i < data.length; i++) {
-            result += data[i] * other.data[i];
-        }
-        return result;
-    }
 }
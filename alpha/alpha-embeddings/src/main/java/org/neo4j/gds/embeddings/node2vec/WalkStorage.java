@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Defines how the random walks are kept between generating them and training on them.
+ */
+public enum WalkStorage {
+    /**
+     * Store every walk with a fixed number of slots in one flat paged array.
+     */
+    FLAT,
+    /**
+     * Store the walks as variable-length encoded deltas of consecutive node ids.
+     * This needs considerably less memory than {@link #FLAT},
+     * but the walks have to be decoded whenever they are read.
+     */
+    COMPRESSED,
+    /**
+     * Do not store any walks, but generate them while training.
+     * Every pass over the walks, including computing the node frequencies, samples new walks.
+     */
+    FUSED;
+
+    public static WalkStorage of(String value) {
+        try {
+            return WalkStorage.valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            String availableStorages = Arrays
+                .stream(WalkStorage.values())
+                .map(WalkStorage::name)
+                .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(formatWithLocale(
+                "Walk storage `%s` is not supported. Must be one of: %s.",
+                value,
+                availableStorages
+            ));
+        }
+    }
+
+    public static WalkStorage parse(Object object) {
+        if (object == null) {
+            return null;
+        }
+        if (object instanceof String) {
+            return of((String) object);
+        }
+        if (object instanceof WalkStorage) {
+            return (WalkStorage) object;
+        }
+        return null;
+    }
+}
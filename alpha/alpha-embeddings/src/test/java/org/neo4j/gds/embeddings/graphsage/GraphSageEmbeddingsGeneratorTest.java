@@ -23,6 +23,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.neo4j.gds.embeddings.graphsage.algo.ImmutableGraphSageTrainConfig;
+import org.neo4j.gds.embeddings.graphsage.ddl4j.ComputationContext;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.TestLog;
 import org.neo4j.graphalgo.api.Graph;
@@ -33,10 +34,12 @@ import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Random;
 import java.util.stream.LongStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
@@ -103,4 +106,36 @@ class GraphSageEmbeddingsGeneratorTest {
         LongStream.range(0, graph.nodeCount()).forEach(n -> assertEquals(EMBEDDING_DIMENSION, embeddings.get(n).length));
     }
 
+    @ParameterizedTest
+    @EnumSource(Aggregator.AggregatorType.class)
+    void inferenceMatchesComputationGraph(Aggregator.AggregatorType aggregatorType) {
+        var config = configBuilder
+            .aggregator(aggregatorType)
+            .modelName(MODEL_NAME)
+            .batchSize(3)
+            .build();
+
+        var trainModel = new GraphSageModelTrainer(config, new TestLog());
+        Layer[] layers = trainModel.train(graph, features).layers();
+
+        HugeObjectArray<double[]> embeddings = new GraphSageEmbeddingsGenerator(
+            layers,
+            config.batchSize(),
+            4,
+            AllocationTracker.empty()
+        ).makeEmbeddings(graph, features);
+
+        long[] nodeIds = LongStream.range(0, graph.nodeCount()).toArray();
+        double[] expected = new ComputationContext()
+            .forward(GraphSageHelper.embeddings(graph, nodeIds, features, layers))
+            .data();
+
+        for (int nodeId = 0; nodeId < nodeIds.length; nodeId++) {
+            assertArrayEquals(
+                Arrays.copyOfRange(expected, nodeId * EMBEDDING_DIMENSION, (nodeId + 1) * EMBEDDING_DIMENSION),
+                embeddings.get(nodeId),
+                1e-9
+            );
+        }
+    }
 }
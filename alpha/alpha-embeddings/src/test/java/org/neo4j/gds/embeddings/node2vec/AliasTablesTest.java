@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.extension.GdlExtension;
+import org.neo4j.graphalgo.extension.GdlGraph;
+import org.neo4j.graphalgo.extension.IdFunction;
+import org.neo4j.graphalgo.extension.Inject;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@GdlExtension
+class AliasTablesTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @GdlGraph
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a)-[:REL {weight: 1.0}]->(b)" +
+        ", (a)-[:REL {weight: 2.0}]->(c)" +
+        ", (a)-[:REL {weight: 7.0}]->(d)" +
+        ", (b)-[:REL {weight: 1.0}]->(a)";
+
+    @Inject
+    private Graph graph;
+
+    @Inject
+    private IdFunction idFunction;
+
+    @Test
+    void shouldSampleProportionallyToWeights() {
+        var aliasTables = AliasTables.build(graph, 1, 4, Pools.DEFAULT, AllocationTracker.empty());
+        long a = idFunction.of("a");
+        var random = new Random(42L);
+
+        Map<Long, Integer> counts = new HashMap<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            int index = aliasTables.sample(a, graph.degree(a), random);
+            counts.merge(graph.getTarget(a, index), 1, Integer::sum);
+        }
+
+        assertDistribution(counts);
+    }
+
+    @Test
+    void shouldOnlyBuildTablesForNodesWithMinDegree() {
+        var aliasTables = AliasTables.build(graph, 2, 1, Pools.DEFAULT, AllocationTracker.empty());
+
+        assertTrue(aliasTables.hasTable(idFunction.of("a")));
+        assertFalse(aliasTables.hasTable(idFunction.of("b")));
+        assertFalse(aliasTables.hasTable(idFunction.of("d")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldTakeFirstStepProportionallyToWeights(boolean useAliasTables) {
+        var aliasTables = useAliasTables
+            ? AliasTables.build(graph, 1, 1, Pools.DEFAULT, AllocationTracker.empty())
+            : null;
+        var sampler = new RandomWalk.NextNodeStrategy(graph, 1.0, 1.0, aliasTables).newSampler();
+        long a = idFunction.of("a");
+
+        Map<Long, Integer> counts = new HashMap<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            counts.merge(sampler.getNextNode(a, a), 1, Integer::sum);
+        }
+
+        assertDistribution(counts);
+    }
+
+    private void assertDistribution(Map<Long, Integer> counts) {
+        assertEquals(0.1, counts.get(idFunction.of("b")) / (double) SAMPLES, 0.01);
+        assertEquals(0.2, counts.get(idFunction.of("c")) / (double) SAMPLES, 0.01);
+        assertEquals(0.7, counts.get(idFunction.of("d")) / (double) SAMPLES, 0.01);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompressedRandomWalksTest {
+
+    @Test
+    void shouldRestoreWalksFromMultiplePages() {
+        var random = new Random(42L);
+        int walkCount = 100;
+        int maxWalkLength = 10;
+        long[][] expectedWalks = new long[walkCount][];
+        for (int walkIndex = 0; walkIndex < walkCount; walkIndex++) {
+            expectedWalks[walkIndex] = random
+                .longs(1 + random.nextInt(maxWalkLength), 0, 1L << 40)
+                .toArray();
+        }
+
+        var walks = new CompressedRandomWalks(walkCount, maxWalkLength, 7, AllocationTracker.empty());
+        var evenWriter = walks.newWriter();
+        var oddWriter = walks.newWriter();
+        for (int walkIndex = 0; walkIndex < walkCount; walkIndex++) {
+            var writer = walkIndex % 2 == 0 ? evenWriter : oddWriter;
+            writer.accept(walkIndex, expectedWalks[walkIndex], expectedWalks[walkIndex].length);
+        }
+        evenWriter.flush();
+        oddWriter.flush();
+
+        assertWalks(expectedWalks, walks);
+        assertWalks(expectedWalks, FlatRandomWalks.of(expectedWalks));
+    }
+
+    @Test
+    void shouldIterateRange() {
+        var walks = CompressedRandomWalks.of(
+            new long[]{0, 1, 2},
+            new long[]{3, 4},
+            new long[]{5}
+        );
+
+        var iterator = walks.iterator(1, 5);
+        var buffer = new long[walks.maxWalkLength()];
+        assertEquals(2, iterator.next(buffer));
+        assertArrayEquals(new long[]{3, 4}, Arrays.copyOf(buffer, 2));
+        assertEquals(1, iterator.next(buffer));
+        assertEquals(5, buffer[0]);
+        assertEquals(-1, iterator.next(buffer));
+    }
+
+    @Test
+    void shouldReleaseTrackedWalks() {
+        var tracker = AllocationTracker.create();
+        var compressedWalks = new CompressedRandomWalks(3, 3, 2, tracker);
+        var writer = compressedWalks.newWriter();
+        writer.accept(0, new long[]{0, 1, 2}, 3);
+        writer.accept(1, new long[]{3, 4}, 2);
+        writer.accept(2, new long[]{5}, 1);
+        writer.flush();
+        var flatWalks = new FlatRandomWalks(3, 3, tracker);
+
+        tracker.remove(compressedWalks.release());
+        tracker.remove(flatWalks.release());
+        assertEquals(0, tracker.trackedBytes());
+    }
+
+    private static void assertWalks(long[][] expectedWalks, RandomWalks walks) {
+        assertEquals(expectedWalks.length, walks.size());
+        var iterator = walks.iterator(0, walks.size());
+        var buffer = new long[walks.maxWalkLength()];
+        for (long[] expectedWalk : expectedWalks) {
+            int length = iterator.next(buffer);
+            assertArrayEquals(expectedWalk, Arrays.copyOf(buffer, length));
+        }
+        assertEquals(-1, iterator.next(buffer));
+    }
+}
@@ -21,7 +21,6 @@ package org.neo4j.gds.embeddings.node2vec;
 
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.Map;
 import java.util.function.Function;
@@ -29,12 +28,13 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class NegativeSampleProducerTest {
 
     @Test
     void shouldProduceSamplesAccordingToNodeDistribution() {
-        var walks = HugeObjectArray.of(
+        var walks = CompressedRandomWalks.of(
             new long[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
             new long[]{1}
         );
@@ -55,4 +55,24 @@ class NegativeSampleProducerTest {
         // We samples nodes with a probability of their number of occurrences^0.75 (16^0.75=12, 1^0.75=1)
         assertEquals(1.0 / 12, distribution.get(1L).doubleValue() / distribution.get(0L), 0.1);
     }
+
+    @Test
+    void shouldFillBufferAfterOffset() {
+        var walks = CompressedRandomWalks.of(
+            new long[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
+            new long[]{1}
+        );
+
+        var probabilityComputer = new ProbabilityComputer(walks, 2, 0.001, 0.75, 4, AllocationTracker.empty());
+
+        var sampler = new NegativeSampleProducer(probabilityComputer.getContextNodeDistribution());
+
+        var samples = new long[]{42, -1, -1, -1, -1};
+        sampler.nextSamples(samples, 1);
+
+        assertEquals(42, samples[0]);
+        for (int i = 1; i < samples.length; i++) {
+            assertTrue(samples[i] == 0 || samples[i] == 1);
+        }
+    }
 }
@@ -24,7 +24,6 @@ import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.core.utils.Intersections;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.Random;
 import java.util.stream.LongStream;
@@ -42,9 +41,9 @@ class Node2VecModelTest {
         int walkLength = 80;
 
         MutableLong counter = new MutableLong(0);
-        var walks = HugeObjectArray.newArray(
-            long[].class,
+        var walks = new FlatRandomWalks(
             numberOfClusters * clusterSize * numberOfWalks,
+            walkLength,
             AllocationTracker.empty()
         );
         LongStream.range(0, numberOfClusters)
@@ -60,7 +59,7 @@ class Node2VecModelTest {
                                     .toArray()
                             )
                     )
-            ).forEach(walk -> walks.set(counter.getAndIncrement(), walk));
+            ).forEach(walk -> walks.set(counter.getAndIncrement(), walk, walk.length));
 
 
         Node2VecStreamConfig config = ImmutableNode2VecStreamConfig.builder()
@@ -81,6 +80,7 @@ class Node2VecModelTest {
         );
 
         word2Vec.train();
+        var embeddings = word2Vec.getEmbeddings();
 
         double innerClusterSum = LongStream.range(0, numberOfClusters)
             .boxed()
@@ -90,9 +90,8 @@ class Node2VecModelTest {
                     .flatMap(nodeId ->
                         LongStream.range(0, clusterSize)
                             .mapToObj(ignore -> {
-                                var e1 = word2Vec.getEmbeddings().get(nodeId).data();
-                                var e2 = word2Vec
-                                    .getEmbeddings()
+                                var e1 = embeddings.get(nodeId).data();
+                                var e2 = embeddings
                                     .get(random.nextInt(clusterSize) + (clusterId * clusterSize))
                                     .data();
                                 return Intersections.cosine(e1, e2, e1.length);
@@ -117,9 +116,8 @@ class Node2VecModelTest {
                         LongStream.range(0, clusterSize)
                             .mapToObj(ignore -> {
                                 long otherClusterId = (clusterId + random.nextInt(numberOfClusters - 1) + 1) % numberOfClusters;
-                                var e1 = word2Vec.getEmbeddings().get(nodeId).data();
-                                var e2 = word2Vec
-                                    .getEmbeddings()
+                                var e1 = embeddings.get(nodeId).data();
+                                var e2 = embeddings
                                     .get(random.nextInt(clusterSize) + (otherClusterId * clusterSize))
                                     .data();
                                 return Intersections.cosine(e1, e2, e1.length);
@@ -23,6 +23,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
@@ -84,6 +85,34 @@ class Node2VecTest extends AlgoTestBase {
         );
     }
 
+    @ParameterizedTest
+    @EnumSource(WalkStorage.class)
+    void shouldComputeEmbeddingsWithWalkStorage(WalkStorage walkStorage) {
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .build()
+            .graph();
+
+        int embeddingDimension = 16;
+        HugeObjectArray<Vector> node2Vec = new Node2Vec(
+            graph,
+            ImmutableNode2VecStreamConfig.builder()
+                .embeddingDimension(embeddingDimension)
+                .walkStorage(walkStorage)
+                .walkBufferSize(3)
+                .concurrency(4)
+                .build(),
+            progressLogger,
+            AllocationTracker.empty()
+        ).compute();
+
+        graph.forEachNode(node -> {
+                assertEquals(embeddingDimension, node2Vec.get(node).data().length);
+                return true;
+            }
+        );
+    }
+
     @Test
     void shouldLogProgress() {
         Graph graph = new StoreLoaderBuilder()
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SigmoidTableTest {
+
+    @ParameterizedTest
+    @ValueSource(floats = {-5.9F, -2.5F, -0.1F, 0F, 0.1F, 1F, 3.3F, 5.9F})
+    void shouldApproximateSigmoid(float x) {
+        assertEquals(1.0 / (1.0 + Math.exp(-x)), SigmoidTable.sigmoid(x), 1E-2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(floats = {-100F, -6F, 6F, 100F})
+    void shouldClampOutsideOfTableRange(float x) {
+        assertEquals(x > 0 ? 1F : 0F, SigmoidTable.sigmoid(x));
+    }
+}
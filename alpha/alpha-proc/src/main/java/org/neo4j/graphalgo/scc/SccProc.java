@@ -146,7 +146,7 @@ public class SccProc extends AlgoBaseProc<SccAlgorithm, HugeLongArray, SccConfig
     @Override
     protected AlgorithmFactory<SccAlgorithm, SccConfig> algorithmFactory() {
         return (AlphaAlgorithmFactory<SccAlgorithm, SccConfig>) (graph, configuration, tracker, log) ->
-            new SccAlgorithm(graph, tracker)
+            new SccAlgorithm(graph, Pools.DEFAULT, configuration.concurrency(), tracker)
                 .withTerminationFlag(TerminationFlag.wrap(transaction));
     }
 
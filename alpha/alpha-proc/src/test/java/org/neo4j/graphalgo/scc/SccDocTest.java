@@ -67,12 +67,12 @@ class SccDocTest extends BaseProcTest {
         String expected = "+-----------------------+\n" +
                           "| Name      | Component |\n" +
                           "+-----------------------+\n" +
-                          "| \"Doug\"    | 3         |\n" +
-                          "| \"Mark\"    | 3         |\n" +
+                          "| \"Alice\"   | 5         |\n" +
+                          "| \"Bridget\" | 5         |\n" +
+                          "| \"Michael\" | 5         |\n" +
+                          "| \"Doug\"    | 4         |\n" +
+                          "| \"Mark\"    | 4         |\n" +
                           "| \"Charles\" | 2         |\n" +
-                          "| \"Alice\"   | 0         |\n" +
-                          "| \"Bridget\" | 0         |\n" +
-                          "| \"Michael\" | 0         |\n" +
                           "+-----------------------+\n" +
                           "6 rows\n";
 
@@ -116,7 +116,7 @@ class SccDocTest extends BaseProcTest {
         String expected = "+---------------------------+\n" +
                           "| Component | PartitionSize |\n" +
                           "+---------------------------+\n" +
-                          "| 0         | 3             |\n" +
+                          "| 5         | 3             |\n" +
                           "+---------------------------+\n" +
                           "1 row\n";
 
@@ -136,12 +136,12 @@ class SccDocTest extends BaseProcTest {
         String expected = "+-----------------------+\n" +
                           "| Name      | Component |\n" +
                           "+-----------------------+\n" +
-                          "| \"Doug\"    | 3         |\n" +
-                          "| \"Mark\"    | 3         |\n" +
+                          "| \"Alice\"   | 5         |\n" +
+                          "| \"Bridget\" | 5         |\n" +
+                          "| \"Michael\" | 5         |\n" +
+                          "| \"Doug\"    | 4         |\n" +
+                          "| \"Mark\"    | 4         |\n" +
                           "| \"Charles\" | 2         |\n" +
-                          "| \"Alice\"   | 0         |\n" +
-                          "| \"Bridget\" | 0         |\n" +
-                          "| \"Michael\" | 0         |\n" +
                           "+-----------------------+\n" +
                           "6 rows\n";
 
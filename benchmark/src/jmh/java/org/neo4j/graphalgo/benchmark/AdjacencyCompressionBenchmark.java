@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.apache.lucene.util.LongsRef;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.loading.AdjacencyCompression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AdjacencyCompressionBenchmark {
+
+    @Param({"16", "256", "4096"})
+    public int degree;
+
+    @Param({"1000000", "1000000000"})
+    public long nodeCount;
+
+    private long[] targets;
+    private LongsRef buffer;
+    private byte[] out;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(42L);
+        targets = random.longs(degree, 0L, nodeCount).toArray();
+        buffer = new LongsRef(degree);
+        // worst case for a var-long encoded value is 10 bytes
+        out = new byte[degree * 10];
+    }
+
+    @Benchmark
+    public int deltaEncodeAndCompress() {
+        System.arraycopy(targets, 0, buffer.longs, 0, degree);
+        buffer.length = degree;
+        AdjacencyCompression.applyDeltaEncoding(buffer, Aggregation.NONE);
+        return AdjacencyCompression.compress(buffer, out);
+    }
+
+    @Benchmark
+    public int deltaEncodeAndCompressWithAggregation() {
+        System.arraycopy(targets, 0, buffer.longs, 0, degree);
+        buffer.length = degree;
+        AdjacencyCompression.applyDeltaEncoding(buffer, Aggregation.SINGLE);
+        return AdjacencyCompression.compress(buffer, out);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
+import org.neo4j.graphalgo.pagerank.ImmutablePageRankStreamConfig;
+import org.neo4j.graphalgo.pagerank.PageRank;
+import org.neo4j.graphalgo.pagerank.PageRankAlgorithmType;
+import org.neo4j.graphalgo.wcc.ImmutableWccStreamConfig;
+import org.neo4j.graphalgo.wcc.Wcc;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Runs algorithms over graphs from the {@link org.neo4j.graphalgo.beta.generator.RandomGraphGenerator}.
+ * Graph sizes and degree distributions can be overridden with JMH's {@code -p} option.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AlgorithmBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int nodeCount;
+
+    @Param({"10"})
+    public int averageDegree;
+
+    @Param({"UNIFORM", "RANDOM", "POWER_LAW"})
+    public RelationshipDistribution distribution;
+
+    @Param({"1", "4"})
+    public int concurrency;
+
+    private Graph graph;
+
+    @Setup
+    public void setup() {
+        graph = RandomGraphs.generate(nodeCount, averageDegree, distribution);
+    }
+
+    @TearDown
+    public void tearDown() {
+        graph.release();
+    }
+
+    @Benchmark
+    public DisjointSetStruct wcc() {
+        return new Wcc(
+            graph,
+            Pools.DEFAULT,
+            ParallelUtil.DEFAULT_BATCH_SIZE,
+            ImmutableWccStreamConfig.builder().concurrency(concurrency).build(),
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.empty()
+        ).compute();
+    }
+
+    @Benchmark
+    public PageRank pageRank() {
+        return PageRankAlgorithmType.NON_WEIGHTED
+            .create(
+                graph,
+                LongStream.empty(),
+                ImmutablePageRankStreamConfig.builder().maxIterations(20).concurrency(concurrency).build(),
+                Pools.DEFAULT,
+                ProgressLogger.NULL_LOGGER,
+                AllocationTracker.empty()
+            )
+            .compute();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.dbms.api.DatabaseManagementService;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestDatabaseManagementServiceBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+
+/**
+ * Loads a graph end-to-end from a Neo4j store that is populated
+ * with a graph from the {@link org.neo4j.graphalgo.beta.generator.RandomGraphGenerator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GraphLoadingBenchmark {
+
+    private static final Label LABEL = Label.label("Node");
+    private static final RelationshipType TYPE = RelationshipType.withName("REL");
+    private static final int TX_BATCH_SIZE = 10_000;
+
+    @Param({"100000"})
+    public int nodeCount;
+
+    @Param({"10"})
+    public int averageDegree;
+
+    @Param({"UNIFORM", "POWER_LAW"})
+    public RelationshipDistribution distribution;
+
+    @Param({"1", "4"})
+    public int concurrency;
+
+    private DatabaseManagementService dbms;
+    private GraphDatabaseAPI db;
+
+    @Setup
+    public void setup() {
+        dbms = new TestDatabaseManagementServiceBuilder()
+            .impermanent()
+            .noOpSystemGraphInitializer()
+            .build();
+        db = (GraphDatabaseAPI) dbms.database(DEFAULT_DATABASE_NAME);
+        writeGraph(RandomGraphs.generate(nodeCount, averageDegree, distribution));
+    }
+
+    @TearDown
+    public void tearDown() {
+        dbms.shutdown();
+    }
+
+    @Benchmark
+    public GraphStore load() {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel(LABEL.name())
+            .addRelationshipType(TYPE.name())
+            .concurrency(concurrency)
+            .tracker(AllocationTracker.empty())
+            .build()
+            .graphStore();
+    }
+
+    private void writeGraph(Graph graph) {
+        long[] neoIds = new long[nodeCount];
+        Transaction tx = db.beginTx();
+        try {
+            for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+                neoIds[nodeId] = tx.createNode(LABEL).getId();
+                if ((nodeId + 1) % TX_BATCH_SIZE == 0) {
+                    tx.commit();
+                    tx.close();
+                    tx = db.beginTx();
+                }
+            }
+            tx.commit();
+        } finally {
+            tx.close();
+        }
+
+        var writer = new RelationshipWriter(neoIds);
+        graph.forEachNode(nodeId -> {
+            graph.forEachRelationship(nodeId, writer::write);
+            return true;
+        });
+        writer.close();
+    }
+
+    private final class RelationshipWriter {
+        private final long[] neoIds;
+        private Transaction tx;
+        private long written;
+
+        RelationshipWriter(long[] neoIds) {
+            this.neoIds = neoIds;
+            this.tx = db.beginTx();
+        }
+
+        boolean write(long source, long target) {
+            tx.getNodeById(neoIds[(int) source]).createRelationshipTo(tx.getNodeById(neoIds[(int) target]), TYPE);
+            if (++written % TX_BATCH_SIZE == 0) {
+                tx.commit();
+                tx.close();
+                tx = db.beginTx();
+            }
+            return true;
+        }
+
+        void close() {
+            try {
+                tx.commit();
+            } finally {
+                tx.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HugeAtomicDisjointSetStructBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int nodeCount;
+
+    /**
+     * Number of union operations relative to the node count.
+     */
+    @Param({"1", "4"})
+    public int unionsPerNode;
+
+    private long[] sources;
+    private long[] targets;
+    private HugeAtomicDisjointSetStruct unionized;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(42L);
+        int unionCount = nodeCount * unionsPerNode;
+        sources = random.longs(unionCount, 0L, nodeCount).toArray();
+        targets = random.longs(unionCount, 0L, nodeCount).toArray();
+        unionized = union();
+    }
+
+    @Benchmark
+    public HugeAtomicDisjointSetStruct union() {
+        var dss = new HugeAtomicDisjointSetStruct(nodeCount, AllocationTracker.empty(), 1);
+        for (int i = 0; i < sources.length; i++) {
+            dss.union(sources[i], targets[i]);
+        }
+        return dss;
+    }
+
+    @Benchmark
+    public void setIdOf(Blackhole blackhole) {
+        for (long nodeId = 0L; nodeId < nodeCount; nodeId++) {
+            blackhole.consume(unionized.setIdOf(nodeId));
+        }
+    }
+
+    @Benchmark
+    public void sameSet(Blackhole blackhole) {
+        for (int i = 0; i < sources.length; i++) {
+            blackhole.consume(unionized.sameSet(sources[i], targets[i]));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeSparseLongArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures lookups from original to internal ids,
+ * which is the access pattern of {@code IdMap#toMappedNodeId}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HugeSparseLongArrayBenchmark {
+
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({"10000000", "1000000000"})
+    public long capacity;
+
+    @Param({"1000000"})
+    public int entries;
+
+    private HugeSparseLongArray array;
+    private long[] presentIds;
+    private long[] randomIds;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(42L);
+        var builder = HugeSparseLongArray.Builder.create(capacity, AllocationTracker.empty());
+        var ids = random.longs(entries, 0L, capacity).toArray();
+        for (int i = 0; i < ids.length; i++) {
+            builder.set(ids[i], i);
+        }
+        array = builder.build();
+
+        presentIds = new long[LOOKUPS];
+        randomIds = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            presentIds[i] = ids[random.nextInt(ids.length)];
+            randomIds[i] = random.nextLong(capacity);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public long getPresent() {
+        long sum = 0L;
+        for (long id : presentIds) {
+            sum += array.get(id);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public long getRandom() {
+        long sum = 0L;
+        for (long id : randomIds) {
+            sum += array.get(id);
+        }
+        return sum;
+    }
+}
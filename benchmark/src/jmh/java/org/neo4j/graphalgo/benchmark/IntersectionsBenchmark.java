@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.core.utils.Intersections;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IntersectionsBenchmark {
+
+    @Param({"16", "256", "4096"})
+    public int size;
+
+    /**
+     * Range the values are drawn from, relative to the size.
+     * Smaller ranges lead to larger intersections.
+     */
+    @Param({"2", "16"})
+    public int spread;
+
+    private long[] longs1;
+    private long[] longs2;
+    private long[] sparseLongs;
+    private int[] ints1;
+    private int[] ints2;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(42L);
+        long bound = (long) size * spread;
+        longs1 = random.longs(size, 0L, bound).distinct().sorted().toArray();
+        longs2 = random.longs(size, 0L, bound).distinct().sorted().toArray();
+        sparseLongs = random.longs(Math.max(1, size / 64), 0L, bound).distinct().sorted().toArray();
+        ints1 = Arrays.stream(longs1).mapToInt(Math::toIntExact).toArray();
+        ints2 = Arrays.stream(longs2).mapToInt(Math::toIntExact).toArray();
+    }
+
+    @Benchmark
+    public long intersection2() {
+        return Intersections.intersection2(longs1, longs2);
+    }
+
+    @Benchmark
+    public long intersection3() {
+        return Intersections.intersection3(longs1, longs2);
+    }
+
+    @Benchmark
+    public long intersection4() {
+        return Intersections.intersection4(longs1, longs2);
+    }
+
+    @Benchmark
+    public long intersectionSorted() {
+        return Intersections.intersectionSorted(longs1, longs2);
+    }
+
+    @Benchmark
+    public long intersection3Skewed() {
+        return Intersections.intersection3(sparseLongs, longs2);
+    }
+
+    @Benchmark
+    public long intersectionSortedSkewed() {
+        return Intersections.intersectionSorted(sparseLongs, longs2);
+    }
+
+    @Benchmark
+    public int[] getIntersection() {
+        return Intersections.getIntersection(ints1, ints2);
+    }
+}
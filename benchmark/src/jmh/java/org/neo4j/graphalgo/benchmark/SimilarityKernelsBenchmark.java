@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.FloatArrayNodeProperties;
+import org.neo4j.graphalgo.core.loading.nodeproperties.NodePropertiesFromStoreBuilder;
+import org.neo4j.graphalgo.core.utils.Intersections;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.similarity.knn.SimilarityComputer;
+import org.neo4j.values.storable.Values;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the node pair throughput of the cosine similarity used by KNN for float array properties.
+ * The baseline recomputes both norms for every pair, the other variants use precomputed norms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SimilarityKernelsBenchmark {
+
+    private static final int NODE_COUNT = 10_000;
+    private static final int PAIRS = 1 << 14;
+
+    @Param({"16", "128", "512"})
+    public int dimension;
+
+    private float[][] vectors;
+    private long[] firstNodes;
+    private long[] secondNodes;
+    private SimilarityComputer objectArrayComputer;
+    private SimilarityComputer denseComputer;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(42L);
+        vectors = new float[NODE_COUNT][dimension];
+        var builder = NodePropertiesFromStoreBuilder.of(
+            NODE_COUNT,
+            AllocationTracker.empty(),
+            DefaultValue.DEFAULT
+        );
+        for (int nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            for (int i = 0; i < dimension; i++) {
+                vectors[nodeId][i] = (float) random.nextDouble();
+            }
+            builder.set(nodeId, Values.floatArray(vectors[nodeId]));
+        }
+
+        NodeProperties objectArrayProperties = new FloatArrayNodeProperties() {
+            @Override
+            public float[] floatArrayValue(long nodeId) {
+                return vectors[(int) nodeId];
+            }
+
+            @Override
+            public long size() {
+                return NODE_COUNT;
+            }
+        };
+        objectArrayComputer = SimilarityComputer.ofFloatArrayProperty(objectArrayProperties);
+        denseComputer = SimilarityComputer.ofFloatArrayProperty(builder.build());
+
+        firstNodes = random.longs(PAIRS, 0, NODE_COUNT).toArray();
+        secondNodes = random.longs(PAIRS, 0, NODE_COUNT).toArray();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double scalarCosine() {
+        double sum = 0D;
+        for (int i = 0; i < PAIRS; i++) {
+            var left = vectors[(int) firstNodes[i]];
+            var right = vectors[(int) secondNodes[i]];
+            sum += Intersections.cosine(left, right, dimension);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double objectArrayCosine() {
+        double sum = 0D;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += objectArrayComputer.similarity(firstNodes[i], secondNodes[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double denseCosine() {
+        double sum = 0D;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += denseComputer.similarity(firstNodes[i], secondNodes[i]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.core.loading.VarLongEncoding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lives in the package of {@link VarLongDecoding} in order to measure
+ * the package-private decoding path next to the public encoding.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VarLongEncodingBenchmark {
+
+    @Param({"64", "1024"})
+    public int length;
+
+    /**
+     * Upper bound for the gaps between consecutive targets,
+     * which determines how many bytes each value needs.
+     */
+    @Param({"128", "16384", "2097152"})
+    public long maxDelta;
+
+    private long[] deltas;
+    private byte[] encoded;
+    private long[] decoded;
+
+    @Setup
+    public void setup() {
+        var random = new SplittableRandom(42L);
+        deltas = random.longs(length, 1L, maxDelta).toArray();
+        encoded = new byte[length * 10];
+        decoded = new long[length];
+        VarLongEncoding.encodeVLongs(deltas, length, encoded, 0);
+    }
+
+    @Benchmark
+    public int encode() {
+        return VarLongEncoding.encodeVLongs(deltas, length, encoded, 0);
+    }
+
+    @Benchmark
+    public long[] decode() {
+        VarLongDecoding.decodeDeltaVLongs(0L, encoded, 0, length, decoded);
+        return decoded;
+    }
+}
@@ -39,6 +39,7 @@ public abstract class PropertyMapping {
 
     public static final String PROPERTY_KEY = "property";
     public static final String DEFAULT_VALUE_KEY = "defaultValue";
+    public static final String COMPRESS_KEY = "compress";
 
     /**
      * property key in the result map Graph.nodeProperties(`propertyKey`)
@@ -63,6 +64,17 @@ public abstract class PropertyMapping {
         return Aggregation.DEFAULT;
     }
 
+    /**
+     * Whether relationship property values are stored compressed,
+     * see {@link org.neo4j.graphalgo.core.loading.TrailingZerosDoubleCodec}.
+     * Has no effect on node properties.
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    public boolean compress() {
+        return false;
+    }
+
     @Value.Check
     public void validateProperties() {
         if (neoPropertyKey().equals(PROJECT_ALL) && aggregation() != Aggregation.COUNT) {
@@ -104,12 +116,24 @@ public abstract class PropertyMapping {
                 ));
             }
 
-            return PropertyMapping.of(
-                propertyKey,
-                neoPropertyKey,
-                relPropertyMap.get(DEFAULT_VALUE_KEY),
-                aggregation
-            );
+            Object compressValue = relPropertyMap.getOrDefault(COMPRESS_KEY, false);
+            if (!(compressValue instanceof Boolean)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Expected the value of '%s' to be of type Boolean, but was '%s'.",
+                    COMPRESS_KEY, compressValue.getClass().getSimpleName()
+                ));
+            }
+
+            return ImmutablePropertyMapping
+                .builder()
+                .from(PropertyMapping.of(
+                    propertyKey,
+                    neoPropertyKey,
+                    relPropertyMap.get(DEFAULT_VALUE_KEY),
+                    aggregation
+                ))
+                .compress((Boolean) compressValue)
+                .build();
         } else {
             throw new IllegalStateException(formatWithLocale(
                 "Expected stringOrMap to be of type String or Map, but got %s",
@@ -134,6 +158,9 @@ public abstract class PropertyMapping {
         if (includeAggregation) {
             value.put(RelationshipProjection.AGGREGATION_KEY, aggregation().name());
         }
+        if (compress()) {
+            value.put(COMPRESS_KEY, true);
+        }
         return new AbstractMap.SimpleImmutableEntry<>(propertyKey(), value);
     }
 
@@ -41,4 +41,14 @@ public interface AdjacencyList extends AutoCloseable {
 
     @Override
     void close();
+
+    /**
+     * Release the pages of this list and return an estimate how many bytes were freed.
+     *
+     * Note that the list is not usable afterwards.
+     */
+    default long release() {
+        close();
+        return 0L;
+    }
 }
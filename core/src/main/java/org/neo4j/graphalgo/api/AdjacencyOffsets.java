@@ -25,4 +25,14 @@ public interface AdjacencyOffsets extends AutoCloseable {
 
     @Override
     void close();
+
+    /**
+     * Release the pages of these offsets and return an estimate how many bytes were freed.
+     *
+     * Note that the offsets are not usable afterwards.
+     */
+    default long release() {
+        close();
+        return 0L;
+    }
 }
@@ -26,6 +26,7 @@ import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.loading.CSRGraphStore;
 import org.neo4j.graphalgo.core.loading.IdsAndProperties;
+import org.neo4j.graphalgo.core.loading.NodeReordering;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 
@@ -93,7 +94,7 @@ public abstract class CSRGraphStoreFactory<CONFIG extends GraphCreateConfig> ext
             }
         });
 
-        return CSRGraphStore.of(
+        CSRGraphStore graphStore = CSRGraphStore.of(
             loadingContext.api().databaseId(),
             idsAndProperties.idMap(),
             idsAndProperties.properties(),
@@ -102,6 +103,13 @@ public abstract class CSRGraphStoreFactory<CONFIG extends GraphCreateConfig> ext
             graphCreateConfig.readConcurrency(),
             tracker
         );
+
+        return NodeReordering.reorder(
+            graphStore,
+            graphCreateConfig.nodeOrdering(),
+            graphCreateConfig.readConcurrency(),
+            tracker
+        );
     }
 
     protected void logLoadingSummary(GraphStore graphStore, Optional<AllocationTracker> tracker) {
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.apache.lucene.util.ArrayUtil;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
+
+/**
+ * A messenger that makes a message visible to its receiver as soon as
+ * it has been sent, i.e. a node can receive messages that were sent
+ * within the same superstep.
+ * <p>
+ * Each node owns a primitive queue that grows on demand and is re-used
+ * across supersteps. Access to a queue is guarded by one of a fixed
+ * number of lock stripes, which avoids allocating a lock per node.
+ */
+final class AsyncMessenger implements Messenger<AsyncMessenger.QueueIterator>, Messenger.Sender {
+
+    private static final int LOCK_STRIPES_PER_THREAD = 64;
+
+    private final HugeObjectArray<double[]> queues;
+    private final HugeIntArray queueSizes;
+    private final Object[] locks;
+    private final int lockMask;
+    private final AllocationTracker tracker;
+
+    AsyncMessenger(long nodeCount, int concurrency, AllocationTracker tracker) {
+        this.tracker = tracker;
+        this.queues = HugeObjectArray.newArray(double[].class, nodeCount, tracker);
+        this.queueSizes = HugeIntArray.newArray(nodeCount, tracker);
+
+        this.locks = newLocks(concurrency);
+        this.lockMask = locks.length - 1;
+    }
+
+    static MemoryEstimation memoryEstimation(int messageWidth) {
+        return MemoryEstimations.builder(AsyncMessenger.class)
+            .add("queues", HugeObjectArray.memoryEstimation(MemoryEstimations.setup("", dimensions ->
+                MemoryEstimations.of(
+                    "queue",
+                    MemoryRange.of(sizeOfDoubleArray(dimensions.averageDegree() * messageWidth))
+                )
+            )))
+            .perNode("queue sizes", HugeIntArray::memoryEstimation)
+            .perThread("lock stripes", AsyncMessenger::memoryUsageOfLocks)
+            .build();
+    }
+
+    static Object[] newLocks(int concurrency) {
+        var locks = new Object[lockCount(concurrency)];
+        Arrays.setAll(locks, ignore -> new Object());
+        return locks;
+    }
+
+    static long memoryUsageOfLocks(int concurrency) {
+        int lockCount = lockCount(concurrency);
+        return MemoryUsage.sizeOfObjectArray(lockCount) + lockCount * MemoryUsage.sizeOfInstance(Object.class);
+    }
+
+    private static int lockCount(int concurrency) {
+        return BitUtil.nextHighestPowerOfTwo(concurrency * LOCK_STRIPES_PER_THREAD);
+    }
+
+    @Override
+    public void initIteration(int iteration) {
+    }
+
+    @Override
+    public Sender sender() {
+        return this;
+    }
+
+    @Override
+    public QueueIterator messageIterator() {
+        return new QueueIterator();
+    }
+
+    @Override
+    public void initMessageIterator(QueueIterator messageIterator, long nodeId, boolean hasMessages) {
+        if (!hasMessages) {
+            // messages that arrived in the current superstep are kept for the next one
+            messageIterator.init(null, 0);
+            return;
+        }
+        synchronized (lock(nodeId)) {
+            int size = queueSizes.get(nodeId);
+            messageIterator.init(queues.get(nodeId), size);
+            queueSizes.set(nodeId, 0);
+        }
+    }
+
+    @Override
+    public void release() {
+        // the queues are tracked individually when they grow
+        long queueBytes = 0L;
+        try (HugeCursor<double[][]> cursor = queues.initCursor(queues.newCursor())) {
+            while (cursor.next()) {
+                for (int i = cursor.offset; i < cursor.limit; i++) {
+                    double[] queue = cursor.array[i];
+                    if (queue != null) {
+                        queueBytes += sizeOfDoubleArray(queue.length);
+                    }
+                }
+            }
+        }
+        tracker.remove(queueBytes);
+        tracker.remove(queues.release());
+        tracker.remove(queueSizes.release());
+    }
+
+    @Override
+    public void sendTo(long targetNodeId, double message) {
+        synchronized (lock(targetNodeId)) {
+            int size = queueSizes.get(targetNodeId);
+            double[] queue = queues.get(targetNodeId);
+            if (queue == null || size == queue.length) {
+                queue = grow(targetNodeId, queue, size + 1);
+            }
+            queue[size] = message;
+            queueSizes.set(targetNodeId, size + 1);
+        }
+    }
+
+    @Override
+    public void sendTo(long targetNodeId, double[] message) {
+        synchronized (lock(targetNodeId)) {
+            int size = queueSizes.get(targetNodeId);
+            double[] queue = queues.get(targetNodeId);
+            if (queue == null || size + message.length > queue.length) {
+                queue = grow(targetNodeId, queue, size + message.length);
+            }
+            System.arraycopy(message, 0, queue, size, message.length);
+            queueSizes.set(targetNodeId, size + message.length);
+        }
+    }
+
+    private double[] grow(long nodeId, @Nullable double[] queue, int minCapacity) {
+        int capacity = ArrayUtil.oversize(minCapacity, Double.BYTES);
+        double[] newQueue;
+        if (queue == null) {
+            newQueue = new double[capacity];
+        } else {
+            newQueue = Arrays.copyOf(queue, capacity);
+            tracker.remove(sizeOfDoubleArray(queue.length));
+        }
+        tracker.add(sizeOfDoubleArray(capacity));
+        queues.set(nodeId, newQueue);
+        return newQueue;
+    }
+
+    private Object lock(long nodeId) {
+        return locks[(int) (nodeId & lockMask)];
+    }
+
+    /**
+     * Iterates over a copy of the messages that were taken from a queue.
+     * The copy is necessary since other threads may append new messages
+     * to the queue while the receiving node is being computed.
+     */
+    static final class QueueIterator extends Pregel.MessageIterator {
+
+        private double[] buffer = new double[0];
+        private int length;
+        private int position;
+
+        void init(@Nullable double[] queue, int size) {
+            if (size > buffer.length) {
+                buffer = new double[ArrayUtil.oversize(size, Double.BYTES)];
+            }
+            if (size > 0) {
+                System.arraycopy(queue, 0, buffer, 0, size);
+            }
+            this.length = size;
+            this.position = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < length;
+        }
+
+        @Override
+        public double nextDouble() {
+            return buffer[position++];
+        }
+    }
+}
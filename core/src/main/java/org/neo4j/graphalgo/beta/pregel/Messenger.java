@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+/**
+ * A messenger stores the messages that are sent between nodes
+ * and delivers them to the receiving nodes. Implementations
+ * define when a message becomes visible to its receiver.
+ */
+interface Messenger<ITERATOR extends Pregel.MessageIterator> {
+
+    /**
+     * Called by the framework before the compute steps of a
+     * superstep are executed. Implementations may use this
+     * method to make messages of the previous superstep
+     * available for reading.
+     */
+    void initIteration(int iteration);
+
+    /**
+     * Returns a sender that is used by exactly one compute step.
+     * A sender is not required to be thread-safe.
+     */
+    Sender sender();
+
+    /**
+     * Creates an iterator that can be re-used for all nodes
+     * processed by a single compute step.
+     */
+    ITERATOR messageIterator();
+
+    /**
+     * Points the given iterator to the messages received by the given node.
+     * If the node did not receive messages in the previous superstep, the
+     * iterator is expected to be empty.
+     */
+    void initMessageIterator(ITERATOR messageIterator, long nodeId, boolean hasMessages);
+
+    void release();
+
+    interface Sender {
+        void sendTo(long targetNodeId, double message);
+
+        /**
+         * Sends a message that consists of multiple values. The target
+         * node receives these values consecutively, i.e. they are not
+         * interleaved with values of other messages.
+         */
+        void sendTo(long targetNodeId, double[] message);
+    }
+}
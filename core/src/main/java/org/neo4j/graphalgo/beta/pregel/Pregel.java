@@ -21,9 +21,7 @@ package org.neo4j.graphalgo.beta.pregel;
 
 import org.immutables.builder.Builder;
 import org.immutables.value.Value;
-import org.jctools.queues.MpscLinkedQueue;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.DefaultValue;
 import org.neo4j.graphalgo.api.Degrees;
@@ -45,10 +43,9 @@ import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.PrimitiveIterator;
 import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
@@ -58,9 +55,6 @@ import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 @Value.Style(builderVisibility = Value.Style.BuilderVisibility.PUBLIC, depluralize = true, deepImmutablesDetection = true)
 public final class Pregel<CONFIG extends PregelConfig> {
 
-    // Marks the end of messages from the previous iteration in synchronous mode.
-    private static final Double TERMINATION_SYMBOL = Double.NaN;
-
     private final CONFIG config;
 
     private final PregelComputation<CONFIG> computation;
@@ -69,7 +63,7 @@ public final class Pregel<CONFIG extends PregelConfig> {
 
     private final CompositeNodeValue nodeValues;
 
-    private final HugeObjectArray<MpscLinkedQueue<Double>> messageQueues;
+    private final Messenger<?> messenger;
 
     private final int concurrency;
     private final ExecutorService executor;
@@ -88,6 +82,8 @@ public final class Pregel<CONFIG extends PregelConfig> {
         // concurrency validations.
         ImmutablePregelConfig.copyOf(config);
 
+        validateMessageWidth(computation);
+
         return new Pregel<>(
                 graph,
                 config,
@@ -98,24 +94,60 @@ public final class Pregel<CONFIG extends PregelConfig> {
         );
     }
 
+    private static void validateMessageWidth(PregelComputation<?> computation) {
+        int messageWidth = computation.messageWidth();
+        if (messageWidth < 1) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The message width must be at least 1, but was %d.",
+                messageWidth
+            ));
+        }
+        if (messageWidth > 1 && computation.reducer().isPresent()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "A reducer can only be used for messages with a width of 1, but the width was %d.",
+                messageWidth
+            ));
+        }
+    }
+
     public static MemoryEstimation memoryEstimation(NodeSchema nodeSchema) {
-        return MemoryEstimations.builder(Pregel.class)
-            .perNode("message bits", MemoryUsage::sizeOfHugeAtomicBitset)
-            .perNode("previous message bits", MemoryUsage::sizeOfHugeAtomicBitset)
+        return memoryEstimation(nodeSchema, false, false);
+    }
+
+    public static MemoryEstimation memoryEstimation(PregelComputation<?> computation, PregelConfig config) {
+        return memoryEstimation(
+            computation.nodeSchema(),
+            computation.reducer().isPresent(),
+            config.isAsynchronous(),
+            computation.messageWidth()
+        );
+    }
+
+    public static MemoryEstimation memoryEstimation(
+        NodeSchema nodeSchema,
+        boolean isReducing,
+        boolean isAsynchronous
+    ) {
+        return memoryEstimation(nodeSchema, isReducing, isAsynchronous, 1);
+    }
+
+    public static MemoryEstimation memoryEstimation(
+        NodeSchema nodeSchema,
+        boolean isReducing,
+        boolean isAsynchronous,
+        int messageWidth
+    ) {
+        var builder = MemoryEstimations.builder(Pregel.class)
+            .perNode("message bits", MemoryUsage::sizeOfHugeAtomicBitset);
+
+        if (!isAsynchronous) {
+            builder.perNode("previous message bits", MemoryUsage::sizeOfHugeAtomicBitset);
+        }
+
+        return builder
             .perNode("vote bits", MemoryUsage::sizeOfHugeAtomicBitset)
             .perThread("compute steps", MemoryEstimations.builder(ComputeStep.class).build())
-            .add(
-                "message queues",
-                MemoryEstimations.setup("", (dimensions, concurrency) ->
-                    MemoryEstimations.builder()
-                        .fixed(HugeObjectArray.class.getSimpleName(), MemoryUsage.sizeOfInstance(HugeObjectArray.class))
-                        .perNode("node queue", MemoryEstimations.builder(MpscLinkedQueue.class)
-                            .fixed("messages", dimensions.averageDegree() * Double.BYTES)
-                            .build()
-                        )
-                        .build()
-                )
-            )
+            .add("messenger", messengerEstimation(isReducing, isAsynchronous, messageWidth))
             .add(
                 "composite node value",
                 MemoryEstimations.setup("", (dimensions, concurrency) -> {
@@ -154,6 +186,19 @@ public final class Pregel<CONFIG extends PregelConfig> {
             .build();
     }
 
+    private static MemoryEstimation messengerEstimation(
+        boolean isReducing,
+        boolean isAsynchronous,
+        int messageWidth
+    ) {
+        if (isReducing) {
+            return ReducingMessenger.memoryEstimation(isAsynchronous);
+        }
+        return isAsynchronous
+            ? AsyncMessenger.memoryEstimation(messageWidth)
+            : SyncMessenger.memoryEstimation(messageWidth);
+    }
+
     private Pregel(
             final Graph graph,
             final CONFIG config,
@@ -169,43 +214,66 @@ public final class Pregel<CONFIG extends PregelConfig> {
         this.executor = executor;
         this.tracker = tracker;
 
-        this.messageQueues = initLinkedQueues(graph, tracker);
+        this.messenger = createMessenger();
+    }
+
+    private Messenger<?> createMessenger() {
+        var reducer = computation.reducer();
+        if (reducer.isPresent()) {
+            return new ReducingMessenger(
+                graph.nodeCount(),
+                concurrency,
+                reducer.get(),
+                config.isAsynchronous(),
+                tracker
+            );
+        }
+        return config.isAsynchronous()
+            ? new AsyncMessenger(graph.nodeCount(), concurrency, tracker)
+            : new SyncMessenger(graph.nodeCount(), concurrency, computation.messageWidth(), executor, tracker);
     }
 
     public PregelResult run() {
         boolean didConverge = false;
+        boolean isAsynchronous = config.isAsynchronous();
         // Tracks if a node received messages in the current iteration
         HugeAtomicBitSet messageBits = HugeAtomicBitSet.create(graph.nodeCount(), tracker);
-        // Tracks if a node received messages in the previous iteration
-        HugeAtomicBitSet prevMessageBits = HugeAtomicBitSet.create(graph.nodeCount(), tracker);
+        // Tracks if a node received messages in the previous iteration.
+        // In asynchronous mode, messages are received as soon as they
+        // are sent, hence both iterations share the same bit set and
+        // a bit is cleared when the messages are being received.
+        HugeAtomicBitSet prevMessageBits = isAsynchronous
+            ? messageBits
+            : HugeAtomicBitSet.create(graph.nodeCount(), tracker);
         // Tracks if a node voted to halt in the previous iteration
         HugeAtomicBitSet voteBits = HugeAtomicBitSet.create(graph.nodeCount(), tracker);
 
-        List<ComputeStep<CONFIG>> computeSteps = createComputeSteps(voteBits);
+        List<ComputeStep<CONFIG, ?>> computeSteps = createComputeSteps(voteBits);
 
         int iterations;
         for (iterations = 0; iterations < config.maxIterations(); iterations++) {
-            if (iterations > 0) {
+            if (iterations > 0 && !isAsynchronous) {
                 messageBits.clear();
             }
 
             // Init compute steps with the updated state
-            for (ComputeStep<CONFIG> computeStep : computeSteps) {
+            for (ComputeStep<CONFIG, ?> computeStep : computeSteps) {
                 computeStep.init(iterations, messageBits, prevMessageBits);
             }
 
-            runComputeSteps(computeSteps, iterations, prevMessageBits);
+            runComputeSteps(computeSteps, iterations);
 
-            // No messages have been sent
-            if (messageBits.isEmpty()) {
+            if (hasConverged(computeSteps, messageBits, voteBits)) {
                 didConverge = true;
                 break;
             }
 
-            // Swap message bits for next iteration
-            var tmp = messageBits;
-            messageBits = prevMessageBits;
-            prevMessageBits = tmp;
+            if (!isAsynchronous) {
+                // Swap message bits for next iteration
+                var tmp = messageBits;
+                messageBits = prevMessageBits;
+                prevMessageBits = tmp;
+            }
         }
 
         return ImmutablePregelResult.builder()
@@ -216,13 +284,34 @@ public final class Pregel<CONFIG extends PregelConfig> {
     }
 
     public void release() {
-        messageQueues.release();
+        messenger.release();
+    }
+
+    private boolean hasConverged(
+        Collection<ComputeStep<CONFIG, ?>> computeSteps,
+        HugeAtomicBitSet messageBits,
+        HugeAtomicBitSet voteBits
+    ) {
+        if (!config.isAsynchronous()) {
+            // No messages have been sent
+            return messageBits.isEmpty();
+        }
+
+        // No messages have been sent
+        if (computeSteps.stream().noneMatch(ComputeStep::hasSentMessages)) {
+            return true;
+        }
+
+        // All messages have been received within the superstep
+        // and all nodes voted to halt, i.e. the next superstep
+        // would not compute any node.
+        return messageBits.isEmpty() && voteBits.cardinality() == graph.nodeCount();
     }
 
-    private List<ComputeStep<CONFIG>> createComputeSteps(HugeAtomicBitSet voteBits) {
+    private List<ComputeStep<CONFIG, ?>> createComputeSteps(HugeAtomicBitSet voteBits) {
         List<Partition> partitions = PartitionUtils.rangePartition(concurrency, graph.nodeCount());
 
-        List<ComputeStep<CONFIG>> computeSteps = new ArrayList<>(concurrency);
+        List<ComputeStep<CONFIG, ?>> computeSteps = new ArrayList<>(concurrency);
 
         for (Partition partition : partitions) {
             computeSteps.add(new ComputeStep<>(
@@ -232,7 +321,7 @@ public final class Pregel<CONFIG extends PregelConfig> {
                 0,
                 partition,
                 nodeValues,
-                messageQueues,
+                messenger,
                 voteBits,
                 graph
             ));
@@ -241,63 +330,45 @@ public final class Pregel<CONFIG extends PregelConfig> {
     }
 
     private void runComputeSteps(
-        Collection<ComputeStep<CONFIG>> computeSteps,
-        final int iteration,
-        HugeAtomicBitSet messageBits
+        Collection<ComputeStep<CONFIG, ?>> computeSteps,
+        final int iteration
     ) {
-
-        if (!config.isAsynchronous()) {
-            // Synchronization barrier:
-            // Add termination flag to message queues that
-            // received messages in the previous iteration.
-            if (iteration > 0) {
-                ParallelUtil.parallelStreamConsume(
-                        LongStream.range(0, graph.nodeCount()),
-                        concurrency,
-                        nodeIds -> nodeIds.forEach(nodeId -> {
-                            if (messageBits.get(nodeId)) {
-                                messageQueues.get(nodeId).add(TERMINATION_SYMBOL);
-                            }
-                        }));
-            }
-        }
-
-        ParallelUtil.runWithConcurrency(concurrency, computeSteps, executor);
+        // Synchronization barrier:
+        // Make the messages from the previous
+        // iteration available to the receivers.
+        messenger.initIteration(iteration);
+
+        // Partitions without active nodes are skipped entirely
+        List<ComputeStep<CONFIG, ?>> activeComputeSteps = computeSteps
+            .stream()
+            .filter(ComputeStep::hasActiveNodes)
+            .collect(Collectors.toList());
+
+        ParallelUtil.runWithConcurrency(concurrency, activeComputeSteps, executor);
     }
 
-    @SuppressWarnings({"unchecked"})
-    private HugeObjectArray<MpscLinkedQueue<Double>> initLinkedQueues(Graph graph, AllocationTracker tracker) {
-        // sad java 😞
-        Class<MpscLinkedQueue<Double>> queueClass = (Class<MpscLinkedQueue<Double>>) new MpscLinkedQueue<Double>().getClass();
-
-        HugeObjectArray<MpscLinkedQueue<Double>> messageQueues = HugeObjectArray.newArray(
-                queueClass,
-                graph.nodeCount(),
-                tracker);
-
-        ParallelUtil.parallelStreamConsume(
-                LongStream.range(0, graph.nodeCount()),
-                concurrency,
-                nodeIds -> nodeIds.forEach(nodeId -> messageQueues.set(nodeId, new MpscLinkedQueue<Double>())));
-
-        return messageQueues;
-    }
-
-    public static final class ComputeStep<CONFIG extends PregelConfig> implements Runnable {
+    public static final class ComputeStep<CONFIG extends PregelConfig, ITERATOR extends MessageIterator> implements Runnable {
 
         private final long nodeCount;
         private final long relationshipCount;
-        private final boolean isAsync;
+        private final boolean isAsynchronous;
         private final PregelComputation<CONFIG> computation;
         private final PregelContext.InitContext<CONFIG> initContext;
         private final PregelContext.ComputeContext<CONFIG> computeContext;
         private final Partition nodeBatch;
         private final Degrees degrees;
         private final CompositeNodeValue nodeValues;
-        private final HugeObjectArray<? extends Queue<Double>> messageQueues;
+        private final Messenger<ITERATOR> messenger;
+        private final Messenger.Sender sender;
+        private final ITERATOR messageIterator;
+        private final Messages messages;
         private final RelationshipIterator relationshipIterator;
 
         private int iteration;
+        private boolean hasSentMessages;
+        // Number of nodes in the batch that did not vote to halt
+        // in the previous iteration
+        private long activeNodeCount;
         private HugeAtomicBitSet messageBits;
         private HugeAtomicBitSet prevMessageBits;
         private final HugeAtomicBitSet voteBits;
@@ -309,22 +380,26 @@ public final class Pregel<CONFIG extends PregelConfig> {
             int iteration,
             Partition nodeBatch,
             CompositeNodeValue nodeValues,
-            HugeObjectArray<? extends Queue<Double>> messageQueues,
+            Messenger<ITERATOR> messenger,
             HugeAtomicBitSet voteBits,
             RelationshipIterator relationshipIterator
         ) {
             this.iteration = iteration;
+            this.activeNodeCount = nodeBatch.nodeCount();
             this.nodeCount = graph.nodeCount();
             this.relationshipCount = graph.relationshipCount();
-            this.isAsync = config.isAsynchronous();
+            this.isAsynchronous = config.isAsynchronous();
             this.computation = computation;
             this.voteBits = voteBits;
             this.nodeBatch = nodeBatch;
             this.degrees = graph;
             this.nodeValues = nodeValues;
-            this.messageQueues = messageQueues;
+            this.messenger = messenger;
+            this.sender = messenger.sender();
+            this.messageIterator = messenger.messageIterator();
+            this.messages = new Messages(messageIterator);
             this.relationshipIterator = relationshipIterator.concurrentCopy();
-            this.computeContext = PregelContext.computeContext(this, config);
+            this.computeContext = PregelContext.computeContext(this, config, computation.messageWidth());
             this.initContext = PregelContext.initContext(this, config, graph);
         }
 
@@ -334,41 +409,99 @@ public final class Pregel<CONFIG extends PregelConfig> {
             HugeAtomicBitSet prevMessageBits
         ) {
             this.iteration = iteration;
+            this.hasSentMessages = false;
             this.messageBits = messageBits;
             this.prevMessageBits = prevMessageBits;
         }
 
         @Override
         public void run() {
-            var messageIterator = isAsync
-                ? new MessageIterator.Async()
-                : new MessageIterator.Sync();
-            var messages = new Messages(messageIterator);
-
             long batchStart = nodeBatch.startNode();
             long batchEnd = batchStart + nodeBatch.nodeCount();
 
-            for (long nodeId = batchStart; nodeId < batchEnd; nodeId++) {
+            activeNodeCount = 0;
 
+            // Only visit nodes that either received messages or did
+            // not vote to halt, skipping over inactive nodes word-wise.
+            for (
+                long nodeId = nextActiveNode(batchStart, batchEnd);
+                nodeId != -1;
+                nodeId = nextActiveNode(nodeId + 1, batchEnd)
+            ) {
                 if (computeContext.isInitialSuperstep()) {
                     initContext.setNodeId(nodeId);
                     computation.init(initContext);
                 }
 
-                if (prevMessageBits.get(nodeId) || !voteBits.get(nodeId)) {
+                boolean hasMessages = receivesMessages(nodeId);
+                if (hasMessages || !voteBits.get(nodeId)) {
                     voteBits.clear(nodeId);
                     computeContext.setNodeId(nodeId);
 
-                    messageIterator.init(receiveMessages(nodeId));
+                    messenger.initMessageIterator(messageIterator, nodeId, hasMessages);
                     computation.compute(computeContext, messages);
+
+                    if (!voteBits.get(nodeId)) {
+                        activeNodeCount++;
+                    }
                 }
             }
         }
 
+        /**
+         * Returns the first node within [startNode, endNode) that either
+         * received messages or did not vote to halt, or -1 if there is none.
+         */
+        private long nextActiveNode(long startNode, long endNode) {
+            long nextNotHalted = voteBits.nextClearBit(startNode, endNode);
+            long nextReceiver = prevMessageBits.nextSetBit(startNode, endNode);
+
+            if (nextNotHalted == -1) {
+                return nextReceiver;
+            }
+            if (nextReceiver == -1) {
+                return nextNotHalted;
+            }
+            return Math.min(nextNotHalted, nextReceiver);
+        }
+
+        /**
+         * Returns true iff the batch contains at least one node that
+         * needs to be computed in the current iteration.
+         */
+        boolean hasActiveNodes() {
+            if (iteration == 0 || activeNodeCount > 0) {
+                return true;
+            }
+            long batchStart = nodeBatch.startNode();
+            return prevMessageBits.nextSetBit(batchStart, batchStart + nodeBatch.nodeCount()) != -1;
+        }
+
+        private boolean receivesMessages(long nodeId) {
+            if (!isAsynchronous) {
+                return prevMessageBits.get(nodeId);
+            }
+            // Messages sent during the initial superstep are received
+            // in the next superstep, as the initial superstep usually
+            // ignores incoming messages.
+            if (iteration == 0 || !prevMessageBits.get(nodeId)) {
+                return false;
+            }
+            // The bit needs to be cleared before the messages are
+            // taken from the messenger. A message that is sent after
+            // that point sets the bit again and is received later.
+            prevMessageBits.clear(nodeId);
+            return true;
+        }
+
         public int iteration() {
             return iteration;
         }
 
+        boolean hasSentMessages() {
+            return hasSentMessages;
+        }
+
         long nodeCount() {
             return nodeCount;
         }
@@ -393,20 +526,43 @@ public final class Pregel<CONFIG extends PregelConfig> {
         }
 
         void sendTo(long targetNodeId, double message) {
-            messageQueues.get(targetNodeId).add(message);
+            sender.sendTo(targetNodeId, message);
             messageBits.set(targetNodeId);
+            hasSentMessages = true;
         }
 
         void sendToNeighborsWeighted(long sourceNodeId, double message) {
             relationshipIterator.forEachRelationship(sourceNodeId, 1.0, (source, target, weight) -> {
-                messageQueues.get(target).add(computation.applyRelationshipWeight(message, weight));
-                messageBits.set(target);
+                sendTo(target, computation.applyRelationshipWeight(message, weight));
+                return true;
+            });
+        }
+
+        void sendToNeighbors(long sourceNodeId, PregelContext.ComputeContext.RelationshipMessageFunction messageFunction) {
+            relationshipIterator.forEachRelationship(sourceNodeId, (ignored, targetNodeId) -> {
+                sendTo(targetNodeId, messageFunction.message(targetNodeId, 1.0));
+                return true;
+            });
+        }
+
+        void sendToNeighborsWeighted(long sourceNodeId, PregelContext.ComputeContext.RelationshipMessageFunction messageFunction) {
+            relationshipIterator.forEachRelationship(sourceNodeId, 1.0, (source, target, weight) -> {
+                sendTo(target, messageFunction.message(target, weight));
                 return true;
             });
         }
 
-        private @Nullable Queue<Double> receiveMessages(long nodeId) {
-            return prevMessageBits.get(nodeId) ? messageQueues.get(nodeId) : null;
+        void sendToNeighbors(long sourceNodeId, double[] message) {
+            relationshipIterator.forEachRelationship(sourceNodeId, (ignored, targetNodeId) -> {
+                sendTo(targetNodeId, message);
+                return true;
+            });
+        }
+
+        void sendTo(long targetNodeId, double[] message) {
+            sender.sendTo(targetNodeId, message);
+            messageBits.set(targetNodeId);
+            hasSentMessages = true;
         }
 
         double doubleNodeValue(String key, long nodeId) {
@@ -584,47 +740,19 @@ public final class Pregel<CONFIG extends PregelConfig> {
             this.iterator = iterator;
         }
 
+        /**
+         * Returns an iterator over the received messages. Messages are
+         * stored as primitive values, {@link PrimitiveIterator.OfDouble#nextDouble()}
+         * allows reading them without boxing.
+         */
         @NotNull
         @Override
-        public Iterator<Double> iterator() {
+        public PrimitiveIterator.OfDouble iterator() {
             return iterator;
         }
     }
 
-    abstract static class MessageIterator implements Iterator<Double> {
-
-        Queue<Double> queue;
-
-        @Nullable Double next;
-
-        @Override
-        public @Nullable Double next() {
-            return next;
-        }
-
-        void init(@Nullable Queue<Double> queue) {
-            this.queue = queue;
-        }
-
-        static class Sync extends MessageIterator {
-            @Override
-            public boolean hasNext() {
-                if (queue == null) {
-                    return false;
-                }
-                return !Double.isNaN(next = queue.poll());
-            }
-        }
-
-        static class Async extends MessageIterator {
-            @Override
-            public boolean hasNext() {
-                if (queue == null) {
-                    return false;
-                }
-                return (next = queue.poll()) != null;
-            }
-        }
+    abstract static class MessageIterator implements PrimitiveIterator.OfDouble {
     }
 
     @ValueClass
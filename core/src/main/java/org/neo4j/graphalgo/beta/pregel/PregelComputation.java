@@ -19,6 +19,8 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
+import java.util.Optional;
+
 /**
  * Main interface to express user-defined logic using the
  * Pregel framework. An algorithm is expressed using a
@@ -74,6 +76,38 @@ public interface PregelComputation<C extends PregelConfig> {
      */
     void compute(PregelContext.ComputeContext<C> context, Pregel.Messages messages);
 
+    /**
+     * A reducer is used to combine the messages sent to a single node.
+     * If a reducer is present, all messages sent to a node are reduced
+     * to a single value as soon as they are sent. The compute method
+     * then receives at most one message per superstep. Instead of
+     * storing all messages, the framework only needs to store a single
+     * value per node, which drastically reduces the memory footprint.
+     * <br>
+     * The reducer must be commutative and associative.
+     *
+     * @see org.neo4j.graphalgo.beta.pregel.Reducer
+     */
+    default Optional<Reducer> reducer() {
+        return Optional.empty();
+    }
+
+    /**
+     * The number of double values a single message consists of.
+     * By default, a message is a single double value. If the width
+     * is larger than one, messages are sent as arrays of exactly
+     * that length, e.g. via
+     * {@link org.neo4j.graphalgo.beta.pregel.PregelContext.ComputeContext#sendTo(long, double[])}.
+     * The receiving node reads the values of each message
+     * consecutively from the messages iterator.
+     * <br>
+     * Messages that consist of more than one value cannot be
+     * combined with a {@link #reducer()}.
+     */
+    default int messageWidth() {
+        return 1;
+    }
+
     /**
      * If the input graph is weighted, i.e. relationships have a
      * property, this method can be overridden to apply that weight
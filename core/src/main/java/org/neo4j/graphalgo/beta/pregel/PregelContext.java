@@ -24,16 +24,18 @@ import org.neo4j.graphalgo.api.NodePropertyContainer;
 
 import java.util.Set;
 
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
 public abstract class PregelContext<CONFIG extends PregelConfig> {
 
     private final CONFIG config;
 
-    final Pregel.ComputeStep<CONFIG> computeStep;
+    final Pregel.ComputeStep<CONFIG, ?> computeStep;
 
     long nodeId;
 
     static <CONFIG extends PregelConfig> InitContext<CONFIG> initContext(
-        Pregel.ComputeStep<CONFIG> computeStep,
+        Pregel.ComputeStep<CONFIG, ?> computeStep,
         CONFIG config,
         NodePropertyContainer nodePropertyContainer
     ) {
@@ -41,13 +43,14 @@ public abstract class PregelContext<CONFIG extends PregelConfig> {
     }
 
     static <CONFIG extends PregelConfig> ComputeContext<CONFIG> computeContext(
-        Pregel.ComputeStep<CONFIG> computeStep,
-        CONFIG config
+        Pregel.ComputeStep<CONFIG, ?> computeStep,
+        CONFIG config,
+        int messageWidth
     ) {
-        return new ComputeContext<>(computeStep, config);
+        return new ComputeContext<>(computeStep, config, messageWidth);
     }
 
-    PregelContext(Pregel.ComputeStep<CONFIG> computeStep, CONFIG config) {
+    PregelContext(Pregel.ComputeStep<CONFIG, ?> computeStep, CONFIG config) {
         this.computeStep = computeStep;
         this.config = config;
     }
@@ -144,7 +147,7 @@ public abstract class PregelContext<CONFIG extends PregelConfig> {
         private final NodePropertyContainer nodePropertyContainer;
 
         InitContext(
-            Pregel.ComputeStep<CONFIG> computeStep,
+            Pregel.ComputeStep<CONFIG, ?> computeStep,
             CONFIG config,
             NodePropertyContainer nodePropertyContainer
         ) {
@@ -178,15 +181,24 @@ public abstract class PregelContext<CONFIG extends PregelConfig> {
      */
     public static final class ComputeContext<CONFIG extends PregelConfig> extends PregelContext<CONFIG> {
 
-        ComputeContext(Pregel.ComputeStep<CONFIG> computeStep, CONFIG config) {
+        ComputeContext(Pregel.ComputeStep<CONFIG, ?> computeStep, CONFIG config, int messageWidth) {
             super(computeStep, config);
-            this.sendMessagesFunction = config.relationshipWeightProperty() == null
-                ? computeStep::sendToNeighbors
-                : computeStep::sendToNeighborsWeighted;
+            boolean isWeighted = config.relationshipWeightProperty() != null;
+            this.sendMessagesFunction = isWeighted
+                ? computeStep::sendToNeighborsWeighted
+                : computeStep::sendToNeighbors;
+            this.sendRelationshipMessagesFunction = isWeighted
+                ? computeStep::sendToNeighborsWeighted
+                : computeStep::sendToNeighbors;
+            this.messageWidth = messageWidth;
         }
 
         private final SendMessagesFunction sendMessagesFunction;
 
+        private final SendRelationshipMessagesFunction sendRelationshipMessagesFunction;
+
+        private final int messageWidth;
+
         /**
          * Returns the node value for the given node schema key.
          *
@@ -253,9 +265,37 @@ public abstract class PregelContext<CONFIG extends PregelConfig> {
          * Sends the given message to all neighbors of the node.
          */
         public void sendToNeighbors(double message) {
+            validateMessageWidth(1);
             sendMessagesFunction.sendToNeighbors(nodeId, message);
         }
 
+        /**
+         * Sends a message to all neighbors of the node. The message for
+         * a neighbor is computed by the given function, which receives
+         * the neighbor id and the weight of the relationship to that
+         * neighbor. All relationships are visited in a single pass over
+         * the adjacency list of the node.
+         * <br>
+         * If no relationship weight property is configured, the weight
+         * passed to the function is always {@code 1.0}.
+         */
+        public void sendToNeighbors(RelationshipMessageFunction messageFunction) {
+            validateMessageWidth(1);
+            sendRelationshipMessagesFunction.sendToNeighbors(nodeId, messageFunction);
+        }
+
+        /**
+         * Sends the given multi-value message to all neighbors of the node.
+         * The length of the message must be equal to the message width
+         * defined by the computation. Relationship weights are not applied.
+         *
+         * @throws java.lang.IllegalArgumentException if the message length does not match the message width
+         */
+        public void sendToNeighbors(double[] message) {
+            validateMessageWidth(message.length);
+            computeStep.sendToNeighbors(nodeId, message);
+        }
+
         /**
          * Sends the given message to the target node. The target
          * node can be any existing node id in the graph.
@@ -263,12 +303,51 @@ public abstract class PregelContext<CONFIG extends PregelConfig> {
          * @throws ArrayIndexOutOfBoundsException if the node is in the not in id space
          */
         public void sendTo(long targetNodeId, double message) {
+            validateMessageWidth(1);
+            computeStep.sendTo(targetNodeId, message);
+        }
+
+        /**
+         * Sends the given multi-value message to the target node.
+         * The length of the message must be equal to the message
+         * width defined by the computation. The target node receives
+         * the values of the message consecutively.
+         *
+         * @throws java.lang.IllegalArgumentException if the message length does not match the message width
+         * @throws ArrayIndexOutOfBoundsException if the node is in the not in id space
+         */
+        public void sendTo(long targetNodeId, double[] message) {
+            validateMessageWidth(message.length);
             computeStep.sendTo(targetNodeId, message);
         }
 
+        private void validateMessageWidth(int length) {
+            if (length != messageWidth) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Expected a message with %d value(s), but got %d value(s).",
+                    messageWidth,
+                    length
+                ));
+            }
+        }
+
+        /**
+         * Computes the message that is sent to a neighbor
+         * based on the relationship to that neighbor.
+         */
+        @FunctionalInterface
+        public interface RelationshipMessageFunction {
+            double message(long targetNodeId, double relationshipWeight);
+        }
+
         @FunctionalInterface
         interface SendMessagesFunction {
             void sendToNeighbors(long sourceNodeId, double message);
         }
+
+        @FunctionalInterface
+        interface SendRelationshipMessagesFunction {
+            void sendToNeighbors(long sourceNodeId, RelationshipMessageFunction messageFunction);
+        }
     }
 }
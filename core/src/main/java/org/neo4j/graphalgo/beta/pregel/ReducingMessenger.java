@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.DoublePageCreator;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+
+import java.util.stream.LongStream;
+
+/**
+ * A messenger that folds all messages sent to a node into a single value
+ * using a user-defined {@link Reducer}. Messages are reduced when they are
+ * sent, so the memory required for messages is linear in the number of
+ * nodes, independent of the number of messages.
+ * <p>
+ * In synchronous mode, two arrays are used: one that receives the reduced
+ * messages of the current superstep and one that holds the reduced messages
+ * of the previous superstep. In asynchronous mode, a single array is used and
+ * a node takes its reduced value, resetting the slot to the identity element.
+ * A bit set tracks which nodes have a reduced value that has not been taken yet,
+ * as the value itself cannot tell a reduced message apart from the identity.
+ * The value and its bit are only updated together while holding one of the
+ * lock stripes of the {@link AsyncMessenger}, so they are always consistent.
+ */
+final class ReducingMessenger implements Messenger<ReducingMessenger.SingleMessageIterator>, Messenger.Sender {
+
+    private final Reducer reducer;
+    private final boolean isAsynchronous;
+    private final long nodeCount;
+    private final int concurrency;
+    private final AllocationTracker tracker;
+
+    private HugeAtomicDoubleArray sendArray;
+    private HugeAtomicDoubleArray receiveArray;
+    // only used in asynchronous mode
+    private final HugeAtomicBitSet deliveryBits;
+    private final Object[] locks;
+    private final int lockMask;
+
+    ReducingMessenger(
+        long nodeCount,
+        int concurrency,
+        Reducer reducer,
+        boolean isAsynchronous,
+        AllocationTracker tracker
+    ) {
+        this.reducer = reducer;
+        this.isAsynchronous = isAsynchronous;
+        this.nodeCount = nodeCount;
+        this.concurrency = concurrency;
+        this.tracker = tracker;
+
+        var identity = reducer.identity();
+        var pageFiller = DoublePageCreator.of(concurrency, ignore -> identity);
+        this.sendArray = HugeAtomicDoubleArray.newArray(nodeCount, pageFiller, tracker);
+        this.receiveArray = isAsynchronous
+            ? sendArray
+            : HugeAtomicDoubleArray.newArray(nodeCount, pageFiller, tracker);
+        this.deliveryBits = isAsynchronous
+            ? HugeAtomicBitSet.create(nodeCount, tracker)
+            : null;
+        this.locks = isAsynchronous
+            ? AsyncMessenger.newLocks(concurrency)
+            : null;
+        this.lockMask = isAsynchronous
+            ? locks.length - 1
+            : 0;
+    }
+
+    static MemoryEstimation memoryEstimation(boolean isAsynchronous) {
+        var builder = MemoryEstimations.builder(ReducingMessenger.class)
+            .perNode("send array", HugeAtomicDoubleArray::memoryEstimation);
+        if (isAsynchronous) {
+            builder.perNode("delivery bits", MemoryUsage::sizeOfHugeAtomicBitset);
+            builder.perThread("lock stripes", AsyncMessenger::memoryUsageOfLocks);
+        } else {
+            builder.perNode("receive array", HugeAtomicDoubleArray::memoryEstimation);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void initIteration(int iteration) {
+        if (isAsynchronous || iteration == 0) {
+            return;
+        }
+        // swap arrays and reset the array that receives
+        // the messages of the upcoming superstep
+        var tmp = receiveArray;
+        receiveArray = sendArray;
+        sendArray = tmp;
+
+        var identity = reducer.identity();
+        var resetArray = sendArray;
+        ParallelUtil.parallelStreamConsume(
+            LongStream.range(0, nodeCount),
+            concurrency,
+            nodeIds -> nodeIds.forEach(nodeId -> resetArray.set(nodeId, identity))
+        );
+    }
+
+    @Override
+    public Sender sender() {
+        return this;
+    }
+
+    @Override
+    public SingleMessageIterator messageIterator() {
+        return new SingleMessageIterator();
+    }
+
+    @Override
+    public void initMessageIterator(SingleMessageIterator messageIterator, long nodeId, boolean hasMessages) {
+        if (!hasMessages) {
+            messageIterator.init(Double.NaN, false);
+        } else if (isAsynchronous) {
+            // the reduced value might have been taken already
+            // in the superstep in which it was sent
+            synchronized (lock(nodeId)) {
+                if (deliveryBits.get(nodeId)) {
+                    messageIterator.init(sendArray.get(nodeId), true);
+                    sendArray.set(nodeId, reducer.identity());
+                    deliveryBits.clear(nodeId);
+                } else {
+                    messageIterator.init(Double.NaN, false);
+                }
+            }
+        } else {
+            messageIterator.init(receiveArray.get(nodeId), true);
+        }
+    }
+
+    @Override
+    public void release() {
+        tracker.remove(sendArray.release());
+        if (isAsynchronous) {
+            tracker.remove(deliveryBits.release());
+        } else {
+            tracker.remove(receiveArray.release());
+        }
+    }
+
+    @Override
+    public void sendTo(long targetNodeId, double[] message) {
+        // a reducer requires a message width of 1, which has been validated by the context
+        assert message.length == 1;
+        sendTo(targetNodeId, message[0]);
+    }
+
+    @Override
+    public void sendTo(long targetNodeId, double message) {
+        if (isAsynchronous) {
+            synchronized (lock(targetNodeId)) {
+                sendArray.set(targetNodeId, reducer.reduce(sendArray.get(targetNodeId), message));
+                deliveryBits.set(targetNodeId);
+            }
+            return;
+        }
+        var array = sendArray;
+        var current = array.get(targetNodeId);
+        while (true) {
+            var reduced = reducer.reduce(current, message);
+            var witness = array.compareAndExchange(targetNodeId, current, reduced);
+            if (Double.compare(witness, current) == 0) {
+                break;
+            }
+            current = witness;
+        }
+    }
+
+    private Object lock(long nodeId) {
+        return locks[(int) (nodeId & lockMask)];
+    }
+
+    static final class SingleMessageIterator extends Pregel.MessageIterator {
+
+        private double message;
+        private boolean hasNext;
+
+        void init(double message, boolean hasNext) {
+            this.message = message;
+            this.hasNext = hasNext;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public double nextDouble() {
+            hasNext = false;
+            return message;
+        }
+    }
+}
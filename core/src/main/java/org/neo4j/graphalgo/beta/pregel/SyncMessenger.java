@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.PageUtil;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+
+/**
+ * A messenger that implements the bulk-synchronous message passing model,
+ * i.e. messages sent in superstep {@code i} are received in superstep {@code i + 1}.
+ * <p>
+ * During a superstep, each compute step writes its messages into its own
+ * {@link Outbox}, which stores target ids and message values in primitive
+ * pages. At the synchronization barrier, all outboxes are compacted into a
+ * single CSR-shaped message array in which the messages of a node occupy a
+ * consecutive range. Pages and message array are re-used across supersteps,
+ * so sending a message neither boxes the value nor allocates an object.
+ * <p>
+ * Every message consists of a fixed number of values, the message width.
+ * The values of a single message are always stored consecutively.
+ */
+final class SyncMessenger implements Messenger<SyncMessenger.ArrayIterator> {
+
+    private final int concurrency;
+    private final int messageWidth;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+    private final List<Partition> partitions;
+    private final List<Outbox> outboxes;
+
+    // After the synchronization barrier, the value at index i
+    // is the exclusive end offset of the messages for node i.
+    // The start offset is the end offset of node i - 1.
+    private final HugeAtomicLongArray messageOffsets;
+    private HugeDoubleArray messages;
+
+    SyncMessenger(
+        long nodeCount,
+        int concurrency,
+        int messageWidth,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this.concurrency = concurrency;
+        this.messageWidth = messageWidth;
+        this.executor = executor;
+        this.tracker = tracker;
+        this.partitions = PartitionUtils.rangePartition(concurrency, nodeCount);
+        this.outboxes = new ArrayList<>(concurrency);
+        this.messageOffsets = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        this.messages = HugeDoubleArray.newArray(0, tracker);
+    }
+
+    /**
+     * The estimation assumes that a node sends at most one message to each
+     * of its neighbours per superstep, i.e. at most {@code relationshipCount}
+     * messages are in flight.
+     */
+    static MemoryEstimation memoryEstimation(int messageWidth) {
+        return MemoryEstimations.builder(SyncMessenger.class)
+            .perNode("message offsets", HugeAtomicLongArray::memoryEstimation)
+            .perGraphDimension("message array", (dimensions, concurrency) ->
+                MemoryRange.of(HugeDoubleArray.memoryEstimation(dimensions.maxRelCount() * messageWidth))
+            )
+            .perThread("outbox", MemoryEstimations.of(Outbox.class))
+            .perGraphDimension("outbox pages", (dimensions, concurrency) -> {
+                long messagesPerThread = BitUtil.ceilDiv(dimensions.maxRelCount(), concurrency);
+                return MemoryRange.of(concurrency * Outbox.memoryEstimation(messagesPerThread, messageWidth));
+            })
+            .build();
+    }
+
+    @Override
+    public void initIteration(int iteration) {
+        if (iteration > 0) {
+            compactOutboxes();
+        }
+    }
+
+    @Override
+    public Sender sender() {
+        var outbox = new Outbox(messageWidth, tracker);
+        outboxes.add(outbox);
+        return outbox;
+    }
+
+    @Override
+    public ArrayIterator messageIterator() {
+        return new ArrayIterator();
+    }
+
+    @Override
+    public void initMessageIterator(ArrayIterator messageIterator, long nodeId, boolean hasMessages) {
+        if (hasMessages) {
+            long start = nodeId == 0 ? 0L : messageOffsets.get(nodeId - 1);
+            long end = messageOffsets.get(nodeId);
+            messageIterator.init(messages, start * messageWidth, end * messageWidth);
+        } else {
+            messageIterator.init(messages, 0L, 0L);
+        }
+    }
+
+    @Override
+    public void release() {
+        tracker.remove(messageOffsets.release());
+        tracker.remove(messages.release());
+        outboxes.forEach(Outbox::release);
+    }
+
+    private void compactOutboxes() {
+        // count the messages per receiving node
+        messageOffsets.setAll(0L);
+        runForEachOutbox(outbox -> () -> outbox.countMessages(messageOffsets));
+
+        long messageCount = computeStartOffsets();
+        long valueCount = messageCount * messageWidth;
+        if (messages.size() < valueCount) {
+            tracker.remove(messages.release());
+            messages = HugeDoubleArray.newArray(valueCount, tracker);
+        }
+
+        // write each message into the range of its receiver, which
+        // moves the offset of each node from the start to the end
+        // of its range
+        runForEachOutbox(outbox -> () -> outbox.scatterMessages(messageOffsets, messages));
+
+        outboxes.forEach(Outbox::clear);
+    }
+
+    /**
+     * Replaces the message count of each node with the start offset
+     * of its range in the message array (exclusive prefix sum).
+     *
+     * @return the total number of messages
+     */
+    private long computeStartOffsets() {
+        var partitionOffsets = new long[partitions.size()];
+
+        ParallelUtil.runWithConcurrency(
+            concurrency,
+            ParallelUtil.tasks(partitions.size(), index -> () -> {
+                var partition = partitions.get(index);
+                long end = partition.startNode() + partition.nodeCount();
+                long count = 0L;
+                for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+                    count += messageOffsets.get(nodeId);
+                }
+                partitionOffsets[index] = count;
+            }),
+            executor
+        );
+
+        long messageCount = 0L;
+        for (int index = 0; index < partitionOffsets.length; index++) {
+            long count = partitionOffsets[index];
+            partitionOffsets[index] = messageCount;
+            messageCount += count;
+        }
+
+        ParallelUtil.runWithConcurrency(
+            concurrency,
+            ParallelUtil.tasks(partitions.size(), index -> () -> {
+                var partition = partitions.get(index);
+                long end = partition.startNode() + partition.nodeCount();
+                long offset = partitionOffsets[index];
+                for (long nodeId = partition.startNode(); nodeId < end; nodeId++) {
+                    long count = messageOffsets.get(nodeId);
+                    messageOffsets.set(nodeId, offset);
+                    offset += count;
+                }
+            }),
+            executor
+        );
+
+        return messageCount;
+    }
+
+    private void runForEachOutbox(Function<Outbox, Runnable> task) {
+        ParallelUtil.runWithConcurrency(
+            concurrency,
+            outboxes.stream().map(task).collect(Collectors.toList()),
+            executor
+        );
+    }
+
+    /**
+     * A thread-local, append-only buffer of (target, message) pairs.
+     * The buffer grows in fixed-size pages which are kept when the
+     * buffer is cleared, so that subsequent supersteps do not need
+     * to allocate new pages. A message page holds {@code messageWidth}
+     * values for each target in the corresponding target page.
+     */
+    static final class Outbox implements Sender {
+
+        private static final int PAGE_SIZE = PageUtil.pageSizeFor(Long.BYTES);
+        private static final int PAGE_SHIFT = Integer.numberOfTrailingZeros(PAGE_SIZE);
+        private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+        private final int messageWidth;
+        private final AllocationTracker tracker;
+
+        private long[][] targetPages;
+        private double[][] messagePages;
+        private long size;
+        private long capacity;
+
+        static long memoryEstimation(long messageCount, int messageWidth) {
+            int numPages = PageUtil.numPagesFor(messageCount, PAGE_SHIFT, PAGE_MASK);
+            return 2 * sizeOfObjectArray(numPages) + numPages * pageSize(messageWidth);
+        }
+
+        private static long pageSize(int messageWidth) {
+            return sizeOfLongArray(PAGE_SIZE) + sizeOfDoubleArray((long) PAGE_SIZE * messageWidth);
+        }
+
+        Outbox(int messageWidth, AllocationTracker tracker) {
+            this.messageWidth = messageWidth;
+            this.tracker = tracker;
+            this.targetPages = new long[0][];
+            this.messagePages = new double[0][];
+        }
+
+        @Override
+        public void sendTo(long targetNodeId, double message) {
+            if (size == capacity) {
+                addPage();
+            }
+            int pageIndex = PageUtil.pageIndex(size, PAGE_SHIFT);
+            int indexInPage = PageUtil.indexInPage(size, PAGE_MASK);
+            targetPages[pageIndex][indexInPage] = targetNodeId;
+            messagePages[pageIndex][indexInPage] = message;
+            size++;
+        }
+
+        @Override
+        public void sendTo(long targetNodeId, double[] message) {
+            if (size == capacity) {
+                addPage();
+            }
+            int pageIndex = PageUtil.pageIndex(size, PAGE_SHIFT);
+            int indexInPage = PageUtil.indexInPage(size, PAGE_MASK);
+            targetPages[pageIndex][indexInPage] = targetNodeId;
+            System.arraycopy(message, 0, messagePages[pageIndex], indexInPage * messageWidth, messageWidth);
+            size++;
+        }
+
+        long size() {
+            return size;
+        }
+
+        void countMessages(HugeAtomicLongArray messageCounts) {
+            long remaining = size;
+            for (int pageIndex = 0; remaining > 0; pageIndex++) {
+                long[] targets = targetPages[pageIndex];
+                int length = (int) Math.min(remaining, PAGE_SIZE);
+                for (int i = 0; i < length; i++) {
+                    messageCounts.getAndAdd(targets[i], 1L);
+                }
+                remaining -= length;
+            }
+        }
+
+        void scatterMessages(HugeAtomicLongArray messageOffsets, HugeDoubleArray messageArray) {
+            long remaining = size;
+            for (int pageIndex = 0; remaining > 0; pageIndex++) {
+                long[] targets = targetPages[pageIndex];
+                double[] messages = messagePages[pageIndex];
+                int length = (int) Math.min(remaining, PAGE_SIZE);
+                if (messageWidth == 1) {
+                    for (int i = 0; i < length; i++) {
+                        long index = messageOffsets.getAndAdd(targets[i], 1L);
+                        messageArray.set(index, messages[i]);
+                    }
+                } else {
+                    for (int i = 0; i < length; i++) {
+                        long index = messageOffsets.getAndAdd(targets[i], 1L) * messageWidth;
+                        int offset = i * messageWidth;
+                        for (int j = 0; j < messageWidth; j++) {
+                            messageArray.set(index + j, messages[offset + j]);
+                        }
+                    }
+                }
+                remaining -= length;
+            }
+        }
+
+        void clear() {
+            size = 0L;
+        }
+
+        void release() {
+            tracker.remove(targetPages.length * pageSize(messageWidth));
+            targetPages = null;
+            messagePages = null;
+            size = 0L;
+            capacity = 0L;
+        }
+
+        private void addPage() {
+            int numPages = targetPages.length;
+            targetPages = Arrays.copyOf(targetPages, numPages + 1);
+            messagePages = Arrays.copyOf(messagePages, numPages + 1);
+            targetPages[numPages] = new long[PAGE_SIZE];
+            messagePages[numPages] = new double[PAGE_SIZE * messageWidth];
+            tracker.add(pageSize(messageWidth));
+            capacity += PAGE_SIZE;
+        }
+    }
+
+    static final class ArrayIterator extends Pregel.MessageIterator {
+
+        private HugeDoubleArray messages;
+        private long offset;
+        private long end;
+
+        void init(HugeDoubleArray messages, long start, long end) {
+            this.messages = messages;
+            this.offset = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return offset < end;
+        }
+
+        @Override
+        public double nextDouble() {
+            return messages.get(offset++);
+        }
+    }
+}
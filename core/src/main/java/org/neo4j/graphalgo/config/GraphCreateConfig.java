@@ -23,6 +23,7 @@ import org.immutables.value.Value;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.api.GraphStoreFactory;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.NodeOrdering;
 import org.neo4j.graphalgo.core.utils.TimeUtil;
 
 import java.time.ZonedDateTime;
@@ -38,6 +39,7 @@ public interface GraphCreateConfig extends BaseConfig {
     String NODE_COUNT_KEY = "nodeCount";
     String RELATIONSHIP_COUNT_KEY = "relationshipCount";
     String READ_CONCURRENCY_KEY = "readConcurrency";
+    String NODE_ORDERING_KEY = "nodeOrdering";
 
     @Configuration.Parameter
     String graphName();
@@ -81,6 +83,17 @@ public interface GraphCreateConfig extends BaseConfig {
         return false;
     }
 
+    /**
+     * Relabels the nodes after loading, see {@link NodeOrdering}.
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    @Configuration.Key(NODE_ORDERING_KEY)
+    @Configuration.ConvertWith("org.neo4j.graphalgo.core.NodeOrdering#parse")
+    default NodeOrdering nodeOrdering() {
+        return NodeOrdering.NONE;
+    }
+
     @Configuration.Ignore
     GraphStoreFactory.Supplier graphStoreFactory();
 
@@ -53,6 +53,9 @@ public interface GraphCreateFromCypherConfig extends GraphCreateConfig {
     String ALL_NODES_QUERY = "MATCH (n) RETURN id(n) AS id";
     String ALL_RELATIONSHIPS_QUERY = "MATCH (a)-->(b) RETURN id(a) AS source, id(b) AS target";
     String ALL_RELATIONSHIPS_UNDIRECTED_QUERY = "MATCH (a)--(b) RETURN id(a) AS source, id(b) AS target";
+    String SKIP_PARAMETER = "skip";
+    String LIMIT_PARAMETER = "limit";
+    int DEFAULT_QUERY_BATCH_SIZE = 100_000;
 
     @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
     String nodeQuery();
@@ -65,6 +68,18 @@ public interface GraphCreateFromCypherConfig extends GraphCreateConfig {
         return Collections.emptyMap();
     }
 
+    /**
+     * If the relationship query declares the {@code $skip} and {@code $limit}
+     * parameters, it is executed in batches of this size. Up to
+     * {@link #readConcurrency()} batches are loaded in parallel.
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    @Configuration.IntegerRange(min = 1)
+    default int queryBatchSize() {
+        return DEFAULT_QUERY_BATCH_SIZE;
+    }
+
     @Override
     @Value.Default
     @Value.Parameter(false)
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Defines how internal node ids are assigned after a graph has been projected.
+ * Any ordering other than {@link #NONE} relabels the nodes and rebuilds the
+ * adjacency lists in the new id order, which keeps neighbouring nodes close
+ * to each other in memory and results in smaller deltas between target ids.
+ */
+public enum NodeOrdering {
+    /**
+     * Keep the ids in the order in which the nodes have been scanned.
+     */
+    NONE,
+    /**
+     * Assign ids by descending degree, summed over all relationship types.
+     * High degree nodes, which are accessed most frequently, end up in a dense
+     * prefix of the id space.
+     */
+    DEGREE,
+    /**
+     * Assign ids in breadth-first visiting order, starting a new traversal
+     * from the lowest unvisited id whenever a traversal runs out of nodes.
+     */
+    BFS;
+
+    public static NodeOrdering of(String value) {
+        try {
+            return NodeOrdering.valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            String availableOrderings = Arrays
+                .stream(NodeOrdering.values())
+                .map(NodeOrdering::name)
+                .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(formatWithLocale(
+                "Node ordering `%s` is not supported. Must be one of: %s.",
+                value,
+                availableOrderings
+            ));
+        }
+    }
+
+    public static NodeOrdering parse(Object object) {
+        if (object == null) {
+            return null;
+        }
+        if (object instanceof String) {
+            return of((String) object);
+        }
+        if (object instanceof NodeOrdering) {
+            return (NodeOrdering) object;
+        }
+        throw new IllegalArgumentException(formatWithLocale(
+            "Expected NodeOrdering or String. Got %s.",
+            object.getClass().getSimpleName()
+        ));
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.core.loading.DoubleCodec;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.utils.GdsFeatureToggles;
+
+import static org.neo4j.graphalgo.core.huge.AdjacencyDecompressingReader.readInt;
+import static org.neo4j.graphalgo.core.huge.AdjacencyDecompressingReader.readLong;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_MASK;
+import static org.neo4j.graphalgo.core.huge.TransientAdjacencyList.PAGE_SHIFT;
+import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfIntArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.indexInPage;
+import static org.neo4j.graphalgo.core.utils.paged.PageUtil.pageIndex;
+
+/**
+ * A skip index over the compressed adjacency lists of high-degree nodes.
+ * <p>
+ * The targets of an adjacency list are sorted and delta-encoded, so finding a single target
+ * requires decoding all targets before it. For every block of {@link #BLOCK_SIZE} targets,
+ * the index stores the first target, the last target of the previous block (the base of the delta encoding)
+ * and the byte offset of the block. This allows to binary search the blocks and decode at most a single block
+ * to find a target by value or by position.
+ * Once the position of a target is known, the offset of its property value can be computed directly.
+ * <p>
+ * The index for a node is built lazily on the first lookup and only for nodes with a degree of at least
+ * {@code degreeThreshold}. For all other nodes, a linear scan is cheap enough.
+ * Building the index for a node is not synchronized, concurrent lookups might build it more than once,
+ * but only the first published index is kept and tracked.
+ */
+final class AdjacencySkipIndex {
+
+    static final int BLOCK_SIZE = AdjacencyDecompressingReader.CHUNK_SIZE;
+    static final long NOT_FOUND = -1L;
+
+    private final TransientAdjacencyList adjacencyList;
+    private final TransientAdjacencyOffsets adjacencyOffsets;
+    private final @Nullable TransientAdjacencyList properties;
+    private final @Nullable TransientAdjacencyOffsets propertyOffsets;
+    private final @Nullable DoubleCodec propertyCodec;
+    private final long nodeCount;
+    private final int degreeThreshold;
+    private final AllocationTracker tracker;
+
+    private volatile HugeObjectArray<NodeIndex> nodeIndices;
+
+    AdjacencySkipIndex(
+        TransientAdjacencyList adjacencyList,
+        TransientAdjacencyOffsets adjacencyOffsets,
+        @Nullable TransientAdjacencyList properties,
+        @Nullable TransientAdjacencyOffsets propertyOffsets,
+        long nodeCount,
+        int degreeThreshold,
+        AllocationTracker tracker
+    ) {
+        this.adjacencyList = adjacencyList;
+        this.adjacencyOffsets = adjacencyOffsets;
+        this.properties = properties;
+        this.propertyOffsets = propertyOffsets;
+        this.propertyCodec = properties == null ? null : properties.propertyCodec().orElse(null);
+        this.nodeCount = nodeCount;
+        this.degreeThreshold = degreeThreshold;
+        this.tracker = tracker;
+    }
+
+    /**
+     * Whether lookups for a node with the given degree should go through the index.
+     */
+    boolean shouldIndex(int degree) {
+        return degree >= degreeThreshold && degree > BLOCK_SIZE;
+    }
+
+    /**
+     * Returns the position of the first relationship to {@code targetId} or {@link #NOT_FOUND}.
+     */
+    long position(long nodeId, long targetId) {
+        NodeIndex index = nodeIndex(nodeId);
+        int block = index.lastBlockBefore(targetId);
+        byte[] page = index.page;
+        int offset = index.blockOffsets[block];
+        long value = index.blockBases[block];
+        int limit = index.blockLength(block);
+        for (int i = 0; i < limit; i++) {
+            long input;
+            int shift = 0;
+            do {
+                input = page[offset++];
+                value += (input & 127L) << shift;
+                shift += 7;
+            } while ((input & 128L) == 0L);
+            if (value >= targetId) {
+                return value == targetId ? (long) block * BLOCK_SIZE + i : NOT_FOUND;
+            }
+        }
+        // all values in the block are smaller, the target can only be the first value of the next block
+        int nextBlock = block + 1;
+        if (nextBlock < index.blockFirstTargets.length && index.blockFirstTargets[nextBlock] == targetId) {
+            return (long) nextBlock * BLOCK_SIZE;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Returns the target at the given position of the adjacency list or {@link #NOT_FOUND}.
+     */
+    long target(long nodeId, long position) {
+        NodeIndex index = nodeIndex(nodeId);
+        if (position < 0 || position >= index.degree) {
+            return NOT_FOUND;
+        }
+        int block = (int) (position / BLOCK_SIZE);
+        int positionInBlock = (int) (position % BLOCK_SIZE);
+        if (positionInBlock == 0) {
+            return index.blockFirstTargets[block];
+        }
+        byte[] page = index.page;
+        int offset = index.blockOffsets[block];
+        long value = index.blockBases[block];
+        for (int i = 0; i <= positionInBlock; i++) {
+            long input;
+            int shift = 0;
+            do {
+                input = page[offset++];
+                value += (input & 127L) << shift;
+                shift += 7;
+            } while ((input & 128L) == 0L);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the property value of the relationship at the given position as raw double bits.
+     */
+    long propertyBits(long nodeId, long position) {
+        NodeIndex index = nodeIndex(nodeId);
+        if (propertyCodec == null) {
+            return readLong(index.propertyPage, index.propertyOffset + (int) (position * Long.BYTES));
+        }
+        int block = (int) (position / BLOCK_SIZE);
+        int positionInBlock = (int) (position % BLOCK_SIZE);
+        byte[] page = index.propertyPage;
+        int offset = index.propertyBlockOffsets[block];
+        for (int i = 0; i < positionInBlock; i++) {
+            offset += propertyCodec.compressedSize(page, offset);
+        }
+        return Double.doubleToRawLongBits(propertyCodec.decompressDouble(page, offset));
+    }
+
+    /**
+     * Estimates the worst case, in which every node that is allowed to have an index has been looked up.
+     * Since the total degree is bounded by the relationship count, at most
+     * {@code relationshipCount / minIndexedDegree} nodes can have an index.
+     */
+    static MemoryEstimation memoryEstimation(RelationshipType relationshipType, boolean undirected) {
+        return MemoryEstimations.builder().perGraphDimension("adjacency skip index", (dimensions, concurrency) -> {
+            long nodeCount = dimensions.nodeCount();
+            long relCountForType = dimensions.relationshipCounts().getOrDefault(relationshipType, dimensions.maxRelCount());
+            long relCount = undirected ? relCountForType * 2 : relCountForType;
+
+            int minIndexedDegree = Math.max(
+                GdsFeatureToggles.ADJACENCY_SKIP_INDEX_DEGREE_THRESHOLD.get(),
+                BLOCK_SIZE + 1
+            );
+            long maxIndexedNodes = relCount / minIndexedDegree;
+            if (maxIndexedNodes == 0) {
+                return MemoryRange.empty();
+            }
+            long maxBlocks = ceilDiv(relCount, BLOCK_SIZE) + maxIndexedNodes;
+            long nodeIndices = HugeObjectArray
+                .memoryEstimation(0L)
+                .estimate(dimensions, concurrency)
+                .memoryUsage()
+                .max;
+            long maxIndexSize = maxIndexedNodes * NodeIndex.FIXED_SIZE + maxBlocks * NodeIndex.BYTES_PER_BLOCK;
+            return MemoryRange.of(0L, nodeIndices + maxIndexSize);
+        }).build();
+    }
+
+    void release() {
+        HugeObjectArray<NodeIndex> indices = this.nodeIndices;
+        if (indices != null) {
+            long indexSize = 0L;
+            for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                NodeIndex index = indices.get(nodeId);
+                if (index != null) {
+                    indexSize += index.sizeOf();
+                }
+            }
+            tracker.remove(indexSize);
+            tracker.remove(indices.release());
+            this.nodeIndices = null;
+        }
+    }
+
+    private NodeIndex nodeIndex(long nodeId) {
+        HugeObjectArray<NodeIndex> indices = this.nodeIndices;
+        if (indices == null) {
+            synchronized (this) {
+                indices = this.nodeIndices;
+                if (indices == null) {
+                    indices = HugeObjectArray.newArray(NodeIndex.class, nodeCount, tracker);
+                    this.nodeIndices = indices;
+                }
+            }
+        }
+        NodeIndex index = indices.get(nodeId);
+        if (index == null) {
+            NodeIndex newIndex = buildIndex(nodeId);
+            synchronized (this) {
+                index = indices.get(nodeId);
+                if (index == null) {
+                    index = newIndex;
+                    indices.set(nodeId, index);
+                    tracker.add(index.sizeOf());
+                }
+            }
+        }
+        return index;
+    }
+
+    private NodeIndex buildIndex(long nodeId) {
+        long adjacencyOffset = adjacencyOffsets.get(nodeId);
+        byte[] page = adjacencyList.pages()[pageIndex(adjacencyOffset, PAGE_SHIFT)];
+        int offset = indexInPage(adjacencyOffset, PAGE_MASK);
+        int degree = readInt(page, offset);
+        offset += Integer.BYTES;
+
+        int blockCount = (degree + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        long[] blockFirstTargets = new long[blockCount];
+        long[] blockBases = new long[blockCount];
+        int[] blockOffsets = new int[blockCount];
+
+        long[] buffer = new long[BLOCK_SIZE];
+        long base = 0L;
+        for (int block = 0; block < blockCount; block++) {
+            int length = Math.min(BLOCK_SIZE, degree - block * BLOCK_SIZE);
+            blockOffsets[block] = offset;
+            blockBases[block] = base;
+            offset = VarLongDecoding.decodeDeltaVLongs(base, page, offset, length, buffer);
+            blockFirstTargets[block] = buffer[0];
+            base = buffer[length - 1];
+        }
+
+        byte[] propertyPage = null;
+        int propertyOffset = 0;
+        int[] propertyBlockOffsets = null;
+        if (properties != null && propertyOffsets != null) {
+            long address = propertyOffsets.get(nodeId);
+            propertyPage = properties.pages()[pageIndex(address, PAGE_SHIFT)];
+            propertyOffset = indexInPage(address, PAGE_MASK) + Integer.BYTES;
+            if (propertyCodec != null) {
+                propertyBlockOffsets = new int[blockCount];
+                int propertyPosition = propertyOffset;
+                for (int i = 0; i < degree; i++) {
+                    if (i % BLOCK_SIZE == 0) {
+                        propertyBlockOffsets[i / BLOCK_SIZE] = propertyPosition;
+                    }
+                    propertyPosition += propertyCodec.compressedSize(propertyPage, propertyPosition);
+                }
+            }
+        }
+
+        return new NodeIndex(
+            degree,
+            page,
+            blockFirstTargets,
+            blockBases,
+            blockOffsets,
+            propertyPage,
+            propertyOffset,
+            propertyBlockOffsets
+        );
+    }
+
+    private static final class NodeIndex {
+        // the instance and the array headers, the property block offsets are counted as if they were always present
+        private static final long FIXED_SIZE =
+            sizeOfInstance(NodeIndex.class) + 2 * sizeOfLongArray(0) + 2 * sizeOfIntArray(0);
+        // first target, base, adjacency offset and property offset of a block
+        private static final long BYTES_PER_BLOCK = 2 * Long.BYTES + 2 * Integer.BYTES;
+
+        private final int degree;
+        private final byte[] page;
+        private final long[] blockFirstTargets;
+        private final long[] blockBases;
+        private final int[] blockOffsets;
+        private final byte[] propertyPage;
+        private final int propertyOffset;
+        private final int[] propertyBlockOffsets;
+
+        private NodeIndex(
+            int degree,
+            byte[] page,
+            long[] blockFirstTargets,
+            long[] blockBases,
+            int[] blockOffsets,
+            byte[] propertyPage,
+            int propertyOffset,
+            int[] propertyBlockOffsets
+        ) {
+            this.degree = degree;
+            this.page = page;
+            this.blockFirstTargets = blockFirstTargets;
+            this.blockBases = blockBases;
+            this.blockOffsets = blockOffsets;
+            this.propertyPage = propertyPage;
+            this.propertyOffset = propertyOffset;
+            this.propertyBlockOffsets = propertyBlockOffsets;
+        }
+
+        long sizeOf() {
+            return sizeOfInstance(NodeIndex.class) +
+                   sizeOfLongArray(blockFirstTargets.length) +
+                   sizeOfLongArray(blockBases.length) +
+                   sizeOfIntArray(blockOffsets.length) +
+                   (propertyBlockOffsets == null ? 0L : sizeOfIntArray(propertyBlockOffsets.length));
+        }
+
+        int blockLength(int block) {
+            return Math.min(BLOCK_SIZE, degree - block * BLOCK_SIZE);
+        }
+
+        /**
+         * Returns the last block whose first target is strictly smaller than {@code targetId}, or 0.
+         * Parallel relationships might span multiple blocks, so the first occurrence
+         * can be at the end of a block whose successor starts with the same target.
+         */
+        int lastBlockBefore(long targetId) {
+            int low = 0;
+            int high = blockFirstTargets.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (blockFirstTargets[mid] < targetId) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return Math.max(0, high);
+        }
+    }
+}
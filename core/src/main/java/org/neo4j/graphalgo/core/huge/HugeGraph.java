@@ -35,6 +35,7 @@ import org.neo4j.graphalgo.core.loading.IdMap;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.graphalgo.core.utils.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.utils.GdsFeatureToggles;
 
 import java.util.Collection;
 import java.util.Map;
@@ -104,6 +105,7 @@ public class HugeGraph implements CSRGraph {
 
     private DecompressingCursor emptyCursor;
     private DecompressingCursor cursorCache;
+    private AdjacencySkipIndex skipIndex;
 
     private boolean canRelease = true;
 
@@ -149,6 +151,48 @@ public class HugeGraph implements CSRGraph {
         Orientation orientation,
         boolean isMultiGraph,
         AllocationTracker tracker
+    ) {
+        this(
+            idMapping,
+            schema,
+            nodeProperties,
+            relationshipCount,
+            adjacencyList,
+            adjacencyOffsets,
+            hasRelationshipProperty,
+            defaultPropertyValue,
+            properties,
+            propertyOffsets,
+            orientation,
+            isMultiGraph,
+            new AdjacencySkipIndex(
+                adjacencyList,
+                adjacencyOffsets,
+                properties,
+                propertyOffsets,
+                idMapping.nodeCount(),
+                GdsFeatureToggles.ADJACENCY_SKIP_INDEX_DEGREE_THRESHOLD.get(),
+                tracker
+            ),
+            tracker
+        );
+    }
+
+    private HugeGraph(
+        IdMap idMapping,
+        GraphSchema schema,
+        Map<String, NodeProperties> nodeProperties,
+        long relationshipCount,
+        TransientAdjacencyList adjacencyList,
+        TransientAdjacencyOffsets adjacencyOffsets,
+        boolean hasRelationshipProperty,
+        double defaultPropertyValue,
+        @Nullable TransientAdjacencyList properties,
+        @Nullable TransientAdjacencyOffsets propertyOffsets,
+        Orientation orientation,
+        boolean isMultiGraph,
+        AdjacencySkipIndex skipIndex,
+        AllocationTracker tracker
     ) {
         this.idMapping = idMapping;
         this.schema = schema;
@@ -163,6 +207,7 @@ public class HugeGraph implements CSRGraph {
         this.propertyOffsets = propertyOffsets;
         this.orientation = orientation;
         this.hasRelationshipProperty = hasRelationshipProperty;
+        this.skipIndex = skipIndex;
         this.cursorCache = newAdjacencyCursor(this.adjacencyList);
         this.emptyCursor = newAdjacencyCursor(this.adjacencyList);
     }
@@ -236,8 +281,14 @@ public class HugeGraph implements CSRGraph {
         if (relOffset == NO_SUCH_NODE) {
             return NO_PROPERTY_VALUE;
         }
-        long propertyOffset = propertyOffsets.get(fromId);
+        if (skipIndex.shouldIndex(adjacencyList.degree(relOffset))) {
+            long position = skipIndex.position(fromId, toId);
+            return position == AdjacencySkipIndex.NOT_FOUND
+                ? NO_PROPERTY_VALUE
+                : Double.longBitsToDouble(skipIndex.propertyBits(fromId, position));
+        }
 
+        long propertyOffset = propertyOffsets.get(fromId);
         DecompressingCursor relDecompressingCursor = adjacencyList.decompressingCursor(relOffset);
         Cursor propertyCursor = properties.cursor(propertyOffset);
 
@@ -335,6 +386,7 @@ public class HugeGraph implements CSRGraph {
             propertyOffsets,
             orientation,
             isMultiGraph,
+            skipIndex,
             tracker
         );
     }
@@ -345,20 +397,26 @@ public class HugeGraph implements CSRGraph {
     }
 
     /**
-     * O(n) !
+     * O(n) for low-degree nodes, O(log n) for nodes that are covered by the {@link AdjacencySkipIndex}.
      */
     @Override
     public boolean exists(long sourceNodeId, long targetNodeId) {
+        if (skipIndex.shouldIndex(degree(sourceNodeId))) {
+            return skipIndex.position(sourceNodeId, targetNodeId) != AdjacencySkipIndex.NOT_FOUND;
+        }
         ExistsConsumer consumer = new ExistsConsumer(targetNodeId);
         runForEach(sourceNodeId, consumer);
         return consumer.found;
     }
 
     /*
-     * O(n) !
+     * O(n) for low-degree nodes, O(1) for nodes that are covered by the {@link AdjacencySkipIndex}.
      */
     @Override
     public long getTarget(long sourceNodeId, long index) {
+        if (skipIndex.shouldIndex(degree(sourceNodeId))) {
+            return skipIndex.target(sourceNodeId, index);
+        }
         GetTargetConsumer consumer = new GetTargetConsumer(index);
         runForEach(sourceNodeId, consumer);
         return consumer.target;
@@ -426,6 +484,7 @@ public class HugeGraph implements CSRGraph {
                 propertyOffsets.close();
                 propertyOffsets = null;
             }
+            skipIndex.release();
         }
         emptyCursor = null;
         cursorCache = null;
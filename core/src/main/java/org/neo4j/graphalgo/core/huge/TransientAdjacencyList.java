@@ -19,10 +19,13 @@
  */
 package org.neo4j.graphalgo.core.huge;
 
+import org.apache.commons.lang3.mutable.MutableDouble;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.api.AdjacencyCursor;
 import org.neo4j.graphalgo.api.AdjacencyList;
 import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.core.loading.DoubleCodec;
 import org.neo4j.graphalgo.core.loading.MutableIntValue;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
@@ -30,6 +33,8 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.PageUtil;
 
+import java.util.Optional;
+
 import static org.neo4j.graphalgo.RelationshipType.ALL_RELATIONSHIPS;
 import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodedVLongSize;
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
@@ -42,7 +47,14 @@ public final class TransientAdjacencyList implements AdjacencyList {
     public static final int PAGE_SIZE = 1 << PAGE_SHIFT;
     public static final long PAGE_MASK = PAGE_SIZE - 1;
 
+    /**
+     * The maximum number of bytes a compressed property value takes,
+     * see {@link org.neo4j.graphalgo.core.loading.TrailingZerosDoubleCodec}.
+     */
+    public static final int MAX_COMPRESSED_PROPERTY_SIZE = 1 + Long.BYTES;
+
     private final long allocatedMemory;
+    private final @Nullable DoubleCodec propertyCodec;
     private byte[][] pages;
 
     public static MemoryEstimation compressedMemoryEstimation(long avgDegree, long nodeCount) {
@@ -110,6 +122,13 @@ public final class TransientAdjacencyList implements AdjacencyList {
             .build();
     }
 
+    /**
+     * Estimates the {@link AdjacencySkipIndex} that graphs over this list build lazily for high-degree nodes.
+     */
+    public static MemoryEstimation skipIndexMemoryEstimation(RelationshipType relationshipType, boolean undirected) {
+        return AdjacencySkipIndex.memoryEstimation(relationshipType, undirected);
+    }
+
     /* test private */
     static long computeAdjacencyByteSize(long avgDegree, long nodeCount, long delta) {
         long firstAdjacencyIdAvgByteSize = (avgDegree > 0) ? ceilDiv(encodedVLongSize(nodeCount), 2) : 0L;
@@ -119,11 +138,66 @@ public final class TransientAdjacencyList implements AdjacencyList {
         return (degreeByteSize + firstAdjacencyIdAvgByteSize + compressedAdjacencyByteSize) * nodeCount;
     }
 
+    /**
+     * Estimates the pages for a property list that is compressed with a {@link DoubleCodec}.
+     * The best case is a single byte per value, e.g. for {@code 0.0},
+     * the worst case is {@link #MAX_COMPRESSED_PROPERTY_SIZE} bytes per value.
+     */
+    public static MemoryEstimation compressedPropertiesMemoryEstimation(
+        RelationshipType relationshipType,
+        boolean undirected
+    ) {
+        return MemoryEstimations
+            .builder(TransientAdjacencyList.class)
+            .perGraphDimension("pages", (dimensions, concurrency) -> {
+                long nodeCount = dimensions.nodeCount();
+                long relCountForType = dimensions.relationshipCounts().getOrDefault(relationshipType, dimensions.maxRelCount());
+                long relCount = undirected ? relCountForType * 2 : relCountForType;
+
+                long bestCaseSize = relCount + nodeCount * Integer.BYTES;
+                long worstCaseSize = relCount * MAX_COMPRESSED_PROPERTY_SIZE + nodeCount * Integer.BYTES;
+                int minPages = PageUtil.numPagesFor(bestCaseSize, PAGE_SHIFT, PAGE_MASK);
+                int maxPages = PageUtil.numPagesFor(worstCaseSize, PAGE_SHIFT, PAGE_MASK);
+                long bytesPerPage = MemoryUsage.sizeOfByteArray(PAGE_SIZE);
+
+                return MemoryRange.of(
+                    minPages * bytesPerPage + MemoryUsage.sizeOfObjectArray(minPages),
+                    maxPages * bytesPerPage + MemoryUsage.sizeOfObjectArray(maxPages)
+                );
+            })
+            .build();
+    }
+
     public TransientAdjacencyList(byte[][] pages) {
+        this(pages, null);
+    }
+
+    /**
+     * Creates a list of property values that were compressed with the given codec.
+     * If {@code propertyCodec} is {@code null}, values are stored as raw 8-byte longs.
+     */
+    public TransientAdjacencyList(byte[][] pages, @Nullable DoubleCodec propertyCodec) {
         this.pages = pages;
+        this.propertyCodec = propertyCodec;
         this.allocatedMemory = memoryOfPages(pages);
     }
 
+    /**
+     * The codec that was used to compress the property values in this list,
+     * or empty if the values are stored uncompressed.
+     */
+    public Optional<DoubleCodec> propertyCodec() {
+        return Optional.ofNullable(propertyCodec);
+    }
+
+    /**
+     * Returns the compressed pages backing this adjacency list,
+     * e.g. to write them to a graph snapshot without decoding.
+     */
+    public byte[][] pages() {
+        return pages;
+    }
+
     private static long memoryOfPages(byte[][] pages) {
         long memory = MemoryUsage.sizeOfObjectArray(pages.length);
         for (byte[] page : pages) {
@@ -146,16 +220,25 @@ public final class TransientAdjacencyList implements AdjacencyList {
         pages = null;
     }
 
+    @Override
+    public long release() {
+        if (pages == null) {
+            return 0L;
+        }
+        pages = null;
+        return allocatedMemory;
+    }
+
     // Cursors
 
     @Override
     public Cursor rawCursor() {
-        return new Cursor(pages);
+        return new Cursor(pages, propertyCodec);
     }
 
     @Override
     public Cursor cursor(long offset) {
-        return new Cursor(pages).init(offset);
+        return rawCursor().init(offset);
     }
 
     @Override
@@ -184,17 +267,21 @@ public final class TransientAdjacencyList implements AdjacencyList {
 
     public static final class Cursor extends MutableIntValue implements PropertyCursor {
 
-        static final Cursor EMPTY = new Cursor(new byte[0][]);
+        static final Cursor EMPTY = new Cursor(new byte[0][], null);
 
         private byte[][] pages;
+        private final @Nullable DoubleCodec codec;
+        private final MutableDouble decompressed;
 
         private byte[] currentPage;
         private int degree;
         private int offset;
-        private int limit;
+        private int position;
 
-        private Cursor(byte[][] pages) {
+        private Cursor(byte[][] pages, @Nullable DoubleCodec codec) {
             this.pages = pages;
+            this.codec = codec;
+            this.decompressed = new MutableDouble();
         }
 
         public int length() {
@@ -203,14 +290,19 @@ public final class TransientAdjacencyList implements AdjacencyList {
 
         @Override
         public boolean hasNextLong() {
-            return offset < limit;
+            return position < degree;
         }
 
         @Override
         public long nextLong() {
-            long value = AdjacencyDecompressingReader.readLong(currentPage, offset);
-            offset += Long.BYTES;
-            return value;
+            position++;
+            if (codec == null) {
+                long value = AdjacencyDecompressingReader.readLong(currentPage, offset);
+                offset += Long.BYTES;
+                return value;
+            }
+            offset = codec.decompressDouble(currentPage, offset, decompressed);
+            return Double.doubleToRawLongBits(decompressed.doubleValue());
         }
 
         Cursor init(long fromIndex) {
@@ -218,7 +310,7 @@ public final class TransientAdjacencyList implements AdjacencyList {
             this.offset = indexInPage(fromIndex, PAGE_MASK);
             this.degree = AdjacencyDecompressingReader.readInt(currentPage, offset);
             this.offset += Integer.BYTES;
-            this.limit = offset + degree * Long.BYTES;
+            this.position = 0;
             return this;
         }
 
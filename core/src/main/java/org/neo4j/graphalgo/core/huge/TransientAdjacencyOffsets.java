@@ -94,6 +94,19 @@ public abstract class TransientAdjacencyOffsets implements AdjacencyOffsets {
         public void close() {
             pages = null;
         }
+
+        @Override
+        public long release() {
+            if (pages == null) {
+                return 0L;
+            }
+            long released = sizeOfObjectArray(pages.length);
+            for (long[] page : pages) {
+                released += sizeOfLongArray(page.length);
+            }
+            pages = null;
+            return released;
+        }
     }
 
     private static final class SinglePageOffsets extends TransientAdjacencyOffsets {
@@ -119,5 +132,15 @@ public abstract class TransientAdjacencyOffsets implements AdjacencyOffsets {
         public void close() {
             page = null;
         }
+
+        @Override
+        public long release() {
+            if (page == null) {
+                return 0L;
+            }
+            long released = sizeOfLongArray(page.length);
+            page = null;
+            return released;
+        }
     }
 }
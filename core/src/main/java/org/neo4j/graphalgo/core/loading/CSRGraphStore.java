@@ -421,6 +421,14 @@ public final class CSRGraphStore implements GraphStore {
         return nodes.nodeCount();
     }
 
+    Relationships.Topology relationshipTopology(RelationshipType relationshipType) {
+        return relationships.get(relationshipType);
+    }
+
+    RelationshipPropertyStore relationshipPropertyStore(RelationshipType relationshipType) {
+        return relationshipProperties.getOrDefault(relationshipType, RelationshipPropertyStore.empty());
+    }
+
     private synchronized void updateGraphStore(Consumer<CSRGraphStore> updateFunction) {
         updateFunction.accept(this);
         this.modificationTime = TimeUtil.now();
@@ -24,6 +24,7 @@ import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
+import java.util.Map;
 import java.util.Set;
 
 class CountingCypherRecordLoader extends CypherRecordLoader<BatchLoadResult> {
@@ -44,9 +45,9 @@ class CountingCypherRecordLoader extends CypherRecordLoader<BatchLoadResult> {
     }
 
     @Override
-    BatchLoadResult loadSingleBatch(Transaction tx, int bufferSize) {
+    BatchLoadResult loadSingleBatch(Transaction tx, int bufferSize, Map<String, Object> parameters) {
         ResultCountingVisitor visitor = new ResultCountingVisitor();
-        runLoadingQuery(tx).accept(visitor);
+        runLoadingQuery(tx, parameters).accept(visitor);
         return new BatchLoadResult(visitor.rows(), -1L);
     }
 
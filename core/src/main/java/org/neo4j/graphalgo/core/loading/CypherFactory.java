@@ -113,7 +113,7 @@ public class CypherFactory extends CSRGraphStoreFactory<GraphCreateFromCypherCon
             relationshipProjection
         );
 
-        return NativeFactory.getMemoryEstimation(nodeProjections, relationshipProjections);
+        return NativeFactory.getMemoryEstimation(nodeProjections, relationshipProjections, cypherConfig.nodeOrdering());
     }
 
     @Override
@@ -208,7 +208,8 @@ public class CypherFactory extends CSRGraphStoreFactory<GraphCreateFromCypherCon
             loadingContext.api(),
             cypherConfig,
             loadingContext,
-            nodeLoadDimensions
+            nodeLoadDimensions,
+            progressLogger
         );
 
         CypherRelationshipLoader.LoadResult result = relationshipLoader.load(transaction);
@@ -80,8 +80,8 @@ class CypherNodeLoader extends CypherRecordLoader<CypherNodeLoader.LoadResult> {
     }
 
     @Override
-    BatchLoadResult loadSingleBatch(Transaction tx, int bufferSize) {
-        Result queryResult = runLoadingQuery(tx);
+    BatchLoadResult loadSingleBatch(Transaction tx, int bufferSize, Map<String, Object> parameters) {
+        Result queryResult = runLoadingQuery(tx, parameters);
 
         Collection<String> propertyColumns = getPropertyColumns(queryResult);
 
@@ -24,21 +24,29 @@ import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.PropertyMappings;
 import org.neo4j.graphalgo.api.GraphLoaderContext;
 import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphdb.Result;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.graphdb.security.AuthorizationViolationException;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.runQueryWithoutClosingTheResult;
+import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.LIMIT_PARAMETER;
+import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.SKIP_PARAMETER;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.internal.kernel.api.security.AccessMode.Static.READ;
 
 abstract class CypherRecordLoader<R> {
 
@@ -56,6 +64,9 @@ abstract class CypherRecordLoader<R> {
 
     static final long NO_COUNT = -1L;
 
+    private static final Pattern SKIP_PARAMETER_PATTERN = Pattern.compile("\\$" + SKIP_PARAMETER + "\\b");
+    private static final Pattern LIMIT_PARAMETER_PATTERN = Pattern.compile("\\$" + LIMIT_PARAMETER + "\\b");
+
     final GraphCreateFromCypherConfig cypherConfig;
     final GraphLoaderContext loadingContext;
 
@@ -80,20 +91,93 @@ abstract class CypherRecordLoader<R> {
 
     final R load(Transaction transaction) {
         try {
-            int bufferSize = (int) Math.min(recordCount, RecordsBatchBuffer.DEFAULT_BUFFER_SIZE);
-            BatchLoadResult result = loadSingleBatch(transaction, bufferSize);
-            updateCounts(result);
+            if (isBatchedQuery()) {
+                loadInBatches(transaction);
+            } else {
+                int bufferSize = (int) Math.min(recordCount, RecordsBatchBuffer.DEFAULT_BUFFER_SIZE);
+                BatchLoadResult result = loadSingleBatch(transaction, bufferSize, cypherConfig.parameters());
+                updateCounts(result);
+            }
             return result();
         } catch (AuthorizationViolationException ex) {
             throw new IllegalArgumentException(formatWithLocale("Query must be read only. Query: [%s]", loadQuery));
         }
     }
 
+    /**
+     * Loads the query in batches of {@code queryBatchSize} rows by passing
+     * the {@code skip} and {@code limit} parameters. The first batch is
+     * loaded within the given transaction, which allows the loader to
+     * initialize itself from the query result. All remaining batches are
+     * loaded in waves of {@code readConcurrency} parallel transactions
+     * until a batch returns less rows than requested.
+     */
+    private void loadInBatches(Transaction transaction) {
+        int batchSize = cypherConfig.queryBatchSize();
+        int concurrency = cypherConfig.readConcurrency();
+        int bufferSize = Math.min(batchSize, RecordsBatchBuffer.DEFAULT_BUFFER_SIZE);
+
+        BatchLoadResult firstBatch = loadSingleBatch(transaction, bufferSize, batchParameters(0L, batchSize));
+        updateCounts(firstBatch);
+
+        var readOnlyTransaction = loadingContext.transaction().withRestrictedAccess(READ);
+        boolean hasMoreBatches = firstBatch.rows() == batchSize;
+        long offset = batchSize;
+
+        while (hasMoreBatches) {
+            var results = new BatchLoadResult[concurrency];
+            var tasks = new ArrayList<Runnable>(concurrency);
+            for (int batch = 0; batch < concurrency; batch++) {
+                int batchIndex = batch;
+                var parameters = batchParameters(offset, batchSize);
+                tasks.add(() -> results[batchIndex] = readOnlyTransaction.apply((tx, ktx) ->
+                    loadSingleBatch(tx, bufferSize, parameters)
+                ));
+                offset += batchSize;
+            }
+
+            ParallelUtil.runWithConcurrency(concurrency, tasks, loadingContext.executor());
+
+            for (BatchLoadResult result : results) {
+                updateCounts(result);
+                hasMoreBatches &= result.rows() == batchSize;
+            }
+        }
+    }
+
+    private Map<String, Object> batchParameters(long skip, int limit) {
+        var parameters = new HashMap<>(cypherConfig.parameters());
+        parameters.put(SKIP_PARAMETER, skip);
+        parameters.put(LIMIT_PARAMETER, limit);
+        return parameters;
+    }
+
+    private boolean isBatchedQuery() {
+        return supportsBatchedLoading() && usesSkipAndLimitParameters(loadQuery);
+    }
+
+    /**
+     * Returns true iff the query refers to both the {@code $skip} and the {@code $limit} parameter.
+     * Parameters that only start with these names, such as {@code $skipped}, do not count.
+     */
+    static boolean usesSkipAndLimitParameters(String query) {
+        return SKIP_PARAMETER_PATTERN.matcher(query).find() && LIMIT_PARAMETER_PATTERN.matcher(query).find();
+    }
+
+    /**
+     * Returns true iff the loader can load multiple batches of
+     * its query concurrently, see {@link #loadInBatches(Transaction)}.
+     */
+    boolean supportsBatchedLoading() {
+        return false;
+    }
+
     abstract QueryType queryType();
 
     abstract BatchLoadResult loadSingleBatch(
         Transaction tx,
-        int bufferSize
+        int bufferSize,
+        Map<String, Object> parameters
     );
 
     abstract void updateCounts(BatchLoadResult result);
@@ -113,8 +197,8 @@ abstract class CypherRecordLoader<R> {
             .collect(Collectors.toList());
     }
 
-    Result runLoadingQuery(Transaction tx) {
-        Result result = runQueryWithoutClosingTheResult(tx, loadQuery, cypherConfig.parameters());
+    Result runLoadingQuery(Transaction tx, Map<String, Object> parameters) {
+        Result result = runQueryWithoutClosingTheResult(tx, loadQuery, parameters);
         validateMandatoryColumns(Lists.newArrayList(result.columns().iterator()));
         return result;
     }
@@ -38,6 +38,7 @@ import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphdb.Result;
 import org.neo4j.graphdb.Transaction;
@@ -64,6 +65,7 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
     private final Context loaderContext;
     private final GraphDimensions dimensionsAfterNodeLoading;
     private final Map<RelationshipProjection, LongAdder> relationshipCounters;
+    private final ProgressLogger progressLogger;
 
     // Property mappings are either defined upfront in
     // the procedure configuration or during load time
@@ -85,13 +87,15 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
         GraphDatabaseAPI api,
         GraphCreateFromCypherConfig config,
         GraphLoaderContext loadingContext,
-        GraphDimensions dimensions
+        GraphDimensions dimensions,
+        ProgressLogger progressLogger
     ) {
         super(relationshipQuery, idMap.nodeCount(), api, config, loadingContext);
         this.idMap = idMap;
         this.dimensionsAfterNodeLoading = dimensions;
         this.loaderContext = new Context();
         this.relationshipCounters = new HashMap<>();
+        this.progressLogger = progressLogger;
     }
 
     private void initFromPropertyMappings(PropertyMappings propertyMappings) {
@@ -136,14 +140,16 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
     }
 
     @Override
-    BatchLoadResult loadSingleBatch(Transaction tx, int bufferSize) {
-        Result queryResult = runLoadingQuery(tx);
+    BatchLoadResult loadSingleBatch(Transaction tx, int bufferSize, Map<String, Object> parameters) {
+        Result queryResult = runLoadingQuery(tx, parameters);
 
         List<String> allColumns = queryResult.columns();
 
         // If the user specifies property mappings, we use those.
         // Otherwise, we create new property mappings from the result columns.
         // We do that only once, as each batch has the same columns.
+        // The first batch is always loaded before any other batch,
+        // hence the initialization does not need to be synchronized.
         Collection<String> propertyColumns = getPropertyColumns(queryResult);
         if (!initializedFromResult) {
 
@@ -184,7 +190,16 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
     }
 
     @Override
-    void updateCounts(BatchLoadResult result) { }
+    boolean supportsBatchedLoading() {
+        // Batches import into thread-local buffers and the shared
+        // adjacency builders, which support concurrent imports.
+        return true;
+    }
+
+    @Override
+    void updateCounts(BatchLoadResult result) {
+        progressLogger.logProgress(result.rows());
+    }
 
     @Override
     LoadResult result() {
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.util.Set;
+
+/**
+ * A derived data structure that is stored next to a named graph in the {@link GraphStoreCatalog}.
+ * Indexes are released when they are removed or when their graph is dropped.
+ */
+public interface GraphIndex {
+
+    /**
+     * The node properties this index is derived from.
+     */
+    Set<String> nodePropertyKeys();
+
+    /**
+     * Called after one of the {@link #nodePropertyKeys()} has been replaced in the graph store,
+     * for example by a mutate procedure. The given properties are in the id space of the graph store.
+     */
+    void onNodePropertyUpdated(String propertyKey, NodeProperties properties);
+
+    /**
+     * Called after one of the {@link #nodePropertyKeys()} has been removed from the graph store.
+     * The property might be written again later, which is reported to {@link #onNodePropertyUpdated}.
+     */
+    void onNodePropertyRemoved(String propertyKey);
+
+    /**
+     * The tracker the memory of this index is accounted on.
+     */
+    AllocationTracker tracker();
+
+    /**
+     * Releases the index and returns the number of bytes that were freed.
+     * The caller is responsible for removing them from the {@link #tracker()}.
+     */
+    long release();
+}
@@ -26,6 +26,7 @@ import org.neo4j.graphalgo.api.GraphStore;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.kernel.database.NamedDatabaseId;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -103,6 +104,7 @@ public final class GraphStoreCatalog {
             graphStore.canRelease(true);
             graphStore.release();
             getUserCatalog(username).removeDegreeDistribution(userCatalogKey);
+            getUserCatalog(username).removeIndexes(userCatalogKey);
         };
     }
 
@@ -129,6 +131,66 @@ public final class GraphStoreCatalog {
         getUserCatalog(username).setDegreeDistribution(UserCatalog.UserCatalogKey.of(databaseId, graphName), degreeDistribution);
     }
 
+    public static void setIndex(
+        String username,
+        NamedDatabaseId databaseId,
+        String graphName,
+        String indexName,
+        GraphIndex index
+    ) {
+        getUserCatalog(username).setIndex(UserCatalog.UserCatalogKey.of(databaseId, graphName), indexName, index);
+    }
+
+    public static Optional<GraphIndex> getIndex(
+        String username,
+        NamedDatabaseId databaseId,
+        String graphName,
+        String indexName
+    ) {
+        return getUserCatalog(username).getIndex(UserCatalog.UserCatalogKey.of(databaseId, graphName), indexName);
+    }
+
+    public static boolean removeIndex(
+        String username,
+        NamedDatabaseId databaseId,
+        String graphName,
+        String indexName
+    ) {
+        return getUserCatalog(username).removeIndex(UserCatalog.UserCatalogKey.of(databaseId, graphName), indexName);
+    }
+
+    /**
+     * Notifies all indexes of the named graph that depend on one of the given node properties
+     * that these properties have been replaced in the graph store.
+     */
+    public static void nodePropertiesUpdated(
+        String username,
+        NamedDatabaseId databaseId,
+        String graphName,
+        Collection<String> propertyKeys
+    ) {
+        getUserCatalog(username).nodePropertiesUpdated(
+            UserCatalog.UserCatalogKey.of(databaseId, graphName),
+            propertyKeys
+        );
+    }
+
+    /**
+     * Notifies all indexes of the named graph that depend on one of the given node properties
+     * that these properties have been removed from the graph store.
+     */
+    public static void nodePropertiesRemoved(
+        String username,
+        NamedDatabaseId databaseId,
+        String graphName,
+        Collection<String> propertyKeys
+    ) {
+        getUserCatalog(username).nodePropertiesRemoved(
+            UserCatalog.UserCatalogKey.of(databaseId, graphName),
+            propertyKeys
+        );
+    }
+
     public static void removeAllLoadedGraphs() {
         userCatalogs.clear();
     }
@@ -176,6 +238,8 @@ public final class GraphStoreCatalog {
 
         private final Map<UserCatalogKey, Map<String, Object>> degreeDistributionByName = new ConcurrentHashMap<>();
 
+        private final Map<UserCatalogKey, Map<String, GraphIndex>> indexesByName = new ConcurrentHashMap<>();
+
         private void set(UserCatalogKey userCatalogKey, GraphCreateConfig config, GraphStore graphStore) {
             if (config.graphName() == null || graphStore == null) {
                 throw new IllegalArgumentException("Both name and graph store must be not null");
@@ -209,6 +273,78 @@ public final class GraphStoreCatalog {
             degreeDistributionByName.remove(userCatalogKey);
         }
 
+        private void setIndex(UserCatalogKey userCatalogKey, String indexName, GraphIndex index) {
+            if (indexName == null || index == null) {
+                throw new IllegalArgumentException("Both index name and index must be not null");
+            }
+            if (!graphsByName.containsKey(userCatalogKey)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Cannot set index because graph %s does not exist",
+                    userCatalogKey.graphName()
+                ));
+            }
+            var indexes = indexesByName.computeIfAbsent(userCatalogKey, key -> new ConcurrentHashMap<>());
+            if (indexes.putIfAbsent(indexName, index) != null) {
+                throw new IllegalStateException(formatWithLocale(
+                    "Index %s already exists for graph %s",
+                    indexName,
+                    userCatalogKey.graphName()
+                ));
+            }
+        }
+
+        private Optional<GraphIndex> getIndex(UserCatalogKey userCatalogKey, String indexName) {
+            return Optional
+                .ofNullable(indexesByName.get(userCatalogKey))
+                .map(indexes -> indexes.get(indexName));
+        }
+
+        private boolean removeIndex(UserCatalogKey userCatalogKey, String indexName) {
+            var indexes = indexesByName.get(userCatalogKey);
+            var index = indexes == null ? null : indexes.remove(indexName);
+            if (index == null) {
+                return false;
+            }
+            index.tracker().remove(index.release());
+            return true;
+        }
+
+        private void removeIndexes(UserCatalogKey userCatalogKey) {
+            var indexes = indexesByName.remove(userCatalogKey);
+            if (indexes != null) {
+                indexes.values().forEach(index -> index.tracker().remove(index.release()));
+            }
+        }
+
+        private void nodePropertiesUpdated(UserCatalogKey userCatalogKey, Collection<String> propertyKeys) {
+            var indexes = indexesByName.get(userCatalogKey);
+            if (indexes == null || indexes.isEmpty()) {
+                return;
+            }
+            var graphStore = get(userCatalogKey).graphStore();
+            for (String propertyKey : propertyKeys) {
+                indexes.values().forEach(index -> {
+                    if (index.nodePropertyKeys().contains(propertyKey)) {
+                        index.onNodePropertyUpdated(propertyKey, graphStore.nodePropertyValues(propertyKey));
+                    }
+                });
+            }
+        }
+
+        private void nodePropertiesRemoved(UserCatalogKey userCatalogKey, Collection<String> propertyKeys) {
+            var indexes = indexesByName.get(userCatalogKey);
+            if (indexes == null || indexes.isEmpty()) {
+                return;
+            }
+            for (String propertyKey : propertyKeys) {
+                indexes.values().forEach(index -> {
+                    if (index.nodePropertyKeys().contains(propertyKey)) {
+                        index.onNodePropertyRemoved(propertyKey);
+                    }
+                });
+            }
+        }
+
         private GraphStoreWithConfig get(UserCatalogKey userCatalogKey) {
             if (graphsByName.containsKey(userCatalogKey)) {
                 return graphsByName.get(userCatalogKey);
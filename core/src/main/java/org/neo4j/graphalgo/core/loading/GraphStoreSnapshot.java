@@ -0,0 +1,777 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.BitSet;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyList;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.ImmutableProperties;
+import org.neo4j.graphalgo.api.ImmutableTopology;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.FloatArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.PageUtil;
+import org.neo4j.kernel.database.NamedDatabaseId;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Writes a {@link CSRGraphStore} into a binary snapshot file and reads it back.
+ *
+ * The compressed adjacency pages are written as they are kept in memory.
+ * Reading a snapshot therefore only consists of bulk reads from the file
+ * channel and does not need to decode or re-compress any relationships.
+ * The only structure that is rebuilt on read is the sparse mapping from
+ * Neo4j node ids to internal node ids, which is derived from the persisted
+ * Neo4j node ids.
+ *
+ * Node properties are written once per property key, together with the node
+ * labels that have the key, and are shared by these labels when read back.
+ *
+ * Relationship properties are restored as floating point properties and all
+ * properties are restored as {@link GraphStore.PropertyState#PERSISTENT}.
+ */
+public final class GraphStoreSnapshot {
+
+    public static final String FILE_EXTENSION = ".gds";
+
+    // "GDSS" in ASCII
+    private static final int MAGIC = 0x47445353;
+    private static final int VERSION = 1;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int NULL_ARRAY = -1;
+
+    private static final int OFFSETS_PAGE_SIZE = PageUtil.pageSizeFor(Long.BYTES);
+    private static final int OFFSETS_PAGE_SHIFT = Integer.numberOfTrailingZeros(OFFSETS_PAGE_SIZE);
+    private static final long OFFSETS_PAGE_MASK = OFFSETS_PAGE_SIZE - 1;
+
+    private GraphStoreSnapshot() {}
+
+    /**
+     * Writes the given graph store to the given path.
+     * The snapshot is written to a temporary file first, which replaces an existing file at the given path once done.
+     */
+    public static void write(GraphStore graphStore, Path path) throws IOException {
+        if (!(graphStore instanceof CSRGraphStore)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Only graph stores of type `%s` can be written to a snapshot, but got `%s`.",
+                CSRGraphStore.class.getSimpleName(),
+                graphStore.getClass().getSimpleName()
+            ));
+        }
+        CSRGraphStore csrGraphStore = (CSRGraphStore) graphStore;
+
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (
+            FileChannel channel = FileChannel.open(tempPath, CREATE, WRITE, TRUNCATE_EXISTING);
+            Output out = new Output(channel)
+        ) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeIdMap(out, (IdMap) csrGraphStore.nodes());
+            writeNodeProperties(out, csrGraphStore);
+            writeRelationships(out, csrGraphStore);
+        }
+        Files.move(tempPath, path, ATOMIC_MOVE, REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads a graph store that has previously been written using {@link #write(GraphStore, Path)}.
+     */
+    public static CSRGraphStore read(
+        Path path,
+        NamedDatabaseId databaseId,
+        int concurrency,
+        AllocationTracker tracker
+    ) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            Input in = new Input(channel);
+            if (in.readInt() != MAGIC) {
+                throw new IOException(formatWithLocale("The file `%s` is not a graph snapshot.", path));
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException(formatWithLocale(
+                    "Unsupported graph snapshot version %d, expected version %d.",
+                    version,
+                    VERSION
+                ));
+            }
+
+            IdMap idMap = readIdMap(in, concurrency, tracker);
+            long nodeCount = idMap.nodeCount();
+            Map<NodeLabel, Map<String, NodeProperties>> nodeProperties = readNodeProperties(in, nodeCount, tracker);
+
+            Map<RelationshipType, Relationships.Topology> topologies = new HashMap<>();
+            Map<RelationshipType, Map<String, Relationships.Properties>> relationshipProperties = new HashMap<>();
+            int relationshipTypeCount = in.readInt();
+            for (int i = 0; i < relationshipTypeCount; i++) {
+                RelationshipType relationshipType = RelationshipType.of(in.readString());
+                Orientation orientation = Orientation.valueOf(in.readString());
+                boolean isMultiGraph = in.readBoolean();
+                long elementCount = in.readLong();
+
+                topologies.put(relationshipType, ImmutableTopology.of(
+                    readAdjacencyList(in, null, tracker),
+                    readAdjacencyOffsets(in, nodeCount, tracker),
+                    elementCount,
+                    orientation,
+                    isMultiGraph
+                ));
+
+                int propertyCount = in.readInt();
+                if (propertyCount > 0) {
+                    Map<String, Relationships.Properties> propertyMap = new HashMap<>();
+                    for (int j = 0; j < propertyCount; j++) {
+                        String propertyKey = in.readString();
+                        double defaultValue = in.readDouble();
+                        DoubleCodec propertyCodec = in.readBoolean() ? TrailingZerosDoubleCodec.instance() : null;
+                        propertyMap.put(propertyKey, ImmutableProperties.of(
+                            readAdjacencyList(in, propertyCodec, tracker),
+                            readAdjacencyOffsets(in, nodeCount, tracker),
+                            elementCount,
+                            orientation,
+                            isMultiGraph,
+                            defaultValue
+                        ));
+                    }
+                    relationshipProperties.put(relationshipType, propertyMap);
+                }
+            }
+
+            return CSRGraphStore.of(
+                databaseId,
+                idMap,
+                nodeProperties,
+                topologies,
+                relationshipProperties,
+                concurrency,
+                tracker
+            );
+        }
+    }
+
+    private static void writeIdMap(Output out, IdMap idMap) throws IOException {
+        long nodeCount = idMap.nodeCount();
+        out.writeLong(nodeCount);
+
+        long highestNeoId = -1L;
+        HugeLongArray graphIds = idMap.graphIds();
+        try (HugeCursor<long[]> cursor = graphIds.initCursor(graphIds.newCursor(), 0, nodeCount)) {
+            while (cursor.next()) {
+                for (int i = cursor.offset; i < cursor.limit; i++) {
+                    highestNeoId = Math.max(highestNeoId, cursor.array[i]);
+                }
+                out.writeLongs(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+            }
+        }
+        out.writeLong(highestNeoId);
+
+        Map<NodeLabel, BitSet> labelInformation = idMap.labelInformation();
+        out.writeInt(labelInformation.size());
+        for (Map.Entry<NodeLabel, BitSet> entry : labelInformation.entrySet()) {
+            BitSet bitSet = entry.getValue();
+            out.writeString(entry.getKey().name);
+            out.writeInt(bitSet.wlen);
+            out.writeInt(bitSet.bits.length);
+            out.writeLongs(bitSet.bits, 0, bitSet.bits.length);
+        }
+    }
+
+    private static IdMap readIdMap(Input in, int concurrency, AllocationTracker tracker) throws IOException {
+        long nodeCount = in.readLong();
+
+        HugeLongArray graphIds = HugeLongArray.newArray(nodeCount, tracker);
+        try (HugeCursor<long[]> cursor = graphIds.initCursor(graphIds.newCursor())) {
+            while (cursor.next()) {
+                in.readLongs(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+            }
+        }
+        long highestNeoId = in.readLong();
+
+        int labelCount = in.readInt();
+        Map<NodeLabel, BitSet> labelInformation = new HashMap<>(labelCount);
+        for (int i = 0; i < labelCount; i++) {
+            NodeLabel nodeLabel = NodeLabel.of(in.readString());
+            int wordsInUse = in.readInt();
+            long[] bits = new long[in.readInt()];
+            in.readLongs(bits, 0, bits.length);
+            tracker.add(MemoryUsage.sizeOfLongArray(bits.length));
+            labelInformation.put(nodeLabel, new BitSet(bits, wordsInUse));
+        }
+
+        return new IdMap(
+            graphIds,
+            IdMapBuilder.buildSparseNodeMapping(
+                nodeCount,
+                highestNeoId,
+                concurrency,
+                IdMapBuilder.add(graphIds),
+                tracker
+            ),
+            labelInformation,
+            nodeCount,
+            tracker
+        );
+    }
+
+    /**
+     * Writes the values of each node property key once, together with the labels that have the key.
+     * If the labels do not share the same values, each node gets the value of the first of its labels that has the key.
+     */
+    private static void writeNodeProperties(Output out, CSRGraphStore graphStore) throws IOException {
+        long nodeCount = graphStore.nodeCount();
+        IdMap idMap = (IdMap) graphStore.nodes();
+        Map<NodeLabel, Set<String>> propertyKeys = graphStore.nodePropertyKeys();
+
+        List<NodeLabel> nodeLabels = new ArrayList<>(propertyKeys.keySet());
+        Map<String, List<NodeLabel>> labelsByPropertyKey = new LinkedHashMap<>();
+        out.writeInt(nodeLabels.size());
+        for (NodeLabel nodeLabel : nodeLabels) {
+            out.writeString(nodeLabel.name);
+            for (String propertyKey : propertyKeys.get(nodeLabel)) {
+                labelsByPropertyKey.computeIfAbsent(propertyKey, ignore -> new ArrayList<>()).add(nodeLabel);
+            }
+        }
+
+        out.writeInt(labelsByPropertyKey.size());
+        for (Map.Entry<String, List<NodeLabel>> entry : labelsByPropertyKey.entrySet()) {
+            String propertyKey = entry.getKey();
+            List<NodeLabel> labels = entry.getValue();
+            List<NodeProperties> properties = new ArrayList<>(labels.size());
+            for (NodeLabel nodeLabel : labels) {
+                properties.add(graphStore.nodePropertyValues(nodeLabel, propertyKey));
+            }
+
+            ValueType valueType = properties.get(0).valueType();
+            if (properties.stream().anyMatch(values -> values.valueType() != valueType)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Node property `%s` must have the same type for all node labels.",
+                    propertyKey
+                ));
+            }
+
+            out.writeString(propertyKey);
+            out.writeString(valueType.name());
+            out.writeInt(labels.size());
+            for (NodeLabel nodeLabel : labels) {
+                out.writeInt(nodeLabels.indexOf(nodeLabel));
+            }
+
+            NodeProperties first = properties.get(0);
+            boolean isShared = properties.stream().allMatch(values -> values == first);
+            LongFunction<NodeProperties> propertiesOf = isShared
+                ? nodeId -> first
+                : nodeId -> {
+                    for (int i = 0; i < labels.size(); i++) {
+                        if (idMap.hasLabel(nodeId, labels.get(i))) {
+                            return properties.get(i);
+                        }
+                    }
+                    return first;
+                };
+            writeNodePropertyValues(out, valueType, propertiesOf, nodeCount);
+        }
+    }
+
+    private static void writeNodePropertyValues(
+        Output out,
+        ValueType valueType,
+        LongFunction<NodeProperties> propertiesOf,
+        long nodeCount
+    ) throws IOException {
+        switch (valueType) {
+            case LONG:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    out.writeLong(propertiesOf.apply(nodeId).longValue(nodeId));
+                }
+                break;
+            case DOUBLE:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    out.writeDouble(propertiesOf.apply(nodeId).doubleValue(nodeId));
+                }
+                break;
+            case DOUBLE_ARRAY:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    double[] value = propertiesOf.apply(nodeId).doubleArrayValue(nodeId);
+                    out.writeInt(value == null ? NULL_ARRAY : value.length);
+                    if (value != null) {
+                        out.writeDoubles(value);
+                    }
+                }
+                break;
+            case FLOAT_ARRAY:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    float[] value = propertiesOf.apply(nodeId).floatArrayValue(nodeId);
+                    out.writeInt(value == null ? NULL_ARRAY : value.length);
+                    if (value != null) {
+                        out.writeFloats(value);
+                    }
+                }
+                break;
+            case LONG_ARRAY:
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    long[] value = propertiesOf.apply(nodeId).longArrayValue(nodeId);
+                    out.writeInt(value == null ? NULL_ARRAY : value.length);
+                    if (value != null) {
+                        out.writeLongs(value, 0, value.length);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Node properties of type `%s` cannot be written to a snapshot.",
+                    valueType
+                ));
+        }
+    }
+
+    private static Map<NodeLabel, Map<String, NodeProperties>> readNodeProperties(
+        Input in,
+        long nodeCount,
+        AllocationTracker tracker
+    ) throws IOException {
+        int labelCount = in.readInt();
+        NodeLabel[] nodeLabels = new NodeLabel[labelCount];
+        Map<NodeLabel, Map<String, NodeProperties>> nodeProperties = new HashMap<>(labelCount);
+        for (int i = 0; i < labelCount; i++) {
+            nodeLabels[i] = NodeLabel.of(in.readString());
+            nodeProperties.put(nodeLabels[i], new HashMap<>());
+        }
+
+        int propertyCount = in.readInt();
+        for (int i = 0; i < propertyCount; i++) {
+            String propertyKey = in.readString();
+            ValueType valueType = ValueType.valueOf(in.readString());
+            int[] labelIndices = new int[in.readInt()];
+            for (int j = 0; j < labelIndices.length; j++) {
+                labelIndices[j] = in.readInt();
+            }
+            // the values are shared by all labels that have the property key
+            NodeProperties properties = readNodePropertyValues(in, valueType, nodeCount, tracker);
+            for (int labelIndex : labelIndices) {
+                nodeProperties.get(nodeLabels[labelIndex]).put(propertyKey, properties);
+            }
+        }
+        return nodeProperties;
+    }
+
+    private static NodeProperties readNodePropertyValues(
+        Input in,
+        ValueType valueType,
+        long nodeCount,
+        AllocationTracker tracker
+    ) throws IOException {
+        switch (valueType) {
+            case LONG: {
+                HugeLongArray values = HugeLongArray.newArray(nodeCount, tracker);
+                try (HugeCursor<long[]> cursor = values.initCursor(values.newCursor())) {
+                    while (cursor.next()) {
+                        in.readLongs(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+                    }
+                }
+                return values.asNodeProperties();
+            }
+            case DOUBLE: {
+                HugeDoubleArray values = HugeDoubleArray.newArray(nodeCount, tracker);
+                try (HugeCursor<double[]> cursor = values.initCursor(values.newCursor())) {
+                    while (cursor.next()) {
+                        in.readDoubles(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+                    }
+                }
+                return values.asNodeProperties();
+            }
+            case DOUBLE_ARRAY: {
+                HugeObjectArray<double[]> values = HugeObjectArray.newArray(double[].class, nodeCount, tracker);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    int length = in.readInt();
+                    if (length != NULL_ARRAY) {
+                        double[] value = new double[length];
+                        in.readDoubles(value, 0, length);
+                        tracker.add(MemoryUsage.sizeOfDoubleArray(length));
+                        values.set(nodeId, value);
+                    }
+                }
+                return (DoubleArrayNodeProperties) values::get;
+            }
+            case FLOAT_ARRAY: {
+                HugeObjectArray<float[]> values = HugeObjectArray.newArray(float[].class, nodeCount, tracker);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    int length = in.readInt();
+                    if (length != NULL_ARRAY) {
+                        float[] value = new float[length];
+                        in.readFloats(value);
+                        tracker.add(MemoryUsage.sizeOfFloatArray(length));
+                        values.set(nodeId, value);
+                    }
+                }
+                return (FloatArrayNodeProperties) values::get;
+            }
+            case LONG_ARRAY: {
+                HugeObjectArray<long[]> values = HugeObjectArray.newArray(long[].class, nodeCount, tracker);
+                for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+                    int length = in.readInt();
+                    if (length != NULL_ARRAY) {
+                        long[] value = new long[length];
+                        in.readLongs(value, 0, length);
+                        tracker.add(MemoryUsage.sizeOfLongArray(length));
+                        values.set(nodeId, value);
+                    }
+                }
+                return (LongArrayNodeProperties) values::get;
+            }
+            default:
+                throw new IOException(formatWithLocale("Unsupported node property type `%s`.", valueType));
+        }
+    }
+
+    private static void writeRelationships(Output out, CSRGraphStore graphStore) throws IOException {
+        long nodeCount = graphStore.nodeCount();
+        Set<RelationshipType> relationshipTypes = graphStore.relationshipTypes();
+
+        out.writeInt(relationshipTypes.size());
+        for (RelationshipType relationshipType : relationshipTypes) {
+            Relationships.Topology topology = graphStore.relationshipTopology(relationshipType);
+            out.writeString(relationshipType.name);
+            out.writeString(topology.orientation().name());
+            out.writeBoolean(topology.isMultiGraph());
+            out.writeLong(topology.elementCount());
+            writeAdjacencyList(out, topology.list());
+            writeAdjacencyOffsets(out, topology.offsets(), nodeCount);
+
+            var propertyStore = graphStore.relationshipPropertyStore(relationshipType);
+            out.writeInt(propertyStore.relationshipProperties().size());
+            for (var property : propertyStore.values()) {
+                Relationships.Properties values = property.values();
+                out.writeString(property.key());
+                out.writeDouble(values.defaultPropertyValue());
+                out.writeBoolean(values.list() instanceof TransientAdjacencyList &&
+                                 ((TransientAdjacencyList) values.list()).propertyCodec().isPresent());
+                writeAdjacencyList(out, values.list());
+                writeAdjacencyOffsets(out, values.offsets(), nodeCount);
+            }
+        }
+    }
+
+    private static void writeAdjacencyList(Output out, AdjacencyList adjacencyList) throws IOException {
+        if (!(adjacencyList instanceof TransientAdjacencyList)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Only adjacency lists of type `%s` can be written to a snapshot, but got `%s`.",
+                TransientAdjacencyList.class.getSimpleName(),
+                adjacencyList.getClass().getSimpleName()
+            ));
+        }
+        byte[][] pages = ((TransientAdjacencyList) adjacencyList).pages();
+        out.writeInt(pages.length);
+        for (byte[] page : pages) {
+            out.writeInt(page == null ? NULL_ARRAY : page.length);
+            if (page != null) {
+                out.writeBytes(page);
+            }
+        }
+    }
+
+    private static AdjacencyList readAdjacencyList(
+        Input in,
+        @Nullable DoubleCodec propertyCodec,
+        AllocationTracker tracker
+    ) throws IOException {
+        byte[][] pages = new byte[in.readInt()][];
+        tracker.add(MemoryUsage.sizeOfObjectArray(pages.length));
+        for (int i = 0; i < pages.length; i++) {
+            int length = in.readInt();
+            if (length != NULL_ARRAY) {
+                pages[i] = new byte[length];
+                in.readBytes(pages[i]);
+                tracker.add(MemoryUsage.sizeOfByteArray(length));
+            }
+        }
+        return new TransientAdjacencyList(pages, propertyCodec);
+    }
+
+    private static void writeAdjacencyOffsets(Output out, AdjacencyOffsets offsets, long nodeCount) throws IOException {
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            out.writeLong(offsets.get(nodeId));
+        }
+    }
+
+    private static AdjacencyOffsets readAdjacencyOffsets(
+        Input in,
+        long nodeCount,
+        AllocationTracker tracker
+    ) throws IOException {
+        int numPages = PageUtil.numPagesFor(nodeCount, OFFSETS_PAGE_SHIFT, OFFSETS_PAGE_MASK);
+        long[][] pages = new long[numPages][];
+        long remaining = nodeCount;
+        for (int i = 0; i < numPages; i++) {
+            int pageSize = (int) Math.min(OFFSETS_PAGE_SIZE, remaining);
+            pages[i] = new long[pageSize];
+            in.readLongs(pages[i], 0, pageSize);
+            tracker.add(MemoryUsage.sizeOfLongArray(pageSize));
+            remaining -= pageSize;
+        }
+        return TransientAdjacencyOffsets.forPageSize(OFFSETS_PAGE_SIZE).newOffsets(pages);
+    }
+
+    private static final class Output implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        }
+
+        void writeInt(int value) throws IOException {
+            ensureCapacity(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void writeLong(long value) throws IOException {
+            ensureCapacity(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void writeDouble(double value) throws IOException {
+            ensureCapacity(Double.BYTES);
+            buffer.putDouble(value);
+        }
+
+        void writeBoolean(boolean value) throws IOException {
+            ensureCapacity(1);
+            buffer.put(value ? (byte) 1 : (byte) 0);
+        }
+
+        void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeInt(bytes.length);
+            writeBytes(bytes);
+        }
+
+        void writeLongs(long[] values, int offset, int length) throws IOException {
+            while (length > 0) {
+                ensureCapacity(Long.BYTES);
+                int chunk = Math.min(length, buffer.remaining() / Long.BYTES);
+                buffer.asLongBuffer().put(values, offset, chunk);
+                buffer.position(buffer.position() + chunk * Long.BYTES);
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        void writeDoubles(double[] values) throws IOException {
+            int offset = 0;
+            int length = values.length;
+            while (length > 0) {
+                ensureCapacity(Double.BYTES);
+                int chunk = Math.min(length, buffer.remaining() / Double.BYTES);
+                buffer.asDoubleBuffer().put(values, offset, chunk);
+                buffer.position(buffer.position() + chunk * Double.BYTES);
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        void writeFloats(float[] values) throws IOException {
+            int offset = 0;
+            int length = values.length;
+            while (length > 0) {
+                ensureCapacity(Float.BYTES);
+                int chunk = Math.min(length, buffer.remaining() / Float.BYTES);
+                buffer.asFloatBuffer().put(values, offset, chunk);
+                buffer.position(buffer.position() + chunk * Float.BYTES);
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        void writeBytes(byte[] values) throws IOException {
+            if (values.length <= buffer.remaining()) {
+                buffer.put(values);
+            } else {
+                // large pages bypass the buffer and are written directly
+                flush();
+                ByteBuffer source = ByteBuffer.wrap(values);
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+            }
+        }
+
+        private void ensureCapacity(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            channel.force(false);
+        }
+    }
+
+    private static final class Input {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        Input(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            this.buffer.limit(0);
+        }
+
+        int readInt() throws IOException {
+            require(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        long readLong() throws IOException {
+            require(Long.BYTES);
+            return buffer.getLong();
+        }
+
+        double readDouble() throws IOException {
+            require(Double.BYTES);
+            return buffer.getDouble();
+        }
+
+        boolean readBoolean() throws IOException {
+            require(1);
+            return buffer.get() != 0;
+        }
+
+        String readString() throws IOException {
+            byte[] bytes = new byte[readInt()];
+            readBytes(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        void readLongs(long[] values, int offset, int length) throws IOException {
+            while (length > 0) {
+                require(Long.BYTES);
+                int chunk = Math.min(length, buffer.remaining() / Long.BYTES);
+                buffer.asLongBuffer().get(values, offset, chunk);
+                buffer.position(buffer.position() + chunk * Long.BYTES);
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        void readDoubles(double[] values, int offset, int length) throws IOException {
+            while (length > 0) {
+                require(Double.BYTES);
+                int chunk = Math.min(length, buffer.remaining() / Double.BYTES);
+                buffer.asDoubleBuffer().get(values, offset, chunk);
+                buffer.position(buffer.position() + chunk * Double.BYTES);
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        void readFloats(float[] values) throws IOException {
+            int offset = 0;
+            int length = values.length;
+            while (length > 0) {
+                require(Float.BYTES);
+                int chunk = Math.min(length, buffer.remaining() / Float.BYTES);
+                buffer.asFloatBuffer().get(values, offset, chunk);
+                buffer.position(buffer.position() + chunk * Float.BYTES);
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+
+        void readBytes(byte[] values) throws IOException {
+            int buffered = Math.min(values.length, buffer.remaining());
+            buffer.get(values, 0, buffered);
+            if (buffered < values.length) {
+                // read the rest of large pages directly from the channel
+                ByteBuffer target = ByteBuffer.wrap(values, buffered, values.length - buffered);
+                while (target.hasRemaining()) {
+                    if (channel.read(target) < 0) {
+                        throw new EOFException("Unexpected end of graph snapshot.");
+                    }
+                }
+            }
+        }
+
+        private void require(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Unexpected end of graph snapshot.");
+                }
+            }
+            buffer.flip();
+        }
+    }
+}
@@ -171,6 +171,27 @@ public class IdMap implements NodeMapping, NodeIterator, BatchNodeIterable {
         return bitSet != null && bitSet.get(nodeId);
     }
 
+    HugeLongArray graphIds() {
+        return graphIds;
+    }
+
+    Map<NodeLabel, BitSet> labelInformation() {
+        return labelInformation;
+    }
+
+    /**
+     * Release the id mappings and return an estimate how many bytes were freed.
+     *
+     * Note that the mapping is not usable afterwards.
+     */
+    long release() {
+        long released = graphIds.release() + nodeToGraphIds.release();
+        for (BitSet bitSet : labelInformation.values()) {
+            released += MemoryUsage.sizeOfLongArray(bitSet.bits.length);
+        }
+        return released;
+    }
+
     IdMap withFilteredLabels(Collection<NodeLabel> nodeLabels, int concurrency) {
         validateNodeLabelFilter(nodeLabels, labelInformation);
 
@@ -29,6 +29,7 @@ import org.neo4j.graphalgo.api.GraphLoaderContext;
 import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.GraphDimensionsStoreReader;
+import org.neo4j.graphalgo.core.NodeOrdering;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
@@ -72,12 +73,38 @@ public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromSto
 
     @Override
     public MemoryEstimation memoryEstimation() {
-        return getMemoryEstimation(storeConfig.nodeProjections(), storeConfig.relationshipProjections());
+        return getMemoryEstimation(
+            storeConfig.nodeProjections(),
+            storeConfig.relationshipProjections(),
+            storeConfig.nodeOrdering()
+        );
     }
 
     public static MemoryEstimation getMemoryEstimation(
         NodeProjections nodeProjections,
         RelationshipProjections relationshipProjections
+    ) {
+        return getMemoryEstimation(nodeProjections, relationshipProjections, NodeOrdering.NONE);
+    }
+
+    public static MemoryEstimation getMemoryEstimation(
+        NodeProjections nodeProjections,
+        RelationshipProjections relationshipProjections,
+        NodeOrdering nodeOrdering
+    ) {
+        MemoryEstimation graphEstimation = graphMemoryEstimation(nodeProjections, relationshipProjections);
+        if (nodeOrdering == NodeOrdering.NONE) {
+            return graphEstimation;
+        }
+        return MemoryEstimations.builder("graph with node ordering")
+            .add("loaded graph", graphEstimation)
+            .add("node reordering", NodeReordering.memoryEstimation(graphEstimation))
+            .build();
+    }
+
+    private static MemoryEstimation graphMemoryEstimation(
+        NodeProjections nodeProjections,
+        RelationshipProjections relationshipProjections
     ) {
         MemoryEstimations.Builder builder = MemoryEstimations.builder(HugeGraph.class);
 
@@ -102,11 +129,17 @@ public final class NativeFactory extends CSRGraphStoreFactory<GraphCreateFromSto
                 formatWithLocale("adjacency offsets for '%s'", relationshipType),
                 TransientAdjacencyOffsets.memoryEstimation()
             );
+            builder.add(
+                formatWithLocale("adjacency skip index for '%s'", relationshipType),
+                TransientAdjacencyList.skipIndexMemoryEstimation(relationshipType, undirected)
+            );
             // all properties per projection
             relationshipProjection.properties().mappings().forEach(resolvedPropertyMapping -> {
                 builder.add(
                     formatWithLocale("property '%s.%s", relationshipType, resolvedPropertyMapping.propertyKey()),
-                    TransientAdjacencyList.uncompressedMemoryEstimation(relationshipType, undirected)
+                    resolvedPropertyMapping.compress()
+                        ? TransientAdjacencyList.compressedPropertiesMemoryEstimation(relationshipType, undirected)
+                        : TransientAdjacencyList.uncompressedMemoryEstimation(relationshipType, undirected)
                 );
                 builder.add(
                     formatWithLocale("property offset '%s.%s", relationshipType, resolvedPropertyMapping.propertyKey()),
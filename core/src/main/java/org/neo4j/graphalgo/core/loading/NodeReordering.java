@@ -0,0 +1,691 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.sorting.IndirectSort;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.AdjacencyCursor;
+import org.neo4j.graphalgo.api.AdjacencyOffsets;
+import org.neo4j.graphalgo.api.ImmutableProperties;
+import org.neo4j.graphalgo.api.ImmutableTopology;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.PropertyCursor;
+import org.neo4j.graphalgo.api.RelationshipProperty;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.FloatArrayNodeProperties;
+import org.neo4j.graphalgo.api.nodeproperties.LongArrayNodeProperties;
+import org.neo4j.graphalgo.core.NodeOrdering;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyOffsets;
+import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.PageUtil;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Relabels the nodes of a {@link CSRGraphStore} according to a {@link NodeOrdering}.
+ *
+ * The id map, the label information and all node properties are permuted into
+ * the new id order. The adjacency lists are decoded, mapped to the new ids,
+ * sorted and compressed again. Every partition of the new id space writes into
+ * its own adjacency pages, so the adjacency lists of consecutive nodes are also
+ * consecutive in memory.
+ *
+ * The input store is released after the reordered store has been built and
+ * must not be used afterwards.
+ */
+public final class NodeReordering {
+
+    private static final int OFFSETS_PAGE_SIZE = PageUtil.pageSizeFor(Long.BYTES);
+    private static final int OFFSETS_PAGE_SHIFT = Integer.numberOfTrailingZeros(OFFSETS_PAGE_SIZE);
+    private static final long OFFSETS_PAGE_MASK = OFFSETS_PAGE_SIZE - 1;
+
+    private NodeReordering() {}
+
+    /**
+     * The loaded graph is released only after the reordered graph has been built,
+     * so both copies are held at the same time.
+     *
+     * @param graphEstimation estimation of the loaded graph
+     */
+    public static MemoryEstimation memoryEstimation(MemoryEstimation graphEstimation) {
+        return MemoryEstimations.builder(NodeReordering.class.getSimpleName())
+            .perNode("new to old ids", HugeLongArray::memoryEstimation)
+            .perNode("old to new ids", HugeLongArray::memoryEstimation)
+            .add("reordered graph", graphEstimation)
+            .build();
+    }
+
+    public static CSRGraphStore reorder(
+        CSRGraphStore graphStore,
+        NodeOrdering nodeOrdering,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        if (nodeOrdering == NodeOrdering.NONE || graphStore.nodeCount() == 0) {
+            return graphStore;
+        }
+        List<Relationships.Topology> topologies = graphStore
+            .relationshipTypes()
+            .stream()
+            .map(graphStore::relationshipTopology)
+            .collect(Collectors.toList());
+
+        HugeLongArray newToOld = computeOrder(nodeOrdering, graphStore.nodeCount(), topologies, concurrency, tracker);
+        HugeLongArray oldToNew = invert(newToOld, concurrency, tracker);
+
+        IdMap idMap = reorderIdMap((IdMap) graphStore.nodes(), newToOld, oldToNew, concurrency, tracker);
+        Map<NodeLabel, Map<String, NodeProperties>> nodeProperties = reorderNodeProperties(
+            graphStore,
+            newToOld,
+            concurrency,
+            tracker
+        );
+
+        Map<RelationshipType, Relationships.Topology> newTopologies = new HashMap<>();
+        Map<RelationshipType, Map<String, Relationships.Properties>> newProperties = new HashMap<>();
+        for (RelationshipType relationshipType : graphStore.relationshipTypes()) {
+            Relationships.Topology topology = graphStore.relationshipTopology(relationshipType);
+            Collection<RelationshipProperty> properties = graphStore
+                .relationshipPropertyStore(relationshipType)
+                .values();
+
+            RelationshipsRewriter rewriter = new RelationshipsRewriter(
+                topology,
+                properties,
+                newToOld,
+                oldToNew,
+                tracker
+            );
+            rewriter.run(concurrency);
+
+            newTopologies.put(relationshipType, rewriter.topology());
+            if (!properties.isEmpty()) {
+                newProperties.put(relationshipType, rewriter.properties());
+            }
+        }
+
+        tracker.remove(newToOld.release());
+        tracker.remove(oldToNew.release());
+        tracker.remove(release(graphStore));
+
+        return CSRGraphStore.of(
+            graphStore.databaseId(),
+            idMap,
+            nodeProperties,
+            newTopologies,
+            newProperties,
+            concurrency,
+            tracker
+        );
+    }
+
+    static HugeLongArray computeOrder(
+        NodeOrdering nodeOrdering,
+        long nodeCount,
+        List<Relationships.Topology> topologies,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        switch (nodeOrdering) {
+            case DEGREE:
+                return degreeOrder(nodeCount, topologies, concurrency, tracker);
+            case BFS:
+                return bfsOrder(nodeCount, topologies, tracker);
+            default:
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Unsupported node ordering `%s`.",
+                    nodeOrdering
+                ));
+        }
+    }
+
+    /**
+     * Stable counting sort by descending degree.
+     */
+    private static HugeLongArray degreeOrder(
+        long nodeCount,
+        List<Relationships.Topology> topologies,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        HugeLongArray degrees = HugeLongArray.newArray(nodeCount, tracker);
+        AtomicLong globalMaxDegree = new AtomicLong();
+        ParallelUtil.readParallel(concurrency, nodeCount, Pools.DEFAULT, (start, end) -> {
+            long localMaxDegree = 0L;
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                long degree = 0L;
+                for (Relationships.Topology topology : topologies) {
+                    degree += degree(topology, nodeId);
+                }
+                degrees.set(nodeId, degree);
+                localMaxDegree = Math.max(localMaxDegree, degree);
+            }
+            globalMaxDegree.accumulateAndGet(localMaxDegree, Math::max);
+        });
+        long maxDegree = globalMaxDegree.get();
+
+        HugeLongArray bucketOffsets = HugeLongArray.newArray(maxDegree + 2, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            bucketOffsets.addTo(maxDegree - degrees.get(nodeId) + 1, 1L);
+        }
+        for (long bucket = 1; bucket <= maxDegree + 1; bucket++) {
+            bucketOffsets.addTo(bucket, bucketOffsets.get(bucket - 1));
+        }
+
+        HugeLongArray newToOld = HugeLongArray.newArray(nodeCount, tracker);
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            long bucket = maxDegree - degrees.get(nodeId);
+            long newId = bucketOffsets.get(bucket);
+            bucketOffsets.set(bucket, newId + 1);
+            newToOld.set(newId, nodeId);
+        }
+        tracker.remove(degrees.release());
+        tracker.remove(bucketOffsets.release());
+        return newToOld;
+    }
+
+    private static HugeLongArray bfsOrder(
+        long nodeCount,
+        List<Relationships.Topology> topologies,
+        AllocationTracker tracker
+    ) {
+        // the order doubles as the queue of the traversal
+        HugeLongArray newToOld = HugeLongArray.newArray(nodeCount, tracker);
+        BitSet visited = new BitSet(nodeCount);
+        tracker.add(MemoryUsage.sizeOfLongArray(visited.bits.length));
+
+        long head = 0L;
+        long tail = 0L;
+        for (long startNode = 0; startNode < nodeCount; startNode++) {
+            if (visited.getAndSet(startNode)) {
+                continue;
+            }
+            newToOld.set(tail++, startNode);
+            while (head < tail) {
+                long nodeId = newToOld.get(head++);
+                for (Relationships.Topology topology : topologies) {
+                    long offset = topology.offsets().get(nodeId);
+                    if (offset == 0L) {
+                        continue;
+                    }
+                    AdjacencyCursor cursor = topology.list().decompressingCursor(offset);
+                    while (cursor.hasNextVLong()) {
+                        long target = cursor.nextVLong();
+                        if (!visited.getAndSet(target)) {
+                            newToOld.set(tail++, target);
+                        }
+                    }
+                }
+            }
+        }
+        tracker.remove(MemoryUsage.sizeOfLongArray(visited.bits.length));
+        return newToOld;
+    }
+
+    private static int degree(Relationships.Topology topology, long nodeId) {
+        long offset = topology.offsets().get(nodeId);
+        return offset == 0L ? 0 : topology.list().degree(offset);
+    }
+
+    private static HugeLongArray invert(HugeLongArray newToOld, int concurrency, AllocationTracker tracker) {
+        long nodeCount = newToOld.size();
+        HugeLongArray oldToNew = HugeLongArray.newArray(nodeCount, tracker);
+        // newToOld is a permutation, so every task writes to distinct indices
+        ParallelUtil.readParallel(concurrency, nodeCount, Pools.DEFAULT, (start, end) -> {
+            for (long newId = start; newId < end; newId++) {
+                oldToNew.set(newToOld.get(newId), newId);
+            }
+        });
+        return oldToNew;
+    }
+
+    private static IdMap reorderIdMap(
+        IdMap idMap,
+        HugeLongArray newToOld,
+        HugeLongArray oldToNew,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = idMap.nodeCount();
+        HugeLongArray graphIds = idMap.graphIds();
+        HugeLongArray newGraphIds = HugeLongArray.newArray(nodeCount, tracker);
+        AtomicLong highestNeoId = new AtomicLong(-1L);
+        ParallelUtil.readParallel(concurrency, nodeCount, Pools.DEFAULT, (start, end) -> {
+            long localHighestNeoId = -1L;
+            for (long newId = start; newId < end; newId++) {
+                long neoId = graphIds.get(newToOld.get(newId));
+                newGraphIds.set(newId, neoId);
+                localHighestNeoId = Math.max(localHighestNeoId, neoId);
+            }
+            highestNeoId.accumulateAndGet(localHighestNeoId, Math::max);
+        });
+
+        // bit sets are not thread-safe, so every label is relabelled by a single task
+        Map<NodeLabel, BitSet> labelInformation = new ConcurrentHashMap<>();
+        List<Runnable> labelTasks = idMap
+            .labelInformation()
+            .entrySet()
+            .stream()
+            .map(entry -> (Runnable) () -> {
+                BitSet bitSet = entry.getValue();
+                BitSet newBitSet = new BitSet(nodeCount);
+                tracker.add(MemoryUsage.sizeOfLongArray(newBitSet.bits.length));
+                for (long oldId = bitSet.nextSetBit(0); oldId >= 0; oldId = bitSet.nextSetBit(oldId + 1)) {
+                    newBitSet.set(oldToNew.get(oldId));
+                }
+                labelInformation.put(entry.getKey(), newBitSet);
+            })
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, labelTasks, Pools.DEFAULT);
+
+        return new IdMap(
+            newGraphIds,
+            IdMapBuilder.buildSparseNodeMapping(
+                nodeCount,
+                highestNeoId.get(),
+                concurrency,
+                IdMapBuilder.add(newGraphIds),
+                tracker
+            ),
+            labelInformation,
+            nodeCount,
+            tracker
+        );
+    }
+
+    private static Map<NodeLabel, Map<String, NodeProperties>> reorderNodeProperties(
+        CSRGraphStore graphStore,
+        HugeLongArray newToOld,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        // labels may share the same property values, which we only want to copy once
+        Map<NodeProperties, NodeProperties> reordered = new IdentityHashMap<>();
+        Map<NodeLabel, Map<String, NodeProperties>> nodeProperties = new HashMap<>();
+        graphStore.nodePropertyKeys().forEach((nodeLabel, propertyKeys) -> {
+            Map<String, NodeProperties> properties = new HashMap<>();
+            for (String propertyKey : propertyKeys) {
+                properties.put(propertyKey, reordered.computeIfAbsent(
+                    graphStore.nodePropertyValues(nodeLabel, propertyKey),
+                    values -> reorderNodePropertyValues(values, newToOld, concurrency, tracker)
+                ));
+            }
+            nodeProperties.put(nodeLabel, properties);
+        });
+        return nodeProperties;
+    }
+
+    private static NodeProperties reorderNodePropertyValues(
+        NodeProperties properties,
+        HugeLongArray newToOld,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = newToOld.size();
+        switch (properties.valueType()) {
+            case LONG: {
+                HugeLongArray values = HugeLongArray.newArray(nodeCount, tracker);
+                permute(
+                    nodeCount,
+                    concurrency,
+                    newId -> values.set(newId, properties.longValue(newToOld.get(newId)))
+                );
+                return values.asNodeProperties();
+            }
+            case DOUBLE: {
+                HugeDoubleArray values = HugeDoubleArray.newArray(nodeCount, tracker);
+                permute(
+                    nodeCount,
+                    concurrency,
+                    newId -> values.set(newId, properties.doubleValue(newToOld.get(newId)))
+                );
+                return values.asNodeProperties();
+            }
+            case DOUBLE_ARRAY: {
+                HugeObjectArray<double[]> values = HugeObjectArray.newArray(double[].class, nodeCount, tracker);
+                permute(
+                    nodeCount,
+                    concurrency,
+                    newId -> values.set(newId, properties.doubleArrayValue(newToOld.get(newId)))
+                );
+                return (DoubleArrayNodeProperties) values::get;
+            }
+            case FLOAT_ARRAY: {
+                HugeObjectArray<float[]> values = HugeObjectArray.newArray(float[].class, nodeCount, tracker);
+                permute(
+                    nodeCount,
+                    concurrency,
+                    newId -> values.set(newId, properties.floatArrayValue(newToOld.get(newId)))
+                );
+                return (FloatArrayNodeProperties) values::get;
+            }
+            case LONG_ARRAY: {
+                HugeObjectArray<long[]> values = HugeObjectArray.newArray(long[].class, nodeCount, tracker);
+                permute(
+                    nodeCount,
+                    concurrency,
+                    newId -> values.set(newId, properties.longArrayValue(newToOld.get(newId)))
+                );
+                return (LongArrayNodeProperties) values::get;
+            }
+            default:
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Node properties of type `%s` cannot be reordered.",
+                    properties.valueType()
+                ));
+        }
+    }
+
+    private static void permute(long nodeCount, int concurrency, LongConsumer writer) {
+        ParallelUtil.readParallel(concurrency, nodeCount, Pools.DEFAULT, (start, end) -> {
+            for (long newId = start; newId < end; newId++) {
+                writer.accept(newId);
+            }
+        });
+    }
+
+    /**
+     * Drops the data of the given store. The bytes are removed from the tracker by the caller.
+     */
+    /**
+     * Releases the id map, the node properties and the relationships of the
+     * given store and returns the number of bytes that were freed.
+     */
+    private static long release(CSRGraphStore graphStore) {
+        long released = ((IdMap) graphStore.nodes()).release();
+        for (RelationshipType relationshipType : graphStore.relationshipTypes()) {
+            Relationships.Topology topology = graphStore.relationshipTopology(relationshipType);
+            released += topology.list().release();
+            released += topology.offsets().release();
+            for (RelationshipProperty property : graphStore.relationshipPropertyStore(relationshipType).values()) {
+                released += property.values().list().release();
+                released += property.values().offsets().release();
+            }
+        }
+        // labels may share their property values
+        Set<NodeProperties> releasedProperties = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<NodeLabel, Set<String>> entry : graphStore.nodePropertyKeys().entrySet()) {
+            for (String propertyKey : entry.getValue()) {
+                NodeProperties properties = graphStore.nodePropertyValues(entry.getKey(), propertyKey);
+                if (releasedProperties.add(properties)) {
+                    released += properties.release();
+                }
+            }
+        }
+        return released;
+    }
+
+    private static final class RelationshipsRewriter {
+
+        private final Relationships.Topology topology;
+        private final List<RelationshipProperty> properties;
+        private final HugeLongArray newToOld;
+        private final HugeLongArray oldToNew;
+        private final AllocationTracker tracker;
+
+        private final TransientAdjacencyListBuilder adjacencyBuilder;
+        private final TransientAdjacencyListBuilder[] propertyBuilders;
+        private final DoubleCodec[] propertyCodecs;
+        private final long[][] adjacencyOffsets;
+        private final long[][][] propertyOffsets;
+
+        RelationshipsRewriter(
+            Relationships.Topology topology,
+            Collection<RelationshipProperty> properties,
+            HugeLongArray newToOld,
+            HugeLongArray oldToNew,
+            AllocationTracker tracker
+        ) {
+            this.topology = topology;
+            this.properties = new ArrayList<>(properties);
+            this.newToOld = newToOld;
+            this.oldToNew = oldToNew;
+            this.tracker = tracker;
+
+            this.adjacencyBuilder = newListBuilder(tracker);
+            this.propertyBuilders = new TransientAdjacencyListBuilder[properties.size()];
+            Arrays.setAll(propertyBuilders, i -> newListBuilder(tracker));
+            // keep compressed properties compressed
+            this.propertyCodecs = new DoubleCodec[properties.size()];
+            Arrays.setAll(propertyCodecs, i -> {
+                var list = this.properties.get(i).values().list();
+                return list instanceof TransientAdjacencyList
+                    ? ((TransientAdjacencyList) list).propertyCodec().orElse(null)
+                    : null;
+            });
+
+            long nodeCount = newToOld.size();
+            this.adjacencyOffsets = newOffsetPages(nodeCount, tracker);
+            this.propertyOffsets = new long[properties.size()][][];
+            Arrays.setAll(propertyOffsets, i -> newOffsetPages(nodeCount, tracker));
+        }
+
+        void run(int concurrency) {
+            List<Partition> partitions = PartitionUtils.rangePartition(concurrency, newToOld.size());
+            List<Runnable> tasks = partitions
+                .stream()
+                .map(partition -> (Runnable) () -> rewrite(partition))
+                .collect(Collectors.toList());
+            ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+        }
+
+        Relationships.Topology topology() {
+            return ImmutableTopology.of(
+                adjacencyBuilder.build(),
+                offsets(adjacencyOffsets),
+                topology.elementCount(),
+                topology.orientation(),
+                topology.isMultiGraph()
+            );
+        }
+
+        Map<String, Relationships.Properties> properties() {
+            Map<String, Relationships.Properties> propertyMap = new HashMap<>();
+            for (int i = 0; i < properties.size(); i++) {
+                RelationshipProperty property = properties.get(i);
+                propertyMap.put(property.key(), ImmutableProperties.of(
+                    propertyBuilders[i].build(propertyCodecs[i]),
+                    offsets(propertyOffsets[i]),
+                    topology.elementCount(),
+                    topology.orientation(),
+                    topology.isMultiGraph(),
+                    property.values().defaultPropertyValue()
+                ));
+            }
+            return propertyMap;
+        }
+
+        private void rewrite(Partition partition) {
+            int propertyCount = properties.size();
+            TransientAdjacencyListBuilder.Allocator adjacencyAllocator = adjacencyBuilder.newAllocator();
+            TransientAdjacencyListBuilder.Allocator[] propertyAllocators =
+                new TransientAdjacencyListBuilder.Allocator[propertyCount];
+            Arrays.setAll(propertyAllocators, i -> propertyBuilders[i].newAllocator());
+
+            adjacencyAllocator.prepare();
+            for (var propertyAllocator : propertyAllocators) {
+                propertyAllocator.prepare();
+            }
+
+            long[] targets = new long[0];
+            long[][] values = new long[propertyCount][0];
+            byte[] compressed = new byte[0];
+
+            long endNode = partition.startNode() + partition.nodeCount();
+            for (long newId = partition.startNode(); newId < endNode; newId++) {
+                long oldId = newToOld.get(newId);
+                long offset = topology.offsets().get(oldId);
+                if (offset == 0L) {
+                    continue;
+                }
+
+                AdjacencyCursor cursor = topology.list().decompressingCursor(offset);
+                int degree = cursor.size();
+                if (targets.length < degree) {
+                    targets = new long[degree];
+                    compressed = new byte[degree * 10];
+                }
+                for (int i = 0; i < degree; i++) {
+                    targets[i] = oldToNew.get(cursor.nextVLong());
+                }
+
+                for (int p = 0; p < propertyCount; p++) {
+                    Relationships.Properties propertyValues = properties.get(p).values();
+                    PropertyCursor propertyCursor = propertyValues
+                        .list()
+                        .cursor(propertyValues.offsets().get(oldId));
+                    if (values[p].length < degree) {
+                        values[p] = new long[degree];
+                    }
+                    for (int i = 0; i < degree; i++) {
+                        values[p][i] = propertyCursor.nextLong();
+                    }
+                }
+
+                sort(targets, values, degree);
+                for (int i = degree - 1; i > 0; i--) {
+                    targets[i] -= targets[i - 1];
+                }
+
+                int requiredBytes = VarLongEncoding.encodeVLongs(targets, degree, compressed, 0);
+                var slice = adjacencyAllocator.allocate(Integer.BYTES + requiredBytes);
+                slice.writeInt(degree);
+                slice.insert(compressed, 0, requiredBytes);
+                setOffset(adjacencyOffsets, newId, slice.address());
+
+                for (int p = 0; p < propertyCount; p++) {
+                    long address = propertyCodecs[p] == null
+                        ? copyProperties(values[p], degree, propertyAllocators[p])
+                        : copyCompressedProperties(values[p], degree, propertyAllocators[p], propertyCodecs[p], compressed);
+                    setOffset(propertyOffsets[p], newId, address);
+                }
+            }
+
+            adjacencyAllocator.close();
+            for (var propertyAllocator : propertyAllocators) {
+                propertyAllocator.close();
+            }
+        }
+
+        private static void sort(long[] targets, long[][] values, int degree) {
+            if (values.length == 0) {
+                Arrays.sort(targets, 0, degree);
+                return;
+            }
+            // stable, so that parallel relationships keep their property order
+            int[] order = IndirectSort.mergesort(0, degree, new AscendingLongComparator(targets));
+            long[] sortedTargets = new long[degree];
+            for (int i = 0; i < degree; i++) {
+                sortedTargets[i] = targets[order[i]];
+            }
+            System.arraycopy(sortedTargets, 0, targets, 0, degree);
+            for (long[] propertyValues : values) {
+                long[] sortedValues = new long[degree];
+                for (int i = 0; i < degree; i++) {
+                    sortedValues[i] = propertyValues[order[i]];
+                }
+                System.arraycopy(sortedValues, 0, propertyValues, 0, degree);
+            }
+        }
+
+        private static long copyProperties(long[] properties, int degree, AdjacencyListAllocator allocator) {
+            int requiredBytes = degree * Long.BYTES;
+            var slice = allocator.allocate(Integer.BYTES /* degree */ + requiredBytes);
+            slice.writeInt(degree);
+            ByteBuffer
+                .wrap(slice.page(), slice.offset(), requiredBytes)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asLongBuffer()
+                .put(properties, 0, degree);
+            slice.bytesWritten(requiredBytes);
+            return slice.address();
+        }
+
+        private static long copyCompressedProperties(
+            long[] properties,
+            int degree,
+            AdjacencyListAllocator allocator,
+            DoubleCodec codec,
+            byte[] buffer
+        ) {
+            int requiredBytes = codec.compressDoubles(properties, degree, buffer);
+            var slice = allocator.allocate(Integer.BYTES /* degree */ + requiredBytes);
+            slice.writeInt(degree);
+            slice.insert(buffer, 0, requiredBytes);
+            return slice.address();
+        }
+
+        private static TransientAdjacencyListBuilder newListBuilder(AllocationTracker tracker) {
+            return (TransientAdjacencyListBuilder) TransientAdjacencyListBuilder.builderFactory(tracker).newAdjacencyListBuilder();
+        }
+
+        private static long[][] newOffsetPages(long nodeCount, AllocationTracker tracker) {
+            int numPages = PageUtil.numPagesFor(nodeCount, OFFSETS_PAGE_SHIFT, OFFSETS_PAGE_MASK);
+            long[][] pages = new long[numPages][];
+            long remaining = nodeCount;
+            for (int i = 0; i < numPages; i++) {
+                int pageSize = (int) Math.min(OFFSETS_PAGE_SIZE, remaining);
+                pages[i] = new long[pageSize];
+                tracker.add(MemoryUsage.sizeOfLongArray(pageSize));
+                remaining -= pageSize;
+            }
+            return pages;
+        }
+
+        private static void setOffset(long[][] pages, long nodeId, long offset) {
+            pages[PageUtil.pageIndex(nodeId, OFFSETS_PAGE_SHIFT)][PageUtil.indexInPage(nodeId, OFFSETS_PAGE_MASK)] = offset;
+        }
+
+        private static AdjacencyOffsets offsets(long[][] pages) {
+            return TransientAdjacencyOffsets.forPageSize(OFFSETS_PAGE_SIZE).newOffsets(pages);
+        }
+    }
+}
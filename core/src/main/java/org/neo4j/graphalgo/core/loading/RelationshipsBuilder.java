@@ -33,11 +33,13 @@ import static java.util.Objects.requireNonNull;
 public class RelationshipsBuilder {
 
     private static final AdjacencyListBuilder[] EMPTY_PROPERTY_BUILDERS = new AdjacencyListBuilder[0];
+    private static final DoubleCodec[] EMPTY_PROPERTY_CODECS = new DoubleCodec[0];
 
     private final RelationshipProjection projection;
     private final AdjacencyListBuilder adjacencyListBuilder;
     private final AdjacencyOffsetsFactory offsetsFactory;
     private final AdjacencyListBuilder[] propertyBuilders;
+    private final DoubleCodec[] propertyCodecs;
     private long[][] globalAdjacencyOffsetsPages;
     private AdjacencyOffsets globalAdjacencyOffsets;
     private long[][][] globalPropertyOffsetsPages;
@@ -54,9 +56,17 @@ public class RelationshipsBuilder {
 
         if (projection.properties().isEmpty()) {
             this.propertyBuilders = EMPTY_PROPERTY_BUILDERS;
+            this.propertyCodecs = EMPTY_PROPERTY_CODECS;
         } else {
-            this.propertyBuilders = new AdjacencyListBuilder[projection.properties().numberOfMappings()];
+            var mappings = projection.properties().mappings();
+            this.propertyBuilders = new AdjacencyListBuilder[mappings.size()];
             Arrays.setAll(propertyBuilders, i -> listBuilderFactory.newAdjacencyListBuilder());
+            // compressed properties are only supported by the transient adjacency list
+            this.propertyCodecs = new DoubleCodec[mappings.size()];
+            Arrays.setAll(propertyCodecs, i -> mappings.get(i).compress() && supportsProperties()
+                ? TrailingZerosDoubleCodec.instance()
+                : null
+            );
         }
     }
 
@@ -72,6 +82,7 @@ public class RelationshipsBuilder {
                 .toArray(AdjacencyListAllocator[]::new),
             adjacencyOffsets,
             propertyOffsets,
+            propertyCodecs,
             aggregations
         );
     }
@@ -106,11 +117,17 @@ public class RelationshipsBuilder {
 
     // TODO: This returns only the first of possibly multiple properties
     public AdjacencyList properties() {
-        return propertyBuilders.length > 0 ? propertyBuilders[0].build() : null;
+        return properties(0);
     }
 
     public AdjacencyList properties(int propertyIndex) {
-        return propertyBuilders.length > 0 ? propertyBuilders[propertyIndex].build() : null;
+        if (propertyBuilders.length == 0) {
+            return null;
+        }
+        var propertyCodec = propertyCodecs[propertyIndex];
+        return propertyCodec != null
+            ? ((TransientAdjacencyListBuilder) propertyBuilders[propertyIndex]).build(propertyCodec)
+            : propertyBuilders[propertyIndex].build();
     }
 
     public RelationshipProjection projection() {
@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.core.loading;
 
 import org.apache.lucene.util.LongsRef;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -34,20 +35,25 @@ class ThreadLocalRelationshipsBuilder {
     private final AdjacencyListAllocator[] propertiesAllocators;
     private final long[] adjacencyOffsets;
     private final long[][] propertyOffsets;
+    private final DoubleCodec[] propertyCodecs;
     private final boolean noAggregation;
     private final Aggregation[] aggregations;
+    private byte[] compressedProperties;
 
     ThreadLocalRelationshipsBuilder(
         AdjacencyListAllocator adjacencyAllocator,
         AdjacencyListAllocator[] propertiesAllocators,
         long[] adjacencyOffsets,
         long[][] propertyOffsets,
+        DoubleCodec[] propertyCodecs,
         Aggregation[] aggregations
     ) {
         this.adjacencyAllocator = adjacencyAllocator;
         this.propertiesAllocators = propertiesAllocators;
         this.adjacencyOffsets = adjacencyOffsets;
         this.propertyOffsets = propertyOffsets;
+        this.propertyCodecs = propertyCodecs;
+        this.compressedProperties = new byte[0];
         this.aggregations = aggregations;
         this.lock = new ReentrantLock();
         this.noAggregation = Stream.of(aggregations).allMatch(aggregation -> aggregation == Aggregation.NONE);
@@ -139,7 +145,10 @@ class ThreadLocalRelationshipsBuilder {
         for (int i = 0; i < properties.length; i++) {
             long[] property = properties[i];
             var propertiesAllocator = propertiesAllocators[i];
-            long address = copyProperties(property, degree, propertiesAllocator);
+            var propertyCodec = propertyCodecs[i];
+            long address = propertyCodec == null
+                ? copyProperties(property, degree, propertiesAllocator)
+                : copyCompressedProperties(property, degree, propertiesAllocator, propertyCodec);
             offsets[i][localId] = address;
         }
     }
@@ -157,4 +166,21 @@ class ThreadLocalRelationshipsBuilder {
         slice.bytesWritten(requiredBytes);
         return slice.address();
     }
+
+    private long copyCompressedProperties(
+        long[] properties,
+        int degree,
+        AdjacencyListAllocator propertiesAllocator,
+        DoubleCodec propertyCodec
+    ) {
+        int maxRequiredBytes = degree * TransientAdjacencyList.MAX_COMPRESSED_PROPERTY_SIZE;
+        if (compressedProperties.length < maxRequiredBytes) {
+            compressedProperties = new byte[maxRequiredBytes];
+        }
+        int requiredBytes = propertyCodec.compressDoubles(properties, degree, compressedProperties);
+        var slice = propertiesAllocator.allocate(Integer.BYTES /* degree */ + requiredBytes);
+        slice.writeInt(degree);
+        slice.insert(compressedProperties, 0, requiredBytes);
+        return slice.address();
+    }
 }
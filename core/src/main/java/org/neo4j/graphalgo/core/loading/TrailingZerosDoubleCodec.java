@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.apache.commons.lang3.mutable.MutableDouble;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * A lossless {@link DoubleCodec} that drops the trailing zero bits of the significand.
+ *
+ * Most relationship weights are "short" values like {@code 1.0}, {@code 0.5} or {@code 42.0},
+ * whose significand only uses a few of its leading bits.
+ * The bit representation of a double is reversed so that those trailing zeros become leading zeros,
+ * and only the remaining, non-zero bytes are written.
+ *
+ * Every value starts with a header byte.
+ * The lower 4 bits of the header store the number of payload bytes that follow (0 to 8),
+ * the upper 4 bits store the lowest 4 bits of the reversed value.
+ * The payload contains the remaining bits of the reversed value in little-endian order.
+ * A value takes between 1 ({@code 0.0}) and 9 bytes, e.g. {@code 1.0} is stored in 2 bytes.
+ */
+public final class TrailingZerosDoubleCodec extends DoubleCodec {
+
+    private static final DoubleCodec INSTANCE = new TrailingZerosDoubleCodec();
+
+    private static final int HEADER_BITS = 4;
+    private static final int LENGTH_MASK = (1 << HEADER_BITS) - 1;
+
+    public static DoubleCodec instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public int compressDouble(long doubleBits, byte[] out, int outPos) {
+        long reversed = Long.reverse(doubleBits);
+        int payloadBits = Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(reversed) - HEADER_BITS);
+        int payloadBytes = (payloadBits + Byte.SIZE - 1) / Byte.SIZE;
+
+        out[outPos++] = (byte) ((reversed & LENGTH_MASK) << HEADER_BITS | payloadBytes);
+        reversed >>>= HEADER_BITS;
+        for (int i = 0; i < payloadBytes; i++) {
+            out[outPos++] = (byte) reversed;
+            reversed >>>= Byte.SIZE;
+        }
+        return outPos;
+    }
+
+    @Override
+    public int decompressDouble(byte[] data, int pos, MutableDouble out) {
+        int header = data[pos++] & 0xFF;
+        int payloadBytes = header & LENGTH_MASK;
+        long reversed = header >>> HEADER_BITS;
+        for (int i = 0; i < payloadBytes; i++) {
+            reversed |= ((long) (data[pos++] & 0xFF)) << (HEADER_BITS + i * Byte.SIZE);
+        }
+        out.setValue(Double.longBitsToDouble(Long.reverse(reversed)));
+        return pos;
+    }
+
+    @Override
+    public int compressedSize(byte[] data, int pos) {
+        return 1 + (data[pos] & LENGTH_MASK);
+    }
+
+    @Override
+    public String describeCompression(int type) {
+        return formatWithLocale("TRAILING_ZEROS(%d)", type);
+    }
+
+    @Override
+    public CompressionInfo describeCompressedValue(byte[] data, int pos, double originalInput) {
+        int size = compressedSize(data, pos);
+        int type = size - 1;
+        return ImmutableCompressionInfo.builder()
+            .input(originalInput)
+            .compressed(Arrays.copyOfRange(data, pos, pos + size))
+            .decompressed(decompressDouble(data, pos))
+            .compressedSize(size)
+            .compressedType(type)
+            .compressionDescription(describeCompression(type))
+            .build();
+    }
+
+    private TrailingZerosDoubleCodec() {
+    }
+}
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.core.huge.TransientAdjacencyList;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.PageUtil;
@@ -69,6 +70,13 @@ public final class TransientAdjacencyListBuilder implements AdjacencyListBuilder
         return new TransientAdjacencyList(pages);
     }
 
+    /**
+     * Builds a property list whose values have been written with the given codec.
+     */
+    public TransientAdjacencyList build(@Nullable DoubleCodec propertyCodec) {
+        return new TransientAdjacencyList(pages, propertyCodec);
+    }
+
     @Override
     public void flush() {
     }
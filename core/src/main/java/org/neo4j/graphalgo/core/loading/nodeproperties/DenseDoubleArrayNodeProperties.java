@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading.nodeproperties;
+
+import org.neo4j.graphalgo.api.DefaultValue;
+import org.neo4j.graphalgo.api.nodeproperties.DoubleArrayNodeProperties;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleMatrix;
+
+/**
+ * Double array properties of equal length, backed by a {@link HugeDoubleMatrix}.
+ * Algorithms can access the matrix directly to avoid copying the rows.
+ */
+public final class DenseDoubleArrayNodeProperties implements DoubleArrayNodeProperties {
+
+    private final HugeDoubleMatrix matrix;
+    private final HugeAtomicBitSet rowsInMatrix;
+    private final DefaultValue defaultValue;
+    private final long size;
+
+    DenseDoubleArrayNodeProperties(
+        HugeDoubleMatrix matrix,
+        HugeAtomicBitSet rowsInMatrix,
+        DefaultValue defaultValue,
+        long size
+    ) {
+        this.matrix = matrix;
+        this.rowsInMatrix = rowsInMatrix;
+        this.defaultValue = defaultValue;
+        this.size = size;
+    }
+
+    public HugeDoubleMatrix matrix() {
+        return matrix;
+    }
+
+    /**
+     * Returns {@code true} if the node has a value stored in the matrix.
+     * Nodes without a value return the default value in {@link #doubleArrayValue(long)}.
+     */
+    public boolean hasValue(long nodeId) {
+        return rowsInMatrix.get(nodeId);
+    }
+
+    @Override
+    public double[] doubleArrayValue(long nodeId) {
+        if (!rowsInMatrix.get(nodeId)) {
+            return defaultValue.doubleArrayValue();
+        }
+        return matrix.copyRow(nodeId);
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+}
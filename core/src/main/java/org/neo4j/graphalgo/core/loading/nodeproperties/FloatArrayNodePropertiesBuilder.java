@@ -22,30 +22,117 @@ package org.neo4j.graphalgo.core.loading.nodeproperties;
 import org.neo4j.graphalgo.api.DefaultValue;
 import org.neo4j.graphalgo.api.nodeproperties.FloatArrayNodeProperties;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicBitSet;
+import org.neo4j.graphalgo.core.utils.paged.HugeFloatMatrix;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.graphalgo.utils.ValueConversion;
 import org.neo4j.values.storable.Value;
 
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfFloatArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
+
+/**
+ * Stores float arrays in a {@link HugeFloatMatrix} as long as all arrays have the same length.
+ * The dimension of the matrix is taken from the first imported value.
+ * Arrays of a different length are collected separately and, if there are any,
+ * all values are moved into a {@link HugeObjectArray} when the properties are built.
+ * <p>
+ * The matrix is allocated for all nodes as soon as the first value is imported,
+ * so the import of a sparse property temporarily needs {@code nodeCount * dimension} floats.
+ * The node property memory estimation does not know the dimension and does not cover this.
+ * If only few nodes have a value, so that the matrix takes more than twice the memory of one array per node,
+ * the values are moved into a {@link HugeObjectArray} as well and the matrix is released.
+ */
 public class FloatArrayNodePropertiesBuilder extends InnerNodePropertiesBuilder {
 
-    private final HugeObjectArray<float[]> objectArray;
+    private final long nodeCount;
     private final DefaultValue defaultValue;
+    private final AllocationTracker tracker;
+    private final HugeAtomicBitSet rowsInMatrix;
+
+    private volatile HugeFloatMatrix matrix;
+    private volatile HugeObjectArray<float[]> objectArray;
 
     public FloatArrayNodePropertiesBuilder(long nodeCount, DefaultValue defaultValue, AllocationTracker tracker) {
+        this.nodeCount = nodeCount;
         this.defaultValue = defaultValue;
-        this.objectArray = HugeObjectArray.newArray(float[].class, nodeCount, tracker);
+        this.tracker = tracker;
+        this.rowsInMatrix = HugeAtomicBitSet.create(nodeCount, tracker);
     }
 
     @Override
     void setValue(long nodeId, Value value) {
-        objectArray.set(nodeId, ValueConversion.getFloatArray(value));
+        float[] values = ValueConversion.getFloatArray(value);
+        HugeFloatMatrix matrix = values.length > 0 ? matrix(values.length) : null;
+        if (matrix != null && matrix.dimension() == values.length) {
+            matrix.setRow(nodeId, values);
+            rowsInMatrix.set(nodeId);
+        } else {
+            objectArray().set(nodeId, values);
+        }
     }
 
     @Override
     FloatArrayNodeProperties build(long size) {
+        HugeFloatMatrix matrix = this.matrix;
+        HugeObjectArray<float[]> objectArray = this.objectArray;
+        if (objectArray == null) {
+            if (matrix != null && isDenseEnough(matrix)) {
+                return new DenseFloatArrayNodeProperties(matrix, rowsInMatrix, defaultValue, size);
+            }
+            objectArray = objectArray();
+        }
+        if (matrix != null) {
+            long nodeId = rowsInMatrix.nextSetBit(0);
+            while (nodeId != -1) {
+                objectArray.set(nodeId, matrix.copyRow(nodeId));
+                nodeId = nodeId + 1 < nodeCount ? rowsInMatrix.nextSetBit(nodeId + 1) : -1;
+            }
+            tracker.remove(matrix.release());
+        }
+        tracker.remove(rowsInMatrix.release());
         return new FloatArrayStoreNodeProperties(objectArray, defaultValue, size);
     }
 
+    /**
+     * The matrix is kept unless it takes more than twice the memory of storing one array per node with a value.
+     */
+    private boolean isDenseEnough(HugeFloatMatrix matrix) {
+        int dimension = matrix.dimension();
+        long rows = rowsInMatrix.cardinality();
+        long matrixSize = sizeOfFloatArray(nodeCount * dimension);
+        long objectArraySize = sizeOfObjectArray(nodeCount) + rows * sizeOfFloatArray(dimension);
+        return matrixSize <= 2 * objectArraySize;
+    }
+
+    private HugeFloatMatrix matrix(int dimension) {
+        HugeFloatMatrix matrix = this.matrix;
+        if (matrix == null) {
+            synchronized (this) {
+                matrix = this.matrix;
+                if (matrix == null) {
+                    matrix = HugeFloatMatrix.newMatrix(nodeCount, dimension, tracker);
+                    this.matrix = matrix;
+                }
+            }
+        }
+        return matrix;
+    }
+
+    private HugeObjectArray<float[]> objectArray() {
+        HugeObjectArray<float[]> objectArray = this.objectArray;
+        if (objectArray == null) {
+            synchronized (this) {
+                objectArray = this.objectArray;
+                if (objectArray == null) {
+                    objectArray = HugeObjectArray.newArray(float[].class, nodeCount, tracker);
+                    this.objectArray = objectArray;
+                }
+            }
+        }
+        return objectArray;
+    }
+
     static class FloatArrayStoreNodeProperties implements FloatArrayNodeProperties {
         private final HugeObjectArray<float[]> propertyValues;
         private final DefaultValue defaultValue;
@@ -172,6 +172,72 @@ public final class HugeAtomicBitSet {
         }
     }
 
+    /**
+     * Returns the index of the first set bit that occurs on or after
+     * the given index or -1 if there is no such bit.
+     * <p>
+     * Note: bits that are set concurrently might not be observed.
+     */
+    public long nextSetBit(long index) {
+        return nextSetBit(index, numBits);
+    }
+
+    /**
+     * Returns the index of the first set bit within the range from the
+     * startIndex (inclusive) to the endIndex (exclusive) or -1 if there
+     * is no such bit.
+     * <p>
+     * Note: bits that are set concurrently might not be observed.
+     */
+    public long nextSetBit(long startIndex, long endIndex) {
+        return nextBit(startIndex, endIndex, 0L);
+    }
+
+    /**
+     * Returns the index of the first clear bit that occurs on or after
+     * the given index or -1 if there is no such bit.
+     * <p>
+     * Note: bits that are cleared concurrently might not be observed.
+     */
+    public long nextClearBit(long index) {
+        return nextClearBit(index, numBits);
+    }
+
+    /**
+     * Returns the index of the first clear bit within the range from the
+     * startIndex (inclusive) to the endIndex (exclusive) or -1 if there
+     * is no such bit.
+     * <p>
+     * Note: bits that are cleared concurrently might not be observed.
+     */
+    public long nextClearBit(long startIndex, long endIndex) {
+        return nextBit(startIndex, endIndex, -1L);
+    }
+
+    private long nextBit(long startIndex, long endIndex, long flipMask) {
+        endIndex = Math.min(endIndex, numBits);
+        if (startIndex >= endIndex) {
+            return -1;
+        }
+
+        long wordIndex = startIndex / NUM_BITS;
+        // since endIndex is exclusive, we need the word before that index
+        long endWordIndex = (endIndex - 1) / NUM_BITS;
+        // mask out bits before the start index
+        long word = (bits.get(wordIndex) ^ flipMask) & (-1L << startIndex);
+
+        while (word == 0) {
+            if (++wordIndex > endWordIndex) {
+                return -1;
+            }
+            word = bits.get(wordIndex) ^ flipMask;
+        }
+
+        long index = wordIndex * NUM_BITS + Long.numberOfTrailingZeros(word);
+        // the last word might contain bits beyond the end index
+        return index < endIndex ? index : -1;
+    }
+
     /**
      * Returns the number of set bits in the bit set.
      * <p>
@@ -215,6 +281,15 @@ public final class HugeAtomicBitSet {
         return numBits;
     }
 
+    /**
+     * Destroys the bit set and returns the amount of memory freed, in bytes.
+     * <p>
+     * The amount is not removed from the {@link AllocationTracker} that had been provided on creation.
+     */
+    public long release() {
+        return bits.release();
+    }
+
     /**
      * Resets all bits in the bit set.
      * <p>
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.neo4j.graphalgo.core.utils.Intersections;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+
+import java.util.Arrays;
+
+/**
+ * A dense matrix of {@code float} values with a fixed number of columns.
+ * Rows are stored back-to-back in paged primitive arrays, a row never spans two pages.
+ * Rows can be accessed without copying through {@link #page(long)} and {@link #offset(long)}.
+ */
+public final class HugeFloatMatrix {
+
+    private final long rows;
+    private final int dimension;
+    private final int rowShift;
+    private final long rowMask;
+    private float[][] pages;
+
+    public static HugeFloatMatrix newMatrix(long rows, int dimension, AllocationTracker tracker) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("The dimension of a matrix must be positive, but got " + dimension);
+        }
+        int rowsPerPage = rowsPerPage(dimension);
+        int numPages = PageUtil.numPagesFor(rows, rowsPerPage);
+        float[][] pages = new float[numPages][];
+        for (int i = 0; i < numPages - 1; i++) {
+            pages[i] = new float[rowsPerPage * dimension];
+        }
+        if (numPages > 0) {
+            int lastPageRows = (int) (rows - (long) (numPages - 1) * rowsPerPage);
+            pages[numPages - 1] = new float[lastPageRows * dimension];
+        }
+        tracker.add(memoryUsageOf(rows, dimension));
+        return new HugeFloatMatrix(rows, dimension, rowsPerPage, pages);
+    }
+
+    public static long memoryEstimation(long rows, int dimension) {
+        return memoryUsageOf(rows, dimension);
+    }
+
+    private HugeFloatMatrix(long rows, int dimension, int rowsPerPage, float[][] pages) {
+        this.rows = rows;
+        this.dimension = dimension;
+        this.rowShift = Integer.numberOfTrailingZeros(rowsPerPage);
+        this.rowMask = rowsPerPage - 1;
+        this.pages = pages;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public float get(long row, int column) {
+        assert row < rows;
+        assert column < dimension;
+        return page(row)[offset(row) + column];
+    }
+
+    public void set(long row, int column, float value) {
+        assert row < rows;
+        assert column < dimension;
+        page(row)[offset(row) + column] = value;
+    }
+
+    /**
+     * Copies {@code values} into the given row.
+     * The length of {@code values} must match the dimension of the matrix.
+     */
+    public void setRow(long row, float[] values) {
+        if (values.length != dimension) {
+            throw new IllegalArgumentException(
+                "Expected a row of length " + dimension + ", but got " + values.length
+            );
+        }
+        System.arraycopy(values, 0, page(row), offset(row), dimension);
+    }
+
+    public float[] copyRow(long row) {
+        int offset = offset(row);
+        return Arrays.copyOfRange(page(row), offset, offset + dimension);
+    }
+
+    /**
+     * Returns the page holding the given row.
+     * The row starts at index {@link #offset(long)} and spans {@link #dimension()} values.
+     * The returned array must not be modified outside of the row.
+     */
+    public float[] page(long row) {
+        return pages[(int) (row >>> rowShift)];
+    }
+
+    /**
+     * Returns the index of the first value of the given row inside {@link #page(long)}.
+     */
+    public int offset(long row) {
+        return (int) (row & rowMask) * dimension;
+    }
+
+    public float dot(long row1, long row2) {
+        return Intersections.dot(page(row1), offset(row1), page(row2), offset(row2), dimension);
+    }
+
+    public float cosine(long row1, long row2) {
+        return Intersections.cosine(page(row1), offset(row1), page(row2), offset(row2), dimension);
+    }
+
+    public double euclideanDistance(long row1, long row2) {
+        return Math.sqrt(Intersections.sumSquareDelta(page(row1), offset(row1), page(row2), offset(row2), dimension));
+    }
+
+    public long sizeOf() {
+        return memoryUsageOf(rows, dimension);
+    }
+
+    public long release() {
+        if (pages != null) {
+            pages = null;
+            return memoryUsageOf(rows, dimension);
+        }
+        return 0L;
+    }
+
+    private static int rowsPerPage(int dimension) {
+        int valuesPerPage = PageUtil.pageSizeFor(Float.BYTES);
+        return Integer.highestOneBit(Math.max(1, valuesPerPage / dimension));
+    }
+
+    private static long memoryUsageOf(long rows, int dimension) {
+        int rowsPerPage = rowsPerPage(dimension);
+        int numPages = PageUtil.numPagesFor(rows, rowsPerPage);
+        long lastPageRows = rows - (long) Math.max(0, numPages - 1) * rowsPerPage;
+        long pagesSize = (numPages > 0)
+            ? (numPages - 1) * MemoryUsage.sizeOfFloatArray((long) rowsPerPage * dimension) +
+              MemoryUsage.sizeOfFloatArray(lastPageRows * dimension)
+            : 0L;
+        return MemoryUsage.sizeOfInstance(HugeFloatMatrix.class) +
+               MemoryUsage.sizeOfObjectArray(numPages) +
+               pagesSize;
+    }
+}
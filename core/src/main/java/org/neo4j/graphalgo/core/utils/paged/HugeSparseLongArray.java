@@ -41,7 +41,7 @@ public final class HugeSparseLongArray {
     private static final long PAGE_SIZE_IN_BYTES = MemoryUsage.sizeOfLongArray(PAGE_SIZE);
 
     private final long capacity;
-    private final long[][] pages;
+    private long[][] pages;
     private final long defaultValue;
 
     private HugeSparseLongArray(long capacity, long[][] pages, long defaultValue) {
@@ -97,6 +97,25 @@ public final class HugeSparseLongArray {
         return false;
     }
 
+    /**
+     * Release the pages of this array and return an estimate how many bytes were freed.
+     *
+     * Note that the array is not usable afterwards.
+     */
+    public long release() {
+        if (pages == null) {
+            return 0L;
+        }
+        long released = MemoryUsage.sizeOfObjectArray(pages.length);
+        for (long[] page : pages) {
+            if (page != null) {
+                released += PAGE_SIZE_IN_BYTES;
+            }
+        }
+        pages = null;
+        return released;
+    }
+
     private static int pageIndex(long index) {
         return (int) (index >>> PAGE_SHIFT);
     }
@@ -196,4 +196,15 @@ public final class HugeAtomicDisjointSetStruct implements DisjointSetStruct {
     public long size() {
         return parent.size();
     }
+
+    /**
+     * Releases the underlying arrays and returns the number of bytes that were freed.
+     */
+    public long release() {
+        long freed = parent.release();
+        if (communities != null) {
+            freed += communities.release();
+        }
+        return freed;
+    }
 }
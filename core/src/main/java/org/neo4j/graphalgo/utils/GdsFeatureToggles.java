@@ -80,4 +80,15 @@ public enum GdsFeatureToggles {
     );
     public static final AtomicInteger MAX_ARRAY_LENGTH_SHIFT = new AtomicInteger(MAX_ARRAY_LENGTH_SHIFT_FLAG);
 
+    // Nodes with at least this many relationships get a skip index over their adjacency list when a
+    // relationship is looked up, e.g. via `exists` or `relationshipProperty`. See `AdjacencySkipIndex`.
+    public static final int ADJACENCY_SKIP_INDEX_DEGREE_THRESHOLD_DEFAULT_SETTING = 1024;
+    private static final int ADJACENCY_SKIP_INDEX_DEGREE_THRESHOLD_FLAG = FeatureToggles.getInteger(
+        GdsFeatureToggles.class,
+        "adjacencySkipIndexDegreeThreshold",
+        ADJACENCY_SKIP_INDEX_DEGREE_THRESHOLD_DEFAULT_SETTING
+    );
+    public static final AtomicInteger ADJACENCY_SKIP_INDEX_DEGREE_THRESHOLD = new AtomicInteger(
+        ADJACENCY_SKIP_INDEX_DEGREE_THRESHOLD_FLAG);
+
 }
@@ -24,6 +24,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.nodeproperties.ValueType;
@@ -36,12 +37,18 @@ import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.Inject;
 import org.neo4j.graphalgo.extension.TestGraph;
 
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.beta.pregel.PregelTest.CompositeTestComputation.DOUBLE_ARRAY_KEY;
 import static org.neo4j.graphalgo.beta.pregel.PregelTest.CompositeTestComputation.DOUBLE_KEY;
 import static org.neo4j.graphalgo.beta.pregel.PregelTest.CompositeTestComputation.LONG_ARRAY_KEY;
@@ -99,6 +106,188 @@ class PregelTest {
         assertEquals(Double.NaN, nodeValues.doubleProperties(KEY).get(2L));
     }
 
+    @Test
+    void convergesInAsynchronousMode() {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(10)
+            .isAsynchronous(true)
+            .build();
+
+        var pregelJob = Pregel.create(
+            graph,
+            config,
+            new TestPregelComputation(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+
+        var result = pregelJob.run();
+        assertTrue(result.didConverge());
+        assertEquals(1, result.ranIterations());
+        assertArrayEquals(new double[]{0.0, 1.0, 1.0}, result.nodeValues().doubleProperties(KEY).toArray());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void sendMessageToSpecificTargetWithReducer(boolean isAsynchronous) {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(2)
+            .concurrency(1)
+            .isAsynchronous(isAsynchronous)
+            .build();
+
+        var pregelJob = Pregel.create(
+            graph,
+            config,
+            new TestReducibleSendTo(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+
+        var nodeValues = pregelJob.run().nodeValues();
+        // both messages are reduced into a single message
+        assertEquals(1.0, nodeValues.doubleProperties(TestReducibleSendTo.MESSAGE_COUNT_KEY).get(0L));
+        assertEquals(2.0, nodeValues.doubleProperties(KEY).get(0L));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void sendSingleValueArrayMessagesWithReducer(boolean isAsynchronous) {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(2)
+            .concurrency(1)
+            .isAsynchronous(isAsynchronous)
+            .build();
+
+        var pregelJob = Pregel.create(
+            graph,
+            config,
+            new TestReducibleArraySend(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+
+        var nodeValues = pregelJob.run().nodeValues();
+        // alice receives the reduced messages of bob and eve, bob and eve receive the message of alice
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            assertEquals(1.0, nodeValues.doubleProperties(TestReducibleSendTo.MESSAGE_COUNT_KEY).get(nodeId));
+            assertEquals(2.0, nodeValues.doubleProperties(KEY).get(nodeId));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void deliverReducedMessageThatEqualsTheIdentity(boolean isAsynchronous) {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(2)
+            .concurrency(1)
+            .isAsynchronous(isAsynchronous)
+            .build();
+
+        var pregelJob = Pregel.create(
+            graph,
+            config,
+            new TestReducibleSendIdentity(),
+            Pools.DEFAULT,
+            AllocationTracker.empty()
+        );
+
+        var nodeValues = pregelJob.run().nodeValues();
+        // the messages sum up to 0.0, which is the identity of the sum reducer
+        assertEquals(1.0, nodeValues.doubleProperties(TestReducibleSendTo.MESSAGE_COUNT_KEY).get(0L));
+        assertEquals(0.0, nodeValues.doubleProperties(KEY).get(0L));
+    }
+
+    @Test
+    void asynchronousReducingMessengerDeliversEveryMessageExactlyOnce() throws Exception {
+        int senderCount = 3;
+        int messagesPerSender = 100_000;
+        var messenger = new ReducingMessenger(1, senderCount + 1, new Reducer.Sum(), true, AllocationTracker.empty());
+        var executor = Executors.newFixedThreadPool(senderCount);
+        try {
+            var senders = new ArrayList<Future<?>>();
+            for (int i = 0; i < senderCount; i++) {
+                senders.add(executor.submit(() -> {
+                    for (int j = 0; j < messagesPerSender; j++) {
+                        messenger.sendTo(0L, 1.0);
+                    }
+                }));
+            }
+
+            var iterator = messenger.messageIterator();
+            var received = 0.0;
+            boolean sendersDone;
+            do {
+                sendersDone = senders.stream().allMatch(Future::isDone);
+                messenger.initMessageIterator(iterator, 0L, true);
+                if (iterator.hasNext()) {
+                    var message = iterator.nextDouble();
+                    // a delivered identity would be a message that has been taken before
+                    assertTrue(message > 0.0);
+                    received += message;
+                }
+            } while (!sendersDone);
+
+            messenger.initMessageIterator(iterator, 0L, true);
+            assertFalse(iterator.hasNext());
+            assertEquals(senderCount * messagesPerSender, received);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void reducingMessengerReleasesTrackedMemory(boolean isAsynchronous) {
+        var tracker = AllocationTracker.create();
+        var messenger = new ReducingMessenger(graph.nodeCount(), 1, new Reducer.Sum(), isAsynchronous, tracker);
+        messenger.sendTo(0L, 1.0);
+
+        messenger.release();
+
+        assertEquals(0L, tracker.trackedBytes());
+    }
+
+    @Test
+    void rejectsReducerForMultiValueMessages() {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(2)
+            .build();
+
+        var computation = new TestMultiValueComputation() {
+            @Override
+            public Optional<Reducer> reducer() {
+                return Optional.of(new Reducer.Sum());
+            }
+        };
+
+        var exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> Pregel.create(graph, config, computation, Pools.DEFAULT, AllocationTracker.empty())
+        );
+        assertTrue(exception.getMessage().contains("A reducer can only be used for messages with a width of 1"));
+    }
+
+    @Test
+    void rejectsMessagesThatDoNotMatchTheMessageWidth() {
+        var config = ImmutablePregelConfig.builder()
+            .maxIterations(2)
+            .concurrency(1)
+            .build();
+
+        var computation = new TestMultiValueComputation() {
+            @Override
+            public void compute(PregelContext.ComputeContext<PregelConfig> context, Pregel.Messages messages) {
+                context.sendToNeighbors(1.0);
+            }
+        };
+
+        var pregelJob = Pregel.create(graph, config, computation, Pools.DEFAULT, AllocationTracker.empty());
+
+        var exception = assertThrows(IllegalArgumentException.class, pregelJob::run);
+        assertTrue(exception.getMessage().contains("Expected a message with 2 value(s), but got 1 value(s)."));
+    }
+
     @Test
     void compositeNodeValueTest() {
         var config = ImmutableCompositeTestComputationConfig.builder()
@@ -136,15 +325,18 @@ class PregelTest {
 
     static Stream<Arguments> estimations() {
         return Stream.of(
-            Arguments.of(1, new NodeSchemaBuilder().putElement("key", ValueType.LONG).build(), 4_884_072L),
-            Arguments.of(10, new NodeSchemaBuilder().putElement("key", ValueType.LONG).build(), 4_884_792L),
+            Arguments.of(1, new NodeSchemaBuilder().putElement("key", ValueType.LONG).build(), false, false, 1, 2_603_696L),
+            Arguments.of(10, new NodeSchemaBuilder().putElement("key", ValueType.LONG).build(), false, false, 1, 2_933_304L),
             Arguments.of(1, new NodeSchemaBuilder()
                     .putElement("key1", ValueType.LONG)
                     .putElement("key2", ValueType.DOUBLE)
                     .putElement("key3", ValueType.LONG_ARRAY)
                     .putElement("key4", ValueType.DOUBLE_ARRAY)
                     .build(),
-                6_884_144L
+                false,
+                false,
+                1,
+                4_603_768L
             ),
             Arguments.of(10, new NodeSchemaBuilder()
                     .putElement("key1", ValueType.LONG)
@@ -152,14 +344,27 @@ class PregelTest {
                     .putElement("key3", ValueType.LONG_ARRAY)
                     .putElement("key4", ValueType.DOUBLE_ARRAY)
                     .build(),
-                6_884_864L
-            )
+                false,
+                false,
+                1,
+                4_933_376L
+            ),
+            Arguments.of(1, new NodeSchemaBuilder().putElement("key", ValueType.LONG).build(), false, true, 1, 1_124_192L),
+            Arguments.of(1, new NodeSchemaBuilder().putElement("key", ValueType.LONG).build(), true, false, 1, 244_200L),
+            Arguments.of(1, new NodeSchemaBuilder().putElement("key", ValueType.LONG).build(), false, false, 2, 4_222_896L)
         );
     }
 
     @ParameterizedTest
     @MethodSource("estimations")
-    void memoryEstimation(int concurrency, Pregel.NodeSchema nodeSchema, long expectedBytes) {
+    void memoryEstimation(
+        int concurrency,
+        Pregel.NodeSchema nodeSchema,
+        boolean isReducing,
+        boolean isAsynchronous,
+        int messageWidth,
+        long expectedBytes
+    ) {
         var dimensions = ImmutableGraphDimensions.builder()
             .nodeCount(10_000)
             .maxRelCount(100_000)
@@ -167,7 +372,10 @@ class PregelTest {
 
         assertEquals(
             MemoryRange.of(expectedBytes).max,
-            Pregel.memoryEstimation(nodeSchema).estimate(dimensions, concurrency).memoryUsage().max
+            Pregel
+                .memoryEstimation(nodeSchema, isReducing, isAsynchronous, messageWidth)
+                .estimate(dimensions, concurrency)
+                .memoryUsage().max
         );
     }
 
@@ -187,6 +395,36 @@ class PregelTest {
                 ImmutablePregelConfig.builder().maxIterations(2).relationshipWeightProperty("prop").build(),
                 new TestWeightComputation(),
                 new double[]{0.0, 2.0, 1.0}
+            ),
+            Arguments.of(
+                ImmutablePregelConfig.builder().maxIterations(2).isAsynchronous(true).build(),
+                new TestPregelComputation(),
+                new double[]{0.0, 1.0, 1.0}
+            ),
+            Arguments.of(
+                ImmutablePregelConfig.builder().maxIterations(2).build(),
+                new TestReduciblePregelComputation(),
+                new double[]{0.0, 1.0, 1.0}
+            ),
+            Arguments.of(
+                ImmutablePregelConfig.builder().maxIterations(2).build(),
+                new TestRelationshipMessageComputation(),
+                new double[]{0.0, 10.0, 10.0}
+            ),
+            Arguments.of(
+                ImmutablePregelConfig.builder().maxIterations(2).relationshipWeightProperty("prop").build(),
+                new TestRelationshipMessageComputation(),
+                new double[]{0.0, 20.0, 10.0}
+            ),
+            Arguments.of(
+                ImmutablePregelConfig.builder().maxIterations(2).build(),
+                new TestMultiValueComputation(),
+                new double[]{0.0, 12.0, 12.0}
+            ),
+            Arguments.of(
+                ImmutablePregelConfig.builder().maxIterations(2).isAsynchronous(true).build(),
+                new TestMultiValueComputation(),
+                new double[]{0.0, 12.0, 12.0}
             )
         );
     }
@@ -247,6 +485,14 @@ class PregelTest {
         }
     }
 
+    public static class TestReduciblePregelComputation extends TestPregelComputation {
+
+        @Override
+        public Optional<Reducer> reducer() {
+            return Optional.of(new Reducer.Sum());
+        }
+    }
+
     public static class TestWeightComputation extends TestPregelComputation {
 
         @Override
@@ -255,6 +501,72 @@ class PregelTest {
         }
     }
 
+    public static class TestRelationshipMessageComputation extends TestPregelComputation {
+
+        @Override
+        public void compute(PregelContext.ComputeContext<PregelConfig> context, Pregel.Messages messages) {
+            if (context.isInitialSuperstep()) {
+                context.setNodeValue(KEY, 0.0);
+                context.sendToNeighbors((targetNodeId, relationshipWeight) -> 10 * relationshipWeight);
+            } else {
+                double messageSum = 0.0;
+                for (Double message : messages) {
+                    messageSum += message;
+                }
+                context.setNodeValue(KEY, messageSum);
+            }
+            context.voteToHalt();
+        }
+    }
+
+    public static class TestMultiValueComputation extends TestPregelComputation {
+
+        @Override
+        public int messageWidth() {
+            return 2;
+        }
+
+        @Override
+        public void compute(PregelContext.ComputeContext<PregelConfig> context, Pregel.Messages messages) {
+            if (context.isInitialSuperstep()) {
+                context.setNodeValue(KEY, 0.0);
+                context.sendToNeighbors(new double[]{1.0, 2.0});
+            } else {
+                double value = 0.0;
+                var iterator = messages.iterator();
+                while (iterator.hasNext()) {
+                    // both values of a message are received consecutively
+                    value += 10 * iterator.nextDouble() + iterator.nextDouble();
+                }
+                context.setNodeValue(KEY, value);
+            }
+            context.voteToHalt();
+        }
+    }
+
+    public static class TestReducibleArraySend extends TestReducibleSendTo {
+
+        @Override
+        public void compute(PregelContext.ComputeContext<PregelConfig> context, Pregel.Messages messages) {
+            if (context.isInitialSuperstep()) {
+                if (context.nodeId() == 0) {
+                    context.sendToNeighbors(new double[]{2.0});
+                } else {
+                    context.sendTo(0L, new double[]{1.0});
+                }
+            } else {
+                var sum = 0.0;
+                var count = 0.0;
+                for (var message : messages) {
+                    sum += message;
+                    count++;
+                }
+                context.setNodeValue(KEY, sum);
+                context.setNodeValue(MESSAGE_COUNT_KEY, count);
+            }
+        }
+    }
+
     public static class TestSendTo implements PregelComputation<PregelConfig> {
 
         static final String KEY = "value";
@@ -275,6 +587,55 @@ class PregelTest {
         }
     }
 
+    public static class TestReducibleSendTo implements PregelComputation<PregelConfig> {
+
+        static final String KEY = "value";
+        static final String MESSAGE_COUNT_KEY = "messageCount";
+
+        @Override
+        public Pregel.NodeSchema nodeSchema() {
+            return new NodeSchemaBuilder()
+                .putElement(KEY, ValueType.DOUBLE)
+                .putElement(MESSAGE_COUNT_KEY, ValueType.DOUBLE)
+                .build();
+        }
+
+        @Override
+        public void compute(PregelContext.ComputeContext<PregelConfig> context, Pregel.Messages messages) {
+            if (context.nodeId() == 0) {
+                var sum = 0.0;
+                var count = 0.0;
+                for (var message : messages) {
+                    sum += message;
+                    count++;
+                }
+                if (!context.isInitialSuperstep()) {
+                    context.setNodeValue(KEY, sum);
+                    context.setNodeValue(MESSAGE_COUNT_KEY, count);
+                }
+            } else {
+                context.sendTo(0L, message());
+            }
+        }
+
+        double message() {
+            return 1;
+        }
+
+        @Override
+        public Optional<Reducer> reducer() {
+            return Optional.of(new Reducer.Sum());
+        }
+    }
+
+    public static class TestReducibleSendIdentity extends TestReducibleSendTo {
+
+        @Override
+        double message() {
+            return 0;
+        }
+    }
+
     @ValueClass
     @Configuration
     @SuppressWarnings("immutables:subtype")
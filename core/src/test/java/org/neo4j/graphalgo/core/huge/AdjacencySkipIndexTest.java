@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.Relationships;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.loading.construction.GraphFactory;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.ADJACENCY_SKIP_INDEX_DEGREE_THRESHOLD;
+import static org.neo4j.graphalgo.utils.GdsFeatureToggles.ADJACENCY_SKIP_INDEX_DEGREE_THRESHOLD_DEFAULT_SETTING;
+
+class AdjacencySkipIndexTest {
+
+    private static final int NODE_COUNT = 2_000;
+    private static final int HUB_DEGREE = 1_000;
+
+    @AfterEach
+    void resetThreshold() {
+        ADJACENCY_SKIP_INDEX_DEGREE_THRESHOLD.set(ADJACENCY_SKIP_INDEX_DEGREE_THRESHOLD_DEFAULT_SETTING);
+    }
+
+    @Test
+    void shouldAnswerLookupsLikeALinearScan() {
+        var idMap = createIdMap();
+        var relationships = createRelationships(idMap);
+
+        ADJACENCY_SKIP_INDEX_DEGREE_THRESHOLD.set(Integer.MAX_VALUE);
+        Graph linear = GraphFactory.create(idMap, relationships, AllocationTracker.empty());
+        ADJACENCY_SKIP_INDEX_DEGREE_THRESHOLD.set(0);
+        Graph indexed = GraphFactory.create(idMap, relationships, AllocationTracker.empty());
+
+        for (long nodeId = 0; nodeId < 2; nodeId++) {
+            for (long targetId = 0; targetId < NODE_COUNT; targetId++) {
+                assertEquals(linear.exists(nodeId, targetId), indexed.exists(nodeId, targetId));
+                assertEquals(
+                    linear.relationshipProperty(nodeId, targetId, Double.NaN),
+                    indexed.relationshipProperty(nodeId, targetId, Double.NaN)
+                );
+            }
+            for (long index = -1; index <= linear.degree(nodeId); index++) {
+                assertEquals(linear.getTarget(nodeId, index), indexed.getTarget(nodeId, index));
+            }
+        }
+    }
+
+    @Test
+    void shouldFindParallelRelationshipsAcrossBlocks() {
+        var idMap = createIdMap();
+        var relationshipsBuilder = GraphFactory.initRelationshipsBuilder()
+            .nodes(idMap)
+            .orientation(Orientation.NATURAL)
+            .loadRelationshipProperty(true)
+            .build();
+        // 100 parallel relationships span two blocks of the index
+        for (int i = 0; i < 100; i++) {
+            relationshipsBuilder.addFromInternal(0, 42, 1.0);
+        }
+        relationshipsBuilder.addFromInternal(0, 1337, 2.0);
+
+        ADJACENCY_SKIP_INDEX_DEGREE_THRESHOLD.set(0);
+        Graph graph = GraphFactory.create(idMap, relationshipsBuilder.build(), AllocationTracker.empty());
+
+        assertTrue(graph.exists(0, 42));
+        assertTrue(graph.exists(0, 1337));
+        assertFalse(graph.exists(0, 43));
+        assertEquals(1.0, graph.relationshipProperty(0, 42, Double.NaN));
+        assertEquals(2.0, graph.relationshipProperty(0, 1337, Double.NaN));
+        assertEquals(42, graph.getTarget(0, 99));
+        assertEquals(1337, graph.getTarget(0, 100));
+        assertEquals(-1, graph.getTarget(0, 101));
+    }
+
+    @Test
+    void shouldTrackBuiltIndices() {
+        var idMap = createIdMap();
+        var relationships = createRelationships(idMap);
+        var tracker = AllocationTracker.create();
+
+        ADJACENCY_SKIP_INDEX_DEGREE_THRESHOLD.set(0);
+        HugeGraph graph = GraphFactory.create(idMap, relationships, tracker);
+        long bytesBeforeLookup = tracker.trackedBytes();
+
+        graph.exists(0, 42);
+        long bytesAfterLookup = tracker.trackedBytes();
+        assertTrue(bytesAfterLookup > bytesBeforeLookup);
+
+        // the index of a node is only built once
+        graph.exists(0, 43);
+        assertEquals(bytesAfterLookup, tracker.trackedBytes());
+
+        graph.releaseTopology();
+        assertEquals(bytesBeforeLookup, tracker.trackedBytes());
+    }
+
+    private static Relationships createRelationships(IdMap idMap) {
+        var random = new Random(42);
+        var relationshipsBuilder = GraphFactory.initRelationshipsBuilder()
+            .nodes(idMap)
+            .orientation(Orientation.NATURAL)
+            .loadRelationshipProperty(true)
+            .build();
+
+        for (int i = 0; i < HUB_DEGREE; i++) {
+            long target = random.nextInt(NODE_COUNT);
+            relationshipsBuilder.addFromInternal(0, target, random.nextDouble());
+        }
+        // a low-degree node that is not indexed
+        relationshipsBuilder.addFromInternal(1, 0, 4.2);
+        relationshipsBuilder.addFromInternal(1, 2, 1.3);
+
+        return relationshipsBuilder.build();
+    }
+
+    private static IdMap createIdMap() {
+        var nodesBuilder = GraphFactory.initNodesBuilder().maxOriginalId(NODE_COUNT).build();
+        for (long i = 0; i < NODE_COUNT; i++) {
+            nodesBuilder.addNode(i);
+        }
+        return nodesBuilder.build();
+    }
+}
@@ -128,6 +128,39 @@ class CypherFactoryTest extends BaseTest {
         loadAndTestGraph(nodeStatement, relStatement);
     }
 
+    @Test
+    void testLoadRelationshipsCypherInBatches() {
+        String nodeStatement = "MATCH (n) RETURN id(n) AS id";
+        String relStatement = "MATCH (n)-[r:REL]->(m) " +
+                              "RETURN id(n) AS source, id(m) AS target, r.prop AS weight " +
+                              "ORDER BY id(r) SKIP $skip LIMIT $limit";
+
+        CypherLoaderBuilder builder = new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery(nodeStatement)
+            .relationshipQuery(relStatement)
+            .concurrency(4)
+            .queryBatchSize(1_000);
+
+        loadAndTestGraph(builder);
+    }
+
+    static Stream<Arguments> batchedQueries() {
+        return Stream.of(
+            Arguments.of("MATCH (n)-->(m) RETURN id(n) AS source, id(m) AS target SKIP $skip LIMIT $limit", true),
+            Arguments.of("MATCH (n)-->(m) RETURN id(n) AS source, id(m) AS target SKIP $skip LIMIT $limit+1", true),
+            Arguments.of("MATCH (n)-->(m) RETURN id(n) AS source, id(m) AS target SKIP $skipped LIMIT $limitValue", false),
+            Arguments.of("MATCH (n)-->(m) RETURN id(n) AS source, id(m) AS target SKIP $skip LIMIT $limit_", false),
+            Arguments.of("MATCH (n)-->(m) RETURN id(n) AS source, id(m) AS target LIMIT $limit", false)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("batchedQueries")
+    void testDetectSkipAndLimitParameters(String query, boolean expected) {
+        assertEquals(expected, CypherRecordLoader.usesSkipAndLimitParameters(query));
+    }
+
     @Test
     void testMultipleNodeProperties() {
         clearDb();
@@ -360,6 +393,10 @@ class CypherFactoryTest extends BaseTest {
             .nodeQuery(nodeStatement)
             .relationshipQuery(relStatement);
 
+        loadAndTestGraph(builder);
+    }
+
+    private void loadAndTestGraph(CypherLoaderBuilder builder) {
         Graph graph = applyInTransaction(db, tx -> builder.build().graph());
 
         assertEquals(COUNT, graph.nodeCount());
@@ -22,7 +22,9 @@ package org.neo4j.graphalgo.core.loading;
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.TestSupport;
 import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.extension.GdlExtension;
 import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.Inject;
@@ -30,6 +32,8 @@ import org.neo4j.graphalgo.gdl.GdlFactory;
 import org.neo4j.kernel.database.DatabaseIdFactory;
 import org.neo4j.kernel.database.NamedDatabaseId;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -73,6 +77,43 @@ class GraphStoreCatalogTest {
         assertFalse(GraphStoreCatalog.exists(USER_NAME, DATABASE_ID, GRAPH_NAME));
     }
 
+    @Test
+    void releaseIndexesWhenGraphIsRemoved() {
+        GraphStoreCatalog.set(CONFIG, graphStore);
+        var index = new TestIndex();
+        GraphStoreCatalog.setIndex(USER_NAME, DATABASE_ID, GRAPH_NAME, "index", index);
+        assertTrue(GraphStoreCatalog.getIndex(USER_NAME, DATABASE_ID, GRAPH_NAME, "index").isPresent());
+
+        GraphStoreCatalog.remove(USER_NAME, DATABASE_ID, GRAPH_NAME, graphStoreWithConfig -> {}, true);
+
+        assertTrue(index.released);
+        assertEquals(0, index.tracker.trackedBytes());
+        assertFalse(GraphStoreCatalog.getIndex(USER_NAME, DATABASE_ID, GRAPH_NAME, "index").isPresent());
+    }
+
+    @Test
+    void notifyIndexesAboutUpdatedNodeProperties() {
+        var graphStore = GdlFactory.of("({ a: 1 }), ({ a: 2 })").build().graphStore();
+        GraphStoreCatalog.set(CONFIG, graphStore);
+        var index = new TestIndex();
+        GraphStoreCatalog.setIndex(USER_NAME, DATABASE_ID, GRAPH_NAME, "index", index);
+
+        GraphStoreCatalog.nodePropertiesUpdated(USER_NAME, DATABASE_ID, GRAPH_NAME, List.of("b"));
+        assertEquals(0, index.updates);
+        GraphStoreCatalog.nodePropertiesUpdated(USER_NAME, DATABASE_ID, GRAPH_NAME, List.of("a"));
+        assertEquals(1, index.updates);
+
+        GraphStoreCatalog.nodePropertiesRemoved(USER_NAME, DATABASE_ID, GRAPH_NAME, List.of("b"));
+        assertEquals(0, index.removals);
+        GraphStoreCatalog.nodePropertiesRemoved(USER_NAME, DATABASE_ID, GRAPH_NAME, List.of("a"));
+        assertEquals(1, index.removals);
+
+        assertTrue(GraphStoreCatalog.removeIndex(USER_NAME, DATABASE_ID, GRAPH_NAME, "index"));
+        assertTrue(index.released);
+        assertEquals(0, index.tracker.trackedBytes());
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
     @Test
     void graphStoresCount() {
         assertEquals(0, GraphStoreCatalog.graphStoresCount(DATABASE_ID));
@@ -117,4 +158,41 @@ class GraphStoreCatalogTest {
         assertTrue(GraphStoreCatalog.exists(USER_NAME, namedDatabaseId1, "graph1"));
         assertFalse(GraphStoreCatalog.exists(USER_NAME, namedDatabaseId1, "graph0"));
     }
+
+    private static final class TestIndex implements GraphIndex {
+        final AllocationTracker tracker = AllocationTracker.create();
+        int updates = 0;
+        int removals = 0;
+        boolean released = false;
+
+        TestIndex() {
+            tracker.add(42);
+        }
+
+        @Override
+        public Set<String> nodePropertyKeys() {
+            return Set.of("a");
+        }
+
+        @Override
+        public void onNodePropertyUpdated(String propertyKey, NodeProperties properties) {
+            updates++;
+        }
+
+        @Override
+        public void onNodePropertyRemoved(String propertyKey) {
+            removals++;
+        }
+
+        @Override
+        public AllocationTracker tracker() {
+            return tracker;
+        }
+
+        @Override
+        public long release() {
+            released = true;
+            return 42;
+        }
+    }
 }
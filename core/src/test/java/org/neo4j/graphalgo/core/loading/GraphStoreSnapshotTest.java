@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.gdl.GdlFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+import static org.neo4j.graphalgo.extension.GdlSupportExtension.DATABASE_ID;
+
+class GraphStoreSnapshotTest {
+
+    private static final String GRAPH =
+        "  (a:A { p: 1, q: 4.2, r: [1.0, 2.0] })" +
+        ", (b:B { p: 2, q: 1.3, r: [3.0] })" +
+        ", (c:A { p: 3, q: 0.5, r: [4.0, 5.0, 6.0] })" +
+        ", (a)-[:T1 { w: 1.0 }]->(b)" +
+        ", (a)-[:T1 { w: 2.5 }]->(c)" +
+        ", (b)-[:T2]->(c)" +
+        ", (c)-[:T2]->(a)";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldRestoreGraphStoreFromSnapshot() throws IOException {
+        GraphStore graphStore = GdlFactory.of(GRAPH).build().graphStore();
+        Path path = tempDir.resolve("graph" + GraphStoreSnapshot.FILE_EXTENSION);
+
+        GraphStoreSnapshot.write(graphStore, path);
+        GraphStore restored = GraphStoreSnapshot.read(path, graphStore.databaseId(), 1, AllocationTracker.empty());
+
+        assertEquals(graphStore.nodeCount(), restored.nodeCount());
+        assertEquals(graphStore.relationshipCount(), restored.relationshipCount());
+        assertEquals(graphStore.nodeLabels(), restored.nodeLabels());
+        assertEquals(graphStore.nodePropertyKeys(), restored.nodePropertyKeys());
+        assertEquals(graphStore.relationshipTypes(), restored.relationshipTypes());
+
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            long originalId = graphStore.nodes().toOriginalNodeId(nodeId);
+            assertEquals(originalId, restored.nodes().toOriginalNodeId(nodeId));
+            assertEquals(nodeId, restored.nodes().toMappedNodeId(originalId));
+            assertEquals(graphStore.nodes().nodeLabels(nodeId), restored.nodes().nodeLabels(nodeId));
+            assertArrayEquals(
+                graphStore.nodePropertyValues("r").doubleArrayValue(nodeId),
+                restored.nodePropertyValues("r").doubleArrayValue(nodeId)
+            );
+        }
+
+        for (RelationshipType relationshipType : graphStore.relationshipTypes()) {
+            Optional<String> relationshipProperty = graphStore
+                .relationshipPropertyKeys(relationshipType)
+                .stream()
+                .findFirst();
+            assertGraphEquals(
+                graphStore.getGraph(relationshipType, relationshipProperty),
+                restored.getGraph(relationshipType, relationshipProperty)
+            );
+        }
+
+        assertGraphEquals(
+            graphStore.getGraph(List.of(NodeLabel.of("A")), graphStore.relationshipTypes(), Optional.empty()),
+            restored.getGraph(List.of(NodeLabel.of("A")), restored.relationshipTypes(), Optional.empty())
+        );
+        assertGraphEquals(graphStore.getUnion(), restored.getUnion());
+    }
+
+    @Test
+    void shouldWriteNodePropertiesOncePerPropertyKey() throws IOException {
+        GraphStore graphStore = GdlFactory.of(GRAPH).build().graphStore();
+        Path path = tempDir.resolve("graph" + GraphStoreSnapshot.FILE_EXTENSION);
+
+        GraphStoreSnapshot.write(graphStore, path);
+        GraphStore restored = GraphStoreSnapshot.read(path, graphStore.databaseId(), 1, AllocationTracker.empty());
+
+        NodeLabel a = NodeLabel.of("A");
+        NodeLabel b = NodeLabel.of("B");
+        for (String propertyKey : List.of("p", "q", "r")) {
+            assertSame(restored.nodePropertyValues(a, propertyKey), restored.nodePropertyValues(b, propertyKey));
+        }
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            NodeLabel nodeLabel = graphStore.nodes().hasLabel(nodeId, a) ? a : b;
+            assertEquals(
+                graphStore.nodePropertyValues(nodeLabel, "p").longValue(nodeId),
+                restored.nodePropertyValues(nodeLabel, "p").longValue(nodeId)
+            );
+            assertEquals(
+                graphStore.nodePropertyValues(nodeLabel, "q").doubleValue(nodeId),
+                restored.nodePropertyValues(nodeLabel, "q").doubleValue(nodeId)
+            );
+        }
+    }
+
+    @Test
+    void shouldRejectFilesThatAreNotSnapshots() throws IOException {
+        Path path = tempDir.resolve("invalid" + GraphStoreSnapshot.FILE_EXTENSION);
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        IOException exception = assertThrows(
+            IOException.class,
+            () -> GraphStoreSnapshot.read(path, DATABASE_ID, 1, AllocationTracker.empty())
+        );
+        assertTrue(exception.getMessage().contains("is not a graph snapshot"));
+    }
+}
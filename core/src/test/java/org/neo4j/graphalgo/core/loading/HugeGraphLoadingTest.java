@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.core.loading;
 
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.BaseTest;
+import org.neo4j.graphalgo.ImmutablePropertyMapping;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.PropertyMappings;
@@ -153,6 +154,33 @@ final class HugeGraphLoadingTest extends BaseTest {
         assertEquals(11, graph.relationshipCount());
     }
 
+    @Test
+    void testCompressedRelationshipPropertyLoading() {
+        runQuery("CREATE" +
+                 "  (a), (b), (c)" +
+                 ", (a)-[:TYPE {w: 1.0}]->(b)" +
+                 ", (a)-[:TYPE {w: 0.1}]->(c)" +
+                 ", (b)-[:TYPE {w: 42.0}]->(c)" +
+                 ", (c)-[:TYPE {w: -1337.42}]->(a)" +
+                 ", (c)-[:TYPE]->(b)");
+
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .addRelationshipProperty(ImmutablePropertyMapping.builder()
+                .from(PropertyMapping.of("w", 0.0))
+                .compress(true)
+                .build())
+            .build()
+            .graph();
+
+        assertGraphEquals(
+            fromGdl("(a)-[{w: 1.0}]->(b), (a)-[{w: 0.1}]->(c), (b)-[{w: 42.0}]->(c), (c)-[{w: -1337.42}]->(a), (c)-[{w: 0.0}]->(b)"),
+            graph
+        );
+        assertEquals(0.1, graph.relationshipProperty(0, 2, Double.NaN));
+        assertEquals(0.0, graph.relationshipProperty(2, 1, Double.NaN));
+    }
+
     @Test
     void testMultipleRelationshipProjectionsOnTheSameType() {
         runQuery("CREATE" +
@@ -20,17 +20,23 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.ImmutablePropertyMapping;
 import org.neo4j.graphalgo.NodeProjections;
 import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.PropertyMappings;
 import org.neo4j.graphalgo.RelationshipProjection;
 import org.neo4j.graphalgo.RelationshipProjections;
 import org.neo4j.graphalgo.RelationshipType;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.NodeOrdering;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class NativeFactoryTest {
 
@@ -48,7 +54,7 @@ class NativeFactoryTest {
 
         MemoryTree estimate = memoryEstimation.estimate(dimensions, 1);
         assertEquals(3_405_981_472L, estimate.memoryUsage().min);
-        assertEquals(4_606_168_264L, estimate.memoryUsage().max);
+        assertEquals(5_260_074_520L, estimate.memoryUsage().max);
     }
 
     @Test
@@ -71,6 +77,61 @@ class NativeFactoryTest {
         int instanceSize = 72;
 
         assertEquals(3_205_950_332L * 2 - idMapMemoryUsage - instanceSize, estimate.memoryUsage().min);
-        assertEquals(6_011_568_240L, estimate.memoryUsage().max);
+        assertEquals(7_065_474_400L, estimate.memoryUsage().max);
+    }
+
+    @Test
+    void memoryEstimationWithNodeOrdering() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000_000L)
+            .maxRelCount(500_000_000L)
+            .build();
+
+        NodeProjections nodeProjections = NodeProjections.all();
+        RelationshipProjections relationshipProjections = RelationshipProjections.single(
+            RelationshipType.ALL_RELATIONSHIPS,
+            RelationshipProjection.ALL
+        );
+
+        MemoryTree estimate = NativeFactory
+            .getMemoryEstimation(nodeProjections, relationshipProjections, NodeOrdering.NONE)
+            .estimate(dimensions, 1);
+        MemoryTree reorderingEstimate = NativeFactory
+            .getMemoryEstimation(nodeProjections, relationshipProjections, NodeOrdering.DEGREE)
+            .estimate(dimensions, 1);
+
+        // the loaded and the reordered graph, plus the mappings between their ids
+        long idMappings = 2 * HugeLongArray.memoryEstimation(dimensions.nodeCount());
+        assertEquals(2 * estimate.memoryUsage().min + idMappings, reorderingEstimate.memoryUsage().min);
+        assertEquals(2 * estimate.memoryUsage().max + idMappings, reorderingEstimate.memoryUsage().max);
+    }
+
+    @Test
+    void memoryEstimationForCompressedProperties() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000_000L)
+            .maxRelCount(500_000_000L)
+            .build();
+
+        PropertyMapping uncompressed = PropertyMapping.of("weight", 1.0);
+        PropertyMapping compressed = ImmutablePropertyMapping.builder().from(uncompressed).compress(true).build();
+
+        MemoryTree uncompressedEstimate = estimateWithProperty(uncompressed, dimensions);
+        MemoryTree compressedEstimate = estimateWithProperty(compressed, dimensions);
+
+        assertTrue(compressedEstimate.memoryUsage().min < uncompressedEstimate.memoryUsage().min);
+        assertTrue(compressedEstimate.memoryUsage().max > uncompressedEstimate.memoryUsage().max);
+    }
+
+    private static MemoryTree estimateWithProperty(PropertyMapping propertyMapping, GraphDimensions dimensions) {
+        RelationshipProjection projection = RelationshipProjection
+            .builder()
+            .type("*")
+            .properties(PropertyMappings.of(propertyMapping))
+            .build();
+        return NativeFactory.getMemoryEstimation(
+            NodeProjections.all(),
+            RelationshipProjections.single(RelationshipType.ALL_RELATIONSHIPS, projection)
+        ).estimate(dimensions, 1);
     }
 }
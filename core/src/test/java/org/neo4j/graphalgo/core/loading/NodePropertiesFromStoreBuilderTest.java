@@ -26,11 +26,14 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.api.DefaultValue;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.nodeproperties.ValueType;
+import org.neo4j.graphalgo.core.loading.nodeproperties.DenseDoubleArrayNodeProperties;
+import org.neo4j.graphalgo.core.loading.nodeproperties.DenseFloatArrayNodeProperties;
 import org.neo4j.graphalgo.core.loading.nodeproperties.NodePropertiesFromStoreBuilder;
 import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
 
+import java.util.Arrays;
 import java.util.OptionalDouble;
 import java.util.OptionalLong;
 import java.util.concurrent.Executors;
@@ -43,6 +46,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -125,6 +129,85 @@ final class NodePropertiesFromStoreBuilderTest {
         assertArrayEquals(defaultValue, properties.floatArrayValue(0));
     }
 
+    @Test
+    void shouldStoreEqualLengthFloatArraysInMatrix() {
+        float[] defaultValue = new float[3];
+        NodeProperties properties = createNodeProperties(
+            3L,
+            defaultValue,
+            b -> {
+                b.set(0, Values.of(new float[]{1F, 2F, 3F}));
+                b.set(2, Values.of(new float[]{4F, 5F, 6F}));
+            }
+        );
+
+        assertTrue(properties instanceof DenseFloatArrayNodeProperties);
+        var denseProperties = (DenseFloatArrayNodeProperties) properties;
+        assertTrue(denseProperties.hasValue(0));
+        assertFalse(denseProperties.hasValue(1));
+        assertEquals(3, denseProperties.matrix().dimension());
+        assertEquals(32F, denseProperties.matrix().dot(0, 2));
+        assertArrayEquals(new float[]{1F, 2F, 3F}, properties.floatArrayValue(0));
+        assertArrayEquals(defaultValue, properties.floatArrayValue(1));
+        assertArrayEquals(new float[]{4F, 5F, 6F}, properties.floatArrayValue(2));
+    }
+
+    @Test
+    void shouldStoreEqualLengthDoubleArraysInMatrix() {
+        double[] defaultValue = new double[2];
+        NodeProperties properties = createNodeProperties(
+            2L,
+            defaultValue,
+            b -> {
+                b.set(0, Values.of(new double[]{3D, 0D}));
+                b.set(1, Values.of(new double[]{0D, 4D}));
+            }
+        );
+
+        assertTrue(properties instanceof DenseDoubleArrayNodeProperties);
+        var denseProperties = (DenseDoubleArrayNodeProperties) properties;
+        assertEquals(5D, denseProperties.matrix().euclideanDistance(0, 1));
+        assertArrayEquals(new double[]{3D, 0D}, properties.doubleArrayValue(0));
+        assertArrayEquals(new double[]{0D, 4D}, properties.doubleArrayValue(1));
+    }
+
+    @Test
+    void shouldFallBackToObjectStorageForSparseArrays() {
+        float[] defaultValue = new float[64];
+        float[] data = new float[64];
+        Arrays.fill(data, 42F);
+        NodeProperties properties = createNodeProperties(
+            1000L,
+            defaultValue,
+            b -> b.set(500, Values.of(data))
+        );
+
+        assertFalse(properties instanceof DenseFloatArrayNodeProperties);
+        assertArrayEquals(data, properties.floatArrayValue(500));
+        assertArrayEquals(defaultValue, properties.floatArrayValue(0));
+        assertArrayEquals(defaultValue, properties.floatArrayValue(999));
+    }
+
+    @Test
+    void shouldFallBackToObjectStorageForDifferentArrayLengths() {
+        double[] defaultValue = new double[0];
+        NodeProperties properties = createNodeProperties(
+            4L,
+            defaultValue,
+            b -> {
+                b.set(0, Values.of(new double[]{1D, 2D}));
+                b.set(1, Values.of(new double[]{3D}));
+                b.set(2, Values.of(new double[]{4D, 5D}));
+            }
+        );
+
+        assertFalse(properties instanceof DenseDoubleArrayNodeProperties);
+        assertArrayEquals(new double[]{1D, 2D}, properties.doubleArrayValue(0));
+        assertArrayEquals(new double[]{3D}, properties.doubleArrayValue(1));
+        assertArrayEquals(new double[]{4D, 5D}, properties.doubleArrayValue(2));
+        assertArrayEquals(defaultValue, properties.doubleArrayValue(3));
+    }
+
     @Test
     void shouldCastFromFloatArrayToDoubleArray() {
         float[] floatData = {42.2F, 1337.1F};
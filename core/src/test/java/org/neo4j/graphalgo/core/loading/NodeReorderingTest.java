@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.core.NodeOrdering;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+import org.neo4j.graphalgo.gdl.GdlFactory;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class NodeReorderingTest {
+
+    private static final String GRAPH =
+        "  (a:A { p: 0, r: [0.0] })" +
+        ", (b:A { p: 1, r: [1.0, 1.0] })" +
+        ", (c:B { p: 2, r: [2.0] })" +
+        ", (d:B { p: 3, r: [3.0, 3.0, 3.0] })" +
+        ", (a)-[:T1 { w: 1.0 }]->(d)" +
+        ", (b)-[:T1 { w: 2.0 }]->(a)" +
+        ", (b)-[:T1 { w: 3.0 }]->(c)" +
+        ", (b)-[:T1 { w: 4.0 }]->(d)" +
+        ", (c)-[:T2]->(d)" +
+        ", (d)-[:T2]->(c)";
+
+    @ParameterizedTest
+    @EnumSource(value = NodeOrdering.class, names = {"DEGREE", "BFS"})
+    void shouldPreserveTheGraph(NodeOrdering nodeOrdering) {
+        // the reordered store releases its input, so we compare against a second copy
+        CSRGraphStore graphStore = GdlFactory.of(GRAPH).build().graphStore();
+        CSRGraphStore reordered = NodeReordering.reorder(
+            GdlFactory.of(GRAPH).build().graphStore(),
+            nodeOrdering,
+            4,
+            AllocationTracker.empty()
+        );
+
+        assertEquals(graphStore.nodeCount(), reordered.nodeCount());
+        assertEquals(graphStore.relationshipCount(), reordered.relationshipCount());
+        assertEquals(graphStore.nodeLabels(), reordered.nodeLabels());
+        assertEquals(graphStore.nodePropertyKeys(), reordered.nodePropertyKeys());
+        assertEquals(graphStore.relationshipTypes(), reordered.relationshipTypes());
+
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            long originalId = graphStore.nodes().toOriginalNodeId(nodeId);
+            long newId = reordered.nodes().toMappedNodeId(originalId);
+            assertEquals(originalId, reordered.nodes().toOriginalNodeId(newId));
+            assertEquals(graphStore.nodes().nodeLabels(nodeId), reordered.nodes().nodeLabels(newId));
+            assertEquals(
+                graphStore.nodePropertyValues("p").longValue(nodeId),
+                reordered.nodePropertyValues("p").longValue(newId)
+            );
+            assertArrayEquals(
+                graphStore.nodePropertyValues("r").doubleArrayValue(nodeId),
+                reordered.nodePropertyValues("r").doubleArrayValue(newId)
+            );
+        }
+
+        for (RelationshipType relationshipType : graphStore.relationshipTypes()) {
+            Optional<String> relationshipProperty = graphStore
+                .relationshipPropertyKeys(relationshipType)
+                .stream()
+                .findFirst();
+            assertGraphEquals(
+                graphStore.getGraph(relationshipType, relationshipProperty),
+                reordered.getGraph(relationshipType, relationshipProperty)
+            );
+        }
+
+        assertGraphEquals(
+            graphStore.getGraph(List.of(NodeLabel.of("B")), graphStore.relationshipTypes(), Optional.empty()),
+            reordered.getGraph(List.of(NodeLabel.of("B")), reordered.relationshipTypes(), Optional.empty())
+        );
+        assertGraphEquals(graphStore.getUnion(), reordered.getUnion());
+    }
+
+    @Test
+    void shouldOrderByDescendingDegree() {
+        CSRGraphStore graphStore = GdlFactory.of(GRAPH).build().graphStore();
+        CSRGraphStore reordered = NodeReordering.reorder(
+            graphStore,
+            NodeOrdering.DEGREE,
+            1,
+            AllocationTracker.empty()
+        );
+
+        // b has three relationships, all other nodes have one
+        var p = reordered.nodePropertyValues("p");
+        assertEquals(1, p.longValue(0));
+        assertEquals(0, p.longValue(1));
+        assertEquals(2, p.longValue(2));
+        assertEquals(3, p.longValue(3));
+
+        var union = reordered.getUnion();
+        for (long nodeId = 1; nodeId < union.nodeCount(); nodeId++) {
+            assertTrue(union.degree(nodeId - 1) >= union.degree(nodeId));
+        }
+    }
+
+    @Test
+    void shouldOrderByBreadthFirstTraversal() {
+        CSRGraphStore graphStore = GdlFactory.of(GRAPH).build().graphStore();
+        CSRGraphStore reordered = NodeReordering.reorder(graphStore, NodeOrdering.BFS, 1, AllocationTracker.empty());
+
+        var p = reordered.nodePropertyValues("p");
+        // a is visited first, followed by its neighbour d, whose neighbour is c
+        assertEquals(0, p.longValue(0));
+        assertEquals(3, p.longValue(1));
+        assertEquals(2, p.longValue(2));
+        assertEquals(1, p.longValue(3));
+    }
+
+    @Test
+    void shouldKeepGraphStoreWithoutOrdering() {
+        CSRGraphStore graphStore = GdlFactory.of(GRAPH).build().graphStore();
+        assertSame(graphStore, NodeReordering.reorder(graphStore, NodeOrdering.NONE, 1, AllocationTracker.empty()));
+    }
+
+    @Test
+    void shouldFailOnUnknownOrdering() {
+        var exception = assertThrows(IllegalArgumentException.class, () -> NodeOrdering.parse("random"));
+        assertEquals("Node ordering `random` is not supported. Must be one of: NONE, DEGREE, BFS.", exception.getMessage());
+    }
+
+    @Test
+    void shouldFailOnNonStringOrdering() {
+        var exception = assertThrows(IllegalArgumentException.class, () -> NodeOrdering.parse(42));
+        assertEquals("Expected NodeOrdering or String. Got Integer.", exception.getMessage());
+    }
+}
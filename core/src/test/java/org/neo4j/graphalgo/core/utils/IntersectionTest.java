@@ -23,8 +23,10 @@ import com.carrotsearch.hppc.LongHashSet;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class IntersectionTest {
 
@@ -75,4 +77,60 @@ class IntersectionTest {
             assertEquals(row[2][0], Intersections.intersection4(row[0],row[1]), Arrays.toString(row));
         }
     }
+
+    @Test
+    void intersectionSorted() {
+        for (long[][] row : data) {
+            assertEquals(row[2][0], Intersections.intersectionSorted(row[0],row[1]), Arrays.toString(row));
+            assertEquals(row[2][0], Intersections.intersectionBranchless(row[0],row[1]), Arrays.toString(row));
+            assertEquals(row[2][0], Intersections.intersectionGalloping(row[0],row[1]), Arrays.toString(row));
+            assertEquals(row[2][0], Intersections.intersectionGalloping(row[1],row[0]), Arrays.toString(row));
+        }
+    }
+
+    @Test
+    void intersectionSortedWithSkewedSizes() {
+        var random = new SplittableRandom(42L);
+        for (int run = 0; run < 100; run++) {
+            long[] small = random.longs(random.nextInt(1, 20), 0, 10_000).sorted().toArray();
+            long[] large = random.longs(random.nextInt(1_000, 5_000), 0, 10_000).sorted().toArray();
+            long expected = Intersections.intersection3(small, large);
+            assertEquals(expected, Intersections.intersectionSorted(small, large));
+            assertEquals(expected, Intersections.intersectionSorted(large, small));
+            assertEquals(expected, Intersections.intersectionBranchless(small, large));
+        }
+    }
+
+    @Test
+    void dotMatchesScalarLoop() {
+        var random = new SplittableRandom(42L);
+        for (int len = 0; len < 20; len++) {
+            double[] doubles1 = random.doubles(len + 3).toArray();
+            double[] doubles2 = random.doubles(len + 2).toArray();
+            float[] floats1 = new float[len + 3];
+            float[] floats2 = new float[len + 2];
+            double expected = 0D;
+            float expectedFloat = 0F;
+            for (int i = 0; i < len + 2; i++) {
+                floats2[i] = (float) doubles2[i];
+            }
+            for (int i = 0; i < len + 3; i++) {
+                floats1[i] = (float) doubles1[i];
+            }
+            for (int i = 0; i < len; i++) {
+                expected += doubles1[i + 3] * doubles2[i + 2];
+                expectedFloat += floats1[i + 3] * floats2[i + 2];
+            }
+            assertEquals(expected, Intersections.dot(doubles1, 3, doubles2, 2, len), 1e-9);
+            assertEquals(expectedFloat, Intersections.dot(floats1, 3, floats2, 2, len), 1e-4);
+        }
+    }
+
+    @Test
+    void cosineOfVectorWithItselfIsOne() {
+        var random = new SplittableRandom(42L);
+        double[] vector = random.doubles(37).toArray();
+        double cosine = Intersections.cosine(vector, 0, vector, 0, vector.length);
+        assertTrue(Math.abs(1D - cosine) < 1e-12);
+    }
 }
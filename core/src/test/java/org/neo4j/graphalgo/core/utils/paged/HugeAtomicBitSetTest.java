@@ -181,6 +181,49 @@ class HugeAtomicBitSetTest {
         bitSet.set(43);
     }
 
+    @Test
+    void testNextSetBit() {
+        var bitSet = HugeAtomicBitSet.create(200, AllocationTracker.empty());
+        assertEquals(-1, bitSet.nextSetBit(0));
+
+        bitSet.set(3);
+        bitSet.set(64);
+        bitSet.set(199);
+
+        assertEquals(3, bitSet.nextSetBit(0));
+        assertEquals(3, bitSet.nextSetBit(3));
+        assertEquals(64, bitSet.nextSetBit(4));
+        assertEquals(199, bitSet.nextSetBit(65));
+        assertEquals(199, bitSet.nextSetBit(199));
+        assertEquals(-1, bitSet.nextSetBit(200));
+
+        assertEquals(3, bitSet.nextSetBit(0, 4));
+        assertEquals(-1, bitSet.nextSetBit(0, 3));
+        assertEquals(64, bitSet.nextSetBit(4, 65));
+        assertEquals(-1, bitSet.nextSetBit(4, 64));
+        assertEquals(-1, bitSet.nextSetBit(65, 199));
+    }
+
+    @Test
+    void testNextClearBit() {
+        var bitSet = HugeAtomicBitSet.create(200, AllocationTracker.empty());
+        assertEquals(0, bitSet.nextClearBit(0));
+
+        bitSet.set(0, 130);
+
+        assertEquals(130, bitSet.nextClearBit(0));
+        assertEquals(130, bitSet.nextClearBit(64));
+        assertEquals(131, bitSet.nextClearBit(131));
+        assertEquals(-1, bitSet.nextClearBit(0, 130));
+        assertEquals(130, bitSet.nextClearBit(0, 131));
+
+        bitSet.set(130, 200);
+
+        assertEquals(-1, bitSet.nextClearBit(0));
+        assertEquals(-1, bitSet.nextClearBit(199));
+        assertEquals(-1, bitSet.nextClearBit(200));
+    }
+
     @Test
     void testIsEmpty() {
         var atomicBitSet = HugeAtomicBitSet.create(42, AllocationTracker.empty());
@@ -190,4 +233,14 @@ class HugeAtomicBitSetTest {
         atomicBitSet.flip(23);
         assertTrue(atomicBitSet.isEmpty());
     }
+
+    @Test
+    void shouldReleaseTrackedMemory() {
+        var tracker = AllocationTracker.create();
+        var atomicBitSet = HugeAtomicBitSet.create(1337, tracker);
+        assertTrue(tracker.trackedBytes() > 0);
+        tracker.remove(atomicBitSet.release());
+        assertEquals(0, tracker.trackedBytes());
+        assertEquals(0, atomicBitSet.release());
+    }
 }
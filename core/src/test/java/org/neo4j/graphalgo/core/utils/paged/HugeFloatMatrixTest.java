@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HugeFloatMatrixTest {
+
+    @Test
+    void shouldSetAndGetRowsAcrossPages() {
+        int dimension = 100;
+        int rows = 1000;
+        var matrix = HugeFloatMatrix.newMatrix(rows, dimension, AllocationTracker.empty());
+
+        for (int row = 0; row < rows; row++) {
+            matrix.setRow(row, rowValues(row, dimension));
+        }
+
+        for (int row = 0; row < rows; row++) {
+            assertArrayEquals(rowValues(row, dimension), matrix.copyRow(row));
+            assertEquals(row + 42F, matrix.get(row, 42));
+        }
+    }
+
+    @Test
+    void shouldExposeRowsWithoutCopying() {
+        var matrix = HugeFloatMatrix.newMatrix(4, 3, AllocationTracker.empty());
+        matrix.setRow(2, new float[]{1F, 2F, 3F});
+
+        float[] page = matrix.page(2);
+        int offset = matrix.offset(2);
+        assertSame(page, matrix.page(3));
+        assertEquals(1F, page[offset]);
+        assertEquals(3F, page[offset + 2]);
+    }
+
+    @Test
+    void shouldComputeVectorKernels() {
+        var matrix = HugeFloatMatrix.newMatrix(3, 2, AllocationTracker.empty());
+        matrix.setRow(0, new float[]{3F, 0F});
+        matrix.setRow(1, new float[]{0F, 4F});
+        matrix.setRow(2, new float[]{6F, 0F});
+
+        assertEquals(0F, matrix.dot(0, 1));
+        assertEquals(18F, matrix.dot(0, 2));
+        assertEquals(1F, matrix.cosine(0, 2), 1e-6);
+        assertEquals(0F, matrix.cosine(0, 1), 1e-6);
+        assertEquals(5D, matrix.euclideanDistance(0, 1), 1e-6);
+    }
+
+    @Test
+    void shouldRejectRowsOfWrongLength() {
+        var matrix = HugeFloatMatrix.newMatrix(1, 2, AllocationTracker.empty());
+        assertThrows(IllegalArgumentException.class, () -> matrix.setRow(0, new float[]{1F}));
+    }
+
+    @Test
+    void shouldTrackMemory() {
+        var tracker = AllocationTracker.create();
+        var matrix = HugeFloatMatrix.newMatrix(10_000, 64, tracker);
+        assertEquals(matrix.sizeOf(), tracker.trackedBytes());
+        assertEquals(HugeFloatMatrix.memoryEstimation(10_000, 64), matrix.sizeOf());
+    }
+
+    private static float[] rowValues(int row, int dimension) {
+        float[] values = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            values[i] = row + i;
+        }
+        return values;
+    }
+}
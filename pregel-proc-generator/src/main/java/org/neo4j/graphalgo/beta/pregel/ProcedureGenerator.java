@@ -205,8 +205,11 @@ abstract class ProcedureGenerator extends PregelGenerator {
                 .addModifiers(Modifier.PUBLIC)
                 .returns(MemoryEstimation.class)
                 .addParameter(pregelSpec.configTypeName(), "configuration")
-                .addStatement("var nodeSchema = new $T().nodeSchema()", computationClassName(pregelSpec, ""))
-                .addStatement("return $T.memoryEstimation(nodeSchema)", Pregel.class)
+                .addStatement(
+                    "return $T.memoryEstimation(new $T(), configuration)",
+                    Pregel.class,
+                    computationClassName(pregelSpec, "")
+                )
                 .build()
             )
             .build();
@@ -68,8 +68,7 @@ public final class ComputationStreamProc extends PregelStreamProc<ComputationAlg
 
             @Override
             public MemoryEstimation memoryEstimation(PregelConfig configuration) {
-                var nodeSchema = new Computation().nodeSchema();
-                return Pregel.memoryEstimation(nodeSchema);
+                return Pregel.memoryEstimation(new Computation(), configuration);
             }
         };
     }
@@ -71,8 +71,7 @@ public final class ComputationWriteProc extends PregelWriteProc<ComputationAlgor
 
             @Override
             public MemoryEstimation memoryEstimation(PregelConfig configuration) {
-                var nodeSchema = new Computation().nodeSchema();
-                return Pregel.memoryEstimation(nodeSchema);
+                return Pregel.memoryEstimation(new Computation(), configuration);
             }
         };
     }
@@ -67,6 +67,7 @@ public class GraphRemoveNodePropertiesProc extends CatalogProc {
             "Node property removal failed",
             () -> removeNodeProperties(graphStore, config)
         );
+        GraphStoreCatalog.nodePropertiesRemoved(username(), databaseId(), graphName, config.nodeProperties());
         // result
         return Stream.of(new Result(graphName, nodeProperties, propertiesRemoved));
     }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.compat.Neo4jProxy;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.config.GraphLoadSnapshotConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.loading.GraphStoreSnapshot;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.procedure.Mode.READ;
+
+public class GraphSnapshotProc extends CatalogProc {
+
+    private static final String SNAPSHOT_DIRECTORY = "snapshots";
+
+    @Procedure(name = "gds.graph.persist", mode = READ)
+    @Description("Persists a named graph into a snapshot file on disk.")
+    public Stream<GraphSnapshotResult> persist(@Name(value = "graphName") String graphName) {
+        validateGraphName(graphName);
+
+        var result = runWithExceptionLogging(
+            "Graph persist failed", () -> {
+                var graphStore = GraphStoreCatalog.get(username(), databaseId(), graphName).graphStore();
+                var path = snapshotPath(graphName);
+
+                var start = System.nanoTime();
+                try {
+                    Files.createDirectories(path.getParent());
+                    GraphStoreSnapshot.write(graphStore, path);
+                    var end = System.nanoTime();
+                    return GraphSnapshotResult.of(graphName, graphStore, Files.size(path), end - start);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        );
+
+        return Stream.of(result);
+    }
+
+    @Procedure(name = "gds.graph.load", mode = READ)
+    @Description("Loads a named graph from a snapshot file on disk into the catalog.")
+    public Stream<GraphSnapshotResult> load(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        validateGraphName(username(), graphName);
+
+        CypherMapWrapper cypherConfig = CypherMapWrapper.create(configuration);
+        GraphLoadSnapshotConfig config = GraphLoadSnapshotConfig.of(username(), graphName, cypherConfig);
+        validateConfig(cypherConfig, config);
+
+        var result = runWithExceptionLogging(
+            "Graph load failed", () -> {
+                var path = snapshotPath(graphName);
+                if (!Files.exists(path)) {
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "No snapshot exists for graph '%s'.",
+                        graphName
+                    ));
+                }
+
+                var start = System.nanoTime();
+                try {
+                    var graphStore = GraphStoreSnapshot.read(
+                        path,
+                        databaseId(),
+                        config.concurrency(),
+                        allocationTracker()
+                    );
+                    var end = System.nanoTime();
+                    GraphStoreCatalog.set(GraphCreateFromStoreConfig.emptyWithName(username(), graphName), graphStore);
+                    return GraphSnapshotResult.of(graphName, graphStore, Files.size(path), end - start);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        );
+
+        return Stream.of(result);
+    }
+
+    private Path snapshotPath(String graphName) {
+        var snapshotDirectory = Neo4jProxy
+            .homeDirectory(api.databaseLayout())
+            .resolve(SNAPSHOT_DIRECTORY)
+            .toAbsolutePath()
+            .normalize();
+        var userDirectory = snapshotDirectory
+            .resolve(databaseId().name())
+            .resolve(username())
+            .normalize();
+        var path = userDirectory
+            .resolve(graphName + GraphStoreSnapshot.FILE_EXTENSION)
+            .normalize();
+        // the snapshot must be a direct child of the user directory, so names cannot reach into other directories
+        if (!userDirectory.startsWith(snapshotDirectory) || !userDirectory.equals(path.getParent())) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Invalid graph name '%s' for a snapshot.",
+                graphName
+            ));
+        }
+        return path;
+    }
+
+    public static class GraphSnapshotResult {
+        public final String graphName;
+        public final long nodeCount;
+        public final long relationshipCount;
+        public final long sizeInBytes;
+        public final long millis;
+
+        GraphSnapshotResult(
+            String graphName,
+            long nodeCount,
+            long relationshipCount,
+            long sizeInBytes,
+            long millis
+        ) {
+            this.graphName = graphName;
+            this.nodeCount = nodeCount;
+            this.relationshipCount = relationshipCount;
+            this.sizeInBytes = sizeInBytes;
+            this.millis = millis;
+        }
+
+        static GraphSnapshotResult of(String graphName, GraphStore graphStore, long sizeInBytes, long nanos) {
+            return new GraphSnapshotResult(
+                graphName,
+                graphStore.nodeCount(),
+                graphStore.relationshipCount(),
+                sizeInBytes,
+                TimeUnit.NANOSECONDS.toMillis(nanos)
+            );
+        }
+    }
+}
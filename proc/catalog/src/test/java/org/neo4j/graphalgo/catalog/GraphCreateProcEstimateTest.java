@@ -165,7 +165,7 @@ class GraphCreateProcEstimateTest extends BaseProcTest {
         runQueryWithRowConsumer(query,
             row -> {
                 assertEquals(303768, row.getNumber("bytesMin").longValue());
-                assertEquals(303768, row.getNumber("bytesMax").longValue());
+                assertEquals(304616, row.getNumber("bytesMax").longValue());
                 assertEquals(42, row.getNumber("nodeCount").longValue());
                 assertEquals(1337, row.getNumber("relationshipCount").longValue());
             }
@@ -178,7 +178,7 @@ class GraphCreateProcEstimateTest extends BaseProcTest {
         runQueryWithRowConsumer(query,
             row -> {
                 assertEquals(303768, row.getNumber("bytesMin").longValue());
-                assertEquals(303768, row.getNumber("bytesMax").longValue());
+                assertEquals(304616, row.getNumber("bytesMax").longValue());
                 assertEquals(42, row.getNumber("nodeCount").longValue());
                 assertEquals(1337, row.getNumber("relationshipCount").longValue());
             }
@@ -191,7 +191,7 @@ class GraphCreateProcEstimateTest extends BaseProcTest {
         runQueryWithRowConsumer(query,
             row -> {
                 assertEquals(574200, row.getNumber("bytesMin").longValue());
-                assertEquals(574200, row.getNumber("bytesMax").longValue());
+                assertEquals(575048, row.getNumber("bytesMax").longValue());
             }
         );
     }
@@ -202,7 +202,7 @@ class GraphCreateProcEstimateTest extends BaseProcTest {
         runQueryWithRowConsumer(query,
             row -> {
                 assertEquals(170_836_586_816L, row.getNumber("bytesMin").longValue());
-                assertEquals(230_841_207_464L, row.getNumber("bytesMax").longValue());
+                assertEquals(261_003_575_368L, row.getNumber("bytesMax").longValue());
                 assertEquals(5_000_000_000L, row.getNumber("nodeCount").longValue());
                 assertEquals(20_000_000_000L, row.getNumber("relationshipCount").longValue());
             }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class GraphSnapshotProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:A { prop: 0 })" +
+        ", (b:A { prop: 1 })" +
+        ", (c:B { prop: 2 })" +
+        ", (a)-[:REL { weight: 1.0 }]->(b)" +
+        ", (b)-[:REL { weight: 2.0 }]->(c)" +
+        ", (c)-[:REL { weight: 3.0 }]->(a)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(GraphCreateProc.class, GraphDropProc.class, GraphSnapshotProc.class);
+        runQuery(DB_CYPHER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void persistAndLoadGraph() {
+        createGraph("g");
+
+        assertCypherResult(
+            "CALL gds.graph.persist('g') YIELD graphName, nodeCount, relationshipCount",
+            List.of(Map.of("graphName", "g", "nodeCount", 3L, "relationshipCount", 3L))
+        );
+
+        runQuery("CALL gds.graph.drop('g')");
+
+        runQueryWithRowConsumer("CALL gds.graph.load('g', {concurrency: 2})", row -> {
+            assertEquals("g", row.getString("graphName"));
+            assertEquals(3L, row.getNumber("nodeCount").longValue());
+            assertEquals(3L, row.getNumber("relationshipCount").longValue());
+            assertThat(row.getNumber("sizeInBytes").longValue(), greaterThan(0L));
+        });
+
+        createGraph("expected");
+        assertGraphEquals(
+            GraphStoreCatalog.get(getUsername(), db.databaseId(), "expected").graphStore().getUnion(),
+            GraphStoreCatalog.get(getUsername(), db.databaseId(), "g").graphStore().getUnion()
+        );
+    }
+
+    @Test
+    void failsToLoadMissingSnapshot() {
+        assertError("CALL gds.graph.load('missing')", "No snapshot exists for graph 'missing'.");
+    }
+
+    @Test
+    void failsToLoadIntoExistingGraph() {
+        runQuery(GdsCypher.call().loadEverything().graphCreate("g").yields());
+        runQuery("CALL gds.graph.persist('g')");
+
+        assertError("CALL gds.graph.load('g')", "A graph with name 'g' already exists.");
+    }
+
+    @Test
+    void failsToLoadSnapshotOutsideOfUserDirectory() {
+        assertError(
+            "CALL gds.graph.load('../otherUser/g')",
+            "Invalid graph name '../otherUser/g' for a snapshot."
+        );
+    }
+
+    private void createGraph(String graphName) {
+        runQuery(GdsCypher.call()
+            .withNodeLabels("A", "B")
+            .withNodeProperty("prop")
+            .withRelationshipType("REL")
+            .withRelationshipProperty("weight")
+            .graphCreate(graphName)
+            .yields());
+    }
+}
@@ -25,6 +25,7 @@ import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.config.MutatePropertyConfig;
 import org.neo4j.graphalgo.core.huge.FilteredNodeProperties;
 import org.neo4j.graphalgo.core.huge.NodeFilteredGraph;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.core.write.ImmutableNodeProperty;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
@@ -86,6 +87,17 @@ public abstract class MutatePropertyProc<
             });
 
             resultBuilder.withNodePropertiesWritten(computationResult.graph().nodeCount());
+
+            List<String> propertyKeys = nodeProperties
+                .stream()
+                .map(NodePropertyExporter.NodeProperty::propertyKey)
+                .collect(Collectors.toList());
+            mutatePropertyConfig.graphName().ifPresent(graphName -> GraphStoreCatalog.nodePropertiesUpdated(
+                username(),
+                databaseId(),
+                graphName,
+                propertyKeys
+            ));
         }
     }
 
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.wcc;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.procedure.Mode.READ;
+
+public class WccIndexProc extends AlgoBaseProc<Wcc, DisjointSetStruct, WccIndexConfig> {
+
+    @Procedure(name = "gds.wcc.index.create", mode = READ)
+    @Description("Computes the weakly connected components of the named graph and keeps them as an index, which can be updated with new relationships.")
+    public Stream<WccIndexCreateResult> create(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        var computationResult = compute(graphName, configuration);
+        return runWithExceptionLogging("WCC index creation failed", () -> {
+            if (computationResult.isGraphEmpty()) {
+                throw new IllegalArgumentException("Cannot create a WCC index on an empty graph.");
+            }
+            var config = computationResult.config();
+            var dss = Objects.requireNonNull(computationResult.result());
+            var index = WccIndex.of(computationResult.graph(), dss, config, Pools.DEFAULT, allocationTracker());
+            GraphStoreCatalog.setIndex(username(), databaseId(), graphName, config.indexName(), index);
+
+            return Stream.of(new WccIndexCreateResult(
+                config.indexName(),
+                graphName,
+                computationResult.graph().nodeCount(),
+                computationResult.createMillis(),
+                computationResult.computeMillis()
+            ));
+        });
+    }
+
+    @Procedure(name = "gds.wcc.index.addRelationships", mode = READ)
+    @Description("Adds relationships between the given pairs of nodes to a WCC index.")
+    public Stream<WccIndexUpdateResult> addRelationships(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "indexName") String indexName,
+        @Name(value = "sourceNodeIds") List<Long> sourceNodeIds,
+        @Name(value = "targetNodeIds") List<Long> targetNodeIds
+    ) {
+        var index = wccIndex(graphName, indexName);
+        if (sourceNodeIds.size() != targetNodeIds.size()) {
+            throw new IllegalArgumentException("The number of source and target nodes must be equal.");
+        }
+
+        var graph = index.graph();
+        var sources = sourceNodeIds.stream().mapToLong(nodeId -> mappedNodeId(graph, nodeId, indexName)).toArray();
+        var targets = targetNodeIds.stream().mapToLong(nodeId -> mappedNodeId(graph, nodeId, indexName)).toArray();
+
+        var start = System.nanoTime();
+        var added = index.addRelationships(sources, targets);
+        return Stream.of(WccIndexUpdateResult.of(indexName, graphName, added, System.nanoTime() - start));
+    }
+
+    @Procedure(name = "gds.wcc.index.addRelationshipType", mode = READ)
+    @Description("Adds all relationships of a relationship type of the named graph to a WCC index.")
+    public Stream<WccIndexUpdateResult> addRelationshipType(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "indexName") String indexName,
+        @Name(value = "relationshipType") String relationshipType
+    ) {
+        var index = wccIndex(graphName, indexName);
+        var graphStore = GraphStoreCatalog.get(username(), databaseId(), graphName).graphStore();
+        var type = RelationshipType.of(relationshipType);
+        if (!graphStore.hasRelationshipType(type)) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Relationship type `%s` does not exist in graph `%s`.",
+                relationshipType,
+                graphName
+            ));
+        }
+
+        var config = index.config();
+        // the weight is only needed to apply the threshold, like in the computation that created the index
+        var weightProperty = config.threshold() > 0
+            ? Optional.ofNullable(config.relationshipWeightProperty())
+            : Optional.<String>empty();
+        weightProperty.ifPresent(property -> {
+            if (!graphStore.hasRelationshipProperty(List.of(type), property)) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Relationship type `%s` does not have the property `%s`, which the WCC index `%s` uses for its threshold.",
+                    relationshipType,
+                    property,
+                    indexName
+                ));
+            }
+        });
+
+        // the relationships must be filtered by the labels of the index to share its node ids
+        var relationships = graphStore.getGraph(config.nodeLabelIdentifiers(graphStore), List.of(type), weightProperty);
+
+        var start = System.nanoTime();
+        var added = index.addRelationships(relationships);
+        return Stream.of(WccIndexUpdateResult.of(indexName, graphName, added, System.nanoTime() - start));
+    }
+
+    @Procedure(name = "gds.wcc.index.stream", mode = READ)
+    @Description("Streams the current component ids of a WCC index.")
+    public Stream<WccStreamProc.StreamResult> stream(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "indexName") String indexName
+    ) {
+        var index = wccIndex(graphName, indexName);
+        var graph = index.graph();
+        return LongStream
+            .range(0, graph.nodeCount())
+            .mapToObj(nodeId -> new WccStreamProc.StreamResult(
+                graph.toOriginalNodeId(nodeId),
+                index.componentId(nodeId)
+            ));
+    }
+
+    @Procedure(name = "gds.wcc.index.drop", mode = READ)
+    @Description("Drops a WCC index from the named graph.")
+    public Stream<WccIndexDropResult> drop(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "indexName") String indexName
+    ) {
+        wccIndex(graphName, indexName);
+        GraphStoreCatalog.removeIndex(username(), databaseId(), graphName, indexName);
+        return Stream.of(new WccIndexDropResult(indexName, graphName));
+    }
+
+    @Override
+    protected WccIndexConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return WccIndexConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<Wcc, WccIndexConfig> algorithmFactory() {
+        return WccProc.algorithmFactory();
+    }
+
+    private WccIndex wccIndex(String graphName, String indexName) {
+        return GraphStoreCatalog
+            .getIndex(username(), databaseId(), graphName, indexName)
+            .filter(WccIndex.class::isInstance)
+            .map(WccIndex.class::cast)
+            .orElseThrow(() -> new IllegalArgumentException(formatWithLocale(
+                "No WCC index with name `%s` exists for graph `%s`.",
+                indexName,
+                graphName
+            )));
+    }
+
+    private static long mappedNodeId(Graph graph, long originalNodeId, String indexName) {
+        var nodeId = graph.toMappedNodeId(originalNodeId);
+        if (nodeId == -1) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Node with id %d is not part of the WCC index `%s`.",
+                originalNodeId,
+                indexName
+            ));
+        }
+        return nodeId;
+    }
+
+    public static class WccIndexCreateResult {
+        public final String indexName;
+        public final String graphName;
+        public final long nodeCount;
+        public final long createMillis;
+        public final long computeMillis;
+
+        WccIndexCreateResult(
+            String indexName,
+            String graphName,
+            long nodeCount,
+            long createMillis,
+            long computeMillis
+        ) {
+            this.indexName = indexName;
+            this.graphName = graphName;
+            this.nodeCount = nodeCount;
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+        }
+    }
+
+    public static class WccIndexUpdateResult {
+        public final String indexName;
+        public final String graphName;
+        public final long relationshipsAdded;
+        public final long updateMillis;
+
+        WccIndexUpdateResult(String indexName, String graphName, long relationshipsAdded, long updateMillis) {
+            this.indexName = indexName;
+            this.graphName = graphName;
+            this.relationshipsAdded = relationshipsAdded;
+            this.updateMillis = updateMillis;
+        }
+
+        static WccIndexUpdateResult of(String indexName, String graphName, long relationshipsAdded, long nanos) {
+            return new WccIndexUpdateResult(
+                indexName,
+                graphName,
+                relationshipsAdded,
+                TimeUnit.NANOSECONDS.toMillis(nanos)
+            );
+        }
+    }
+
+    public static class WccIndexDropResult {
+        public final String indexName;
+        public final String graphName;
+
+        WccIndexDropResult(String indexName, String graphName) {
+            this.indexName = indexName;
+            this.graphName = graphName;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.wcc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class WccIndexProcTest extends BaseProcTest {
+
+    private static final String GRAPH_NAME = "myGraph";
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node)" +
+        ", (b:Node)" +
+        ", (c:Node)" +
+        ", (d:Node)" +
+        ", (e:Other)" +
+        ", (a)-[:TYPE { weight: 5.0 }]->(b)" +
+        ", (c)-[:TYPE { weight: 5.0 }]->(d)" +
+        ", (b)-[:LINK]->(c)" +
+        ", (d)-[:LINK]->(e)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(WccIndexProc.class, GraphCreateProc.class);
+        runQuery(DB_CYPHER);
+        runQuery(GdsCypher.call()
+            .withAnyLabel()
+            .withRelationshipType("TYPE")
+            .graphCreate(GRAPH_NAME)
+            .yields());
+        runQuery("CALL gds.wcc.index.create('" + GRAPH_NAME + "', {indexName: 'components'})");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldUpdateComponentsWithAddedRelationships() {
+        var before = components();
+        assertEquals(before.get(0L), before.get(1L));
+        assertNotEquals(before.get(1L), before.get(2L));
+
+        assertCypherResult(
+            "CALL gds.wcc.index.addRelationships($graphName, 'components', [1], [2]) YIELD relationshipsAdded",
+            Map.of("graphName", GRAPH_NAME),
+            List.of(Map.of("relationshipsAdded", 1L))
+        );
+
+        var after = components();
+        assertEquals(after.get(0L), after.get(3L));
+    }
+
+    @Test
+    void shouldAddRelationshipTypeWithTheNodeLabelsOfTheIndex() {
+        runQuery("CALL gds.graph.create('linked', ['Node', 'Other'], ['TYPE', 'LINK'])");
+        runQuery("CALL gds.wcc.index.create('linked', {indexName: 'nodes', nodeLabels: ['Node'], relationshipTypes: ['TYPE']})");
+
+        runQuery("CALL gds.wcc.index.addRelationshipType('linked', 'nodes', 'LINK')");
+
+        Map<Long, Long> components = new HashMap<>();
+        runQueryWithRowConsumer(
+            "CALL gds.wcc.index.stream('linked', 'nodes')",
+            row -> components.put(row.getNumber("nodeId").longValue(), row.getNumber("componentId").longValue())
+        );
+        assertEquals(Set.of(0L, 1L, 2L, 3L), components.keySet());
+        assertEquals(1, new HashSet<>(components.values()).size());
+    }
+
+    @Test
+    void shouldFailOnRelationshipTypeWithoutThresholdWeight() {
+        runQuery(
+            "CALL gds.graph.create('weighted', '*', {TYPE: {properties: 'weight'}, LINK: {type: 'LINK'}})"
+        );
+        runQuery(
+            "CALL gds.wcc.index.create('weighted', {" +
+            "  indexName: 'components', relationshipTypes: ['TYPE'], relationshipWeightProperty: 'weight', threshold: 1.0" +
+            "})"
+        );
+
+        assertError(
+            "CALL gds.wcc.index.addRelationshipType('weighted', 'components', 'LINK')",
+            "Relationship type `LINK` does not have the property `weight`, which the WCC index `components` uses for its threshold."
+        );
+    }
+
+    @Test
+    void shouldFailOnMissingIndex() {
+        assertError(
+            "CALL gds.wcc.index.stream('" + GRAPH_NAME + "', 'missing')",
+            "No WCC index with name `missing` exists for graph `myGraph`."
+        );
+    }
+
+    @Test
+    void shouldDropIndex() {
+        runQuery("CALL gds.wcc.index.drop('" + GRAPH_NAME + "', 'components')");
+
+        assertError(
+            "CALL gds.wcc.index.stream('" + GRAPH_NAME + "', 'components')",
+            "No WCC index with name `components` exists for graph `myGraph`."
+        );
+    }
+
+    private Map<Long, Long> components() {
+        Map<Long, Long> components = new HashMap<>();
+        runQueryWithRowConsumer(
+            "CALL gds.wcc.index.stream('" + GRAPH_NAME + "', 'components')",
+            row -> components.put(row.getNumber("nodeId").longValue(), row.getNumber("componentId").longValue())
+        );
+        return components;
+    }
+}
@@ -30,6 +30,6 @@ final class FastRPCompanion {
     private FastRPCompanion() {}
 
     static <CONFIG extends FastRPBaseConfig> NodeProperties getNodeProperties(AlgoBaseProc.ComputationResult<FastRP, FastRP, CONFIG> computationResult) {
-        return (FloatArrayNodeProperties) nodeId -> computationResult.result().embeddings().get(nodeId);
+        return (FloatArrayNodeProperties) nodeId -> computationResult.result().embeddings().copyRow(nodeId);
     }
 }
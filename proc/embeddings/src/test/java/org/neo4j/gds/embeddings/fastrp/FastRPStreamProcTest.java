@@ -25,6 +25,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.AlgoBaseProc;
 import org.neo4j.graphalgo.GdsCypher;
 import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.DefaultValue;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 
 import java.util.ArrayList;
@@ -114,4 +115,45 @@ class FastRPStreamProcTest extends FastRPProcTest<FastRPStreamConfig> {
             assertEquals(embeddings.get(1).get(i), embeddings.get(2).get(i) * 2);
         }
     }
+
+    @Test
+    void shouldComputeWithNodeProperties() {
+        int embeddingDimension = 128;
+        String query = GdsCypher.call()
+            .withNodeLabel("Node")
+            .withNodeLabel("Node2")
+            .withNodeProperty("f", DefaultValue.of(Double.NaN))
+            .withRelationshipType("REL2", Orientation.UNDIRECTED)
+            .algo("fastRP")
+            .streamMode()
+            .addParameter("embeddingDimension", embeddingDimension)
+            .addParameter("nodePropertyNames", List.of("f"))
+            .addParameter("propertyDimension", 64)
+            .yields();
+
+        List<List<Number>> embeddings = new ArrayList<>(3);
+        runQueryWithRowConsumer(query, row -> embeddings.add((List<Number>) row.get("embedding")));
+
+        assertEquals(3, embeddings.size());
+        for (List<Number> embedding : embeddings) {
+            assertEquals(embeddingDimension, embedding.size());
+            assertFalse(embedding.stream().anyMatch(value -> Double.isNaN(value.doubleValue())));
+            assertFalse(embedding.stream().allMatch(value -> value.doubleValue() == 0.0));
+        }
+    }
+
+    @Test
+    void shouldFailOnMissingNodeProperties() {
+        String query = GdsCypher.call()
+            .withNodeLabel("Node")
+            .withRelationshipType("REL", Orientation.UNDIRECTED)
+            .algo("fastRP")
+            .streamMode()
+            .addParameter("embeddingDimension", 128)
+            .addParameter("nodePropertyNames", List.of("doesNotExist"))
+            .addParameter("propertyDimension", 64)
+            .yields();
+
+        assertError(query, "Node properties [doesNotExist] not found in graph with node properties");
+    }
 }
@@ -27,6 +27,9 @@ import org.neo4j.graphalgo.core.utils.mem.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.logging.Log;
 
@@ -60,7 +63,7 @@ public class KnnFactory<CONFIG extends KnnBaseConfig> implements AlgorithmFactor
                         sizeOfInstance(LongArrayList.class) + sizeOfLongArray(sampledK)
                     ))
                 );
-                return MemoryEstimations
+                var builder = MemoryEstimations
                     .builder(Knn.class)
                     .add(
                         "top-k-neighbors-list",
@@ -68,8 +71,8 @@ public class KnnFactory<CONFIG extends KnnBaseConfig> implements AlgorithmFactor
                     )
                     .add("old-neighbors", tempListEstimation)
                     .add("new-neighbors", tempListEstimation)
-                    .add("old-reverse-neighbors", tempListEstimation)
-                    .add("new-reverse-neighbors", tempListEstimation)
+                    .add("old-reverse-neighbors", reverseNeighborsEstimation(dim.nodeCount(), sampledK))
+                    .add("new-reverse-neighbors", reverseNeighborsEstimation(dim.nodeCount(), sampledK))
                     .fixed(
                         "initial-random-neighbors (per thread)",
                         MemoryRange.of(
@@ -81,9 +84,33 @@ public class KnnFactory<CONFIG extends KnnBaseConfig> implements AlgorithmFactor
                         MemoryRange.of(
                             sizeOfIntArray(sizeOfOpenHashContainer(sampledK)) * concurrency
                         )
-                    )
-                    .build();
+                    );
+                if (configuration.nodeWeightProperty() != null) {
+                    // only array properties precompute their norms, the property type is unknown at this point
+                    builder.fixed(
+                        "squared-norms",
+                        MemoryRange.of(0, HugeDoubleArray.memoryEstimation(dim.nodeCount()))
+                    );
+                }
+                if (configuration.initialSampler() == KnnSampler.HNSW) {
+                    builder.add(
+                        "hnsw-index",
+                        HnswIndex.memoryEstimation(dim.nodeCount(), configuration.hnswMaxConnections())
+                    );
+                }
+                return builder.build();
             }
         );
     }
+
+    private static MemoryEstimation reverseNeighborsEstimation(long nodeCount, int sampledK) {
+        return MemoryEstimations
+            .builder(ReverseNeighbors.class)
+            .fixed("offsets", HugeAtomicLongArray.memoryEstimation(nodeCount))
+            .fixed("targets", MemoryRange.of(
+                HugeLongArray.memoryEstimation(0),
+                HugeLongArray.memoryEstimation(nodeCount * sampledK)
+            ))
+            .build();
+    }
 }
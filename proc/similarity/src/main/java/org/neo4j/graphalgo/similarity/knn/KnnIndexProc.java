@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.knn;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.similarity.SimilarityResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+import static org.neo4j.procedure.Mode.READ;
+
+public class KnnIndexProc extends AlgoBaseProc<Knn, Knn.Result, KnnIndexConfig> {
+
+    @Procedure(name = "gds.beta.knn.index.create", mode = READ)
+    @Description("Computes the k-nearest neighbors of all nodes and stores them as an index for the named graph.")
+    public Stream<KnnIndexCreateResult> create(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        var computationResult = compute(graphName, configuration);
+        return runWithExceptionLogging("KNN index creation failed", () -> {
+            if (computationResult.isGraphEmpty()) {
+                throw new IllegalArgumentException("Cannot create a KNN index on an empty graph.");
+            }
+            var config = computationResult.config();
+            var result = Objects.requireNonNull(computationResult.result());
+            var context = ImmutableKnnContext
+                .builder()
+                .log(log)
+                .tracker(allocationTracker())
+                .executor(Pools.DEFAULT)
+                .build();
+            var index = KnnIndex.of(computationResult.graph(), config, context, result);
+            GraphStoreCatalog.setIndex(username(), databaseId(), graphName, config.indexName(), index);
+
+            return Stream.of(new KnnIndexCreateResult(
+                config.indexName(),
+                graphName,
+                index.propertyKey(),
+                computationResult.graph().nodeCount(),
+                result.ranIterations(),
+                result.didConverge(),
+                computationResult.createMillis(),
+                computationResult.computeMillis()
+            ));
+        });
+    }
+
+    @Procedure(name = "gds.beta.knn.index.query", mode = READ)
+    @Description("Streams the indexed k-nearest neighbors of the given nodes.")
+    public Stream<SimilarityResult> query(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "indexName") String indexName,
+        @Name(value = "nodeIds") List<Long> nodeIds,
+        @Name(value = "topK", defaultValue = "-1") long topK
+    ) {
+        var index = knnIndex(graphName, indexName);
+        var graph = index.graph();
+        var k = topK < 0 ? index.topK() : (int) Math.min(topK, index.topK());
+
+        return nodeIds.stream().flatMap(originalNodeId -> {
+            var nodeId = graph.toMappedNodeId(originalNodeId);
+            if (nodeId == -1) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Node with id %d is not part of the KNN index `%s`.",
+                    originalNodeId,
+                    indexName
+                ));
+            }
+            return index.query(nodeId, k).map(similarityResult -> {
+                similarityResult.node1 = graph.toOriginalNodeId(similarityResult.node1);
+                similarityResult.node2 = graph.toOriginalNodeId(similarityResult.node2);
+                return similarityResult;
+            });
+        });
+    }
+
+    @Procedure(name = "gds.beta.knn.index.drop", mode = READ)
+    @Description("Drops a KNN index from the named graph.")
+    public Stream<KnnIndexDropResult> drop(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "indexName") String indexName
+    ) {
+        knnIndex(graphName, indexName);
+        GraphStoreCatalog.removeIndex(username(), databaseId(), graphName, indexName);
+        return Stream.of(new KnnIndexDropResult(indexName, graphName));
+    }
+
+    @Override
+    protected KnnIndexConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return KnnIndexConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<Knn, KnnIndexConfig> algorithmFactory() {
+        return new KnnFactory<>();
+    }
+
+    private KnnIndex knnIndex(String graphName, String indexName) {
+        return GraphStoreCatalog
+            .getIndex(username(), databaseId(), graphName, indexName)
+            .filter(KnnIndex.class::isInstance)
+            .map(KnnIndex.class::cast)
+            .orElseThrow(() -> new IllegalArgumentException(formatWithLocale(
+                "No KNN index with name `%s` exists for graph `%s`.",
+                indexName,
+                graphName
+            )));
+    }
+
+    public static class KnnIndexCreateResult {
+        public final String indexName;
+        public final String graphName;
+        public final String nodeProperty;
+        public final long nodeCount;
+        public final long ranIterations;
+        public final boolean didConverge;
+        public final long createMillis;
+        public final long computeMillis;
+
+        KnnIndexCreateResult(
+            String indexName,
+            String graphName,
+            String nodeProperty,
+            long nodeCount,
+            long ranIterations,
+            boolean didConverge,
+            long createMillis,
+            long computeMillis
+        ) {
+            this.indexName = indexName;
+            this.graphName = graphName;
+            this.nodeProperty = nodeProperty;
+            this.nodeCount = nodeCount;
+            this.ranIterations = ranIterations;
+            this.didConverge = didConverge;
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+        }
+    }
+
+    public static class KnnIndexDropResult {
+        public final String indexName;
+        public final String graphName;
+
+        KnnIndexDropResult(String indexName, String graphName) {
+            this.indexName = indexName;
+            this.graphName = graphName;
+        }
+    }
+}
@@ -26,9 +26,13 @@ import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfIntArray;
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfObjectArray;
@@ -48,7 +52,7 @@ class KnnFactoryTest {
         MemoryTree estimate = estimation.estimate(dimensions, 1);
         MemoryRange actual = estimate.memoryUsage();
 
-        assertEstimation(nodeCount, 24, sizeOfObjectArray(nodeCount), boundedK, sampledK, actual);
+        assertEstimation(nodeCount, 24, sizeOfObjectArray(nodeCount), boundedK, sampledK, 0, actual);
     }
 
     @ParameterizedTest
@@ -63,7 +67,15 @@ class KnnFactoryTest {
         MemoryTree estimate = estimation.estimate(dimensions, 1);
         MemoryRange actual = estimate.memoryUsage();
 
-        assertEstimation(nodeCount, 24, sizeOfObjectArray(nodeCount), boundedK, sampledK, actual);
+        assertEstimation(
+            nodeCount,
+            24,
+            sizeOfObjectArray(nodeCount),
+            boundedK,
+            sampledK,
+            HugeDoubleArray.memoryEstimation(nodeCount),
+            actual
+        );
     }
 
     @ParameterizedTest
@@ -81,7 +93,7 @@ class KnnFactoryTest {
         int pageSize = 16384;
         int numPages = (int) ceilDiv(nodeCount, 16384);
         var sizeOfHugeArray = sizeOfObjectArray(numPages) + numPages * sizeOfObjectArray(pageSize);
-        assertEstimation(nodeCount, 32, sizeOfHugeArray, boundedK, sampledK, actual);
+        assertEstimation(nodeCount, 32, sizeOfHugeArray, boundedK, sampledK, 0, actual);
     }
 
     @ParameterizedTest
@@ -99,7 +111,15 @@ class KnnFactoryTest {
         int pageSize = 16384;
         int numPages = (int) ceilDiv(nodeCount, 16384);
         var sizeOfHugeArray = sizeOfObjectArray(numPages) + numPages * sizeOfObjectArray(pageSize);
-        assertEstimation(nodeCount, 32, sizeOfHugeArray, boundedK, sampledK, actual);
+        assertEstimation(
+            nodeCount,
+            32,
+            sizeOfHugeArray,
+            boundedK,
+            sampledK,
+            HugeDoubleArray.memoryEstimation(nodeCount),
+            actual
+        );
     }
 
     private void assertEstimation(
@@ -108,6 +128,7 @@ class KnnFactoryTest {
         long sizeOfHugeArray,
         int boundedK,
         int sampledK,
+        long maxSquaredNorms,
         MemoryRange actual
     ) {
         long knnAlgo = /* KNN */ 48;
@@ -121,8 +142,14 @@ class KnnFactoryTest {
         long randomList = sizeOfLongArray(sizeOfOpenHashContainer(boundedK));
         long sampledList = sizeOfIntArray(sizeOfOpenHashContainer(sampledK));
 
-        long expectedMin = knnAlgo + topKNeighborsList + 4 * tempNeighborsListMin + randomList + sampledList;
-        long expectedMax = knnAlgo + topKNeighborsList + 4 * tempNeighborsListMax + randomList + sampledList;
+        long reverseNeighborsMin = sizeOfInstance(ReverseNeighbors.class) +
+                                   HugeAtomicLongArray.memoryEstimation(nodeCount) +
+                                   HugeLongArray.memoryEstimation(0);
+        long reverseNeighborsMax = reverseNeighborsMin - HugeLongArray.memoryEstimation(0) +
+                                   HugeLongArray.memoryEstimation(nodeCount * sampledK);
+
+        long expectedMin = knnAlgo + topKNeighborsList + 2 * tempNeighborsListMin + 2 * reverseNeighborsMin + randomList + sampledList;
+        long expectedMax = knnAlgo + topKNeighborsList + 2 * tempNeighborsListMax + 2 * reverseNeighborsMax + randomList + sampledList + maxSquaredNorms;
 
         assertEquals(expectedMin, actual.min);
         assertEquals(expectedMax, actual.max);
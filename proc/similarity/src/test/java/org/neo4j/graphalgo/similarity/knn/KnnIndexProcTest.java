@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.knn;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.similarity.SimilarityResult;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KnnIndexProcTest extends BaseProcTest {
+
+    private static final String GRAPH_NAME = "myGraph";
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a { id: 1, knn: 1.0 } )" +
+        ", (b { id: 2, knn: 2.0 } )" +
+        ", (c { id: 3, knn: 5.0 } )";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(KnnIndexProc.class, GraphCreateProc.class);
+        runQuery(DB_CYPHER);
+        runQuery(GdsCypher.call()
+            .withAnyLabel()
+            .withNodeProperty("knn")
+            .withAnyRelationshipType()
+            .graphCreate(GRAPH_NAME)
+            .yields());
+        runQuery(
+            "CALL gds.beta.knn.index.create($graphName, {indexName: 'idx', nodeWeightProperty: 'knn', topK: 1})",
+            Map.of("graphName", GRAPH_NAME)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldQueryIndexedNeighbors() {
+        Set<SimilarityResult> result = new HashSet<>();
+        runQueryWithRowConsumer(
+            "CALL gds.beta.knn.index.query($graphName, 'idx', [0, 1, 2])",
+            Map.of("graphName", GRAPH_NAME),
+            row -> result.add(new SimilarityResult(
+                row.getNumber("node1").longValue(),
+                row.getNumber("node2").longValue(),
+                row.getNumber("similarity").doubleValue()
+            ))
+        );
+
+        assertEquals(
+            Set.of(
+                new SimilarityResult(0, 1, 0.5),
+                new SimilarityResult(1, 0, 0.5),
+                new SimilarityResult(2, 1, 0.25)
+            ),
+            result
+        );
+    }
+
+    @Test
+    void shouldDropIndex() {
+        assertCypherResult(
+            "CALL gds.beta.knn.index.drop($graphName, 'idx')",
+            Map.of("graphName", GRAPH_NAME),
+            List.of(Map.of("indexName", "idx", "graphName", GRAPH_NAME))
+        );
+
+        assertError(
+            "CALL gds.beta.knn.index.query('" + GRAPH_NAME + "', 'idx', [0])",
+            "No KNN index with name `idx` exists for graph `myGraph`."
+        );
+    }
+
+    @Test
+    void failsOnDuplicateIndexName() {
+        assertError(
+            "CALL gds.beta.knn.index.create('" + GRAPH_NAME + "', {indexName: 'idx', nodeWeightProperty: 'knn'})",
+            "Index idx already exists for graph myGraph"
+        );
+    }
+}
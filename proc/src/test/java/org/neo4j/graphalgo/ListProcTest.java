@@ -60,6 +60,7 @@ import org.neo4j.graphalgo.pagerank.PageRankMutateProc;
 import org.neo4j.graphalgo.pagerank.PageRankStatsProc;
 import org.neo4j.graphalgo.pagerank.PageRankStreamProc;
 import org.neo4j.graphalgo.pagerank.PageRankWriteProc;
+import org.neo4j.graphalgo.similarity.knn.KnnIndexProc;
 import org.neo4j.graphalgo.similarity.knn.KnnMutateProc;
 import org.neo4j.graphalgo.similarity.knn.KnnStatsProc;
 import org.neo4j.graphalgo.similarity.knn.KnnStreamProc;
@@ -76,6 +77,7 @@ import org.neo4j.graphalgo.triangle.TriangleCountMutateProc;
 import org.neo4j.graphalgo.triangle.TriangleCountStatsProc;
 import org.neo4j.graphalgo.triangle.TriangleCountStreamProc;
 import org.neo4j.graphalgo.triangle.TriangleCountWriteProc;
+import org.neo4j.graphalgo.wcc.WccIndexProc;
 import org.neo4j.graphalgo.wcc.WccMutateProc;
 import org.neo4j.graphalgo.wcc.WccStatsProc;
 import org.neo4j.graphalgo.wcc.WccStreamProc;
@@ -103,6 +105,9 @@ class ListProcTest extends BaseProcTest {
         "gds.beta.k1coloring.write",
         "gds.beta.k1coloring.write.estimate",
 
+        "gds.beta.knn.index.create",
+        "gds.beta.knn.index.drop",
+        "gds.beta.knn.index.query",
         "gds.beta.knn.mutate",
         "gds.beta.knn.mutate.estimate",
         "gds.beta.knn.stats",
@@ -187,6 +192,11 @@ class ListProcTest extends BaseProcTest {
         "gds.pageRank.write",
         "gds.pageRank.write.estimate",
 
+        "gds.wcc.index.addRelationshipType",
+        "gds.wcc.index.addRelationships",
+        "gds.wcc.index.create",
+        "gds.wcc.index.drop",
+        "gds.wcc.index.stream",
         "gds.wcc.mutate",
         "gds.wcc.mutate.estimate",
         "gds.wcc.stats",
@@ -263,6 +273,7 @@ class ListProcTest extends BaseProcTest {
             K1ColoringStatsProc.class,
             K1ColoringWriteProc.class,
             K1ColoringStreamProc.class,
+            KnnIndexProc.class,
             KnnMutateProc.class,
             KnnStatsProc.class,
             KnnStreamProc.class,
@@ -295,6 +306,7 @@ class ListProcTest extends BaseProcTest {
             WccStreamProc.class,
             WccMutateProc.class,
             WccStatsProc.class,
+            WccIndexProc.class,
             LocalClusteringCoefficientStreamProc.class,
             LocalClusteringCoefficientStatsProc.class,
             LocalClusteringCoefficientWriteProc.class,
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity.knn;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.GdsCypher;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.catalog.GraphRemoveNodePropertiesProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.similarity.SimilarityResult;
+import org.neo4j.graphalgo.wcc.WccMutateProc;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KnnIndexIntegrationTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node { score: 1.0 })" +
+        ", (b:Node { score: 10.0 })" +
+        ", (c:Node { score: 2.0 })" +
+        ", (d:Node { score: 11.0 })" +
+        ", (a)-[:TYPE]->(b)" +
+        ", (c)-[:TYPE]->(d)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(
+            GraphCreateProc.class,
+            GraphRemoveNodePropertiesProc.class,
+            KnnIndexProc.class,
+            WccMutateProc.class
+        );
+        runQuery(DB_CYPHER);
+
+        runQuery(GdsCypher
+            .call()
+            .withAnyLabel()
+            .withNodeProperty("score")
+            .withRelationshipType("TYPE")
+            .graphCreate("testGraph")
+            .yields());
+        runQuery(
+            "CALL gds.beta.knn.index.create('testGraph', {" +
+            "  indexName: 'idx', nodeWeightProperty: 'score', topK: 1, randomSeed: 42, concurrency: 1" +
+            "})"
+        );
+    }
+
+    @AfterEach
+    void shutdown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldUpdateIndexWhenIndexedPropertyIsReplaced() {
+        assertEquals(
+            Set.of(
+                new SimilarityResult(0, 2, 0.5),
+                new SimilarityResult(1, 3, 0.5),
+                new SimilarityResult(2, 0, 0.5),
+                new SimilarityResult(3, 1, 0.5)
+            ),
+            queryIndex()
+        );
+
+        runQuery("CALL gds.graph.removeNodeProperties('testGraph', ['score'])");
+        runQuery("CALL gds.wcc.mutate('testGraph', {mutateProperty: 'score'})");
+
+        // nodes in the same component have the same score now
+        assertEquals(
+            Set.of(
+                new SimilarityResult(0, 1, 1.0),
+                new SimilarityResult(1, 0, 1.0),
+                new SimilarityResult(2, 3, 1.0),
+                new SimilarityResult(3, 2, 1.0)
+            ),
+            queryIndex()
+        );
+    }
+
+    private Set<SimilarityResult> queryIndex() {
+        Set<SimilarityResult> result = new HashSet<>();
+        runQueryWithRowConsumer(
+            "CALL gds.beta.knn.index.query('testGraph', 'idx', [0, 1, 2, 3])",
+            row -> result.add(new SimilarityResult(
+                row.getNumber("node1").longValue(),
+                row.getNumber("node2").longValue(),
+                row.getNumber("similarity").doubleValue()
+            ))
+        );
+        return result;
+    }
+}
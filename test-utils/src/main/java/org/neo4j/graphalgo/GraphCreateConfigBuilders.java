@@ -28,6 +28,7 @@ import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.config.ImmutableGraphCreateFromCypherConfig;
 import org.neo4j.graphalgo.config.ImmutableGraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.NodeOrdering;
 
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -64,7 +65,8 @@ public final class GraphCreateConfigBuilders {
         Optional<Integer> concurrency,
         Optional<Orientation> globalProjection,
         Optional<Aggregation> globalAggregation,
-        Optional<Boolean> validateRelationships
+        Optional<Boolean> validateRelationships,
+        Optional<NodeOrdering> nodeOrdering
     ) {
         // Node projections
         Map<String, NodeProjection> tempNP = new LinkedHashMap<>();
@@ -120,6 +122,7 @@ public final class GraphCreateConfigBuilders {
             .relationshipProperties(relationshipPropertyMappings)
             .readConcurrency(concurrency.orElse(ConcurrencyConfig.DEFAULT_CONCURRENCY))
             .validateRelationships(validateRelationships.orElse(false))
+            .nodeOrdering(nodeOrdering.orElse(NodeOrdering.NONE))
             .build()
             .withNormalizedPropertyMappings();
     }
@@ -135,7 +138,8 @@ public final class GraphCreateConfigBuilders {
         Optional<String> relationshipQuery,
         Optional<Integer> concurrency,
         Optional<Boolean> validateRelationships,
-        Optional<Map<String, Object>> parameters
+        Optional<Map<String, Object>> parameters,
+        Optional<Integer> queryBatchSize
     ) {
 
         return ImmutableGraphCreateFromCypherConfig.builder()
@@ -146,6 +150,7 @@ public final class GraphCreateConfigBuilders {
             .readConcurrency(concurrency.orElse(ConcurrencyConfig.DEFAULT_CONCURRENCY))
             .validateRelationships(validateRelationships.orElse(true))
             .parameters(parameters.orElse(Collections.emptyMap()))
+            .queryBatchSize(queryBatchSize.orElse(GraphCreateFromCypherConfig.DEFAULT_QUERY_BATCH_SIZE))
             .build();
     }
 }
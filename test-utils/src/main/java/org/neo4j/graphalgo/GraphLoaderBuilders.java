@@ -30,6 +30,7 @@ import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.ImmutableGraphLoader;
+import org.neo4j.graphalgo.core.NodeOrdering;
 import org.neo4j.graphalgo.core.SecureTransaction;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
@@ -77,7 +78,8 @@ public final class GraphLoaderBuilders {
         Optional<Integer> concurrency,
         Optional<Orientation> globalOrientation,
         Optional<Aggregation> globalAggregation,
-        Optional<Boolean> validateRelationships
+        Optional<Boolean> validateRelationships,
+        Optional<NodeOrdering> nodeOrdering
     ) {
 
         GraphCreateFromStoreConfig graphCreateConfig = GraphCreateConfigBuilders.storeConfig(
@@ -94,7 +96,8 @@ public final class GraphLoaderBuilders {
             concurrency,
             globalOrientation,
             globalAggregation,
-            validateRelationships
+            validateRelationships,
+            nodeOrdering
         );
 
         return createGraphLoader(
@@ -129,7 +132,8 @@ public final class GraphLoaderBuilders {
         Optional<String> relationshipQuery,
         Optional<Integer> concurrency,
         Optional<Boolean> validateRelationships,
-        Optional<Map<String, Object>> parameters
+        Optional<Map<String, Object>> parameters,
+        Optional<Integer> queryBatchSize
     ) {
         GraphCreateFromCypherConfig graphCreateConfig = GraphCreateConfigBuilders.cypherConfig(
             userName.or(() -> securityContext.map(s -> s.subject().username())),
@@ -138,7 +142,8 @@ public final class GraphLoaderBuilders {
             relationshipQuery,
             concurrency,
             validateRelationships,
-            parameters
+            parameters,
+            queryBatchSize
         );
 
         return createGraphLoader(